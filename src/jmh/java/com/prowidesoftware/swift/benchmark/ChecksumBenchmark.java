@@ -0,0 +1,78 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.benchmark;
+
+import com.prowidesoftware.swift.io.writer.ChecksumAlgorithm;
+import com.prowidesoftware.swift.io.writer.SwiftWriter;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.SwiftMessageUtils;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Message checksums streamed from the FIN writer into each hash function, compared with hashing the FIN content
+ * written into a String first.
+ *
+ * @since 10.3.20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ChecksumBenchmark {
+
+    @Param({"MT101", "MT540", "MT940"})
+    public String sample;
+
+    @Param({"MD5", "XXH64", "MURMUR3_128"})
+    public ChecksumAlgorithm algorithm;
+
+    private SwiftMessage message;
+
+    @Setup
+    public void setup() throws IOException {
+        this.message = SwiftMessage.parse(Corpus.fin(this.sample));
+    }
+
+    @Benchmark
+    public String streamed() {
+        return SwiftMessageUtils.calculateChecksum(this.message, this.algorithm);
+    }
+
+    /**
+     * The message written into a String and hashed afterwards, MD5 only
+     */
+    @Benchmark
+    public String buffered() {
+        final StringWriter writer = new StringWriter();
+        SwiftWriter.writeMessage(this.message, writer, true);
+        return SwiftMessageUtils.md5(writer.toString());
+    }
+}
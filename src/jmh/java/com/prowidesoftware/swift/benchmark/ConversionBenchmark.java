@@ -0,0 +1,127 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.benchmark;
+
+import com.prowidesoftware.swift.io.ConversionService;
+import com.prowidesoftware.swift.io.parser.XMLParser;
+import com.prowidesoftware.swift.io.writer.BufferedByteWriter;
+import com.prowidesoftware.swift.io.writer.SwiftWriter;
+import com.prowidesoftware.swift.io.writer.XMLWriterVisitor;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of messages to FIN and XML, and parsing back from XML, through the {@link ConversionService}.
+ *
+ * @since 10.3.20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConversionBenchmark {
+
+    @Param({"MT101", "MT320", "MT540", "MT940", "MT535"})
+    public String sample;
+
+    private final ConversionService service = new ConversionService();
+    private SwiftMessage message;
+    private String xml;
+    private byte[] xmlBytes;
+    private BufferedByteWriter output;
+
+    @Setup
+    public void setup() throws IOException {
+        this.message = SwiftMessage.parse(Corpus.fin(this.sample));
+        this.xml = this.service.getXml(this.message);
+        this.xmlBytes = this.xml.getBytes(StandardCharsets.UTF_8);
+        this.output = new BufferedByteWriter(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public String getFIN() {
+        return this.service.getFIN(this.message);
+    }
+
+    /**
+     * The FIN content written into a String and normalized afterwards with {@code SwiftWriter.ensureEols}, as done by
+     * {@code getFIN} before the line breaks were normalized while writing
+     */
+    @Benchmark
+    public String getFinTwoPass() {
+        final StringWriter writer = new StringWriter();
+        SwiftWriter.writeMessage(this.message, writer, true);
+        return SwiftWriter.ensureEols(writer.toString());
+    }
+
+    @Benchmark
+    public OutputStream getFinToStream() {
+        final OutputStream out = OutputStream.nullOutputStream();
+        SwiftWriter.writeFin(this.message, out, StandardCharsets.UTF_8);
+        return out;
+    }
+
+    @Benchmark
+    public String getXml() {
+        return this.service.getXml(this.message);
+    }
+
+    @Benchmark
+    public SwiftMessage getMessageFromXML() {
+        return this.service.getMessageFromXML(this.xml);
+    }
+
+    /**
+     * The XML parsed straight from its encoded bytes, without decoding it into a String first
+     */
+    @Benchmark
+    public SwiftMessage parseXmlStream() {
+        return new XMLParser().parse(new ByteArrayInputStream(this.xmlBytes));
+    }
+
+    /**
+     * The message written as FIN into a byte stream through a reused buffer, without building a String
+     */
+    @Benchmark
+    public BufferedByteWriter writeFinBytes() {
+        SwiftWriter.writeMessage(this.message, this.output);
+        return this.output;
+    }
+
+    @Benchmark
+    public BufferedByteWriter writeXmlBytes() {
+        this.message.visit(new XMLWriterVisitor(this.output));
+        return this.output;
+    }
+}
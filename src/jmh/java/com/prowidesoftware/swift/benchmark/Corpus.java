@@ -0,0 +1,161 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.benchmark;
+
+import com.prowidesoftware.swift.io.ConversionService;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.utils.Lib;
+import java.io.IOException;
+
+/**
+ * Sample messages used by the benchmarks.
+ *
+ * <p>The MT101 and MT320 samples are read from the test resources, the MT540 is a typical settlement instruction, and
+ * the MT940 and MT535 are generated with many repetitive sequences to stress the large message paths. All samples are
+ * normalized to FIN with CRLF line breaks, as produced by {@link ConversionService#getFIN(SwiftMessage)}.
+ *
+ * @since 10.3.20
+ */
+final class Corpus {
+
+    /**
+     * Number of statement lines in the generated MT940 and holdings in the generated MT535
+     */
+    static final int LARGE_REPETITIONS = 1000;
+
+    // Suppress default constructor for noninstantiability
+    private Corpus() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Gets a sample message in FIN format.
+     *
+     * @param sample one of MT101, MT320, MT540, MT940 or MT535
+     * @return the message FIN content
+     * @throws IOException              if a test resource cannot be read
+     * @throws IllegalArgumentException if the sample name is unknown
+     */
+    static String fin(final String sample) throws IOException {
+        final String raw;
+        switch (sample) {
+            case "MT101":
+                raw = Lib.readResource("MT101.fin", null, Corpus.class);
+                break;
+            case "MT320":
+                raw = Lib.readResource("MT320.txt", null, Corpus.class);
+                break;
+            case "MT540":
+                raw = mt540();
+                break;
+            case "MT940":
+                raw = mt940(LARGE_REPETITIONS);
+                break;
+            case "MT535":
+                raw = mt535(LARGE_REPETITIONS);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown sample " + sample);
+        }
+        return new ConversionService().getFIN(SwiftMessage.parse(raw));
+    }
+
+    private static String mt540() {
+        return "{1:F01AAAAFRPPAGSS0000000000}{2:I540BBBBFRPPXHCMN}{3:{108:5123C3E10}}{4:\n"
+                + ":16R:GENL\n"
+                + ":20C::SEME//TFH5436259-999\n"
+                + ":23G:NEWM\n"
+                + ":98C::PREP//20211216144402\n"
+                + ":16R:LINK\n"
+                + ":20C::PREV//TFH5436259-998\n"
+                + ":16S:LINK\n"
+                + ":16S:GENL\n"
+                + ":16R:TRADDET\n"
+                + ":98A::SETT//20211216\n"
+                + ":98A::TRAD//20211216\n"
+                + ":35B:ISIN FR0099001N99\n"
+                + "FRTR 0 25 02 24 EUR\n"
+                + ":16S:TRADDET\n"
+                + ":16R:FIAC\n"
+                + ":36B::SETT//FAMT/31000000,\n"
+                + ":97A::SAFE//0528808067001999\n"
+                + ":16S:FIAC\n"
+                + ":16R:SETDET\n"
+                + ":22F::SETR//TRAD\n"
+                + ":16R:SETPRTY\n"
+                + ":95P::DEAG//CCCCBEBEECL\n"
+                + ":97A::SAFE//94999\n"
+                + ":16S:SETPRTY\n"
+                + ":16R:SETPRTY\n"
+                + ":95P::SELL//DDDDFRPPHCM\n"
+                + ":97A::SAFE//94999\n"
+                + ":16S:SETPRTY\n"
+                + ":16R:SETPRTY\n"
+                + ":95P::PSET//EEEEFRPPXXX\n"
+                + ":16S:SETPRTY\n"
+                + ":16R:AMT\n"
+                + ":19A::SETT//EUR31005000,\n"
+                + ":16S:AMT\n"
+                + ":16S:SETDET\n"
+                + "-}";
+    }
+
+    private static String mt940(final int lines) {
+        final StringBuilder sb = new StringBuilder(100 * lines);
+        sb.append("{1:F01AAAAUSAAAXXX0000000000}{2:I940BBBBUSBBXXXXN}{4:\n");
+        sb.append(":20:STMT-REF\n");
+        sb.append(":25:1234567890\n");
+        sb.append(":28C:1/1\n");
+        sb.append(":60F:C230101USD1000,00\n");
+        for (int i = 0; i < lines; i++) {
+            sb.append(":61:2301010101C").append(i % 100).append(",00NTRFREF").append(i);
+            sb.append("//BANK").append(i).append('\n');
+            sb.append(":86:PAYMENT DETAILS ").append(i).append('\n');
+            sb.append("INVOICE ").append(i).append('\n');
+        }
+        sb.append(":62F:C230101USD1000,00\n");
+        sb.append("-}");
+        return sb.toString();
+    }
+
+    private static String mt535(final int holdings) {
+        final StringBuilder sb = new StringBuilder(120 * holdings);
+        sb.append("{1:F01AAAAUSAAAXXX0000000000}{2:I535BBBBUSBBXXXXN}{4:\n");
+        sb.append(":16R:GENL\n");
+        sb.append(":28E:1/ONLY\n");
+        sb.append(":20C::SEME//STMT-REF\n");
+        sb.append(":23G:NEWM\n");
+        sb.append(":98A::STAT//20230101\n");
+        sb.append(":22F::SFRE//DAIL\n");
+        sb.append(":22F::CODE//COMP\n");
+        sb.append(":22F::STTY//CUST\n");
+        sb.append(":22F::STBA//SETT\n");
+        sb.append(":97A::SAFE//123456\n");
+        sb.append(":17B::ACTI//Y\n");
+        sb.append(":17B::CONS//N\n");
+        sb.append(":16S:GENL\n");
+        sb.append(":16R:SUBSAFE\n");
+        for (int i = 0; i < holdings; i++) {
+            sb.append(":16R:FIN\n");
+            sb.append(":35B:ISIN US").append(String.format("%010d", i)).append('\n');
+            sb.append(":93B::AGGR//UNIT/").append(i + 1).append(",\n");
+            sb.append(":16S:FIN\n");
+        }
+        sb.append(":16S:SUBSAFE\n");
+        sb.append("-}");
+        return sb.toString();
+    }
+}
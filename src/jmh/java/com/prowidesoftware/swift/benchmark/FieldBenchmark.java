@@ -0,0 +1,164 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.benchmark;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.SwiftTagListBlock;
+import com.prowidesoftware.swift.model.Tag;
+import com.prowidesoftware.swift.model.field.DateContainer;
+import com.prowidesoftware.swift.model.field.Field;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Field extraction from the block 4 tags, and tag and sub block lookups in {@link SwiftTagListBlock}.
+ *
+ * <p>Each invocation goes through all the tags of the sample message, so the scores are per message and not per
+ * single field or lookup.
+ *
+ * @since 10.3.20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FieldBenchmark {
+
+    @Param({"MT101", "MT320", "MT540", "MT940", "MT535"})
+    public String sample;
+
+    /**
+     * Whether the block 4 lookups use the tag index, see {@link SwiftTagListBlock#setIndexed(boolean)}
+     */
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private String mt;
+    private SwiftTagListBlock block4;
+    private List<Tag> tags;
+    private String[] names;
+    private String[] sequences;
+    private List<DateContainer> dateFields;
+
+    @Setup
+    public void setup() throws IOException {
+        final SwiftMessage msg = SwiftMessage.parse(Corpus.fin(this.sample));
+        this.mt = msg.getType();
+        this.block4 = msg.getBlock4();
+        this.block4.setIndexed(this.indexed);
+        this.tags = new ArrayList<>(this.block4.getTags());
+        final Set<String> distinctNames = new LinkedHashSet<>();
+        final Set<String> sequenceNames = new LinkedHashSet<>();
+        this.dateFields = new ArrayList<>();
+        for (final Tag t : this.tags) {
+            final Field field = Field.getField(t);
+            if (field instanceof DateContainer) {
+                this.dateFields.add((DateContainer) field);
+            }
+            distinctNames.add(t.getName());
+            if ("16R".equals(t.getName())) {
+                sequenceNames.add(t.getValue());
+            }
+        }
+        this.names = distinctNames.toArray(new String[0]);
+        this.sequences = sequenceNames.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public void getField(final Blackhole bh) {
+        for (final Tag t : this.tags) {
+            bh.consume(Field.getField(t.getName(), t.getValue()));
+        }
+    }
+
+    /**
+     * Dates of all the date fields in the message as Calendar
+     */
+    @Benchmark
+    public void dates(final Blackhole bh) {
+        for (final DateContainer field : this.dateFields) {
+            bh.consume(field.dates());
+        }
+    }
+
+    /**
+     * Dates of all the date fields in the message as LocalDate
+     */
+    @Benchmark
+    public void localDates(final Blackhole bh) {
+        for (final DateContainer field : this.dateFields) {
+            bh.consume(field.localDates());
+        }
+    }
+
+    /**
+     * Label of each field in the message, one lookup per field
+     */
+    @Benchmark
+    public void getLabel(final Blackhole bh) {
+        for (final Tag t : this.tags) {
+            bh.consume(Field.getLabel(t.getName(), this.mt, null, Locale.ENGLISH));
+        }
+    }
+
+    /**
+     * Labels of all the fields in the message in a single call
+     */
+    @Benchmark
+    public List<String> getLabels() {
+        return Field.getLabels(this.block4, this.mt, null, Locale.ENGLISH);
+    }
+
+    @Benchmark
+    public void getFieldByName(final Blackhole bh) {
+        for (final String name : this.names) {
+            bh.consume(this.block4.getFieldByName(name));
+        }
+    }
+
+    @Benchmark
+    public void getTagsByName(final Blackhole bh) {
+        for (final String name : this.names) {
+            bh.consume(this.block4.getTagsByName(name));
+        }
+    }
+
+    @Benchmark
+    public void getSubBlocks(final Blackhole bh) {
+        for (final String name : this.sequences) {
+            bh.consume(this.block4.getSubBlocks(name));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.benchmark;
+
+import com.prowidesoftware.swift.model.CurrencyTotals;
+import com.prowidesoftware.swift.model.Money;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.SwiftMessageUtils;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sum of the message amounts per currency with {@link CurrencyTotals}, compared with adding the BigDecimal amounts
+ * of {@link SwiftMessageUtils#money(SwiftMessage)} into a map.
+ *
+ * <p>Each invocation sums all the corpus samples.
+ *
+ * @since 10.3.20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MoneyBenchmark {
+
+    private SwiftMessage[] messages;
+
+    @Setup
+    public void setup() throws IOException {
+        final String[] samples = {"MT101", "MT320", "MT540", "MT940", "MT535"};
+        this.messages = new SwiftMessage[samples.length];
+        for (int i = 0; i < samples.length; i++) {
+            this.messages[i] = SwiftMessage.parse(Corpus.fin(samples[i]));
+        }
+    }
+
+    @Benchmark
+    public CurrencyTotals currencyTotals() {
+        final CurrencyTotals totals = new CurrencyTotals();
+        for (final SwiftMessage m : this.messages) {
+            totals.add(m);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> money() {
+        final Map<String, BigDecimal> totals = new HashMap<>();
+        for (final SwiftMessage m : this.messages) {
+            final Money money = SwiftMessageUtils.money(m);
+            if (money != null) {
+                totals.merge(money.getCurrency(), money.getAmount(), BigDecimal::add);
+            }
+        }
+        return totals;
+    }
+}
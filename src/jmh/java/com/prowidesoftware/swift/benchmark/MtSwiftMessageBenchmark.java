@@ -0,0 +1,73 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.benchmark;
+
+import com.prowidesoftware.swift.model.MtSwiftMessage;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Repeated access to the parsed model of an {@link MtSwiftMessage}, with and without the model cache.
+ *
+ * @since 10.3.20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MtSwiftMessageBenchmark {
+
+    @Param({"MT101", "MT540", "MT940"})
+    public String sample;
+
+    @Param({"true", "false"})
+    public boolean cache;
+
+    private MtSwiftMessage message;
+
+    @Setup
+    public void setup() throws IOException {
+        this.message = MtSwiftMessage.parse(Corpus.fin(this.sample));
+        this.message.setModelCacheEnabled(this.cache);
+    }
+
+    /**
+     * Typical usage reading several values from the model of the same message
+     */
+    @Benchmark
+    public int repeatedModelAccess() {
+        int result = 0;
+        for (int i = 0; i < 10; i++) {
+            final SwiftMessage model = this.message.modelMessage();
+            result += model.getBlock4().size();
+        }
+        return result;
+    }
+}
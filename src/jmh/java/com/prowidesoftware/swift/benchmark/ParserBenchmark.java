@@ -0,0 +1,130 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.benchmark;
+
+import com.prowidesoftware.swift.io.parser.SwiftEventParser;
+import com.prowidesoftware.swift.io.parser.SwiftParser;
+import com.prowidesoftware.swift.model.SwiftBlock4;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.Tag;
+import com.prowidesoftware.swift.model.mt.AbstractMT;
+import com.prowidesoftware.swift.utils.BaseMessageVisitor;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parsing of FIN content into the generic {@link SwiftMessage} and into the specific MT classes.
+ *
+ * @since 10.3.20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ParserBenchmark {
+
+    @Param({"MT101", "MT320", "MT540", "MT940", "MT535"})
+    public String sample;
+
+    private static final Set<Character> ROUTING_BLOCKS = new HashSet<>(Arrays.asList('1', '2', '3', '4'));
+    private static final Set<String> ROUTING_TAGS = new HashSet<>(Arrays.asList("20", "21", "32A"));
+
+    private String fin;
+
+    @Setup
+    public void setup() throws IOException {
+        this.fin = Corpus.fin(this.sample);
+    }
+
+    @Benchmark
+    public SwiftMessage swiftParser() throws IOException {
+        return new SwiftParser(this.fin).message();
+    }
+
+    @Benchmark
+    public AbstractMT abstractMT() throws IOException {
+        return AbstractMT.parse(this.fin);
+    }
+
+    /**
+     * Parse with a single parser instance reset between messages
+     */
+    @Benchmark
+    public SwiftMessage swiftParserReused(final ReusedParser state) throws IOException {
+        state.parser.setData(this.fin);
+        try {
+            return state.parser.message();
+        } finally {
+            state.parser.reset();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ReusedParser {
+        final SwiftParser parser = new SwiftParser();
+    }
+
+    /**
+     * Partial parse of the headers and the first block 4 tags, as needed for routing decisions
+     */
+    @Benchmark
+    public SwiftMessage swiftParserPartial() throws IOException {
+        final SwiftParser parser = new SwiftParser(this.fin);
+        parser.getConfiguration().setPartialParseBlocks(ROUTING_BLOCKS);
+        parser.getConfiguration().setPartialParseTags(ROUTING_TAGS);
+        return parser.message();
+    }
+
+    /**
+     * Parse with the block 4 kept as text, as done for messages forwarded without reading their content
+     */
+    @Benchmark
+    public SwiftMessage swiftParserLazy() throws IOException {
+        final SwiftParser parser = new SwiftParser(this.fin);
+        parser.getConfiguration().setLazyTextBlock(true);
+        return parser.message();
+    }
+
+    /**
+     * Push parse with a visitor consuming each block 4 tag, without building the message block 4
+     */
+    @Benchmark
+    public void eventParser(final Blackhole bh) throws IOException {
+        new SwiftEventParser(this.fin).parse(new BaseMessageVisitor() {
+            @Override
+            public void tag(final SwiftBlock4 b, final Tag t) {
+                bh.consume(t);
+            }
+        });
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.benchmark;
+
+import com.prowidesoftware.swift.model.SwiftBlock4;
+import com.prowidesoftware.swift.model.SwiftCharset;
+import com.prowidesoftware.swift.model.SwiftCharsetUtils;
+import com.prowidesoftware.swift.model.SwiftCharsetViolation;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.Tag;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Charset validation of all the block 4 tag values, one value at a time and with the block validator.
+ *
+ * @since 10.3.20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SwiftCharsetBenchmark {
+
+    @Param({"MT101", "MT540", "MT940"})
+    public String sample;
+
+    @Param({"x", "z"})
+    public SwiftCharset charset;
+
+    private SwiftBlock4 block4;
+
+    @Setup
+    public void setup() throws IOException {
+        this.block4 = SwiftMessage.parse(Corpus.fin(this.sample)).getBlock4();
+    }
+
+    /**
+     * Index of the first invalid character of each value, summed so the result is consumed
+     */
+    @Benchmark
+    public int perTag() {
+        int result = 0;
+        for (final Tag tag : this.block4.getTags()) {
+            result += SwiftCharsetUtils.is(tag.getValue(), this.charset);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<SwiftCharsetViolation> validate() {
+        return SwiftCharsetUtils.validate(this.block4, this.charset);
+    }
+}
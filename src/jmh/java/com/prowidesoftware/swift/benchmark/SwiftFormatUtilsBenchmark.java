@@ -0,0 +1,108 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.benchmark;
+
+import com.prowidesoftware.swift.utils.SwiftFormatUtils;
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.time.DateFormatUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Amount and date conversions in {@link SwiftFormatUtils}, compared with the DecimalFormat and SimpleDateFormat
+ * based conversions they replace for the plain SWIFT formats.
+ *
+ * @since 10.3.20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SwiftFormatUtilsBenchmark {
+
+    private final String amountText = "1234567,89";
+    private final BigDecimal amount = new BigDecimal("1234567.89");
+    private final String dateText = "230930";
+    private final Calendar date = new GregorianCalendar(2023, Calendar.SEPTEMBER, 30);
+
+    @Benchmark
+    public BigDecimal parseAmount() {
+        return SwiftFormatUtils.getBigDecimal(this.amountText);
+    }
+
+    @Benchmark
+    public Object parseAmountDecimalFormat() throws ParseException {
+        final DecimalFormatSymbols symbols = new DecimalFormatSymbols();
+        symbols.setDecimalSeparator(',');
+        final DecimalFormat df = new DecimalFormat("00.##", symbols);
+        df.setParseBigDecimal(true);
+        return df.parse(this.amountText);
+    }
+
+    @Benchmark
+    public String formatAmount() {
+        return SwiftFormatUtils.getBigDecimal(this.amount);
+    }
+
+    @Benchmark
+    public String formatAmountDecimalFormat() {
+        final DecimalFormatSymbols symbols = new DecimalFormatSymbols();
+        symbols.setDecimalSeparator(',');
+        final DecimalFormat df = new DecimalFormat("0.##########", symbols);
+        df.setDecimalSeparatorAlwaysShown(true);
+        return df.format(this.amount).replace('.', ',');
+    }
+
+    @Benchmark
+    public Calendar parseDate() {
+        return SwiftFormatUtils.getDate2(this.dateText);
+    }
+
+    @Benchmark
+    public Calendar parseDateSimpleDateFormat() throws ParseException {
+        final SimpleDateFormat sdf = new SimpleDateFormat("yyMMdd");
+        sdf.setLenient(false);
+        final Calendar cal = new GregorianCalendar();
+        cal.setTime(sdf.parse(this.dateText));
+        return cal;
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return SwiftFormatUtils.getDate2(this.date);
+    }
+
+    @Benchmark
+    public String formatDateFastDateFormat() {
+        return DateFormatUtils.format(this.date.getTime(), "yyMMdd");
+    }
+}
@@ -124,14 +124,25 @@ public abstract class AbstractReader implements Iterator<String>, Iterable<Strin
      * @throws IOException if the message content cannot be parsed into an MT
      */
     public AbstractMT nextMT() throws IOException {
-        SwiftMessage candidate = nextSwiftMessage();
+        return toMT(nextSwiftMessage(), getClass());
+    }
+
+    /**
+     * Converts a message read from a file into an MT, with the same rules documented in {@link #nextMT()}
+     *
+     * @param candidate the parsed message, may be null
+     * @param caller class to report in the log when the message is a service message
+     * @return the MT or null if the candidate is null or a service message other than an ACK/NAK
+     * @throws IOException if the ACK/NAK original message cannot be parsed
+     */
+    static AbstractMT toMT(final SwiftMessage candidate, final Class<?> caller) throws IOException {
         if (candidate != null) {
             if (candidate.isServiceMessage21()) {
                 // message is an ACK/NACK, we parse the appended original message instead
                 final String fin = candidate.getUnparsedTexts().getAsFINString();
                 return AbstractMT.parse(fin);
             } else if (candidate.isServiceMessage()) {
-                log.warning("nextMT in " + getClass().getName()
+                log.warning("nextMT in " + caller.getName()
                         + " is not intended for service messages, use nextSwiftMessage() instead");
                 return null;
             } else {
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io;
+
+import com.prowidesoftware.swift.io.parser.SwiftParser;
+import com.prowidesoftware.swift.io.parser.SwiftParserConfiguration;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.mt.AbstractMT;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Parses the messages of an RJE or DOS-PCC file in parallel.
+ *
+ * <p>The raw messages are read from an {@link AbstractReader} (such as {@link RJEReader}, {@link PPCReader} or the
+ * memory-mapped {@link MappedRJEReader} and {@link MappedPPCReader}) by the calling thread, while the parsing into
+ * {@link SwiftMessage} and {@link AbstractMT} is done by the given executor, for example a
+ * {@link java.util.concurrent.ForkJoinPool} or a virtual threads executor.
+ *
+ * <p>The results are delivered to the consumer in the calling thread, either in the same order of the messages in the
+ * file (the default) or as soon as each message is parsed. A message that cannot be parsed does not abort the batch,
+ * the error is reported in its {@link Result} and the process continues with the next message. Blank messages are
+ * ignored.
+ *
+ * <p>The number of messages read ahead and not yet delivered is limited by {@link #setMaxPending(int)}, so large
+ * files can be processed without holding all the messages in memory. If the executor rejects a task, because it is
+ * shut down or saturated, that message is parsed in the calling thread.
+ *
+ * <pre>
+ * try (MappedRJEReader reader = new MappedRJEReader(path)) {
+ *     new BatchMessageParser(ForkJoinPool.commonPool()).parse(reader, result -&gt; {
+ *         if (result.isError()) {
+ *             log.warning("message at " + result.getOffset() + " failed: " + result.getError());
+ *         }
+ *     });
+ * }
+ * </pre>
+ *
+ * @since 10.3.20
+ */
+public class BatchMessageParser {
+    private static final Logger log = Logger.getLogger(BatchMessageParser.class.getName());
+
+    /**
+     * Default maximum number of messages read and not yet delivered
+     */
+    public static final int DEFAULT_MAX_PENDING = 1024;
+
+    private final Executor executor;
+    private boolean ordered = true;
+    private boolean parseMT = true;
+    private int maxPending = DEFAULT_MAX_PENDING;
+    private SwiftParserConfiguration configuration;
+
+    /**
+     * Creates a batch parser running the parse tasks in the given executor.
+     *
+     * @param executor executor for the parse tasks
+     */
+    public BatchMessageParser(final Executor executor) {
+        this.executor = Objects.requireNonNull(executor, "executor must not be null");
+    }
+
+    /**
+     * Indicates whether the results are delivered in the same order of the messages in the file. Defaults to true.
+     *
+     * <p>When false, each result is delivered as soon as its message is parsed, which avoids waiting for slow
+     * messages at the cost of losing the input order.
+     */
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    /**
+     * @see #isOrdered()
+     */
+    public BatchMessageParser setOrdered(final boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    /**
+     * Indicates whether each parsed message is also converted into its specific MT. Defaults to true.
+     *
+     * <p>The conversion follows the same rules of {@link AbstractReader#nextMT()}.
+     */
+    public boolean isParseMT() {
+        return parseMT;
+    }
+
+    /**
+     * @see #isParseMT()
+     */
+    public BatchMessageParser setParseMT(final boolean parseMT) {
+        this.parseMT = parseMT;
+        return this;
+    }
+
+    /**
+     * Maximum number of messages read from the reader and not yet delivered to the consumer. When the limit is
+     * reached the reading is paused until some of the pending results are delivered.
+     * Defaults to {@link #DEFAULT_MAX_PENDING}.
+     */
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    /**
+     * @see #getMaxPending()
+     * @throws IllegalArgumentException if the parameter is not positive
+     */
+    public BatchMessageParser setMaxPending(final int maxPending) {
+        Validate.isTrue(maxPending > 0, "maxPending must be positive");
+        this.maxPending = maxPending;
+        return this;
+    }
+
+    /**
+     * Optional configuration for the {@link SwiftParser}, shared by all the parse tasks.
+     * If not set, the parser defaults are used.
+     */
+    public SwiftParserConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * @see #getConfiguration()
+     */
+    public BatchMessageParser setConfiguration(final SwiftParserConfiguration configuration) {
+        this.configuration = configuration;
+        return this;
+    }
+
+    /**
+     * Reads all the messages from the reader and parses them, delivering each result to the consumer.
+     *
+     * <p>The consumer is always called in the calling thread, and this method returns when all the messages read
+     * have been delivered.
+     *
+     * @param reader source of raw messages
+     * @param consumer the results consumer
+     * @throws IllegalStateException if the calling thread is interrupted while waiting for the results
+     */
+    public void parse(final AbstractReader reader, final Consumer<Result> consumer) {
+        Objects.requireNonNull(reader, "reader must not be null");
+        Objects.requireNonNull(consumer, "consumer must not be null");
+
+        final BlockingQueue<Result> completed = new LinkedBlockingQueue<>();
+        final Map<Integer, Result> outOfOrder = new HashMap<>();
+        int submitted = 0;
+        int delivered = 0;
+
+        while (reader.hasNext()) {
+            final String raw = reader.next();
+            if (StringUtils.isBlank(raw)) {
+                // the piece after the last RJE separator is normally blank
+                log.fine("Ignoring blank message");
+                continue;
+            }
+            final long offset = reader instanceof MappedFileReader ? ((MappedFileReader) reader).getOffset() : -1;
+            final Result result = new Result(submitted++, offset, raw);
+            final Runnable task = () -> {
+                try {
+                    parse(result);
+                } finally {
+                    completed.add(result);
+                }
+            };
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                log.fine("Executor rejected message " + result.getIndex() + ", parsing it in the calling thread");
+                task.run();
+            }
+            while (submitted - delivered >= maxPending) {
+                delivered += deliver(take(completed), outOfOrder, delivered, consumer);
+            }
+        }
+        while (delivered < submitted) {
+            delivered += deliver(take(completed), outOfOrder, delivered, consumer);
+        }
+    }
+
+    /**
+     * Reads all the messages from the reader and parses them.
+     *
+     * @param reader source of raw messages
+     * @return the results, in input order or in completion order depending on {@link #isOrdered()}
+     * @throws IllegalStateException if the calling thread is interrupted while waiting for the results
+     */
+    public List<Result> parse(final AbstractReader reader) {
+        final List<Result> results = new ArrayList<>();
+        parse(reader, results::add);
+        return results;
+    }
+
+    /**
+     * Delivers a completed result, or holds it until the previous ones are completed in ordered mode.
+     *
+     * @return the number of results delivered
+     */
+    private int deliver(
+            final Result result,
+            final Map<Integer, Result> outOfOrder,
+            final int delivered,
+            final Consumer<Result> consumer) {
+        if (!ordered) {
+            consumer.accept(result);
+            return 1;
+        }
+        outOfOrder.put(result.getIndex(), result);
+        int count = 0;
+        Result next;
+        while ((next = outOfOrder.remove(delivered + count)) != null) {
+            consumer.accept(next);
+            count++;
+        }
+        return count;
+    }
+
+    private static Result take(final BlockingQueue<Result> completed) {
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for parse results", e);
+        }
+    }
+
+    private void parse(final Result result) {
+        try {
+            result.message = SwiftParser.parseMessage(result.raw, configuration);
+            if (parseMT) {
+                result.mt = AbstractReader.toMT(result.message, getClass());
+            }
+        } catch (Exception e) {
+            result.error = e;
+        }
+    }
+
+    /**
+     * The outcome of parsing one message of the batch
+     */
+    public static final class Result {
+        private final int index;
+        private final long offset;
+        private final String raw;
+        private SwiftMessage message;
+        private AbstractMT mt;
+        private Exception error;
+
+        Result(final int index, final long offset, final String raw) {
+            this.index = index;
+            this.offset = offset;
+            this.raw = raw;
+        }
+
+        /**
+         * @return the zero based position of the message in the batch, not counting blank messages
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return the message byte offset in the file when read with a {@link MappedFileReader}, -1 otherwise
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * @return the raw message content as read from the file
+         */
+        public String getRaw() {
+            return raw;
+        }
+
+        /**
+         * @return the parsed message, or null if the parse failed
+         */
+        public SwiftMessage getMessage() {
+            return message;
+        }
+
+        /**
+         * @return the message as MT, or null if the parse failed, the MT conversion is disabled or the message is a
+         * service message other than an ACK/NAK
+         * @see AbstractReader#nextMT()
+         */
+        public AbstractMT getMT() {
+            return mt;
+        }
+
+        /**
+         * @return the exception thrown while parsing the message, or null if the parse succeeded
+         */
+        public Exception getError() {
+            return error;
+        }
+
+        /**
+         * @return true if the message could not be parsed
+         */
+        public boolean isError() {
+            return error != null;
+        }
+    }
+}
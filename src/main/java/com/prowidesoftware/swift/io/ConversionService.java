@@ -46,12 +46,10 @@ public class ConversionService implements IConversionService {
     public String getFIN(final SwiftMessage msg) {
         Objects.requireNonNull(msg);
 
-        final StringWriter writer = new StringWriter();
-        SwiftWriter.writeMessage(msg, writer, true);
-        final String fin = writer.getBuffer().toString();
-
-        // ensure EOLs in the result
-        return SwiftWriter.ensureEols(fin);
+        // EOLs are normalized while writing
+        final StringBuilder fin = new StringBuilder();
+        SwiftWriter.writeFin(msg, fin);
+        return fin.toString();
     }
 
     /**
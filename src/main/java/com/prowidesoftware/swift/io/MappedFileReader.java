@@ -0,0 +1,225 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Base class for message reader iterators over memory-mapped files.
+ *
+ * <p>The file is mapped in large windows and the message separators are found by scanning bytes, so files of several
+ * GB can be read without loading them in memory and without the per-char reads of {@link RJEReader} and
+ * {@link PPCReader}. Each message is decoded only when returned by {@link #next()}.
+ *
+ * <p>The byte offset in the file of each message returned is available through {@link #getOffset()}, and a message
+ * can be read again later with {@link #read(long)} without scanning the file from the start.
+ *
+ * <p>Since the separators are located at byte level, the charset must encode the ASCII characters as single bytes,
+ * which is the case for UTF-8, US-ASCII and ISO-8859 charsets among others.
+ *
+ * @since 10.3.20
+ */
+public abstract class MappedFileReader extends AbstractReader implements Closeable {
+
+    /**
+     * Default size of the file regions mapped in memory
+     */
+    static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final Charset charset;
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart = 0;
+    private int windowLength = 0;
+
+    /**
+     * Current scanning position in the file
+     */
+    protected long position = 0;
+
+    private long offset = -1;
+
+    /**
+     * Constructs a reader to read messages from a file using the specified charset.
+     *
+     * @param path file to read
+     * @param charset charset, if null UTF-8 is used
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if the file does not exist or the charset is not ASCII compatible
+     */
+    protected MappedFileReader(final Path path, final Charset charset) throws IOException {
+        this(path, charset, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedFileReader(final Path path, final Charset charset, final int windowSize) throws IOException {
+        super((java.io.Reader) null);
+        Objects.requireNonNull(path, "file must not be null");
+        Validate.isTrue(path.toFile().exists(), "Non existent file: " + path.toAbsolutePath());
+        this.charset = charset != null ? charset : StandardCharsets.UTF_8;
+        Validate.isTrue(
+                isAsciiCompatible(this.charset),
+                "Charset " + this.charset + " is not supported, ASCII characters must be encoded as single bytes");
+        this.windowSize = windowSize;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = this.channel.size();
+    }
+
+    /**
+     * Constructs a reader to read messages from a file using the specified charset.
+     *
+     * @param file file to read
+     * @param charset charset, if null UTF-8 is used
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if the file does not exist or the charset is not ASCII compatible
+     */
+    protected MappedFileReader(final File file, final Charset charset) throws IOException {
+        this(Objects.requireNonNull(file, "file must not be null").toPath(), charset);
+    }
+
+    private static boolean isAsciiCompatible(final Charset charset) {
+        return Arrays.equals(
+                "$\u0001\u0003 ".getBytes(charset), new byte[] {'$', PPCReader.BEGIN, PPCReader.END, PPCReader.EMPTY});
+    }
+
+    /**
+     * Reads again the message starting at the given byte offset, as returned by {@link #getOffset()} when the
+     * message was returned by {@link #next()}.
+     *
+     * <p>This method does not change the iteration state.
+     *
+     * @param offset the message byte offset in the file
+     * @return the message raw content
+     * @throws IllegalArgumentException if the offset is not within the file
+     */
+    public abstract String read(long offset);
+
+    /**
+     * Gets the byte offset in the file of the message last returned by {@link #next()}.
+     *
+     * @return the offset of the message first byte or -1 if no message has been read yet
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the file size in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Sets the offset of the message being returned by next
+     */
+    protected void setOffset(final long offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * Finds the next occurrence of a byte in the file.
+     *
+     * @param b the byte to find
+     * @param from absolute position to start the scan
+     * @return the absolute position of the byte or the file size if not found
+     */
+    protected long indexOf(final byte b, final long from) {
+        long pos = from;
+        while (pos < size) {
+            map(pos);
+            final int limit = windowLength;
+            for (int i = (int) (pos - windowStart); i < limit; i++) {
+                if (window.get(i) == b) {
+                    return windowStart + i;
+                }
+            }
+            pos = windowStart + limit;
+        }
+        return size;
+    }
+
+    /**
+     * Decodes a region of the file.
+     *
+     * @param start absolute position of the first byte
+     * @param end absolute position after the last byte
+     * @return the decoded content, trimmed
+     */
+    protected String decode(final long start, final long end) {
+        if (end <= start) {
+            return "";
+        }
+        final ByteBuffer bytes;
+        if (window != null && start >= windowStart && end <= windowStart + windowLength) {
+            bytes = window.duplicate();
+            bytes.position((int) (start - windowStart));
+            bytes.limit((int) (end - windowStart));
+        } else {
+            bytes = mapRegion(start, end - start);
+        }
+        return charset.decode(bytes).toString().trim();
+    }
+
+    /**
+     * Checks a position for the {@link #read(long)} method
+     */
+    protected void validateOffset(final long offset) {
+        Validate.isTrue(offset >= 0 && offset <= size, "Offset " + offset + " is not within the file");
+    }
+
+    /**
+     * Maps the window containing the given absolute position, if not already mapped
+     */
+    private void map(final long pos) {
+        if (window == null || pos < windowStart || pos >= windowStart + windowLength) {
+            windowLength = (int) Math.min(windowSize, size - pos);
+            window = mapRegion(pos, windowLength);
+            windowStart = pos;
+        }
+    }
+
+    private MappedByteBuffer mapRegion(final long start, final long length) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error mapping file region at " + start + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Closes the underlying file channel
+     */
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
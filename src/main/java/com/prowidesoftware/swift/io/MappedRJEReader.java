@@ -0,0 +1,118 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Helper class to read large RJE files through memory mapping.
+ *
+ * <p>Same as {@link RJEReader} the iterator returns the raw content of each SWIFT message found in the file, but the
+ * messages are located by scanning the mapped bytes for the separator char, and each message byte offset is available
+ * to read it again with {@link #read(long)}.
+ *
+ * <p>The reader holds an open file channel and should be closed after use.
+ *
+ * @since 10.3.20
+ */
+public class MappedRJEReader extends MappedFileReader {
+
+    private byte splitChar = RJEReader.SPLITCHAR;
+
+    /**
+     * Constructs a reader to read messages from a file in UTF-8
+     *
+     * @param path file to read
+     * @throws IOException if the file cannot be opened
+     */
+    public MappedRJEReader(final Path path) throws IOException {
+        super(path, null);
+    }
+
+    /**
+     * Constructs a reader to read messages from a file using the specified charset.
+     *
+     * @param path file to read
+     * @param charset charset, must encode ASCII characters as single bytes
+     * @throws IOException if the file cannot be opened
+     */
+    public MappedRJEReader(final Path path, final Charset charset) throws IOException {
+        super(path, charset);
+    }
+
+    /**
+     * Constructs a reader to read messages from a file using the specified charset.
+     *
+     * @param file file to read
+     * @param charset charset, must encode ASCII characters as single bytes
+     * @throws IOException if the file cannot be opened
+     */
+    public MappedRJEReader(final File file, final Charset charset) throws IOException {
+        super(file, charset);
+    }
+
+    MappedRJEReader(final Path path, final Charset charset, final int windowSize) throws IOException {
+        super(path, charset, windowSize);
+    }
+
+    /**
+     * Returns true if the iterator has more messages.
+     * If the RJE file ends with a separator followed by blank characters, the iteration will return a blank message
+     * at the end.
+     */
+    @Override
+    public boolean hasNext() {
+        return position < size();
+    }
+
+    /**
+     * Returns the next message in the iterator in its raw format
+     *
+     * @throws NoSuchElementException if there are no more messages
+     */
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more messages in file");
+        }
+        final long start = position;
+        final long end = indexOf(splitChar, start);
+        setOffset(start);
+        position = end < size() ? end + 1 : size();
+        return decode(start, end);
+    }
+
+    @Override
+    public String read(final long offset) {
+        validateOffset(offset);
+        return decode(offset, indexOf(splitChar, offset));
+    }
+
+    /**
+     * Overwrites the default standard split char {@link RJEReader#SPLITCHAR}
+     *
+     * @param c an ASCII character to use as message separator
+     */
+    public void setSplitChar(final char c) {
+        Validate.isTrue(c < 0x80, "The split char must be an ASCII character");
+        this.splitChar = (byte) c;
+    }
+}
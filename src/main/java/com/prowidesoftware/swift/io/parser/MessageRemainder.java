@@ -0,0 +1,119 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.swift.model.SwiftBlock4;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import java.io.IOException;
+
+/**
+ * Content left unparsed by the {@link SwiftParser} in partial parse mode.
+ *
+ * <p>The remainder is bound to the parser that created it: the remaining input is read only when {@link #getText()}
+ * or {@link #parse()} is called, so the parser must not be used to read other content before that.
+ *
+ * @see SwiftParserConfiguration#getPartialParseBlocks()
+ * @see SwiftParserConfiguration#getPartialParseTags()
+ * @since 10.3.20
+ */
+public final class MessageRemainder {
+    private final SwiftParser parser;
+    private final SwiftMessage message;
+
+    /**
+     * Block 4 content and offset where the tags parsing stopped, or null if the parser stopped at a block start
+     */
+    private final SwiftBlock4 block4;
+
+    private final String block4Text;
+    private final int block4Offset;
+
+    /**
+     * Position in the parser buffer where the unparsed text starts
+     */
+    private final int start;
+
+    /**
+     * Position in the parser buffer where the parsing of the following blocks resumes
+     */
+    private final int resume;
+
+    private String text;
+    private boolean parsed = false;
+
+    MessageRemainder(
+            final SwiftParser parser,
+            final SwiftMessage message,
+            final SwiftBlock4 block4,
+            final String block4Text,
+            final int block4Offset,
+            final int start,
+            final int resume) {
+        this.parser = parser;
+        this.message = message;
+        this.block4 = block4;
+        this.block4Text = block4Text;
+        this.block4Offset = block4Offset;
+        this.start = start;
+        this.resume = resume;
+    }
+
+    /**
+     * Gets the partially parsed message this remainder belongs to.
+     *
+     * @return the message returned by {@link SwiftParser#message()}
+     */
+    public SwiftMessage getMessage() {
+        return message;
+    }
+
+    /**
+     * Gets the raw content not parsed, starting either in the middle of the block 4 or at a block start, and
+     * including any content after the message.
+     *
+     * @return the remaining content as read from the parser input
+     * @throws IOException if an error occurs reading the rest of the input
+     */
+    public String getText() throws IOException {
+        if (this.text == null) {
+            this.text = this.parser.remainderText(this.start);
+        }
+        return this.text;
+    }
+
+    /**
+     * Parses the remaining content into the message, completing its block 4 and adding the following blocks. Errors
+     * found are appended to the parser errors. Calling this method more than once has no effect.
+     *
+     * @return the message, now fully parsed
+     * @throws IOException if an error occurs reading the rest of the input
+     */
+    public SwiftMessage parse() throws IOException {
+        if (!this.parsed) {
+            final String rest = getText().substring(this.resume - this.start);
+            this.parsed = true;
+            this.parser.resume(this.message, this.block4, this.block4Text, this.block4Offset, rest);
+        }
+        return this.message;
+    }
+
+    /**
+     * @return true if {@link #parse()} was already called
+     */
+    public boolean isParsed() {
+        return parsed;
+    }
+}
@@ -0,0 +1,482 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import com.prowidesoftware.ProwideException;
+import com.prowidesoftware.swift.model.*;
+import com.prowidesoftware.swift.utils.IMessageVisitor;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Push style FIN parser, reading messages from a reader and calling the {@link IMessageVisitor} methods as the blocks
+ * and tags are read, without building the complete message.
+ *
+ * <p>The header blocks, the trailer block and the user blocks are parsed as in the {@link SwiftParser} and kept in the
+ * message passed to the visitor. The tags of a text block 4 (the common block 4 for categories 1 to 9) are instead
+ * passed to the visitor one by one as soon as each tag is read, and are not kept; the message contains an empty block 4
+ * and the memory used does not depend on the number of tags. This makes possible to process big statements, or to
+ * convert them with the {@link com.prowidesoftware.swift.io.writer.FINWriterVisitor} or
+ * {@link com.prowidesoftware.swift.io.writer.XMLWriterVisitor} while they are read.
+ *
+ * <p>The visitor methods are called in the order documented in {@link IMessageVisitor} with these differences:
+ * <ul>
+ * <li>the <code>startMessage</code> call and the headers blocks 1, 2 and 3 are delayed until a block other than the
+ * headers is found, so the visitor can check the headers from the message at the start</li>
+ * <li>the blocks after the block 4 are visited in the order they are read</li>
+ * <li><code>block4Text</code> is never called</li>
+ * </ul>
+ *
+ * <p>Contrary to the {@link SwiftParser}, a block 1 found after the message block 1 starts a new message instead of
+ * being read as unparsed text, so each call to {@link #parse(IMessageVisitor)} reads one message of a file with
+ * several messages concatenated.
+ *
+ * @since 10.3.20
+ */
+public class SwiftEventParser {
+    private static final transient java.util.logging.Logger log =
+            java.util.logging.Logger.getLogger(SwiftEventParser.class.getName());
+
+    private final Reader reader;
+
+    private final char[] buffer = new char[SwiftParserConfiguration.BUFFERED_SCANNING_WINDOW_SIZE];
+    private int pos = 0;
+    private int len = 0;
+
+    /**
+     * Used to create the blocks and tags, holding the configuration and the errors
+     */
+    private final SwiftParser parser = new SwiftParser();
+
+    /**
+     * Content of the current block 4 tag, reused between tags
+     */
+    private final StringBuilder tag = new StringBuilder();
+
+    /**
+     * Content of a block 1 read after the previous message, that starts the next one
+     */
+    private String nextBlock1;
+
+    /**
+     * Constructor with a reader for parsing messages
+     *
+     * @param reader the reader with the FIN content to read, it is not closed by the parser
+     */
+    public SwiftEventParser(final Reader reader) {
+        this.reader = Objects.requireNonNull(reader, "reader cannot be null");
+    }
+
+    /**
+     * Constructor with an input stream for parsing messages encoded in {@link StandardCharsets#UTF_8}.
+     *
+     * @param is stream to read, it is not closed by the parser
+     */
+    public SwiftEventParser(final InputStream is) {
+        this(new InputStreamReader(is, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Constructor with a String for parsing messages
+     *
+     * @param fin the FIN content to read
+     */
+    public SwiftEventParser(final String fin) {
+        this(new StringReader(fin));
+    }
+
+    /**
+     * Reads the next message calling the visitor methods for its blocks and tags.
+     *
+     * @param visitor the visitor receiving the message content
+     * @return true if a message was read, false if the end of the input was reached
+     * @throws IOException              if an error occurs during read
+     * @throws IllegalArgumentException if the configuration is not lenient and a block is not properly closed
+     * @throws ProwideException         if the configuration is not lenient and a block cannot be identified
+     */
+    public boolean parse(final IMessageVisitor visitor) throws IOException {
+        Objects.requireNonNull(visitor, "visitor cannot be null");
+        this.parser.getErrors().clear();
+
+        final SwiftMessage message = new SwiftMessage(false);
+        boolean found = false;
+        boolean started = false;
+        if (this.nextBlock1 != null) {
+            message.addBlock(this.parser.createBlock('1', this.nextBlock1));
+            this.nextBlock1 = null;
+            found = true;
+        }
+
+        while (true) {
+            // search for block start
+            final String unparsed = findBlockStart();
+            if (!unparsed.isEmpty()) {
+                message.getUnparsedTexts().addText(unparsed);
+                found = true;
+            }
+            final int id = peek(0);
+            if (id == -1) {
+                break;
+            }
+            found = true;
+
+            if (id == '4' && peek(1) == ':') {
+                read();
+                read();
+                if (!started) {
+                    start(message, visitor);
+                    started = true;
+                }
+                block4(message, visitor);
+                continue;
+            }
+
+            final String s = readUntilBlockEnds();
+            if (s.isEmpty()) {
+                break;
+            }
+            final char blockId = this.parser.identifyBlock(s);
+            if (blockId == ' ') {
+                if (this.parser.getConfiguration().isLenient()) {
+                    this.parser.getErrors().add("The block " + s + " could not be identified");
+                    break;
+                }
+                log.severe("unidentified block:" + s);
+                throw new ProwideException("The block " + s + " could not be identified");
+            }
+            if (blockId == '1' && message.getBlock1() != null) {
+                // start of the next message
+                this.nextBlock1 = s;
+                break;
+            }
+
+            final SwiftBlock b = this.parser.createBlock(blockId, s);
+            message.addBlock(b);
+            if (started) {
+                visit(b, visitor);
+            } else if (blockId != '1' && blockId != '2' && blockId != '3') {
+                start(message, visitor);
+                started = true;
+            }
+        }
+
+        if (!found) {
+            return false;
+        }
+        if (!started) {
+            start(message, visitor);
+        }
+        visitor.endMessage(message);
+        return true;
+    }
+
+    /**
+     * Starts visiting the message and visits the blocks already read, in the message order
+     */
+    private static void start(final SwiftMessage message, final IMessageVisitor visitor) {
+        visitor.startMessage(message);
+        visit(message.getBlock1(), visitor);
+        visit(message.getBlock2(), visitor);
+        visit(message.getBlock3(), visitor);
+        if (message.getBlock5() != null) {
+            visit(message.getBlock5(), visitor);
+        }
+        if (message.getUserBlocks() != null) {
+            for (final SwiftBlockUser b : message.getUserBlocks()) {
+                visit(b, visitor);
+            }
+        }
+    }
+
+    private static void visit(final SwiftBlock b, final IMessageVisitor visitor) {
+        if (b instanceof SwiftBlock1) {
+            final SwiftBlock1 b1 = (SwiftBlock1) b;
+            visitor.startBlock1(b1);
+            visitor.value(b1, b1.getValue());
+            visitor.endBlock1(b1);
+        } else if (b instanceof SwiftBlock2) {
+            final SwiftBlock2 b2 = (SwiftBlock2) b;
+            visitor.startBlock2(b2);
+            visitor.value(b2, b2.getValue());
+            visitor.endBlock2(b2);
+        } else if (b instanceof SwiftBlock3) {
+            final SwiftBlock3 b3 = (SwiftBlock3) b;
+            visitor.startBlock3(b3);
+            SwiftMessage.visit(b3, visitor);
+            visitor.endBlock3(b3);
+        } else if (b instanceof SwiftBlock4) {
+            final SwiftBlock4 b4 = (SwiftBlock4) b;
+            visitor.startBlock4(b4);
+            SwiftMessage.visit(b4, visitor);
+            visitor.endBlock4(b4);
+        } else if (b instanceof SwiftBlock5) {
+            final SwiftBlock5 b5 = (SwiftBlock5) b;
+            visitor.startBlock5(b5);
+            SwiftMessage.visit(b5, visitor);
+            visitor.endBlock5(b5);
+        } else if (b instanceof SwiftBlockUser) {
+            final SwiftBlockUser user = (SwiftBlockUser) b;
+            visitor.startBlockUser(user);
+            SwiftMessage.visit(user, visitor);
+            visitor.endBlockUser(user);
+        }
+    }
+
+    /**
+     * Reads the block 4 after its "4:" identifier. A text block is visited as its tags are read, while a block 4 in
+     * tag mode (as in service and system messages) is read and parsed as the other blocks.
+     */
+    private void block4(final SwiftMessage message, final IMessageVisitor visitor) throws IOException {
+        // check the content up to the first tag start to decide the block mode, as SwiftParser.isTextBlock
+        final StringBuilder prefix = new StringBuilder();
+        int c;
+        while ((c = read()) != -1 && c != ':' && c != '{' && c != '}') {
+            prefix.append((char) c);
+        }
+        if (c == '{') {
+            final String s = "4:" + prefix + "{" + readUntilBlockEnds(2);
+            final SwiftBlock b = this.parser.createBlock('4', s);
+            message.addBlock(b);
+            visit(b, visitor);
+            return;
+        }
+
+        final SwiftBlock4 b4 = new SwiftBlock4();
+        message.addBlock(b4);
+        visitor.startBlock4(b4);
+        if (c == ':') {
+            final String text = prefix.toString().trim();
+            if (!text.isEmpty()) {
+                b4.unparsedTextAddText(text);
+            }
+            textBlock4(b4, this.parser.getConfiguration().isParseTextBlock() ? visitor : null);
+        } else if (c == -1) {
+            missingBracket('4');
+        }
+        visitor.endBlock4(b4);
+    }
+
+    /**
+     * Reads the tags of a text block, from the first tag name up to the block end "[LBR]-}", with the same tag
+     * boundaries as {@link SwiftParser#findEndOfTagByLineFeed(String, int, boolean)}
+     *
+     * @param visitor the visitor to call for each tag or null to skip the block content
+     */
+    private void textBlock4(final SwiftBlock4 b4, final IMessageVisitor visitor) throws IOException {
+        this.tag.setLength(0);
+        while (true) {
+            final int c = read();
+            if (c == -1) {
+                final int last = this.tag.length() - 1;
+                if (last >= 0 && this.tag.charAt(last) == '\n') {
+                    this.tag.setLength(last);
+                }
+                tag(b4, visitor);
+                missingBracket('4');
+                return;
+            }
+            if (c == '\n') {
+                final int next = peek(0);
+                if (next == ':' && isTagStart()) {
+                    read();
+                    tag(b4, visitor);
+                    continue;
+                }
+                if (next == '-' && peek(1) == '}') {
+                    read();
+                    read();
+                    tag(b4, visitor);
+                    return;
+                }
+            } else if (c == '-' && peek(0) == '}') {
+                // a block end not at a line start ends the tag, the rest of the block is ignored
+                read();
+                tag(b4, visitor);
+                skipUntilTextBlockEnds();
+                return;
+            }
+            this.tag.append((char) c);
+        }
+    }
+
+    /**
+     * Creates a tag with the content read, excluding the trailing [CR] if any, and passes it to the visitor
+     */
+    private void tag(final SwiftBlock4 b4, final IMessageVisitor visitor) {
+        int end = this.tag.length();
+        if (end > 0 && this.tag.charAt(end - 1) == '\r') {
+            end--;
+        }
+        if (visitor != null) {
+            final Tag t = this.parser.createTag(this.tag.substring(0, end), null);
+            if (t != null) {
+                visitor.tag(b4, t);
+            }
+        }
+        this.tag.setLength(0);
+    }
+
+    /**
+     * @return true if the characters after the colon in the read-ahead buffer have the format nn[a]:
+     */
+    private boolean isTagStart() throws IOException {
+        if (!isDigit(peek(1)) || !isDigit(peek(2))) {
+            return false;
+        }
+        final int c3 = peek(3);
+        if (c3 == ':') {
+            return true;
+        }
+        return c3 != -1 && Character.isUpperCase((char) c3) && peek(4) == ':';
+    }
+
+    private static boolean isDigit(final int c) {
+        return c != -1 && Character.isDigit((char) c);
+    }
+
+    private void skipUntilTextBlockEnds() throws IOException {
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '\n' && peek(0) == '-' && peek(1) == '}') {
+                read();
+                read();
+                return;
+            }
+        }
+        missingBracket('4');
+    }
+
+    /**
+     * Reads until a block start character or the end of input, the block start is not consumed
+     *
+     * @return the text found before the block start
+     */
+    private String findBlockStart() throws IOException {
+        StringBuilder text = null;
+        int c;
+        while ((c = read()) != -1 && c != '{') {
+            if (text == null) {
+                text = new StringBuilder();
+            }
+            text.append((char) c);
+        }
+        return text != null ? text.toString() : "";
+    }
+
+    private String readUntilBlockEnds() throws IOException {
+        return readUntilBlockEnds(1);
+    }
+
+    /**
+     * Reads the block content until the closing bracket balancing the given amount of open brackets
+     *
+     * @return the block content without the closing bracket
+     */
+    private String readUntilBlockEnds(final int open) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        int starts = open;
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '{') {
+                starts++;
+            } else if (c == '}' && --starts == 0) {
+                return sb.toString();
+            }
+            sb.append((char) c);
+        }
+        if (sb.length() > 0) {
+            missingBracket(sb.charAt(0));
+        }
+        return sb.toString();
+    }
+
+    private void missingBracket(final char block) {
+        final String error = "Missing or invalid closing bracket in block " + block;
+        if (this.parser.getConfiguration().isLenient()) {
+            this.parser.getErrors().add(error);
+        } else {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    private int read() throws IOException {
+        if (this.pos == this.len && !fill(1)) {
+            return -1;
+        }
+        return this.buffer[this.pos++];
+    }
+
+    /**
+     * Gets a character ahead of the current position without consuming it
+     *
+     * @param offset the position relative to the next character to read
+     * @return the character or -1 if the input ends before
+     */
+    private int peek(final int offset) throws IOException {
+        if (this.pos + offset >= this.len && !fill(offset + 1)) {
+            return -1;
+        }
+        return this.buffer[this.pos + offset];
+    }
+
+    /**
+     * Reads into the buffer until it holds the requested amount of characters not consumed yet
+     *
+     * @return false if the input ends before
+     */
+    private boolean fill(final int required) throws IOException {
+        if (this.pos > 0) {
+            System.arraycopy(this.buffer, this.pos, this.buffer, 0, this.len - this.pos);
+            this.len -= this.pos;
+            this.pos = 0;
+        }
+        while (this.len < required) {
+            final int size = this.reader.read(this.buffer, this.len, this.buffer.length - this.len);
+            if (size < 0) {
+                return false;
+            }
+            this.len += size;
+        }
+        return true;
+    }
+
+    /**
+     * Get the errors found while reading the last message, in lenient mode.
+     *
+     * @return the list of errors found
+     */
+    public List<String> getErrors() {
+        return this.parser.getErrors();
+    }
+
+    /**
+     * @return the parser configuration
+     */
+    public SwiftParserConfiguration getConfiguration() {
+        return this.parser.getConfiguration();
+    }
+
+    /**
+     * Sets the parser configuration. The partial parse and lazy text block options do not apply to this parser.
+     *
+     * @param configuration the configuration to use
+     */
+    public void setConfiguration(final SwiftParserConfiguration configuration) {
+        this.parser.setConfiguration(configuration);
+    }
+}
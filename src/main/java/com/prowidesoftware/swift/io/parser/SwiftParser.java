@@ -21,7 +21,10 @@ import com.prowidesoftware.swift.utils.Lib;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 
 /**
@@ -39,6 +42,24 @@ public class SwiftParser {
 
     private static final transient java.util.logging.Logger log =
             java.util.logging.Logger.getLogger(SwiftParser.class.getName());
+
+    /**
+     * Inner buffer capacity above which the buffer is released on {@link #reset()} instead of kept for the next input
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    /**
+     * Parsers reused by {@link #parseMessage(String, SwiftParserConfiguration)} in each thread, when enabled
+     */
+    private static final ThreadLocal<SwiftParser> threadLocalParser = new ThreadLocal<>();
+
+    private static volatile boolean threadLocalCache = false;
+
+    /**
+     * True once the thread local cache was enabled, so parsers left in other threads after disabling it are dropped
+     */
+    private static volatile boolean threadLocalCacheUsed = false;
+
     /**
      * Errors found while parsing the message.
      */
@@ -55,11 +76,68 @@ public class SwiftParser {
 
     private int lastBlockStartOffset = 0;
 
+    /**
+     * Read-ahead window used when {@link SwiftParserConfiguration#isBufferedScanning()} is enabled.
+     * Chunks read into the window are appended in bulk to the buffer, so the buffer may contain characters
+     * not yet consumed; {@link #consumed()} returns the logical read position.
+     */
+    private char[] window;
+
+    private int windowPos = 0;
+    private int windowLen = 0;
+
+    /**
+     * Character read ahead to identify the next block in partial parse mode, already appended to the buffer,
+     * or -1 if none
+     */
+    private int pushback = -1;
+
+    /**
+     * Position in the buffer where the content of the block being consumed starts
+     */
+    private int blockTextStart = 0;
+
+    /**
+     * Partial parse settings for the message being parsed, null when not used or when resuming the parse
+     */
+    private Set<Character> partialBlocks;
+
+    private Set<String> partialTags;
+
+    /**
+     * Position in the buffer of the block start where the partial parse stopped, or -1
+     */
+    private int blockStopOffset = -1;
+
+    /**
+     * Block 4 content and the offset within it where the partial parse stopped, or -1
+     */
+    private String block4StopText;
+
+    private int block4StopOffset = -1;
+
+    private MessageRemainder remainder;
+
+    /**
+     * Block 4 content of the block just consumed, to be set in the message without parsing it, or null
+     */
+    private String lazyBlock4Text;
+
     /**
      * @since 7.8
      */
     private SwiftParserConfiguration configuration = new SwiftParserConfiguration();
 
+    /**
+     * Reader of the String set with {@link #setData(String)}, kept to be reused with the next String
+     */
+    private TextReader textReader;
+
+    /**
+     * True while the thread local parser is parsing, to use a new parser if a message is parsed meanwhile
+     */
+    private boolean inUse = false;
+
     /**
      * Constructor with an input stream for parsing a message encoded in {@link StandardCharsets#UTF_8}.
      *
@@ -83,9 +161,11 @@ public class SwiftParser {
      * Constructor with a String for parsing a message
      *
      * @param message the String with the swift message to read
+     * @throws NullPointerException if message is null
      */
     public SwiftParser(final String message) {
-        this(new StringReader(message));
+        this();
+        setData(message);
     }
 
     /**
@@ -250,17 +330,171 @@ public class SwiftParser {
      * @param r the reader to use
      */
     public void setReader(final Reader r) {
-        this.buffer = new StringBuilder();
+        if (this.buffer == null || this.buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            this.buffer = new StringBuilder();
+        } else {
+            // keep the capacity, the content is only accessed through copies
+            this.buffer.setLength(0);
+        }
         this.reader = r;
+        this.windowPos = 0;
+        this.windowLen = 0;
+        this.pushback = -1;
     }
 
     /**
      * sets the input data to the received string.
      *
      * @param data the data to use as input
+     * @throws NullPointerException if data is null
      */
     public void setData(final String data) {
-        setReader(new StringReader(data));
+        Objects.requireNonNull(data, "parameter 'data' cannot be null");
+        if (this.textReader == null) {
+            this.textReader = new TextReader();
+        }
+        this.textReader.set(data);
+        setReader(this.textReader);
+    }
+
+    /**
+     * Clears the input and the result of the last parse, so the parser can be reused with another input by calling
+     * {@link #setReader(Reader)} or {@link #setData(String)}. The errors and the remainder of the last message are
+     * cleared, and the configuration is kept.
+     *
+     * <p>The inner buffers keep their capacity, so parsing many messages with the same parser does not reallocate
+     * them for each message, unless a large input grew them beyond the retained size.
+     *
+     * @since 10.3.20
+     */
+    public void reset() {
+        this.reader = null;
+        if (this.buffer != null && this.buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            this.buffer = null;
+        } else if (this.buffer != null) {
+            this.buffer.setLength(0);
+        }
+        if (this.textReader != null) {
+            this.textReader.set(null);
+        }
+        this.errors.clear();
+        this.currentMessage = null;
+        this.lastBlockStartOffset = 0;
+        this.windowPos = 0;
+        this.windowLen = 0;
+        this.pushback = -1;
+        this.blockTextStart = 0;
+        this.remainder = null;
+        this.lazyBlock4Text = null;
+    }
+
+    /**
+     * Parses the first message in the given content, with a parser reused within the current thread if
+     * {@link #setThreadLocalCache(boolean)} is enabled, or with a new parser otherwise.
+     *
+     * <p>Same as {@code new SwiftParser(fin).message()} with the default configuration.
+     *
+     * @param fin the content to parse
+     * @return the parsed message
+     * @throws IOException if an error occurs during read
+     * @since 10.3.20
+     */
+    public static SwiftMessage parseMessage(final String fin) throws IOException {
+        return parseMessage(fin, null);
+    }
+
+    /**
+     * Parses the first message in the given content with the given configuration, with a parser reused within the
+     * current thread if {@link #setThreadLocalCache(boolean)} is enabled, or with a new parser otherwise.
+     *
+     * <p>Since the parser is not returned, the errors found and the remainder of a partial parse are not available;
+     * use a parser instance for that.
+     *
+     * @param fin           the content to parse
+     * @param configuration the parser configuration, or null for the default configuration
+     * @return the parsed message
+     * @throws IOException if an error occurs during read
+     * @since 10.3.20
+     */
+    public static SwiftMessage parseMessage(final String fin, final SwiftParserConfiguration configuration)
+            throws IOException {
+        final SwiftParser parser = cachedParser();
+        if (parser == null || parser.inUse) {
+            final SwiftParser newParser = new SwiftParser(fin);
+            if (configuration != null) {
+                newParser.setConfiguration(configuration);
+            }
+            return newParser.message();
+        }
+        final SwiftParserConfiguration own = parser.configuration;
+        parser.inUse = true;
+        try {
+            if (configuration != null) {
+                parser.configuration = configuration;
+            }
+            parser.setData(fin);
+            return parser.message();
+        } finally {
+            parser.configuration = own;
+            parser.reset();
+            parser.inUse = false;
+        }
+    }
+
+    /**
+     * Gets the parser cached for the current thread, creating it if necessary.
+     *
+     * @return the cached parser, or null if the cache is disabled
+     */
+    private static SwiftParser cachedParser() {
+        if (!threadLocalCache) {
+            if (threadLocalCacheUsed && threadLocalParser.get() != null) {
+                // left from before the cache was disabled
+                threadLocalParser.remove();
+            }
+            return null;
+        }
+        SwiftParser parser = threadLocalParser.get();
+        if (parser == null) {
+            parser = new SwiftParser();
+            threadLocalParser.set(parser);
+        }
+        return parser;
+    }
+
+    /**
+     * Sets whether {@link #parseMessage(String, SwiftParserConfiguration)}, and so the static parse methods such as
+     * {@link SwiftMessage#parse(String)} and the MT classes constructors from a String, reuse a parser instance per
+     * thread. The cache is disabled by default.
+     *
+     * <p>When enabled each thread keeps a parser with its inner buffers, which avoids allocating the parser state for
+     * each message when many messages are parsed in a fixed set of threads.
+     *
+     * <p>Disabling the cache releases the parser of the calling thread only. The parsers kept by other threads, for
+     * example the workers of a thread pool, are released the next time each thread parses a message with a static
+     * parse method, or when the thread ends. A thread that never parses again keeps its parser, with a retained
+     * buffer of up to 64K chars.
+     *
+     * @param enabled true to reuse a parser per thread
+     * @since 10.3.20
+     */
+    public static void setThreadLocalCache(final boolean enabled) {
+        if (enabled) {
+            threadLocalCacheUsed = true;
+        }
+        threadLocalCache = enabled;
+        if (!enabled) {
+            threadLocalParser.remove();
+        }
+    }
+
+    /**
+     * @return true if the static parse methods reuse a parser per thread
+     * @see #setThreadLocalCache(boolean)
+     * @since 10.3.20
+     */
+    public static boolean isThreadLocalCache() {
+        return threadLocalCache;
     }
 
     /**
@@ -273,6 +507,10 @@ public class SwiftParser {
      *
      * <p>For more options check {@link #setConfiguration(SwiftParserConfiguration)}
      *
+     * <p>When a partial parse is configured with {@link SwiftParserConfiguration#getPartialParseBlocks()} or
+     * {@link SwiftParserConfiguration#getPartialParseTags()}, the returned message may be incomplete and the
+     * unparsed content is available in {@link #getRemainder()}.
+     *
      * <p>IMPORTANT: Since the parser is initialize with a Reader, this method is not reentrant. Once a message was
      * parsed, the next call to this method will produce a message with null blocks.</p>
      *
@@ -283,10 +521,43 @@ public class SwiftParser {
 
         // create a message and store for local reference
         final SwiftMessage message = new SwiftMessage(false);
-        this.currentMessage = message;
 
         // Clear all errors before starting the parse process
         this.errors.clear();
+        this.remainder = null;
+        this.partialBlocks = this.configuration.getPartialParseBlocks();
+        this.partialTags = this.configuration.getPartialParseTags();
+        try {
+            consumeBlocks(message);
+            if (this.block4StopOffset >= 0) {
+                this.remainder = new MessageRemainder(
+                        this,
+                        message,
+                        message.getBlock4(),
+                        this.block4StopText,
+                        this.block4StopOffset,
+                        this.blockTextStart + this.block4StopOffset,
+                        consumed());
+            } else if (this.blockStopOffset >= 0) {
+                this.remainder = new MessageRemainder(
+                        this, message, null, null, -1, this.blockStopOffset, this.blockStopOffset);
+            }
+        } finally {
+            this.partialBlocks = null;
+            this.partialTags = null;
+            this.blockStopOffset = -1;
+            this.block4StopText = null;
+            this.block4StopOffset = -1;
+        }
+
+        return message;
+    }
+
+    /**
+     * Consumes blocks into the message until the end of the input, or until the partial parse stops
+     */
+    private void consumeBlocks(final SwiftMessage message) throws IOException {
+        this.currentMessage = message;
         try {
             boolean done = false;
             SwiftBlock b;
@@ -295,16 +566,62 @@ public class SwiftParser {
                 b = consumeBlock(message.getUnparsedTexts());
                 if (b != null) {
                     this.currentMessage.addBlock(b);
-                } else {
-                    done = true;
+                    if (this.lazyBlock4Text != null) {
+                        message.setBlock4Text(this.lazyBlock4Text);
+                        this.lazyBlock4Text = null;
+                    }
                 }
+                done = b == null || this.block4StopOffset >= 0;
             } while (!done);
         } finally {
             // Clean the reference to the message being parsed
             this.currentMessage = null;
         }
+    }
 
-        return message;
+    /**
+     * Gets the content not parsed by the last call to {@link #message()} in partial parse mode.
+     *
+     * @return the remainder of the last message parsed, or null if the message was parsed completely
+     * @see SwiftParserConfiguration#getPartialParseBlocks()
+     * @see SwiftParserConfiguration#getPartialParseTags()
+     * @since 10.3.20
+     */
+    public MessageRemainder getRemainder() {
+        return remainder;
+    }
+
+    /**
+     * Reads the rest of the input and returns the content from the given position of the inner buffer
+     */
+    String remainderText(final int start) throws IOException {
+        // the read-ahead window and the pushback character are already in the buffer
+        this.windowPos = this.windowLen;
+        this.pushback = -1;
+        final char[] data = new char[1024];
+        int size;
+        while ((size = this.reader.read(data)) >= 0) {
+            this.buffer.append(data, 0, size);
+        }
+        return this.buffer.substring(start);
+    }
+
+    /**
+     * Completes a message partially parsed, continuing the block 4 tags from the given offset if the block is not
+     * null, and parsing the following blocks from the rest of the content
+     */
+    void resume(
+            final SwiftMessage message,
+            final SwiftBlock4 block4,
+            final String block4Text,
+            final int block4Offset,
+            final String rest)
+            throws IOException {
+        if (block4 != null) {
+            consumeBlock4(block4, block4Text, block4Offset);
+        }
+        setReader(new StringReader(rest));
+        consumeBlocks(message);
     }
 
     /**
@@ -322,19 +639,24 @@ public class SwiftParser {
         // search for block start
         final String unparsed = findBlockStart();
 
+        // in partial parse mode stop before reading a block not requested
+        if (this.partialBlocks != null) {
+            final int next = peekChar();
+            if (next != -1 && !this.partialBlocks.contains((char) next)) {
+                this.blockStopOffset = this.lastBlockStartOffset;
+                addUnparsedText(unparsedReceiver, unparsed);
+                return null;
+            }
+        }
+
         // si el string es no vacio agregarlo a unparsed texts
 
         // read the block contents
+        this.blockTextStart = buffer == null ? 0 : consumed();
         final String s = readUntilBlockEnds();
         if (StringUtils.isEmpty(s)) {
             /* if we have an unparsed text add it to last block */
-            if (!unparsed.isEmpty()) {
-                if (unparsedReceiver == null) {
-                    log.warning("Unparsed text '" + unparsed + "' can not be reported since unparsedReceiver is null");
-                } else {
-                    unparsedReceiver.addText(unparsed);
-                }
-            }
+            addUnparsedText(unparsedReceiver, unparsed);
             return null;
         }
 
@@ -351,13 +673,19 @@ public class SwiftParser {
             utBuffer.append("}");
             boolean done = false;
 
+            // in buffered mode part of the remaining input may be already in the read-ahead window
+            if (this.windowPos < this.windowLen) {
+                utBuffer.append(this.window, this.windowPos, this.windowLen - this.windowPos);
+                this.windowPos = this.windowLen;
+            }
+
             while (!done) {
                 // try to read a block of data
                 final char[] data = new char[128];
                 final int size = this.reader.read(data);
                 if (size > 0) {
                     // append the read buffer
-                    utBuffer.append(data);
+                    utBuffer.append(data, 0, size);
                 } else {
                     // we are done
                     done = true;
@@ -391,6 +719,11 @@ public class SwiftParser {
         // create the block object
         b = createBlock(blockId, s);
 
+        addUnparsedText(unparsedReceiver, unparsed);
+        return b;
+    }
+
+    private static void addUnparsedText(final UnparsedTextList unparsedReceiver, final String unparsed) {
         if (!unparsed.isEmpty()) {
             if (unparsedReceiver == null) {
                 log.warning("Unparsed text '" + unparsed + "' can not be reported since unparsedReceiver is null");
@@ -398,7 +731,6 @@ public class SwiftParser {
                 unparsedReceiver.addText(unparsed);
             }
         }
-        return b;
     }
 
     /**
@@ -408,7 +740,7 @@ public class SwiftParser {
      * @param s       the block content
      * @return a specific block instance with the parsed content
      */
-    private SwiftBlock createBlock(final char blockId, final String s) {
+    SwiftBlock createBlock(final char blockId, final String s) {
         SwiftBlock b;
 
         // create the block object
@@ -424,7 +756,15 @@ public class SwiftParser {
                 break;
             case '4': // block 4
                 if (this.configuration.isParseTextBlock()) {
-                    if (isTextBlock(s)) {
+                    if (this.configuration.isLazyTextBlock()
+                            && this.partialTags == null
+                            && this.currentMessage != null
+                            && s.endsWith("-")
+                            && isTextBlock(s)) {
+                        // the text is set into the message once the block is added
+                        this.lazyBlock4Text = s;
+                        b = new SwiftBlock4();
+                    } else if (isTextBlock(s)) {
                         b = consumeBlock4(new SwiftBlock4(), s);
                     } else {
                         b = consumeTagListBlock(new SwiftBlock4(), s);
@@ -611,8 +951,19 @@ public class SwiftParser {
             start++;
         }
 
+        return consumeBlock4(b, s, start);
+    }
+
+    /**
+     * Parses the block 4 tags starting at the given position, stopping when the partial parse tags are found
+     */
+    private SwiftBlock4 consumeBlock4(final SwiftBlock4 b, final String s, int start) {
         final boolean isTextBlock = isTextBlock(s);
 
+        // tags still missing in partial parse mode
+        final Set<String> pendingTags =
+                this.partialTags != null && isTextBlock ? new HashSet<>(this.partialTags) : null;
+
         Tag lastTag = null;
         // start processing tags
         while (start < s.length()) {
@@ -632,9 +983,8 @@ public class SwiftParser {
             }
 
             // check if we skipped a block unparsed text
-            String unparsedText = s.substring(begin, start - ignore - 1).trim();
-            if (!StringUtils.isEmpty(unparsedText)) {
-                b.unparsedTextAddText(unparsedText);
+            if (!isBlank(s, begin, start - ignore - 1)) {
+                b.unparsedTextAddText(s.substring(begin, start - ignore - 1).trim());
             }
 
             // if no more buffer => terminate
@@ -644,7 +994,9 @@ public class SwiftParser {
 
             // decide what are we looking at (notice that "-}" is detected by "}")
             int end = 0;
-            String tag = null;
+            // boundaries of the tag text within the block, -1 if no tag was found
+            int tagStart = -1;
+            int tagEnd = -1;
             String tagUnparsedText = null;
             switch (c) {
                 case '}':
@@ -662,7 +1014,8 @@ public class SwiftParser {
                 case ':':
                     // get the tag text
                     end = findEndOfTagByLineFeed(s, start, isTextBlock);
-                    tag = s.substring(start, end);
+                    tagStart = start;
+                    tagEnd = end;
                     break;
                 case '{':
                     // two things are possible here:
@@ -681,7 +1034,7 @@ public class SwiftParser {
                         }
 
                         // get the unparsed text
-                        unparsedText = s.substring(begin, end);
+                        final String unparsedText = s.substring(begin, end);
 
                         // add the unparsed text
                         b.unparsedTextAddText(unparsedText);
@@ -692,25 +1045,39 @@ public class SwiftParser {
 
                         // get the tag text
                         end = findEndOfTagByBraces(s, start);
-                        tag = s.substring(start, end - 1);
-                        final int utPos = tag.indexOf("{1:");
+                        tagStart = start;
+                        tagEnd = end - 1;
+                        int utPos = -1;
+                        for (int i = start; utPos == -1 && i + 3 <= tagEnd; i++) {
+                            if (s.startsWith("{1:", i)) {
+                                utPos = i;
+                            }
+                        }
                         if (utPos != -1) {
                             // separate unparsed texts from value
-                            tagUnparsedText = tag.substring(utPos);
-                            tag = tag.substring(0, utPos);
+                            tagUnparsedText = s.substring(utPos, tagEnd);
+                            tagEnd = utPos;
                         }
                     }
                     break;
             } /* switch(c) */
 
             // process the tag (only if we have a tag)
-            if (tag != null) {
+            if (tagStart >= 0) {
 
                 // process the tag
-                final Tag t = createTag(tag, tagUnparsedText);
+                final Tag t = createTag(s, tagStart, tagEnd, tagUnparsedText);
                 if (t != null) {
                     b.append(t);
                     lastTag = t;
+                    if (pendingTags != null
+                            && pendingTags.remove(t.getName())
+                            && pendingTags.isEmpty()
+                            && end < s.length()) {
+                        this.block4StopText = s;
+                        this.block4StopOffset = end;
+                        break;
+                    }
                 }
             }
 
@@ -903,19 +1270,33 @@ public class SwiftParser {
      * @return a swift Tag
      */
     protected Tag createTag(final String buffer, final String unparsedText) {
+        return createTag(buffer, 0, buffer.length(), unparsedText);
+    }
+
+    /**
+     * Process the region of the input between start and end as a tag. That is: split name and value (and possibly
+     * unparsed texts).
+     *
+     * <p>The created tag only records the name and value boundaries within the input text, the substrings are
+     * created when the tag name or value is first read. Same as in {@link #createTag(String, String)} any trailing
+     * [CR][LF] in the region will be considered part of the tag value.
+     *
+     * @param s            the text containing the tag, usually the complete block
+     * @param start        the position of the tag name first char
+     * @param end          the position after the tag value last char
+     * @param unparsedText the unparsed text to assign (use null if none is wanted).
+     * @return a swift Tag or null if the region is empty
+     * @since 10.3.20
+     */
+    protected Tag createTag(final String s, final int start, final int end, final String unparsedText) {
         // separate name and value
-        final int sep = buffer.indexOf(':');
-        String name = null;
-        String value;
-        if (sep != -1) {
-            name = buffer.substring(0, sep);
-            value = buffer.substring(sep + 1);
-        } else {
-            value = buffer;
+        int sep = s.indexOf(':', start);
+        if (sep >= end) {
+            sep = -1;
         }
 
         // ignore empty tags (most likely, an "{}" in an unparsed text...)
-        if (StringUtils.isEmpty(name) && StringUtils.isEmpty(value)) {
+        if (sep == -1 ? start == end : sep == start && sep + 1 == end) {
             return null; // no tag...
         }
 
@@ -923,14 +1304,11 @@ public class SwiftParser {
         //
         // NOTE: if we will use different Tag classes, here is the instantiation point
         //
-        final Tag t = new Tag();
-        if (name != null) {
-            t.setName(name);
-            t.setValue(value);
-        } else {
-            log.severe("Avoiding tag with null name and value " + value);
+        if (sep == -1) {
+            log.severe("Avoiding tag with null name and value " + s.substring(start, end));
             throw new IllegalArgumentException("Field cannot have a null tag name");
         }
+        final Tag t = new Tag(s, start, sep, sep + 1, end);
 
         // if there is unparsed text => process it
         if (unparsedText != null) {
@@ -940,6 +1318,19 @@ public class SwiftParser {
         return t;
     }
 
+    /**
+     * @return true if the region of the string between start (inclusive) and end (exclusive) is empty or contains
+     * only whitespace, as trimmed by {@link String#trim()}
+     */
+    private static boolean isBlank(final String s, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (s.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * this method receives a string that is a sequence of unparsed text and splits it into
      * different unparsed texts. The algorithm is to split on message begin (i.e: "{1:" and
@@ -1033,7 +1424,7 @@ public class SwiftParser {
      * @throws IOException if an error occurred during read
      */
     protected String readUntilBlockEnds() throws IOException {
-        final int start = buffer == null ? 0 : buffer.length();
+        final int start = buffer == null ? 0 : consumed();
         int len = 0;
         int c;
 
@@ -1108,8 +1499,9 @@ public class SwiftParser {
 
     private boolean isTextBlock() {
         // hack to report as block4 only text blocks 4, check data in buffer
-        if (this.lastBlockStartOffset >= 0 && buffer.length() > this.lastBlockStartOffset) {
-            return isTextBlock(buffer.substring(this.lastBlockStartOffset));
+        final int consumed = consumed();
+        if (this.lastBlockStartOffset >= 0 && consumed > this.lastBlockStartOffset) {
+            return isTextBlock(buffer.substring(this.lastBlockStartOffset, consumed));
         }
         return false;
     }
@@ -1155,8 +1547,9 @@ public class SwiftParser {
         // check buffer
         if (isBlockEnd((char) curChar)) {
             if (isTextBlock != null && isTextBlock) {
-                final char ult = buffer.charAt(buffer.length() - 2);
-                final char antUlt = buffer.charAt(buffer.length() - 3);
+                final int consumed = consumed();
+                final char ult = buffer.charAt(consumed - 2);
+                final char antUlt = buffer.charAt(consumed - 3);
                 return antUlt == '\n' && ult == '-';
             } else {
                 return true;
@@ -1171,6 +1564,9 @@ public class SwiftParser {
      * @throws IOException if thrown during read
      */
     protected String findBlockStart() throws IOException {
+        if (this.configuration.isBufferedScanning()) {
+            return findBlockStartBuffered();
+        }
         final StringBuilder textUntilBlock = new StringBuilder();
         int c;
         do {
@@ -1188,9 +1584,37 @@ public class SwiftParser {
         return textUntilBlock.length() > 0 ? textUntilBlock.toString() : StringUtils.EMPTY;
     }
 
+    /**
+     * Buffered mode implementation of {@link #findBlockStart()}, scans the read-ahead window for the block start
+     * character instead of reading the input one char at a time.
+     */
+    private String findBlockStartBuffered() throws IOException {
+        StringBuilder textUntilBlock = null;
+        while (windowPos < windowLen || fillWindow()) {
+            int i = windowPos;
+            while (i < windowLen && window[i] != '{') {
+                i++;
+            }
+            if (i > windowPos) {
+                if (textUntilBlock == null) {
+                    textUntilBlock = new StringBuilder(i - windowPos);
+                }
+                textUntilBlock.append(window, windowPos, i - windowPos);
+            }
+            windowPos = i;
+            if (i < windowLen) {
+                // consume the block start
+                windowPos++;
+                lastBlockStartOffset = consumed() - 1;
+                break;
+            }
+        }
+        return textUntilBlock != null ? textUntilBlock.toString() : StringUtils.EMPTY;
+    }
+
     private boolean isBlockStart(final char c) {
         if (c == '{') {
-            lastBlockStartOffset = buffer.length() - 1;
+            lastBlockStartOffset = consumed() - 1;
             return true;
         }
         return false;
@@ -1203,6 +1627,17 @@ public class SwiftParser {
      * @throws IOException if an error occurs during read
      */
     private int getChar() throws IOException {
+        if (this.configuration.isBufferedScanning()) {
+            if (windowPos < windowLen || fillWindow()) {
+                return window[windowPos++];
+            }
+            return -1;
+        }
+        if (this.pushback >= 0) {
+            final int c = this.pushback;
+            this.pushback = -1;
+            return c;
+        }
         final int c = reader.read();
         if (c >= 0) {
             buffer.append((char) c);
@@ -1210,6 +1645,62 @@ public class SwiftParser {
         return c;
     }
 
+    /**
+     * Reads the next char without consuming it
+     *
+     * @return the next char or -1 at end of input
+     * @throws IOException if an error occurs during read
+     */
+    private int peekChar() throws IOException {
+        if (this.configuration.isBufferedScanning()) {
+            if (windowPos < windowLen || fillWindow()) {
+                return window[windowPos];
+            }
+            return -1;
+        }
+        if (this.pushback < 0) {
+            final int c = reader.read();
+            if (c >= 0) {
+                buffer.append((char) c);
+                this.pushback = c;
+            }
+            return c;
+        }
+        return this.pushback;
+    }
+
+    /**
+     * Reads the next chunk of the input into the read-ahead window, appending it in bulk to the inner buffer.
+     *
+     * @return true if some data was read, false at end of input
+     * @throws IOException if an error occurs during read
+     */
+    private boolean fillWindow() throws IOException {
+        if (window == null) {
+            window = new char[SwiftParserConfiguration.BUFFERED_SCANNING_WINDOW_SIZE];
+        }
+        int size;
+        do {
+            size = reader.read(window, 0, window.length);
+        } while (size == 0);
+        if (size < 0) {
+            windowPos = 0;
+            windowLen = 0;
+            return false;
+        }
+        buffer.append(window, 0, size);
+        windowPos = 0;
+        windowLen = size;
+        return true;
+    }
+
+    /**
+     * @return the amount of characters from the inner buffer already consumed by the parser
+     */
+    private int consumed() {
+        return buffer.length() - (windowLen - windowPos) - (pushback >= 0 ? 1 : 0);
+    }
+
     /**
      * Get a copy of the errors found during the parsing of the message.
      * <p>You can manipulate this copy without affecting the original list.
@@ -1240,4 +1731,50 @@ public class SwiftParser {
     public void setConfiguration(final SwiftParserConfiguration configuration) {
         this.configuration = configuration;
     }
+
+    /**
+     * Reader over a String that can be set again with another String. Unlike {@link StringReader} it is not
+     * synchronized, since the parser reads it one char at a time when the buffered scanning is not enabled.
+     */
+    private static final class TextReader extends Reader {
+        private String text;
+        private int position;
+
+        private void set(final String text) {
+            this.text = text;
+            this.position = 0;
+        }
+
+        @Override
+        public int read() throws IOException {
+            ensureOpen();
+            return this.position < this.text.length() ? this.text.charAt(this.position++) : -1;
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            ensureOpen();
+            if (len == 0) {
+                return 0;
+            }
+            if (this.position >= this.text.length()) {
+                return -1;
+            }
+            final int n = Math.min(len, this.text.length() - this.position);
+            this.text.getChars(this.position, this.position + n, cbuf, off);
+            this.position += n;
+            return n;
+        }
+
+        private void ensureOpen() throws IOException {
+            if (this.text == null) {
+                throw new IOException("Stream closed");
+            }
+        }
+
+        @Override
+        public void close() {
+            // the text is released on reset
+        }
+    }
 }
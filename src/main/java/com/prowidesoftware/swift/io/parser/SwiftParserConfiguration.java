@@ -15,6 +15,8 @@
  */
 package com.prowidesoftware.swift.io.parser;
 
+import java.util.Set;
+
 /**
  * Container class for MT parser parameters.
  * This can be passed to the parser to control fine grain details of the process.
@@ -22,10 +24,21 @@ package com.prowidesoftware.swift.io.parser;
  * @since 7.8
  */
 public class SwiftParserConfiguration {
+    /**
+     * Size of the read-ahead window used by the parser in buffered scanning mode
+     *
+     * @since 10.3.20
+     */
+    public static final int BUFFERED_SCANNING_WINDOW_SIZE = 8192;
+
     private boolean lenient = true;
     private boolean parseTextBlock = true;
     private boolean parseTrailerBlock = true;
     private boolean parseUserBlock = true;
+    private boolean bufferedScanning = false;
+    private boolean lazyTextBlock = false;
+    private Set<Character> partialParseBlocks;
+    private Set<String> partialParseTags;
 
     /**
      * Indicates whether the parser is permissive or not. Defaults to true, meaning the parser will do a best effort
@@ -84,4 +97,104 @@ public class SwiftParserConfiguration {
     public void setParseUserBlock(final boolean parseUserBlock) {
         this.parseUserBlock = parseUserBlock;
     }
+
+    /**
+     * Indicates whether the parser reads the input in large chunks into a reusable char array and locates the block
+     * boundaries by indexing into it, instead of calling {@link java.io.Reader#read()} once per character.
+     * Defaults to false.
+     *
+     * <p>The parsed message and the errors reported are the same in both modes. Notice in buffered mode the parser
+     * may read ahead beyond the end of the current message, thus the reader used by the parser must not be shared
+     * with other consumers.
+     *
+     * @since 10.3.20
+     */
+    public boolean isBufferedScanning() {
+        return bufferedScanning;
+    }
+
+    /**
+     * @see #isBufferedScanning()
+     * @since 10.3.20
+     */
+    public void setBufferedScanning(final boolean bufferedScanning) {
+        this.bufferedScanning = bufferedScanning;
+    }
+
+    /**
+     * Indicates whether the text block (block 4) is kept as text in the parsed message, to be split into tags on the
+     * first access to the block. Defaults to false.
+     *
+     * <p>This mode saves most of the parsing time when the block 4 is not read at all, for example when the
+     * messages are routed by their headers and forwarded as is. Notice that the lazy block is written as is by the
+     * {@link com.prowidesoftware.swift.io.writer.SwiftWriter} only when it already has the standard format, with CRLF
+     * line breaks.
+     *
+     * <p>This setting applies to well-formed text blocks only, and it is ignored when the partial parse tags are set.
+     *
+     * @see com.prowidesoftware.swift.model.SwiftMessage#setBlock4Text(String)
+     * @since 10.3.20
+     */
+    public boolean isLazyTextBlock() {
+        return lazyTextBlock;
+    }
+
+    /**
+     * @see #isLazyTextBlock()
+     * @since 10.3.20
+     */
+    public void setLazyTextBlock(final boolean lazyTextBlock) {
+        this.lazyTextBlock = lazyTextBlock;
+    }
+
+    /**
+     * Blocks to parse in partial parse mode. Defaults to null, meaning all blocks are parsed.
+     *
+     * <p>When set, the parser stops at the first block whose identifier is not included in the set, without reading
+     * it, for example with 1, 2 and 3 the parser stops at the block 4. The parsed message will contain just the
+     * initial blocks, and the rest of the content can be retrieved or parsed on demand from the
+     * {@link SwiftParser#getRemainder()}.
+     *
+     * @return the identifiers of the blocks to parse, such as '1', '2', '3', '4', '5' or 'S' for user blocks
+     * @see #getPartialParseTags()
+     * @since 10.3.20
+     */
+    public Set<Character> getPartialParseBlocks() {
+        return partialParseBlocks;
+    }
+
+    /**
+     * @see #getPartialParseBlocks()
+     * @since 10.3.20
+     */
+    public void setPartialParseBlocks(final Set<Character> partialParseBlocks) {
+        this.partialParseBlocks = partialParseBlocks;
+    }
+
+    /**
+     * Block 4 tags to parse in partial parse mode. Defaults to null, meaning the block 4 is fully parsed.
+     *
+     * <p>When set, the parser splits the text block into tags until all the given tag names are found, for example
+     * 20, 21 and 32A, and then it stops. The parsed message will contain a block 4 with the tags found so far, and
+     * the rest of the content can be retrieved or parsed on demand from the {@link SwiftParser#getRemainder()}. If
+     * any of the tags is not present the block 4 is parsed completely. Notice the block text is still read before
+     * splitting it, so for large messages the time saved is the tags creation.
+     *
+     * <p>This setting applies to text blocks only, system and service messages are parsed completely.
+     *
+     * @return the tag names to parse, including the letter option if any
+     * @see #getPartialParseBlocks()
+     * @since 10.3.20
+     */
+    public Set<String> getPartialParseTags() {
+        return partialParseTags;
+    }
+
+    /**
+     * @see #getPartialParseTags()
+     * @since 10.3.20
+     */
+    public void setPartialParseTags(final Set<String> partialParseTags) {
+        this.partialParseTags = partialParseTags;
+    }
 }
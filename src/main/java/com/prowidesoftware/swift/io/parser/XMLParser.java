@@ -17,20 +17,25 @@ package com.prowidesoftware.swift.io.parser;
 
 import static org.apache.commons.text.StringEscapeUtils.unescapeXml;
 
+import com.prowidesoftware.ProwideException;
 import com.prowidesoftware.swift.io.writer.FINWriterVisitor;
 import com.prowidesoftware.swift.model.*;
 import com.prowidesoftware.swift.model.field.Field;
 import com.prowidesoftware.swift.utils.SafeXmlUtils;
-import java.io.ByteArrayInputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 import java.util.logging.Level;
-import javax.xml.parsers.DocumentBuilder;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.apache.commons.lang3.Validate;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * This is the main parser for WIFE's XML internal representation.<br>
@@ -42,6 +47,10 @@ import org.w3c.dom.NodeList;
  * This implementation should be used by calling some of the the conversion
  * services.
  *
+ * <p>Since 10.3.20 the XML is read with a StAX stream reader created by {@link SafeXmlUtils#inputFactory()}, instead
+ * of building a DOM document. Element names are matched ignoring case and, as with the former DOM implementation,
+ * the value of an element is its text up to its first child element, comment or CDATA section.
+ *
  * @see com.prowidesoftware.swift.io.IConversionService
  * @since 5.0
  */
@@ -51,6 +60,8 @@ public class XMLParser {
 
     private static final String UNPARSEDTEXTS = "unparsedtexts";
 
+    private static final String MESSAGE = "message";
+
     /**
      * Given a String containing a message in its WIFE internal XML
      * representation, returns a SwiftMessage object.
@@ -62,10 +73,20 @@ public class XMLParser {
      */
     public SwiftMessage parse(final String xml) {
         Validate.isTrue(xml != null);
+        return parse(new StringReader(xml));
+    }
+
+    /**
+     * Same as {@link #parse(String)} reading the XML from a reader.
+     *
+     * @param reader the XML content with a single &lt;message&gt; element, the reader is not closed
+     * @return the XML parsed into a SwiftMessage object, or null if there is any error during conversion
+     * @since 10.3.20
+     */
+    public SwiftMessage parse(final Reader reader) {
+        Validate.isTrue(reader != null);
         try {
-            final DocumentBuilder db = SafeXmlUtils.documentBuilder();
-            final Document doc = db.parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
-            return createMessage(doc);
+            return createMessage(Factory.INSTANCE.createXMLStreamReader(reader));
         } catch (final Exception e) {
             log.log(Level.WARNING, "Error parsing XML", e);
             return null;
@@ -73,217 +94,283 @@ public class XMLParser {
     }
 
     /**
-     * Helper method for XML representation parsing.<br>
+     * Same as {@link #parse(String)} reading the XML from a stream, with the encoding declared in the XML or UTF-8
+     * by default.
      *
-     * @param doc Document object containing a message in XML format
-     * @return SwiftMessage object populated with the given XML message data
+     * @param stream the XML content with a single &lt;message&gt; element, the stream is not closed
+     * @return the XML parsed into a SwiftMessage object, or null if there is any error during conversion
+     * @since 10.3.20
      */
-    private SwiftMessage createMessage(final Document doc) {
-        final NodeList messageNL = doc.getElementsByTagName("message");
+    public SwiftMessage parse(final InputStream stream) {
+        Validate.isTrue(stream != null);
+        try {
+            return createMessage(Factory.INSTANCE.createXMLStreamReader(stream));
+        } catch (final Exception e) {
+            log.log(Level.WARNING, "Error parsing XML", e);
+            return null;
+        }
+    }
 
-        if (messageNL.getLength() == 1) {
-            final Node message = messageNL.item(0);
-            final SwiftMessage m = new SwiftMessage(false);
+    /**
+     * Reads all the &lt;message&gt; elements in the XML, passing each message to the consumer as soon as it is read.
+     * The messages are not retained, so the XML content can hold any amount of messages, for example an archive
+     * of messages written with the {@link com.prowidesoftware.swift.io.writer.XMLWriterVisitor} inside a root
+     * element.
+     *
+     * <p>If the content of a message cannot be converted the error is logged and the consumer receives null for it,
+     * same as {@link #parse(String)} returns null, and the reading continues with the next message.
+     *
+     * @param reader   the XML content, the reader is not closed
+     * @param consumer the consumer receiving the parsed messages in the order they are read
+     * @return the amount of &lt;message&gt; elements read
+     * @throws ProwideException if the XML is not well-formed or cannot be read
+     * @since 10.3.20
+     */
+    public int parseMessages(final Reader reader, final Consumer<SwiftMessage> consumer) {
+        Validate.isTrue(reader != null);
+        try {
+            return createMessages(Factory.INSTANCE.createXMLStreamReader(reader), consumer);
+        } catch (final XMLStreamException e) {
+            throw new ProwideException("Error parsing XML", e);
+        }
+    }
 
-            final NodeList blocksNL = message.getChildNodes();
-            if (log.isLoggable(Level.FINE)) {
-                log.fine("blocks in message: " + blocksNL.getLength());
-            }
+    /**
+     * Same as {@link #parseMessages(Reader, Consumer)} reading the XML from a stream, with the encoding declared in
+     * the XML or UTF-8 by default.
+     *
+     * @param stream   the XML content, the stream is not closed
+     * @param consumer the consumer receiving the parsed messages in the order they are read
+     * @return the amount of &lt;message&gt; elements read
+     * @throws ProwideException if the XML is not well-formed or cannot be read
+     * @since 10.3.20
+     */
+    public int parseMessages(final InputStream stream, final Consumer<SwiftMessage> consumer) {
+        Validate.isTrue(stream != null);
+        try {
+            return createMessages(Factory.INSTANCE.createXMLStreamReader(stream), consumer);
+        } catch (final XMLStreamException e) {
+            throw new ProwideException("Error parsing XML", e);
+        }
+    }
 
-            for (int i = 0; i < blocksNL.getLength(); i++) {
-                final Node blockNode = blocksNL.item(i);
-                if (log.isLoggable(Level.FINE)) {
-                    log.fine("evaluating node " + blockNode.getNodeName());
+    /**
+     * Helper method for XML representation parsing.<br>
+     * Reads the whole document, which must contain a single &lt;message&gt; element at any level.
+     *
+     * @param xml reader positioned at the document start
+     * @return SwiftMessage object populated with the given XML message data
+     */
+    private SwiftMessage createMessage(final XMLStreamReader xml) throws XMLStreamException {
+        final Cursor c = new Cursor(xml);
+        try {
+            SwiftMessage m = null;
+            while (c.nextElement()) {
+                if (MESSAGE.equals(c.name()) && c.messages == 1) {
+                    m = getMessage(c);
                 }
-                if (blockNode.getNodeType() == Node.ELEMENT_NODE) {
-                    final String blockName = blockNode.getNodeName();
-
-                    if ("block1".equalsIgnoreCase(blockName)) {
-                        m.setBlock1(getBlock1FromNode(blockNode));
-                    } else if ("block2".equalsIgnoreCase(blockName)) {
-                        m.setBlock2(getBlock2FromNode(blockNode));
-                    } else if (UNPARSEDTEXTS.equalsIgnoreCase(blockName)) {
-                        // unparsed texts at <message> level
-                        m.setUnparsedTexts(getUnparsedTextsFromNode(blockNode));
-                    } else {
-                        // blocks 3, 4, 5 or user blocks
-                        m.addBlock(getTagListBlockFromNode(blockNode));
+            }
+            if (c.messages != 1) {
+                throw new IllegalArgumentException("<message> tag not found");
+            }
+            return m;
+        } finally {
+            xml.close();
+        }
+    }
+
+    private int createMessages(final XMLStreamReader xml, final Consumer<SwiftMessage> consumer)
+            throws XMLStreamException {
+        final Cursor c = new Cursor(xml);
+        try {
+            int count = 0;
+            while (c.nextElement()) {
+                if (MESSAGE.equals(c.name())) {
+                    count++;
+                    final int depth = c.depth;
+                    SwiftMessage m = null;
+                    try {
+                        m = getMessage(c);
+                    } catch (final XMLStreamException e) {
+                        throw e;
+                    } catch (final Exception e) {
+                        log.log(Level.WARNING, "Error parsing XML message " + count, e);
+                        while (c.depth >= depth) {
+                            c.next();
+                        }
                     }
+                    consumer.accept(m);
                 }
-            } // end block list iteration
-            return m;
-        } else {
-            throw new IllegalArgumentException("<message> tag not found");
+            }
+            return count;
+        } finally {
+            xml.close();
         }
     }
 
     /**
      * Helper method for XML representation parsing.<br>
-     * Given the &lt;block1&gt; node in the XML tree, returns the SwiftBlock1 object.
+     * Given the cursor at the &lt;message&gt; start, reads the message up to its end.
      *
-     * @param blockNode Node object of the &lt;block1&gt; tag in the XML message
-     * @return SwiftBlock1 object populated with the given portion of the XML message
+     * @param c cursor at the start of the &lt;message&gt; element
+     * @return SwiftMessage object populated with the given XML message data
      */
-    private SwiftBlock1 getBlock1FromNode(final Node blockNode) {
-        final NodeList fields = blockNode.getChildNodes();
-        if (log.isLoggable(Level.FINE)) {
-            log.fine(fields.getLength() + " children in <block1>");
-        }
-
-        final SwiftBlock1 b1 = new SwiftBlock1();
-
-        for (int i = 0; i < fields.getLength(); i++) {
-            final Node n = fields.item(i);
-            if ("APPLICATIONID".equalsIgnoreCase(n.getNodeName())) {
-                b1.setApplicationId(getText(n));
-            } else if ("SERVICEID".equalsIgnoreCase(n.getNodeName())) {
-                b1.setServiceId(getText(n));
-            } else if ("LOGICALTERMINAL".equalsIgnoreCase(n.getNodeName())) {
-                b1.setLogicalTerminal(getText(n));
-            } else if ("SESSIONNUMBER".equalsIgnoreCase(n.getNodeName())) {
-                b1.setSessionNumber(getText(n));
-            } else if ("SEQUENCENUMBER".equalsIgnoreCase(n.getNodeName())) {
-                b1.setSequenceNumber(getText(n));
-            } else if (UNPARSEDTEXTS.equalsIgnoreCase(n.getNodeName())) {
-                b1.setUnparsedTexts(getUnparsedTextsFromNode(n));
+    private SwiftMessage getMessage(final Cursor c) throws XMLStreamException {
+        final SwiftMessage m = new SwiftMessage(false);
+        final int depth = c.depth;
+        while (c.nextChild(depth)) {
+            final String blockName = c.name();
+            if (log.isLoggable(Level.FINE)) {
+                log.fine("evaluating node " + blockName);
+            }
+            if ("block1".equalsIgnoreCase(blockName)) {
+                m.setBlock1(getBlock1(c));
+            } else if ("block2".equalsIgnoreCase(blockName)) {
+                m.setBlock2(getBlock2(c));
+            } else if (UNPARSEDTEXTS.equalsIgnoreCase(blockName)) {
+                // unparsed texts at <message> level
+                m.setUnparsedTexts(getUnparsedTexts(c));
+            } else {
+                // blocks 3, 4, 5 or user blocks
+                m.addBlock(getTagListBlock(c));
             }
         }
-
-        return b1;
+        return m;
     }
 
-    private String getText(final Node n) {
-        String text = null;
-        final Node c = n.getFirstChild();
-        if (c != null) {
-            if (c.getNodeType() == Node.TEXT_NODE) {
-                text = c.getNodeValue();
-            } else {
-                log.warning("Node is not TEXT_NODE: " + c);
+    /**
+     * Helper method for XML representation parsing.<br>
+     * Given the cursor at the &lt;block1&gt; element, returns the SwiftBlock1 object.
+     *
+     * @param c cursor at the start of the &lt;block1&gt; element
+     * @return SwiftBlock1 object populated with the given portion of the XML message
+     */
+    private SwiftBlock1 getBlock1(final Cursor c) throws XMLStreamException {
+        final SwiftBlock1 b1 = new SwiftBlock1();
+        final int depth = c.depth;
+        while (c.nextChild(depth)) {
+            final String name = c.name();
+            if ("APPLICATIONID".equalsIgnoreCase(name)) {
+                b1.setApplicationId(c.text());
+            } else if ("SERVICEID".equalsIgnoreCase(name)) {
+                b1.setServiceId(c.text());
+            } else if ("LOGICALTERMINAL".equalsIgnoreCase(name)) {
+                b1.setLogicalTerminal(c.text());
+            } else if ("SESSIONNUMBER".equalsIgnoreCase(name)) {
+                b1.setSessionNumber(c.text());
+            } else if ("SEQUENCENUMBER".equalsIgnoreCase(name)) {
+                b1.setSequenceNumber(c.text());
+            } else if (UNPARSEDTEXTS.equalsIgnoreCase(name)) {
+                b1.setUnparsedTexts(getUnparsedTexts(c));
             }
         }
-        return text;
+        return b1;
     }
 
     /**
      * Helper method for XML representation parsing.<br>
-     * Given the &lt;block2&gt; node in the XML tree, returns the SwiftBlock1 object.
+     * Given the cursor at the &lt;block2&gt; element, returns the SwiftBlock2 object.
      * The method checks for the "type" attribute in the &lt;block2&gt; tag and
      * returns a SwiftBlock2Input or SwiftBlock2Output.
      *
-     * @param blockNode Node object of the &lt;block2&gt; tag in the XML message
+     * @param c cursor at the start of the &lt;block2&gt; element
      * @return SwiftBlock2 object populated with the given portion of the XML message
-     * @see #getBlock2InputFromNode(Node)
-     * @see #getBlock2OutputFromNode(Node)
      */
-    private SwiftBlock2 getBlock2FromNode(final Node blockNode) {
-        final String type = getNodeAttribute(blockNode, "type");
+    private SwiftBlock2 getBlock2(final Cursor c) throws XMLStreamException {
+        final String type = c.attribute("type");
 
         if (type == null) {
             log.severe("atrribute 'type' was expected but not found at <block2> xml tag");
-            return null;
         } else if ("input".equals(type)) {
-            return getBlock2InputFromNode(blockNode);
+            return getBlock2Input(c);
         } else if ("output".equals(type)) {
-            return getBlock2OutputFromNode(blockNode);
+            return getBlock2Output(c);
         } else {
             log.severe(
                     "expected 'input' or 'output' value for 'type' atribute at <block2> xml tag, and found: " + type);
-            return null;
         }
+        c.skip();
+        return null;
     }
 
     /**
      * Helper method for XML representation parsing.<br>
-     * Given the &lt;block2 type="input"&gt; node in the XML tree, returns the
-     * SwiftBlock2Input object.
+     * Given the cursor at the &lt;block2 type="input"&gt; element, returns the SwiftBlock2Input object.
      *
-     * @param blockNode Node object of the &lt;block2&gt; tag in the XML message
+     * @param c cursor at the start of the &lt;block2&gt; element
      * @return SwiftBlock2Input object populated with the given portion of the XML message
      */
-    private SwiftBlock2Input getBlock2InputFromNode(final Node blockNode) {
-        final NodeList fields = blockNode.getChildNodes();
-        if (log.isLoggable(Level.FINE)) {
-            log.fine(fields.getLength() + " childrens in <block2 type=\"input\">");
-        }
-
+    private SwiftBlock2Input getBlock2Input(final Cursor c) throws XMLStreamException {
         final SwiftBlock2Input b2 = new SwiftBlock2Input();
-
-        for (int i = 0; i < fields.getLength(); i++) {
-            final Node n = fields.item(i);
-            if ("MESSAGETYPE".equalsIgnoreCase(n.getNodeName())) {
-                b2.setMessageType(getText(n));
-            } else if ("RECEIVERADDRESS".equalsIgnoreCase(n.getNodeName())) {
-                b2.setReceiverAddress(getText(n));
-            } else if ("MESSAGEPRIORITY".equalsIgnoreCase(n.getNodeName())) {
-                b2.setMessagePriority(getText(n));
-            } else if ("DELIVERYMONITORING".equalsIgnoreCase(n.getNodeName())) {
-                b2.setDeliveryMonitoring(getText(n));
-            } else if ("OBSOLESCENCEPERIOD".equalsIgnoreCase(n.getNodeName())) {
-                b2.setObsolescencePeriod(getText(n));
-            } else if (UNPARSEDTEXTS.equalsIgnoreCase(n.getNodeName())) {
-                b2.setUnparsedTexts(getUnparsedTextsFromNode(n));
+        final int depth = c.depth;
+        while (c.nextChild(depth)) {
+            final String name = c.name();
+            if ("MESSAGETYPE".equalsIgnoreCase(name)) {
+                b2.setMessageType(c.text());
+            } else if ("RECEIVERADDRESS".equalsIgnoreCase(name)) {
+                b2.setReceiverAddress(c.text());
+            } else if ("MESSAGEPRIORITY".equalsIgnoreCase(name)) {
+                b2.setMessagePriority(c.text());
+            } else if ("DELIVERYMONITORING".equalsIgnoreCase(name)) {
+                b2.setDeliveryMonitoring(c.text());
+            } else if ("OBSOLESCENCEPERIOD".equalsIgnoreCase(name)) {
+                b2.setObsolescencePeriod(c.text());
+            } else if (UNPARSEDTEXTS.equalsIgnoreCase(name)) {
+                b2.setUnparsedTexts(getUnparsedTexts(c));
             }
         }
-
         return b2;
     }
 
     /**
      * Helper method for XML representation parsing.<br>
-     * Given the &lt;block2 type="output" node in the XML tree, returns the
-     * SwiftBlock2Output object.
+     * Given the cursor at the &lt;block2 type="output"&gt; element, returns the SwiftBlock2Output object.
      *
-     * @param blockNode Node object of the &lt;block2&gt; tag in the XML message
+     * @param c cursor at the start of the &lt;block2&gt; element
      * @return SwiftBlock2Output object populated with the given portion of the XML message
      */
-    private SwiftBlock2Output getBlock2OutputFromNode(final Node blockNode) {
-        final NodeList fields = blockNode.getChildNodes();
-        if (log.isLoggable(Level.FINE)) {
-            log.fine(fields.getLength() + " childrens in <block2 type=\"output\">");
-        }
-
+    private SwiftBlock2Output getBlock2Output(final Cursor c) throws XMLStreamException {
         final SwiftBlock2Output b2 = new SwiftBlock2Output();
-
-        for (int i = 0; i < fields.getLength(); i++) {
-            final Node n = fields.item(i);
-            if ("MESSAGETYPE".equalsIgnoreCase(n.getNodeName())) {
-                b2.setMessageType(getText(n));
-            } else if ("SENDERINPUTTIME".equalsIgnoreCase(n.getNodeName())) {
-                b2.setSenderInputTime(getText(n));
-            } else if ("MIRDATE".equalsIgnoreCase(n.getNodeName())) {
-                b2.setMIRDate(getText(n));
-            } else if ("MIRLOGICALTERMINAL".equalsIgnoreCase(n.getNodeName())) {
-                b2.setMIRLogicalTerminal(getText(n));
-            } else if ("MIRSESSIONNUMBER".equalsIgnoreCase(n.getNodeName())) {
-                b2.setMIRSessionNumber(getText(n));
-            } else if ("MIRSEQUENCENUMBER".equalsIgnoreCase(n.getNodeName())) {
-                b2.setMIRSequenceNumber(getText(n));
-            } else if ("RECEIVEROUTPUTDATE".equalsIgnoreCase(n.getNodeName())) {
-                b2.setReceiverOutputDate(getText(n));
-            } else if ("RECEIVEROUTPUTTIME".equalsIgnoreCase(n.getNodeName())) {
-                b2.setReceiverOutputTime(getText(n));
-            } else if ("MESSAGEPRIORITY".equalsIgnoreCase(n.getNodeName())) {
-                b2.setMessagePriority(getText(n));
-            } else if (UNPARSEDTEXTS.equalsIgnoreCase(n.getNodeName())) {
-                b2.setUnparsedTexts(getUnparsedTextsFromNode(n));
+        final int depth = c.depth;
+        while (c.nextChild(depth)) {
+            final String name = c.name();
+            if ("MESSAGETYPE".equalsIgnoreCase(name)) {
+                b2.setMessageType(c.text());
+            } else if ("SENDERINPUTTIME".equalsIgnoreCase(name)) {
+                b2.setSenderInputTime(c.text());
+            } else if ("MIRDATE".equalsIgnoreCase(name)) {
+                b2.setMIRDate(c.text());
+            } else if ("MIRLOGICALTERMINAL".equalsIgnoreCase(name)) {
+                b2.setMIRLogicalTerminal(c.text());
+            } else if ("MIRSESSIONNUMBER".equalsIgnoreCase(name)) {
+                b2.setMIRSessionNumber(c.text());
+            } else if ("MIRSEQUENCENUMBER".equalsIgnoreCase(name)) {
+                b2.setMIRSequenceNumber(c.text());
+            } else if ("RECEIVEROUTPUTDATE".equalsIgnoreCase(name)) {
+                b2.setReceiverOutputDate(c.text());
+            } else if ("RECEIVEROUTPUTTIME".equalsIgnoreCase(name)) {
+                b2.setReceiverOutputTime(c.text());
+            } else if ("MESSAGEPRIORITY".equalsIgnoreCase(name)) {
+                b2.setMessagePriority(c.text());
+            } else if (UNPARSEDTEXTS.equalsIgnoreCase(name)) {
+                b2.setUnparsedTexts(getUnparsedTexts(c));
             }
         }
-
         return b2;
     }
 
     /**
      * Helper method for XML representation parsing.<br>
-     * Given the &lt;block3&gt;, &lt;block4&gt;, &lt;block5&gt; or &lt;block&gt; (user block) node in
-     * the XML tree, returns the corresponding SwiftTagListBlock object
-     * populated with the given portion of the XML message.
+     * Given the cursor at the &lt;block3&gt;, &lt;block4&gt;, &lt;block5&gt; or &lt;block&gt; (user block)
+     * element, returns the corresponding SwiftTagListBlock object populated with the given portion of the XML
+     * message.
      *
-     * @param blockNode Node object of the &lt;block3&gt;, &lt;block4&gt;, &lt;block5&gt; or &lt;block&gt; tag in the XML message
-     * @return SwiftTagListBlock object populated with the given portion of the XML message
+     * @param c cursor at the start of the block element
+     * @return SwiftTagListBlock object populated with the given portion of the XML message, or null if the element
+     * is not a block
      */
-    private SwiftTagListBlock getTagListBlockFromNode(final Node blockNode) {
-        final String blockName = blockNode.getNodeName();
+    private SwiftTagListBlock getTagListBlock(final Cursor c) throws XMLStreamException {
+        final String blockName = c.name();
         SwiftTagListBlock b;
         if ("block3".equalsIgnoreCase(blockName)) {
             b = new SwiftBlock3();
@@ -292,61 +379,51 @@ public class XMLParser {
         } else if ("block5".equalsIgnoreCase(blockName)) {
             b = new SwiftBlock5();
         } else if ("block".equalsIgnoreCase(blockName)) {
-            final String name = getNodeAttribute(blockNode, "name");
+            final String name = c.attribute("name");
             if (name != null) {
                 b = new SwiftBlockUser(name);
             } else {
                 b = new SwiftBlockUser();
             }
         } else {
+            c.skip();
             return null;
         }
 
-        final NodeList fields = blockNode.getChildNodes();
-        if (log.isLoggable(Level.FINE)) {
-            log.fine(fields.getLength() + " children in tag list " + blockName);
-        }
-
-        for (int j = 0; j < fields.getLength(); j++) {
-            final Node t = fields.item(j);
-            if ("tag".equalsIgnoreCase(t.getNodeName())) {
-                final Tag tag = getTag(t);
-                b.append(tag);
-            } else if ("field".equalsIgnoreCase(t.getNodeName())) {
-                final Field field = getField(t);
-                b.append(field);
-            } else if (UNPARSEDTEXTS.equalsIgnoreCase(t.getNodeName())) {
-                b.setUnparsedTexts(getUnparsedTextsFromNode(t));
+        final int depth = c.depth;
+        while (c.nextChild(depth)) {
+            final String name = c.name();
+            if ("tag".equalsIgnoreCase(name)) {
+                b.append(getTag(c));
+            } else if ("field".equalsIgnoreCase(name)) {
+                b.append(getField(c));
+            } else if (UNPARSEDTEXTS.equalsIgnoreCase(name)) {
+                b.setUnparsedTexts(getUnparsedTexts(c));
             }
         }
-
         return b;
     }
 
     /**
      * Helper method for XML representation parsing.<br>
-     * Parses the given &lt;tag&gt; Node and returns a Tag object containing data from
-     * the expected &lt;name&gt; and &lt;value&gt; tags. If name or value are not found as
-     * children of the given node, the Tag object is returned with empty values.
+     * Parses the &lt;tag&gt; element and returns a Tag object containing data from
+     * the expected &lt;name&gt; and &lt;value&gt; elements. If name or value are not found as
+     * children of the given element, the Tag object is returned with empty values.
      *
-     * @param t the XML node to parse for name-value pair
-     * @return a Tag object containing the name and value of the given XML node.
+     * @param c cursor at the start of the &lt;tag&gt; element
+     * @return a Tag object containing the name and value of the given XML element.
      */
-    private Tag getTag(final Node t) {
+    private Tag getTag(final Cursor c) throws XMLStreamException {
         final Tag tag = new Tag();
-        final NodeList children = t.getChildNodes();
-        for (int i = 0; i < children.getLength(); i++) {
-            final Node n = children.item(i);
-            if ("name".equalsIgnoreCase(n.getNodeName())) {
-                tag.setName(getText(n));
-            }
-            if ("value".equalsIgnoreCase(n.getNodeName())) {
-                String text = unescapeXml(getText(n));
-                // normalize line feeds (DOM parser removes carriage return characters from original XML file)
-                text = Strings.CS.replace(text, "\n", FINWriterVisitor.SWIFT_EOL);
-                tag.setValue(text);
-            } else if (UNPARSEDTEXTS.equalsIgnoreCase(n.getNodeName())) {
-                tag.setUnparsedTexts(getUnparsedTextsFromNode(n));
+        final int depth = c.depth;
+        while (c.nextChild(depth)) {
+            final String name = c.name();
+            if ("name".equalsIgnoreCase(name)) {
+                tag.setName(c.text());
+            } else if ("value".equalsIgnoreCase(name)) {
+                tag.setValue(value(c.text()));
+            } else if (UNPARSEDTEXTS.equalsIgnoreCase(name)) {
+                tag.setUnparsedTexts(getUnparsedTexts(c));
             }
         }
         return tag;
@@ -354,41 +431,42 @@ public class XMLParser {
 
     /**
      * Helper method for XML representation parsing.<br>
-     * Parses the given &gt;field&lt; Node and returns a Field object containing data from
+     * Parses the &lt;field&gt; element and returns a Field object containing data from
      * the expected &lt;name&gt; and &lt;component&gt; inner elements.
      * If &lt;name&gt; element is not set it will return null. Otherwise it will return a Field
      * instance filled with content from &lt;component&gt; elements.
      *
-     * @param t the XML node to parse for name-value pair
+     * <p>Since the components may come before the name, they are kept until the field end.
+     *
+     * @param c cursor at the start of the &lt;field&gt; element
      * @return a Field object or null if "name" element is not present
      */
-    private Field getField(final Node t) {
-        final NodeList children = t.getChildNodes();
+    private Field getField(final Cursor c) throws XMLStreamException {
         String name = null;
-        for (int i = 0; i < children.getLength(); i++) {
-            final Node n = children.item(i);
-            if ("name".equalsIgnoreCase(n.getNodeName())) {
-                name = getText(n);
-                break;
+        boolean named = false;
+        final List<String[]> components = new ArrayList<>();
+        final int depth = c.depth;
+        while (c.nextChild(depth)) {
+            final String element = c.name();
+            if ("name".equalsIgnoreCase(element) && !named) {
+                name = c.text();
+                named = true;
+            } else if ("component".equalsIgnoreCase(element)) {
+                final String number = c.attribute("number");
+                components.add(new String[] {number, StringUtils.isNumeric(number) ? c.text() : null});
             }
         }
         if (name != null) {
             Field field = Field.getField(name, null);
-            for (int i = 0; i < children.getLength(); i++) {
-                final Node n = children.item(i);
-                if ("component".equalsIgnoreCase(n.getNodeName())) {
-                    final String number = getNodeAttribute(n, "number");
-                    if (StringUtils.isNumeric(number)) {
-                        String text = unescapeXml(getText(n));
-                        // normalize line feeds (DOM parser removes carriage return characters from original XML file)
-                        text = Strings.CS.replace(text, "\n", FINWriterVisitor.SWIFT_EOL);
-                        try {
-                            field.setComponent(Integer.parseInt(number), text);
-                        } catch (NumberFormatException e) {
-                            log.warning(
-                                    "error setting component " + number + " for field " + name + ": " + e.getMessage());
-                            return null;
-                        }
+            for (final String[] component : components) {
+                final String number = component[0];
+                if (StringUtils.isNumeric(number)) {
+                    final String text = value(component[1]);
+                    try {
+                        field.setComponent(Integer.parseInt(number), text);
+                    } catch (NumberFormatException e) {
+                        log.warning("error setting component " + number + " for field " + name + ": " + e.getMessage());
+                        return null;
                     }
                 }
             }
@@ -397,45 +475,172 @@ public class XMLParser {
         return null;
     }
 
+    /**
+     * Unescapes a tag value or field component and restores the CRLF line breaks, since the XML parser normalizes
+     * line breaks to LF
+     */
+    private static String value(final String text) {
+        return Strings.CS.replace(unescapeXml(text), "\n", FINWriterVisitor.SWIFT_EOL);
+    }
+
     /**
      * Helper method for XML representation parsing.<br>
-     * Given the &lt;unparsedtexts&gt; node in the XML tree, returns an
-     * UnparsedTextList object populated with the contents of the <text> child
-     * tags of &lt;unparsedtexts&gt;.
+     * Given the cursor at the &lt;unparsedtexts&gt; element, returns an
+     * UnparsedTextList object populated with the contents of the &lt;text&gt; child
+     * elements of &lt;unparsedtexts&gt;.
      *
-     * @param blockNode Node object of the &lt;unparsedtexts&gt; tag in the XML message
+     * @param c cursor at the start of the &lt;unparsedtexts&gt; element
      * @return UnparsedTextList object populated with the given &lt;text&gt; tags content of the &lt;unparsedtexts&gt;
      */
-    private UnparsedTextList getUnparsedTextsFromNode(final Node blockNode) {
+    private UnparsedTextList getUnparsedTexts(final Cursor c) throws XMLStreamException {
         final UnparsedTextList unparsedTexts = new UnparsedTextList();
-
-        final NodeList texts = blockNode.getChildNodes();
-        if (log.isLoggable(Level.FINE)) {
-            log.fine(texts.getLength() + " children in <unparsedtexts>");
-        }
-        for (int j = 0; j < texts.getLength(); j++) {
-            final Node t = texts.item(j);
-            if ("text".equalsIgnoreCase(t.getNodeName())) {
-                unparsedTexts.addText(getText(t));
+        final int depth = c.depth;
+        while (c.nextChild(depth)) {
+            if ("text".equalsIgnoreCase(c.name())) {
+                unparsedTexts.addText(c.text());
             }
         }
         return unparsedTexts;
     }
 
     /**
-     * Helper method for XML representation parsing.<br>
-     * Gets the value of an expected attribute in a Node.
+     * Lazy initialization holder of the StAX factory, which is thread safe once configured
+     */
+    private static final class Factory {
+        private static final XMLInputFactory INSTANCE = SafeXmlUtils.inputFactory();
+    }
+
+    /**
+     * Navigation over the stream reader events, keeping track of the element depth and the amount of &lt;message&gt;
+     * elements found.
      *
-     * @param n             Node to analyze to find the attribute
-     * @param attributeName the attribute name expected in the analyzed Node n
-     * @return the value of the attribute expected, or null if the attribute was not found
+     * <p>The methods reading an element (text, skip or nextChild returning false) leave the reader at the element
+     * end, so the caller iterating the siblings continues from there. Elements not consumed by the caller are skipped
+     * by the next call to nextChild.
      */
-    private String getNodeAttribute(final Node n, final String attributeName) {
-        final Node attr = n.getAttributes().getNamedItem(attributeName);
-        if (attr == null || !attr.getNodeName().equals(attributeName)) {
+    private static final class Cursor {
+        private final XMLStreamReader xml;
+
+        /**
+         * Depth of the current element, 1 for the root element
+         */
+        private int depth = 0;
+
+        private int messages = 0;
+
+        /**
+         * Depth of the last element returned by nextChild, to skip it if not consumed
+         */
+        private int open = -1;
+
+        private Cursor(final XMLStreamReader xml) {
+            this.xml = xml;
+        }
+
+        private int next() throws XMLStreamException {
+            final int event = this.xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                this.depth++;
+                if (MESSAGE.equals(name())) {
+                    this.messages++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                this.depth--;
+            }
+            return event;
+        }
+
+        /**
+         * Moves to the next element start in document order, at any level
+         *
+         * @return false at the document end
+         */
+        private boolean nextElement() throws XMLStreamException {
+            while (this.xml.hasNext()) {
+                if (next() == XMLStreamConstants.START_ELEMENT) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Moves to the next child element start of the element at the given depth, skipping the content of the
+         * previous child if it was not read
+         *
+         * @param parent depth of the parent element
+         * @return false when the parent element ends
+         */
+        private boolean nextChild(final int parent) throws XMLStreamException {
+            if (this.depth > parent) {
+                // the previous child was not read
+                skip();
+            }
+            while (true) {
+                final int event = next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    return true;
+                }
+                if (event == XMLStreamConstants.END_ELEMENT && this.depth < parent) {
+                    return false;
+                }
+            }
+        }
+
+        /**
+         * Moves to the end of the current element
+         */
+        private void skip() throws XMLStreamException {
+            final int depth = this.depth;
+            while (this.depth >= depth) {
+                next();
+            }
+        }
+
+        /**
+         * Reads the element text and moves to the element end. Same as the text of the first DOM child node, the
+         * text is read up to the first child element, comment, processing instruction or CDATA section.
+         *
+         * @return the element text or null if the element is empty or does not start with text
+         */
+        private String text() throws XMLStreamException {
+            final int depth = this.depth;
+            StringBuilder text = null;
+            int event = next();
+            while (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.SPACE) {
+                if (text == null) {
+                    text = new StringBuilder();
+                }
+                text.append(this.xml.getTextCharacters(), this.xml.getTextStart(), this.xml.getTextLength());
+                event = next();
+            }
+            if (text == null && this.depth >= depth) {
+                log.warning("Node is not TEXT_NODE: " + event);
+            }
+            if (this.depth >= depth) {
+                skip();
+            }
+            return text != null ? text.toString() : null;
+        }
+
+        /**
+         * @return the qualified name of the current element
+         */
+        private String name() {
+            final String prefix = this.xml.getPrefix();
+            final String local = this.xml.getLocalName();
+            return prefix == null || prefix.isEmpty() ? local : prefix + ":" + local;
+        }
+
+        private String attribute(final String name) {
+            for (int i = 0; i < this.xml.getAttributeCount(); i++) {
+                final String prefix = this.xml.getAttributePrefix(i);
+                final String local = this.xml.getAttributeLocalName(i);
+                if (name.equals(prefix == null || prefix.isEmpty() ? local : prefix + ":" + local)) {
+                    return this.xml.getAttributeValue(i);
+                }
+            }
             return null;
-        } else {
-            return attr.getNodeValue();
         }
     }
 }
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Writer encoding the text into an output stream or a channel through a pair of reusable buffers.
+ *
+ * <p>The written characters are copied into a char buffer, encoded into a byte buffer when it is full, and the bytes
+ * are passed to the underlying output only when the byte buffer is full, on {@link #flush()} or on {@link #close()}.
+ * So writing messages with the {@link FINWriterVisitor} or {@link XMLWriterVisitor}, that issue many small writes
+ * per tag, results in a few large writes to the stream or channel, and the same writer can be reused for any amount
+ * of messages without further allocations.
+ *
+ * <p>The bytes written are the same as with an {@link java.io.OutputStreamWriter} for the same charset: malformed
+ * surrogate characters and characters not mappable to the charset are written as the charset replacement.
+ *
+ * <p>This class is not thread safe.
+ *
+ * @since 10.3.20
+ */
+public final class BufferedByteWriter extends Writer {
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream stream;
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder;
+    private final CharBuffer chars;
+    private final ByteBuffer bytes;
+    private boolean closed = false;
+
+    /**
+     * Creates a writer encoding in UTF-8 into the given stream.
+     *
+     * @param stream the output stream
+     */
+    public BufferedByteWriter(final OutputStream stream) {
+        this(stream, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a writer encoding in the given charset into the given stream.
+     *
+     * @param stream  the output stream
+     * @param charset the charset to encode the characters
+     */
+    public BufferedByteWriter(final OutputStream stream, final Charset charset) {
+        this(stream, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a writer encoding in the given charset into the given stream.
+     *
+     * @param stream     the output stream
+     * @param charset    the charset to encode the characters
+     * @param bufferSize the size in characters and in bytes of the internal buffers
+     */
+    public BufferedByteWriter(final OutputStream stream, final Charset charset, final int bufferSize) {
+        this(Objects.requireNonNull(stream, "stream cannot be null"), null, charset, bufferSize);
+    }
+
+    /**
+     * Creates a writer encoding in UTF-8 into the given channel.
+     *
+     * @param channel the output channel
+     */
+    public BufferedByteWriter(final WritableByteChannel channel) {
+        this(channel, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a writer encoding in the given charset into the given channel.
+     *
+     * @param channel the output channel
+     * @param charset the charset to encode the characters
+     */
+    public BufferedByteWriter(final WritableByteChannel channel, final Charset charset) {
+        this(channel, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a writer encoding in the given charset into the given channel.
+     *
+     * @param channel    the output channel
+     * @param charset    the charset to encode the characters
+     * @param bufferSize the size in characters and in bytes of the internal buffers
+     */
+    public BufferedByteWriter(final WritableByteChannel channel, final Charset charset, final int bufferSize) {
+        this(null, Objects.requireNonNull(channel, "channel cannot be null"), charset, bufferSize);
+    }
+
+    private BufferedByteWriter(
+            final OutputStream stream, final WritableByteChannel channel, final Charset charset, final int bufferSize) {
+        Objects.requireNonNull(charset, "charset cannot be null");
+        Validate.isTrue(bufferSize >= 16, "buffer size must be at least 16");
+        this.stream = stream;
+        this.channel = channel;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.chars = CharBuffer.allocate(bufferSize);
+        this.bytes = ByteBuffer.allocate(bufferSize);
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        ensureOpen();
+        if (!this.chars.hasRemaining()) {
+            encode(false);
+        }
+        this.chars.put((char) c);
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        ensureOpen();
+        Objects.checkFromIndexSize(off, len, cbuf.length);
+        int pos = off;
+        final int end = off + len;
+        while (pos < end) {
+            if (!this.chars.hasRemaining()) {
+                encode(false);
+            }
+            final int n = Math.min(end - pos, this.chars.remaining());
+            this.chars.put(cbuf, pos, n);
+            pos += n;
+        }
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        ensureOpen();
+        Objects.checkFromIndexSize(off, len, str.length());
+        int pos = off;
+        final int end = off + len;
+        while (pos < end) {
+            if (!this.chars.hasRemaining()) {
+                encode(false);
+            }
+            final int n = Math.min(end - pos, this.chars.remaining());
+            // copies straight into the backing array, CharBuffer.put(String) goes char by char
+            str.getChars(pos, pos + n, this.chars.array(), this.chars.position());
+            this.chars.position(this.chars.position() + n);
+            pos += n;
+        }
+    }
+
+    /**
+     * Encodes and writes the buffered characters and flushes the underlying stream. A high surrogate written last is
+     * kept until its low surrogate is written.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        encode(false);
+        drain();
+        if (this.stream != null) {
+            this.stream.flush();
+        }
+    }
+
+    /**
+     * Encodes and writes the buffered characters and closes the underlying stream or channel.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        try {
+            encode(true);
+            CoderResult result;
+            while ((result = this.encoder.flush(this.bytes)).isOverflow()) {
+                drain();
+            }
+            checkResult(result);
+            drain();
+        } finally {
+            this.closed = true;
+            if (this.stream != null) {
+                this.stream.close();
+            } else {
+                this.channel.close();
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("writer closed");
+        }
+    }
+
+    /**
+     * Encodes the buffered characters into the bytes buffer, writing the bytes to the output each time it is full.
+     */
+    private void encode(final boolean endOfInput) throws IOException {
+        this.chars.flip();
+        CoderResult result;
+        while ((result = this.encoder.encode(this.chars, this.bytes, endOfInput)).isOverflow()) {
+            drain();
+        }
+        checkResult(result);
+        this.chars.compact();
+    }
+
+    private static void checkResult(final CoderResult result) throws IOException {
+        if (!result.isUnderflow()) {
+            // not expected since malformed and unmappable input is replaced
+            result.throwException();
+        }
+    }
+
+    private void drain() throws IOException {
+        this.bytes.flip();
+        if (this.stream != null) {
+            this.stream.write(this.bytes.array(), this.bytes.arrayOffset(), this.bytes.limit());
+        } else {
+            while (this.bytes.hasRemaining()) {
+                this.channel.write(this.bytes);
+            }
+        }
+        this.bytes.clear();
+    }
+}
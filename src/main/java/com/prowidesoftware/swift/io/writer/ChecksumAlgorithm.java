@@ -0,0 +1,100 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.writer;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hash functions available for the message checksums computed with the {@link ChecksumWriter}.
+ *
+ * <p>MD5 is the algorithm used by default for the proprietary message checksums, and it is kept for compatibility
+ * with the checksums already stored. For duplicates detection the non-cryptographic hashes are much faster and
+ * produce shorter values. None of the options should be used for security purposes.
+ *
+ * @since 10.3.20
+ */
+public enum ChecksumAlgorithm {
+
+    /**
+     * MD5, 128 bits, 32 hexadecimal characters
+     */
+    MD5 {
+        @Override
+        Hasher newHasher() {
+            return new MessageDigestHasher("MD5");
+        }
+    },
+
+    /**
+     * SHA-256, 256 bits, 64 hexadecimal characters
+     */
+    SHA_256 {
+        @Override
+        Hasher newHasher() {
+            return new MessageDigestHasher("SHA-256");
+        }
+    },
+
+    /**
+     * XXH64, 64 bits, 16 hexadecimal characters
+     */
+    XXH64 {
+        @Override
+        Hasher newHasher() {
+            return new XxHash64();
+        }
+    },
+
+    /**
+     * MurmurHash3 x64 variant, 128 bits, 32 hexadecimal characters
+     */
+    MURMUR3_128 {
+        @Override
+        Hasher newHasher() {
+            return new Murmur3Hash128();
+        }
+    };
+
+    /**
+     * Creates a new hasher for this algorithm.
+     *
+     * @throws IllegalStateException if the algorithm is not supported by the JVM
+     */
+    abstract Hasher newHasher();
+
+    private static final class MessageDigestHasher implements Hasher {
+        private final MessageDigest digest;
+
+        MessageDigestHasher(final String algorithm) {
+            try {
+                this.digest = MessageDigest.getInstance(algorithm);
+            } catch (final NoSuchAlgorithmException e) {
+                throw new IllegalStateException(algorithm + " is not available", e);
+            }
+        }
+
+        @Override
+        public void update(final byte[] bytes, final int offset, final int length) {
+            this.digest.update(bytes, offset, length);
+        }
+
+        @Override
+        public byte[] digest() {
+            return this.digest.digest();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.writer;
+
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Writer that computes a hash of the written text instead of storing it.
+ *
+ * <p>The characters are encoded in UTF-8 into a small internal buffer that is fed to the hash function as it fills
+ * up, so hashing a message written with the {@link FINWriterVisitor} requires neither the message String nor its
+ * bytes array. The result is the same as hashing {@code text.getBytes(StandardCharsets.UTF_8)}, including the
+ * replacement of malformed surrogate characters with '?'.
+ *
+ * <p>This class is not thread safe, and once {@link #checksum()} is called the writer cannot be used anymore.
+ *
+ * @see com.prowidesoftware.swift.model.SwiftMessageUtils#calculateChecksum(com.prowidesoftware.swift.model.SwiftMessage, ChecksumAlgorithm)
+ * @since 10.3.20
+ */
+public final class ChecksumWriter extends Writer {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Hasher hasher;
+    private final byte[] buffer = new byte[1024];
+    private int position = 0;
+
+    /**
+     * High surrogate written last, waiting for the low surrogate
+     */
+    private char pendingHighSurrogate = 0;
+
+    private boolean done = false;
+
+    /**
+     * Creates a writer computing the hash with the given algorithm.
+     *
+     * @param algorithm the hash function
+     * @throws IllegalStateException if the algorithm is not supported by the JVM
+     */
+    public ChecksumWriter(final ChecksumAlgorithm algorithm) {
+        Objects.requireNonNull(algorithm, "algorithm cannot be null");
+        this.hasher = algorithm.newHasher();
+    }
+
+    @Override
+    public void write(final int c) {
+        put((char) c);
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) {
+        for (int i = off; i < off + len; i++) {
+            put(cbuf[i]);
+        }
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) {
+        for (int i = off; i < off + len; i++) {
+            put(str.charAt(i));
+        }
+    }
+
+    private void put(final char c) {
+        if (this.done) {
+            throw new IllegalStateException("the checksum was already computed");
+        }
+        if (this.position > this.buffer.length - 4) {
+            drain();
+        }
+        if (this.pendingHighSurrogate != 0) {
+            final char high = this.pendingHighSurrogate;
+            this.pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                final int cp = Character.toCodePoint(high, c);
+                this.buffer[this.position++] = (byte) (0xF0 | cp >> 18);
+                this.buffer[this.position++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                this.buffer[this.position++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                this.buffer[this.position++] = (byte) (0x80 | cp & 0x3F);
+                return;
+            }
+            // unpaired high surrogate
+            this.buffer[this.position++] = '?';
+            if (this.position > this.buffer.length - 4) {
+                drain();
+            }
+        }
+        if (c < 0x80) {
+            this.buffer[this.position++] = (byte) c;
+        } else if (c < 0x800) {
+            this.buffer[this.position++] = (byte) (0xC0 | c >> 6);
+            this.buffer[this.position++] = (byte) (0x80 | c & 0x3F);
+        } else if (Character.isHighSurrogate(c)) {
+            this.pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            // unpaired low surrogate
+            this.buffer[this.position++] = '?';
+        } else {
+            this.buffer[this.position++] = (byte) (0xE0 | c >> 12);
+            this.buffer[this.position++] = (byte) (0x80 | c >> 6 & 0x3F);
+            this.buffer[this.position++] = (byte) (0x80 | c & 0x3F);
+        }
+    }
+
+    private void drain() {
+        if (this.position > 0) {
+            this.hasher.update(this.buffer, 0, this.position);
+            this.position = 0;
+        }
+    }
+
+    /**
+     * Does nothing, the pending bytes are hashed when the checksum is computed.
+     */
+    @Override
+    public void flush() {
+        // nothing to flush
+    }
+
+    /**
+     * Does nothing, the writer holds no resources.
+     */
+    @Override
+    public void close() {
+        // nothing to close
+    }
+
+    /**
+     * Completes the hash computation.
+     *
+     * @return the hash of the written text as lowercase hexadecimal string
+     * @throws IllegalStateException if the checksum was already computed
+     */
+    public String checksum() {
+        if (this.done) {
+            throw new IllegalStateException("the checksum was already computed");
+        }
+        if (this.pendingHighSurrogate != 0) {
+            this.pendingHighSurrogate = 0;
+            if (this.position > this.buffer.length - 4) {
+                drain();
+            }
+            this.buffer[this.position++] = '?';
+        }
+        drain();
+        this.done = true;
+        return hex(this.hasher.digest());
+    }
+
+    /**
+     * Converts the given bytes into a lowercase hexadecimal string.
+     *
+     * @param bytes the bytes to convert
+     * @return the hexadecimal representation, two characters per byte
+     */
+    public static String hex(final byte[] bytes) {
+        final char[] result = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            result[2 * i] = HEX[bytes[i] >> 4 & 0xF];
+            result[2 * i + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(result);
+    }
+}
@@ -29,7 +29,8 @@ import org.apache.commons.lang3.Strings;
  *
  * <p>The implementation preserves the EOLS as they are found in the message object. This is particularly important for
  * block 4 where fields can have multiple lines. To serialize into a compliant FIN text you can apply
- * {@link SwiftWriter#ensureEols(String)} to the result.
+ * {@link SwiftWriter#ensureEols(String)} to the result, or enable {@link #setNormalizeEols(boolean)} to get the same
+ * result while writing.
  */
 public class FINWriterVisitor implements IMessageVisitor {
     /**
@@ -42,6 +43,13 @@ public class FINWriterVisitor implements IMessageVisitor {
     private final Writer writer;
     private boolean block4asText = true;
     private boolean trimTagValues = false;
+    private boolean normalizeEols = false;
+
+    /**
+     * Line break written last and not passed to the writer yet, or 0 if none. A pending CR can still be followed by
+     * its LF.
+     */
+    private char pendingEol = 0;
 
     public FINWriterVisitor(Writer writer) {
         this.writer = writer;
@@ -63,6 +71,36 @@ public class FINWriterVisitor implements IMessageVisitor {
         this.trimTagValues = trimTagValues;
     }
 
+    /**
+     * @return true if the visitor is setup to write all line breaks as CRLF
+     * @since 10.3.20
+     */
+    public boolean isNormalizeEols() {
+        return normalizeEols;
+    }
+
+    /**
+     * When enabled, every line break written (CR, LF or CRLF) is written as CRLF, and a line break at the end of the
+     * message is not written. The result is the same as applying {@link SwiftWriter#ensureEols(String)} to the
+     * message written without this option, without a second pass over the text.
+     *
+     * @param normalizeEols true to write all line breaks as CRLF (it is false by default)
+     * @since 10.3.20
+     */
+    public void setNormalizeEols(boolean normalizeEols) {
+        this.normalizeEols = normalizeEols;
+        this.pendingEol = 0;
+    }
+
+    /**
+     * @return true if the block 4 of the message being written uses the text block syntax, false if it uses the tag
+     * block syntax (service messages and category 0 messages); determined when the message visit starts
+     * @since 10.3.20
+     */
+    protected boolean isBlock4asText() {
+        return block4asText;
+    }
+
     ////////////////////////////////////////////////////////////
     //
     // MESSAGE HANDLING
@@ -73,6 +111,7 @@ public class FINWriterVisitor implements IMessageVisitor {
 
         // initialize status
         this.block4asText = true;
+        this.pendingEol = 0;
 
         // If app identifier NOT 'F' OR service identifier NOT '01'  => USE TAG-BLOCK  syntax
         // If message type is category 0                             => USE TAG-BLOCK  syntax
@@ -112,8 +151,9 @@ public class FINWriterVisitor implements IMessageVisitor {
         //            safe (returns 0 if there is no list or real size otherwise).
         if (m.getUnparsedTextsSize() > 0) write(m.getUnparsedTexts());
 
-        // cleanup status
+        // cleanup status, a trailing line break is discarded when normalizing
         this.block4asText = true;
+        this.pendingEol = 0;
     }
 
     ////////////////////////////////////////////////////////////
@@ -214,7 +254,10 @@ public class FINWriterVisitor implements IMessageVisitor {
     ////////////////////////////////////////////////////////////
     @Override
     public void startBlock4(SwiftBlock4 b) {
-        write("{4:" + (this.block4asText ? SWIFT_EOL : ""));
+        write("{4:");
+        if (this.block4asText) {
+            write(SWIFT_EOL);
+        }
     }
 
     @Override
@@ -226,6 +269,33 @@ public class FINWriterVisitor implements IMessageVisitor {
         }
     }
 
+    /**
+     * Writes the block 4 content not parsed yet as is, when it is a text block with the same format this visitor
+     * would write it with: CRLF line breaks, no brackets nor text before the first tag, and values not trimmed.
+     */
+    @Override
+    public boolean block4Text(String text) {
+        if (!this.block4asText
+                || this.trimTagValues
+                || !text.startsWith("4:" + SWIFT_EOL + ":")
+                || !text.endsWith(SWIFT_EOL + "-")) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c == '{'
+                    || c == '}'
+                    || c == '\r' && (i + 1 == text.length() || text.charAt(i + 1) != '\n')
+                    || c == '\n' && text.charAt(i - 1) != '\r') {
+                return false;
+            }
+        }
+        write("{");
+        write(text);
+        write("}");
+        return true;
+    }
+
     @Override
     public void endBlock4(SwiftBlock4 b) {
 
@@ -237,7 +307,7 @@ public class FINWriterVisitor implements IMessageVisitor {
         if (b.getUnparsedTextsSize() > 0) write(b.getUnparsedTexts());
 
         // write block termination
-        write((this.block4asText ? "-" : "") + "}");
+        write(this.block4asText ? "-}" : "}");
     }
 
     ////////////////////////////////////////////////////////////
@@ -276,7 +346,9 @@ public class FINWriterVisitor implements IMessageVisitor {
     ////////////////////////////////////////////////////////////
     @Override
     public void startBlockUser(SwiftBlockUser b) {
-        write("{" + b.getName() + ":");
+        write("{");
+        write(b.getName());
+        write(":");
     }
 
     @Override
@@ -314,11 +386,14 @@ public class FINWriterVisitor implements IMessageVisitor {
         // we don't trim the value to preserve trailing spaces, but we avoid printing null
         if (StringUtils.isNotEmpty(t.getName())) {
             // we have name
-            write("{" + t.getName() + ":" + notNullValue(t));
+            write("{");
+            write(t.getName());
+            write(":");
         } else {
             // no name but value => {<value>}
-            write("{" + notNullValue(t));
+            write("{");
         }
+        write(notNullValue(t));
 
         // if tag has unparsed texts, write them down.
         // this goes "{<tag>:<value>unparsed_texts}" (NOTICE that unparsed text goes inside tag braquets)
@@ -353,7 +428,11 @@ public class FINWriterVisitor implements IMessageVisitor {
         // this goes: ":<tag>:<value>[CRLF]" (quotes not included)
         if (StringUtils.isNotEmpty(t.getName())) {
             // we don't trim the value to preserve trailing spaces, but we avoid printing null
-            write(":" + t.getName() + ":" + notNullValue(t) + SWIFT_EOL);
+            write(":");
+            write(t.getName());
+            write(":");
+            write(notNullValue(t));
+            write(SWIFT_EOL);
         }
 
         // if tag has unparsed texts, write them down
@@ -394,10 +473,46 @@ public class FINWriterVisitor implements IMessageVisitor {
 
     private void write(String s) {
         try {
-            writer.write(s);
+            if (this.normalizeEols) {
+                writeNormalized(s);
+            } else {
+                writer.write(s);
+            }
         } catch (IOException e) {
             log.log(Level.SEVERE, "Caught exception in FINWriterVisitor, method write", e);
             throw new ProwideException(e);
         }
     }
+
+    /**
+     * Writes the text with its line breaks as CRLF. The last line break is kept pending until more text is written,
+     * so it can be dropped if the message ends there.
+     */
+    private void writeNormalized(String s) throws IOException {
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c == '\r' || c == '\n') {
+                if (i > start) {
+                    writer.write(s, start, i - start);
+                }
+                start = i + 1;
+                if (c == '\n' && this.pendingEol == '\r') {
+                    // LF of a CRLF
+                    this.pendingEol = '\n';
+                } else {
+                    if (this.pendingEol != 0) {
+                        writer.write(SWIFT_EOL);
+                    }
+                    this.pendingEol = c;
+                }
+            } else if (this.pendingEol != 0) {
+                writer.write(SWIFT_EOL);
+                this.pendingEol = 0;
+            }
+        }
+        if (start < s.length()) {
+            writer.write(s, start, s.length() - start);
+        }
+    }
 }
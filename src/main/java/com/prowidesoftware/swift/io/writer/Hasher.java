@@ -0,0 +1,40 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.writer;
+
+/**
+ * Incremental hash function fed by the {@link ChecksumWriter}.
+ *
+ * @since 10.3.20
+ */
+interface Hasher {
+
+    /**
+     * Adds the given bytes to the hash.
+     *
+     * @param bytes  the input
+     * @param offset the offset of the first byte to hash
+     * @param length the number of bytes to hash
+     */
+    void update(byte[] bytes, int offset, int length);
+
+    /**
+     * Completes the hash computation.
+     *
+     * @return the hash value bytes, the hasher must not be used afterwards
+     */
+    byte[] digest();
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.writer;
+
+/**
+ * Streaming implementation of the 128-bit MurmurHash3 for x64 (MurmurHash3_x64_128) with seed 0.
+ *
+ * <p>The digest contains the two 64-bit halves of the hash in little-endian order, which is the byte order used by
+ * most of the Java implementations, for example Guava's {@code Hashing.murmur3_128()}.
+ *
+ * @since 10.3.20
+ */
+final class Murmur3Hash128 implements Hasher {
+    private static final long C1 = 0x87C37B91114253D5L;
+    private static final long C2 = 0x4CF5AD432745937FL;
+
+    private long h1 = 0;
+    private long h2 = 0;
+
+    /**
+     * Pending input, less than a full 16 bytes block
+     */
+    private final byte[] buffer = new byte[16];
+
+    private int buffered = 0;
+    private long total = 0;
+
+    @Override
+    public void update(final byte[] bytes, final int offset, final int length) {
+        int i = offset;
+        final int end = offset + length;
+        this.total += length;
+        if (this.buffered > 0) {
+            final int n = Math.min(16 - this.buffered, length);
+            System.arraycopy(bytes, i, this.buffer, this.buffered, n);
+            this.buffered += n;
+            i += n;
+            if (this.buffered < 16) {
+                return;
+            }
+            block(XxHash64.readLong(this.buffer, 0), XxHash64.readLong(this.buffer, 8));
+            this.buffered = 0;
+        }
+        for (; i + 16 <= end; i += 16) {
+            block(XxHash64.readLong(bytes, i), XxHash64.readLong(bytes, i + 8));
+        }
+        if (i < end) {
+            System.arraycopy(bytes, i, this.buffer, 0, end - i);
+            this.buffered = end - i;
+        }
+    }
+
+    private void block(final long k1, final long k2) {
+        this.h1 ^= mixK1(k1);
+        this.h1 = Long.rotateLeft(this.h1, 27);
+        this.h1 += this.h2;
+        this.h1 = this.h1 * 5 + 0x52DCE729;
+
+        this.h2 ^= mixK2(k2);
+        this.h2 = Long.rotateLeft(this.h2, 31);
+        this.h2 += this.h1;
+        this.h2 = this.h2 * 5 + 0x38495AB5;
+    }
+
+    @Override
+    public byte[] digest() {
+        if (this.buffered > 0) {
+            long k1 = 0;
+            long k2 = 0;
+            for (int i = this.buffered - 1; i >= 8; i--) {
+                k2 = k2 << 8 | (this.buffer[i] & 0xFFL);
+            }
+            for (int i = Math.min(this.buffered, 8) - 1; i >= 0; i--) {
+                k1 = k1 << 8 | (this.buffer[i] & 0xFFL);
+            }
+            this.h1 ^= mixK1(k1);
+            this.h2 ^= mixK2(k2);
+        }
+
+        this.h1 ^= this.total;
+        this.h2 ^= this.total;
+        this.h1 += this.h2;
+        this.h2 += this.h1;
+        this.h1 = fmix(this.h1);
+        this.h2 = fmix(this.h2);
+        this.h1 += this.h2;
+        this.h2 += this.h1;
+
+        final byte[] result = new byte[16];
+        long a = this.h1;
+        long b = this.h2;
+        for (int i = 0; i < 8; i++) {
+            result[i] = (byte) a;
+            result[i + 8] = (byte) b;
+            a >>>= 8;
+            b >>>= 8;
+        }
+        return result;
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xFF51AFD7ED558CCDL;
+        k ^= k >>> 33;
+        k *= 0xC4CEB9FE1A85EC53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
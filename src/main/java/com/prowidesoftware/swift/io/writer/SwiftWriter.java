@@ -15,11 +15,19 @@
  */
 package com.prowidesoftware.swift.io.writer;
 
+import com.prowidesoftware.ProwideException;
 import com.prowidesoftware.swift.model.*;
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
 import org.apache.commons.lang3.Validate;
 
 /**
@@ -85,14 +93,36 @@ public class SwiftWriter {
         Validate.notNull(writer, WRITER_MESSAGE);
         FINWriterVisitor v = new FINWriterVisitor(writer);
         v.setTrimTagValues(trimTagValues);
+        writeMessage(msg, v, ignoreEmptyBlocks);
+    }
 
+    /**
+     * Writes the given message content in its FIN format using the given visitor.
+     *
+     * <p>This is the same as {@link #writeMessage(SwiftMessage, Writer, boolean)} but lets the caller provide the
+     * visitor, for example a subclass that also keeps track of where each block is written.
+     *
+     * @param msg               the message to write
+     * @param v                 the visitor that will actually receive all the write operations
+     * @param ignoreEmptyBlocks if true, empty blocks will not be written
+     * @throws IllegalArgumentException if msg or visitor are null
+     * @since 10.3.20
+     */
+    public static void writeMessage(SwiftMessage msg, FINWriterVisitor v, boolean ignoreEmptyBlocks) {
+        Validate.notNull(msg, "msg cannot be null");
+        Validate.notNull(v, "visitor cannot be null");
         if (ignoreEmptyBlocks) {
             // copy the blocks to a new message container
             SwiftMessage copy = new SwiftMessage();
             copy.setBlock1(msg.getBlock1());
             copy.setBlock2(msg.getBlock2());
             copy.setBlock3(msg.getBlock3());
-            copy.setBlock4(msg.getBlock4());
+            if (msg.getBlock4Text() != null) {
+                // keep the block not parsed yet, so it can be written as is
+                copy.setBlock4Text(msg.getBlock4Text());
+            } else {
+                copy.setBlock4(msg.getBlock4());
+            }
             copy.setBlock5(msg.getBlock5());
             copy.setUnparsedTexts(msg.getUnparsedTexts());
             if (msg.getUserBlocks() != null) {
@@ -111,6 +141,88 @@ public class SwiftWriter {
         }
     }
 
+    /**
+     * Writes the given message in FIN format with the same content returned by
+     * {@link com.prowidesoftware.swift.io.ConversionService#getFIN(SwiftMessage)}: empty blocks are not written and
+     * all line breaks are written as CRLF.
+     *
+     * <p>The line breaks are normalized by the {@link FINWriterVisitor} as the content is written, instead of writing
+     * the message into a String and applying {@link #ensureEols(String)} to it.
+     *
+     * @param msg the message to write
+     * @param out the destination, for example a StringBuilder or a Writer
+     * @throws IllegalArgumentException if msg or out are null
+     * @throws ProwideException         if an error occurs appending the content
+     * @since 10.3.20
+     */
+    public static void writeFin(SwiftMessage msg, Appendable out) {
+        Validate.notNull(out, "out cannot be null");
+        writeFin(msg, out instanceof Writer ? (Writer) out : new AppendableWriter(out));
+    }
+
+    /**
+     * Same as {@link #writeFin(SwiftMessage, Appendable)} encoding the content into the given stream.
+     *
+     * <p>The bytes are the same as those of the String returned by
+     * {@link com.prowidesoftware.swift.io.ConversionService#getFIN(SwiftMessage)} encoded with the charset. The stream
+     * is flushed but not closed.
+     *
+     * @param msg     the message to write
+     * @param out     the destination stream
+     * @param charset the charset to encode the content
+     * @throws IllegalArgumentException if msg, out or charset are null
+     * @throws ProwideException         if an error occurs writing to the stream
+     * @since 10.3.20
+     */
+    public static void writeFin(SwiftMessage msg, OutputStream out, Charset charset) {
+        Validate.notNull(out, "out cannot be null");
+        writeFin(msg, new Sink(out, null), charset);
+    }
+
+    /**
+     * Same as {@link #writeFin(SwiftMessage, Appendable)} encoding the content into the given buffer, starting at its
+     * current position.
+     *
+     * <p>The bytes are the same as those of the String returned by
+     * {@link com.prowidesoftware.swift.io.ConversionService#getFIN(SwiftMessage)} encoded with the charset.
+     *
+     * @param msg     the message to write
+     * @param out     the destination buffer, its position is moved to the end of the written content, or left
+     *                unchanged if the message does not fit
+     * @param charset the charset to encode the content
+     * @throws IllegalArgumentException          if msg, out or charset are null
+     * @throws BufferOverflowException          if the remaining space in the buffer is not enough for the message
+     * @since 10.3.20
+     */
+    public static void writeFin(SwiftMessage msg, ByteBuffer out, Charset charset) {
+        Validate.notNull(out, "out cannot be null");
+        final int position = out.position();
+        try {
+            writeFin(msg, new Sink(null, out), charset);
+        } catch (BufferOverflowException e) {
+            // do not leave a partial message in the buffer
+            out.position(position);
+            throw e;
+        }
+    }
+
+    private static void writeFin(SwiftMessage msg, Sink sink, Charset charset) {
+        Validate.notNull(charset, "charset cannot be null");
+        // closing the writer encodes any pending input, the sink does not close the destination
+        try (BufferedByteWriter writer = new BufferedByteWriter(sink, charset, 4096)) {
+            writeFin(msg, writer);
+        } catch (IOException e) {
+            throw new ProwideException(e);
+        }
+    }
+
+    private static void writeFin(SwiftMessage msg, Writer writer) {
+        Validate.notNull(msg, "msg cannot be null");
+        FINWriterVisitor v = new FINWriterVisitor(writer);
+        v.setNormalizeEols(true);
+        writeMessage(msg, v, true);
+    }
+
     /**
      * Get a string with the internal xml representation of a message.
      *
@@ -286,4 +398,77 @@ public class SwiftWriter {
             return "";
         }
     }
+
+    /**
+     * Writer appending to any Appendable, such as a StringBuilder
+     */
+    private static final class AppendableWriter extends Writer {
+        private final Appendable out;
+
+        private AppendableWriter(final Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(final int c) throws IOException {
+            this.out.append((char) c);
+        }
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) throws IOException {
+            this.out.append(CharBuffer.wrap(cbuf, off, len));
+        }
+
+        @Override
+        public void write(final String str, final int off, final int len) throws IOException {
+            this.out.append(str, off, off + len);
+        }
+
+        @Override
+        public void flush() {
+            // nothing to flush
+        }
+
+        @Override
+        public void close() {
+            // the appendable is owned by the caller
+        }
+    }
+
+    /**
+     * Channel passing the encoded bytes to a caller stream or buffer, without closing it
+     */
+    private static final class Sink implements WritableByteChannel {
+        private final OutputStream stream;
+        private final ByteBuffer buffer;
+
+        private Sink(final OutputStream stream, final ByteBuffer buffer) {
+            this.stream = stream;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int write(final ByteBuffer src) throws IOException {
+            final int n = src.remaining();
+            if (this.stream != null) {
+                this.stream.write(src.array(), src.arrayOffset() + src.position(), n);
+                src.position(src.limit());
+            } else {
+                this.buffer.put(src);
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.stream != null) {
+                this.stream.flush();
+            }
+        }
+    }
 }
@@ -79,7 +79,7 @@ public class XMLWriterVisitor implements IMessageVisitor {
         //            safe (returns 0 if there is no list or real size otherwise).
         if (m.getUnparsedTextsSize() > 0) write(m.getUnparsedTexts(), 0);
 
-        write(EOL + "</message>");
+        writeLine("</message>");
     }
 
     ////////////////////////////////////////////////////////////
@@ -89,26 +89,24 @@ public class XMLWriterVisitor implements IMessageVisitor {
     ////////////////////////////////////////////////////////////
     @Override
     public void startBlock1(SwiftBlock1 b) {
-        write(EOL + "<block1>");
+        writeLine("<block1>");
     }
 
     @Override
     public void value(SwiftBlock1 b, String v) {
         // generate the attributes for this block
-        final StringBuilder sb = new StringBuilder();
         if (!b.isEmpty()) {
-            appendElement(sb, "applicationId", b.getApplicationId());
-            appendElement(sb, "serviceId", b.getServiceId());
-            appendElement(sb, "logicalTerminal", b.getLogicalTerminal());
+            appendElement("applicationId", b.getApplicationId());
+            appendElement("serviceId", b.getServiceId());
+            appendElement("logicalTerminal", b.getLogicalTerminal());
             if (b.getSessionNumber() != null) {
                 // optional for service messages
-                appendElement(sb, "sessionNumber", b.getSessionNumber());
+                appendElement("sessionNumber", b.getSessionNumber());
             }
             if (b.getSequenceNumber() != null) {
                 // optional for service messages
-                appendElement(sb, "sequenceNumber", b.getSequenceNumber());
+                appendElement("sequenceNumber", b.getSequenceNumber());
             }
-            write(sb.toString());
         }
     }
 
@@ -123,7 +121,7 @@ public class XMLWriterVisitor implements IMessageVisitor {
         if (b.getUnparsedTextsSize() > 0) write(b.getUnparsedTexts(), 1);
 
         // write block termination
-        write(EOL + "</block1>");
+        writeLine("</block1>");
     }
 
     ////////////////////////////////////////////////////////////
@@ -139,7 +137,7 @@ public class XMLWriterVisitor implements IMessageVisitor {
             if (b instanceof SwiftBlock2Input) xmlTag = "<block2 type=\"input\">";
             if (b instanceof SwiftBlock2Output) xmlTag = "<block2 type=\"output\">";
         }
-        write(EOL + xmlTag);
+        writeLine(xmlTag);
     }
 
     @Override
@@ -151,39 +149,36 @@ public class XMLWriterVisitor implements IMessageVisitor {
         }
 
         // generate the attributes for this block
-        final StringBuilder sb = new StringBuilder();
         if (b instanceof SwiftBlock2Input) {
             SwiftBlock2Input b2 = (SwiftBlock2Input) b;
-            appendElement(sb, "messageType", b2.getMessageType());
-            appendElement(sb, "receiverAddress", b2.getReceiverAddress());
+            appendElement("messageType", b2.getMessageType());
+            appendElement("receiverAddress", b2.getReceiverAddress());
             if (b2.getMessagePriority() != null) {
                 // optional for service messages
-                appendElement(sb, "messagePriority", b2.getMessagePriority());
+                appendElement("messagePriority", b2.getMessagePriority());
             }
             if (b2.getDeliveryMonitoring() != null) {
                 // optional for service messages
-                appendElement(sb, "deliveryMonitoring", b2.getDeliveryMonitoring());
+                appendElement("deliveryMonitoring", b2.getDeliveryMonitoring());
             }
             if (b2.getObsolescencePeriod() != null) {
                 // optional for service messages
-                appendElement(sb, "obsolescencePeriod", b2.getObsolescencePeriod());
+                appendElement("obsolescencePeriod", b2.getObsolescencePeriod());
             }
         }
         if (b instanceof SwiftBlock2Output) {
             SwiftBlock2Output b2 = (SwiftBlock2Output) b;
-            appendElement(sb, "messageType", b2.getMessageType());
-            appendElement(sb, "senderInputTime", b2.getSenderInputTime());
-            appendElement(sb, "MIRDate", b2.getMIRDate());
-            appendElement(sb, "MIRLogicalTerminal", b2.getMIRLogicalTerminal());
-            appendElement(sb, "MIRSessionNumber", b2.getMIRSessionNumber());
-            appendElement(sb, "MIRSequenceNumber", b2.getMIRSequenceNumber());
-            appendElement(sb, "receiverOutputDate", b2.getReceiverOutputDate());
-            appendElement(sb, "receiverOutputTime", b2.getReceiverOutputTime());
+            appendElement("messageType", b2.getMessageType());
+            appendElement("senderInputTime", b2.getSenderInputTime());
+            appendElement("MIRDate", b2.getMIRDate());
+            appendElement("MIRLogicalTerminal", b2.getMIRLogicalTerminal());
+            appendElement("MIRSessionNumber", b2.getMIRSessionNumber());
+            appendElement("MIRSequenceNumber", b2.getMIRSequenceNumber());
+            appendElement("receiverOutputDate", b2.getReceiverOutputDate());
+            appendElement("receiverOutputTime", b2.getReceiverOutputTime());
             if (b2.getMessagePriority() != null) // optional for service messages
-            appendElement(sb, "messagePriority", b2.getMessagePriority());
+            appendElement("messagePriority", b2.getMessagePriority());
         }
-
-        write(sb.toString());
     }
 
     @Override
@@ -197,7 +192,7 @@ public class XMLWriterVisitor implements IMessageVisitor {
         if (b.getUnparsedTextsSize() > 0) write(b.getUnparsedTexts(), 1);
 
         // write block termination
-        write(EOL + "</block2>");
+        writeLine("</block2>");
     }
 
     ////////////////////////////////////////////////////////////
@@ -207,7 +202,7 @@ public class XMLWriterVisitor implements IMessageVisitor {
     ////////////////////////////////////////////////////////////
     @Override
     public void startBlock3(SwiftBlock3 b) {
-        write(EOL + "<block3>");
+        writeLine("<block3>");
     }
 
     @Override
@@ -226,7 +221,7 @@ public class XMLWriterVisitor implements IMessageVisitor {
         if (b.getUnparsedTextsSize() > 0) write(b.getUnparsedTexts(), 1);
 
         // write block termination
-        write(EOL + "</block3>");
+        writeLine("</block3>");
     }
 
     ////////////////////////////////////////////////////////////
@@ -236,7 +231,7 @@ public class XMLWriterVisitor implements IMessageVisitor {
     ////////////////////////////////////////////////////////////
     @Override
     public void startBlock4(SwiftBlock4 b) {
-        write(EOL + "<block4>");
+        writeLine("<block4>");
     }
 
     @Override
@@ -259,7 +254,7 @@ public class XMLWriterVisitor implements IMessageVisitor {
         if (b.getUnparsedTextsSize() > 0) write(b.getUnparsedTexts(), 1);
 
         // write block termination
-        write(EOL + "</block4>");
+        writeLine("</block4>");
     }
 
     ////////////////////////////////////////////////////////////
@@ -269,7 +264,7 @@ public class XMLWriterVisitor implements IMessageVisitor {
     ////////////////////////////////////////////////////////////
     @Override
     public void startBlock5(SwiftBlock5 b) {
-        write(EOL + "<block5>");
+        writeLine("<block5>");
     }
 
     @Override
@@ -288,7 +283,7 @@ public class XMLWriterVisitor implements IMessageVisitor {
         if (b.getUnparsedTextsSize() > 0) write(b.getUnparsedTexts(), 1);
 
         // write block termination
-        write(EOL + "</block5>");
+        writeLine("</block5>");
     }
 
     ////////////////////////////////////////////////////////////
@@ -298,7 +293,9 @@ public class XMLWriterVisitor implements IMessageVisitor {
     ////////////////////////////////////////////////////////////
     @Override
     public void startBlockUser(SwiftBlockUser b) {
-        write(EOL + "<block name=\"" + b.getName() + "\">");
+        writeLine("<block name=\"");
+        write(b.getName());
+        write("\">");
     }
 
     @Override
@@ -317,7 +314,7 @@ public class XMLWriterVisitor implements IMessageVisitor {
         if (b.getUnparsedTextsSize() > 0) write(b.getUnparsedTexts(), 1);
 
         // write block termination
-        write(EOL + "</block>");
+        writeLine("</block>");
     }
 
     ////////////////////////////////////////////////////////////
@@ -327,14 +324,14 @@ public class XMLWriterVisitor implements IMessageVisitor {
     ////////////////////////////////////////////////////////////
     private void appendTag(Tag t) {
         // generate the xml tag
-        write(EOL + "\t<tag>");
-        write(EOL + "\t\t<name>");
+        writeLine("\t<tag>");
+        writeLine("\t\t<name>");
         if (t.getName() != null) // otherwise, null name writes name "null"
         write(t.getName());
         write("</name>");
-        write(EOL + "\t\t<value>");
+        writeLine("\t\t<value>");
         if (t.getValue() != null) // otherwise, null value writes value "null"
-        write(escapeXml11(t.getValue()));
+        writeEscaped(t.getValue());
         write("</value>");
 
         // if tag has unparsed texts, write them down
@@ -345,7 +342,7 @@ public class XMLWriterVisitor implements IMessageVisitor {
         if (t.getUnparsedTextsSize() > 0) write(t.getUnparsedTexts(), 2);
 
         // write tag termination
-        write(EOL + "\t</tag>");
+        writeLine("\t</tag>");
     }
 
     private void appendField(Tag tag) {
@@ -355,8 +352,8 @@ public class XMLWriterVisitor implements IMessageVisitor {
             // Something went wrong
         } else {
             // generate the xml tag
-            write(EOL + "\t<field>");
-            write(EOL + "\t\t<name>");
+            writeLine("\t<field>");
+            writeLine("\t\t<name>");
             if (f.getName() != null) // otherwise, null name writes name "null"
             write(f.getName());
             write("</name>");
@@ -365,26 +362,27 @@ public class XMLWriterVisitor implements IMessageVisitor {
                 final int id = i + 1;
                 final String component = components.get(i);
                 if (component != null) {
-                    write(EOL + "\t\t<component number=\"" + id + "\">");
-                    write(escapeXml11(component));
+                    writeLine("\t\t<component number=\"");
+                    write(Integer.toString(id));
+                    write("\">");
+                    writeEscaped(component);
                     write("</component>");
                 }
             }
 
             // write tag termination
-            write(EOL + "\t</field>");
+            writeLine("\t</field>");
         }
     }
 
-    private void appendElement(StringBuilder sb, String element, String value) {
-        sb.append(EOL)
-                .append("\t<")
-                .append(element)
-                .append('>')
-                .append(value)
-                .append("</")
-                .append(element)
-                .append('>');
+    private void appendElement(String element, String value) {
+        writeLine("\t<");
+        write(element);
+        write(">");
+        write(String.valueOf(value));
+        write("</");
+        write(element);
+        write(">");
     }
 
     private void write(UnparsedTextList texts, int level) {
@@ -404,19 +402,86 @@ public class XMLWriterVisitor implements IMessageVisitor {
 
         // write the unparsed texts (if any)
         if (texts.size() > 0) {
-            write(EOL + prefix + "<unparsedTexts>");
+            writeLine(prefix);
+            write("<unparsedTexts>");
             for (int i = 0; i < texts.size(); i++) {
-                write(EOL + prefix + "\t<text>");
+                writeLine(prefix);
+                write("\t<text>");
                 write(texts.getText(i));
                 write("</text>");
             }
-            write(EOL + prefix + "</unparsedTexts>");
+            writeLine(prefix);
+            write("</unparsedTexts>");
+        }
+    }
+
+    /**
+     * Writes the value with the XML special characters escaped, same as {@code escapeXml11} but copying the plain
+     * runs of the value straight to the writer. Values with characters other than the five predefined entities that
+     * need escaping or removal are rare in MT content and are escaped with {@code escapeXml11}.
+     */
+    private void writeEscaped(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (!isPlain(c) && entity(c) == null) {
+                write(escapeXml11(s));
+                return;
+            }
+        }
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            final String entity = entity(s.charAt(i));
+            if (entity != null) {
+                write(s, start, i - start);
+                write(entity);
+                start = i + 1;
+            }
+        }
+        write(s, start, s.length() - start);
+    }
+
+    /**
+     * @return true if the character is written as is by {@code escapeXml11}
+     */
+    private static boolean isPlain(char c) {
+        if (c < 0x7f) {
+            return c >= 0x20 ? entity(c) == null : c == '\t' || c == '\n' || c == '\r';
+        }
+        return c >= 0xa0 && !Character.isSurrogate(c) && c < 0xfffe;
+    }
+
+    private static String entity(char c) {
+        switch (c) {
+            case '&':
+                return "&amp;";
+            case '<':
+                return "&lt;";
+            case '>':
+                return "&gt;";
+            case '"':
+                return "&quot;";
+            case '\'':
+                return "&apos;";
+            default:
+                return null;
         }
     }
 
+    /**
+     * Writes a line break followed by the given text
+     */
+    private void writeLine(String s) {
+        write(EOL);
+        write(s);
+    }
+
     private void write(String s) {
+        write(s, 0, s.length());
+    }
+
+    private void write(String s, int off, int len) {
         try {
-            writer.write(s);
+            writer.write(s, off, len);
         } catch (IOException e) {
             log.log(Level.SEVERE, "Caught exception in XMLWriterVisitor, method write", e);
             throw new ProwideException(e);
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.writer;
+
+/**
+ * Streaming implementation of the XXH64 hash function with seed 0.
+ *
+ * <p>The digest is the 64-bit hash value in big-endian order, so its hexadecimal representation is the same printed
+ * by the reference xxhsum tool.
+ *
+ * @see <a href="https://github.com/Cyan4973/xxHash/blob/dev/doc/xxhash_spec.md">xxHash specification</a>
+ * @since 10.3.20
+ */
+final class XxHash64 implements Hasher {
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+    private long v1 = PRIME1 + PRIME2;
+    private long v2 = PRIME2;
+    private long v3 = 0;
+    private long v4 = -PRIME1;
+
+    /**
+     * Pending input, less than a full 32 bytes stripe
+     */
+    private final byte[] buffer = new byte[32];
+
+    private int buffered = 0;
+    private long total = 0;
+
+    @Override
+    public void update(final byte[] bytes, final int offset, final int length) {
+        int i = offset;
+        final int end = offset + length;
+        this.total += length;
+        if (this.buffered > 0) {
+            final int n = Math.min(32 - this.buffered, length);
+            System.arraycopy(bytes, i, this.buffer, this.buffered, n);
+            this.buffered += n;
+            i += n;
+            if (this.buffered < 32) {
+                return;
+            }
+            stripe(this.buffer, 0);
+            this.buffered = 0;
+        }
+        for (; i + 32 <= end; i += 32) {
+            stripe(bytes, i);
+        }
+        if (i < end) {
+            System.arraycopy(bytes, i, this.buffer, 0, end - i);
+            this.buffered = end - i;
+        }
+    }
+
+    private void stripe(final byte[] b, final int i) {
+        this.v1 = round(this.v1, readLong(b, i));
+        this.v2 = round(this.v2, readLong(b, i + 8));
+        this.v3 = round(this.v3, readLong(b, i + 16));
+        this.v4 = round(this.v4, readLong(b, i + 24));
+    }
+
+    @Override
+    public byte[] digest() {
+        long h;
+        if (this.total >= 32) {
+            h = Long.rotateLeft(this.v1, 1)
+                    + Long.rotateLeft(this.v2, 7)
+                    + Long.rotateLeft(this.v3, 12)
+                    + Long.rotateLeft(this.v4, 18);
+            h = mergeRound(h, this.v1);
+            h = mergeRound(h, this.v2);
+            h = mergeRound(h, this.v3);
+            h = mergeRound(h, this.v4);
+        } else {
+            h = PRIME5;
+        }
+        h += this.total;
+
+        int i = 0;
+        for (; i + 8 <= this.buffered; i += 8) {
+            h ^= round(0, readLong(this.buffer, i));
+            h = Long.rotateLeft(h, 27) * PRIME1 + PRIME4;
+        }
+        if (i + 4 <= this.buffered) {
+            h ^= (readInt(this.buffer, i) & 0xFFFFFFFFL) * PRIME1;
+            h = Long.rotateLeft(h, 23) * PRIME2 + PRIME3;
+            i += 4;
+        }
+        for (; i < this.buffered; i++) {
+            h ^= (this.buffer[i] & 0xFFL) * PRIME5;
+            h = Long.rotateLeft(h, 11) * PRIME1;
+        }
+
+        h ^= h >>> 33;
+        h *= PRIME2;
+        h ^= h >>> 29;
+        h *= PRIME3;
+        h ^= h >>> 32;
+
+        final byte[] result = new byte[8];
+        for (int j = 7; j >= 0; j--) {
+            result[j] = (byte) h;
+            h >>>= 8;
+        }
+        return result;
+    }
+
+    private static long round(long acc, final long input) {
+        acc += input * PRIME2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * PRIME1;
+    }
+
+    private static long mergeRound(long acc, final long val) {
+        acc ^= round(0, val);
+        return acc * PRIME1 + PRIME4;
+    }
+
+    static long readLong(final byte[] b, final int i) {
+        return (b[i] & 0xFFL)
+                | (b[i + 1] & 0xFFL) << 8
+                | (b[i + 2] & 0xFFL) << 16
+                | (b[i + 3] & 0xFFL) << 24
+                | (b[i + 4] & 0xFFL) << 32
+                | (b[i + 5] & 0xFFL) << 40
+                | (b[i + 6] & 0xFFL) << 48
+                | (b[i + 7] & 0xFFL) << 56;
+    }
+
+    private static int readInt(final byte[] b, final int i) {
+        return (b[i] & 0xFF) | (b[i + 1] & 0xFF) << 8 | (b[i + 2] & 0xFF) << 16 | (b[i + 3] & 0xFF) << 24;
+    }
+}
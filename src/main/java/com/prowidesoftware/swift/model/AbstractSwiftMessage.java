@@ -79,6 +79,11 @@ public abstract class AbstractSwiftMessage implements Serializable, JsonSerializ
             java.util.logging.Logger.getLogger(AbstractSwiftMessage.class.getName());
     private static final long serialVersionUID = 3769865560736793606L;
 
+    private static final Gson GSON_PRETTY = new GsonBuilder()
+            .setPrettyPrinting()
+            .registerTypeHierarchyAdapter(Calendar.class, CalendarTypeAdapter.INSTANCE)
+            .create();
+
     /**
      * Unique identifier (used for ORM mapped to the table record id)
      */
@@ -1426,13 +1431,9 @@ public abstract class AbstractSwiftMessage implements Serializable, JsonSerializ
      * @since 7.10.6
      */
     protected String toJsonImpl() {
-        final Gson gson = new GsonBuilder()
-                .setPrettyPrinting()
-                .registerTypeHierarchyAdapter(Calendar.class, CalendarTypeAdapter.INSTANCE)
-                .create();
-        JsonObject root = gson.toJsonTree(this).getAsJsonObject();
+        JsonObject root = GSON_PRETTY.toJsonTree(this).getAsJsonObject();
         root.addProperty("schemaVersion", JSON_SCHEMA_VERSION);
-        return gson.toJson(root);
+        return GSON_PRETTY.toJson(root);
     }
 
     /**
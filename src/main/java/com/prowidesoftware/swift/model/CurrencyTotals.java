@@ -0,0 +1,289 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model;
+
+import com.prowidesoftware.swift.model.field.AmountContainer;
+import com.prowidesoftware.swift.model.field.Field;
+import com.prowidesoftware.swift.utils.ResolverUtils;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collector;
+
+/**
+ * Sums of amounts per currency.
+ *
+ * <p>Each currency total is accumulated as an unscaled long value and a scale, aligned to the greatest scale of the
+ * added amounts, and it only switches to BigDecimal if the sum overflows a long. The amounts of fields and messages
+ * are parsed directly from their components, without creating a {@link Money} or BigDecimal per amount.
+ *
+ * <p>This class is not thread-safe; for parallel streams use {@link #summingMessages()}, which merges the partial
+ * totals of each thread.
+ *
+ * @see ScaledAmount
+ * @since 10.3.20
+ */
+public final class CurrencyTotals {
+    private static final long[] POWERS_OF_TEN = new long[ScaledAmount.MAX_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final Map<String, Total> totals = new LinkedHashMap<>();
+
+    /**
+     * Adds an amount to the currency total.
+     *
+     * @param currency      a not null currency code
+     * @param unscaledValue the amount digits
+     * @param scale         the number of digits after the decimal separator
+     */
+    public void add(final String currency, final long unscaledValue, final int scale) {
+        final Total total = totalOf(currency);
+        total.add(unscaledValue, scale);
+        total.count++;
+    }
+
+    /**
+     * Adds an amount to the currency total.
+     *
+     * @param currency a not null currency code
+     * @param amount   a not null amount
+     */
+    public void add(final String currency, final ScaledAmount amount) {
+        final Total total = totalOf(currency);
+        if (amount.isCompact()) {
+            total.add(amount.getUnscaledValue(), amount.getScale());
+        } else {
+            total.add(amount.toBigDecimal());
+        }
+        total.count++;
+    }
+
+    /**
+     * Parses a SWIFT amount and adds it to the currency total.
+     *
+     * @param currency a not null currency code
+     * @param amount   an amount with comma as decimal separator
+     * @return true if the amount was added, false if it cannot be parsed
+     * @see ScaledAmount#parse(CharSequence)
+     */
+    public boolean add(final String currency, final CharSequence amount) {
+        final ScaledAmount parsed = ScaledAmount.parse(amount);
+        if (parsed != null) {
+            add(currency, parsed);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the amount of a field with currency and amount components, with the same rules as the {@link Money}
+     * creation from fields. Fields with a debit/credit mark or sign, such as 62F or 19A, are added with the
+     * corresponding sign.
+     *
+     * @param field a field with currency and amount
+     * @return true if the amount was added, false if the field is null, it has no amount or currency or the amount
+     * cannot be parsed
+     */
+    public boolean add(final Field field) {
+        if (!(field instanceof AmountContainer)) {
+            return false;
+        }
+        final String currency = Money.currency(field);
+        final String amount = ResolverUtils.findFirstWantedType(field.typesPattern(), 'I', field.getComponents());
+        if (currency == null || amount == null) {
+            return false;
+        }
+        ScaledAmount parsed = ScaledAmount.parse(amount);
+        if (parsed == null) {
+            return false;
+        }
+        if (Money.isNegative(field)) {
+            parsed = parsed.negate();
+        }
+        add(currency, parsed);
+        return true;
+    }
+
+    /**
+     * Adds the amount of a message, from the same fields used in {@link SwiftMessageUtils#money(SwiftMessage)}.
+     * For messages where the money is the sum of several fields, each field is added to the total of its currency.
+     * For ACK/NAK messages the amount is taken from the original message attached, if present.
+     *
+     * @param m the message, may be null
+     * @return the number of amounts added
+     */
+    public int add(final SwiftMessage m) {
+        if (m == null) {
+            return 0;
+        }
+        final SwiftMessage original = SwiftMessageUtils.attachedMessage(m);
+        List<Field> fields = original != null ? SwiftMessageUtils.moneyFields(original) : Collections.emptyList();
+        if (fields.isEmpty()) {
+            fields = SwiftMessageUtils.moneyFields(m);
+        }
+        int added = 0;
+        for (final Field field : fields) {
+            if (add(field)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Adds all the totals of another instance to this one.
+     *
+     * @param other the totals to add
+     * @return this object
+     */
+    public CurrencyTotals merge(final CurrencyTotals other) {
+        for (final Map.Entry<String, Total> e : other.totals.entrySet()) {
+            totalOf(e.getKey()).merge(e.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * @return the currencies with some amount added, in the order they were first added
+     */
+    public Set<String> currencies() {
+        return Collections.unmodifiableSet(this.totals.keySet());
+    }
+
+    /**
+     * @param currency a currency code
+     * @return the sum of the amounts added for the currency, or null if none was added
+     */
+    public BigDecimal total(final String currency) {
+        final Total total = this.totals.get(currency);
+        return total != null ? total.toBigDecimal() : null;
+    }
+
+    /**
+     * @param currency a currency code
+     * @return the sum of the amounts added for the currency, or null if none was added
+     */
+    public ScaledAmount scaledTotal(final String currency) {
+        final Total total = this.totals.get(currency);
+        if (total == null) {
+            return null;
+        }
+        return total.value != null ? ScaledAmount.of(total.value) : ScaledAmount.of(total.unscaledValue, total.scale);
+    }
+
+    /**
+     * @param currency a currency code
+     * @return the number of amounts added for the currency
+     */
+    public long count(final String currency) {
+        final Total total = this.totals.get(currency);
+        return total != null ? total.count : 0;
+    }
+
+    /**
+     * @return the totals per currency, in the order the currencies were first added
+     */
+    public Map<String, BigDecimal> toMap() {
+        final Map<String, BigDecimal> result = new LinkedHashMap<>();
+        for (final Map.Entry<String, Total> e : this.totals.entrySet()) {
+            result.put(e.getKey(), e.getValue().toBigDecimal());
+        }
+        return result;
+    }
+
+    /**
+     * Collector summing the amount of each message per currency, as done by {@link #add(SwiftMessage)}.
+     *
+     * @return a collector to use with a stream of messages
+     */
+    public static Collector<SwiftMessage, CurrencyTotals, CurrencyTotals> summingMessages() {
+        return Collector.of(CurrencyTotals::new, CurrencyTotals::add, CurrencyTotals::merge);
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    private Total totalOf(final String currency) {
+        return this.totals.computeIfAbsent(currency, c -> new Total());
+    }
+
+    /**
+     * Mutable sum of a single currency
+     */
+    private static final class Total {
+        private long unscaledValue;
+        private int scale;
+        private BigDecimal value;
+        private long count;
+
+        private void add(final long amount, final int amountScale) {
+            if (this.value == null) {
+                try {
+                    final int target = Math.max(this.scale, amountScale);
+                    final long sum = Math.addExact(
+                            rescale(this.unscaledValue, target - this.scale), rescale(amount, target - amountScale));
+                    this.unscaledValue = sum;
+                    this.scale = target;
+                    return;
+                } catch (final ArithmeticException e) {
+                    this.value = BigDecimal.valueOf(this.unscaledValue, this.scale);
+                }
+            }
+            this.value = this.value.add(BigDecimal.valueOf(amount, amountScale));
+        }
+
+        private void add(final BigDecimal amount) {
+            if (this.value == null) {
+                this.value = BigDecimal.valueOf(this.unscaledValue, this.scale);
+            }
+            this.value = this.value.add(amount);
+        }
+
+        private void merge(final Total other) {
+            if (other.value != null) {
+                add(other.value);
+            } else {
+                add(other.unscaledValue, other.scale);
+            }
+            this.count += other.count;
+        }
+
+        private static long rescale(final long value, final int digits) {
+            if (digits == 0 || value == 0) {
+                return value;
+            }
+            if (digits >= POWERS_OF_TEN.length) {
+                throw new ArithmeticException("scale difference too big");
+            }
+            return Math.multiplyExact(value, POWERS_OF_TEN[digits]);
+        }
+
+        private BigDecimal toBigDecimal() {
+            return this.value != null ? this.value : BigDecimal.valueOf(this.unscaledValue, this.scale);
+        }
+    }
+}
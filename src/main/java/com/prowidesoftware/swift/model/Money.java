@@ -122,33 +122,13 @@ public final class Money implements Serializable {
                 return null;
             }
 
-            /*
-             * special cases
-             */
-            String currency = null;
-            boolean negative = false;
-            if ("62F".equals(field.getName()) || "62M".equals(field.getName())) {
-                currency = field.getComponent(3);
-                negative = Strings.CS.equals("D", field.getComponent(1));
-            } else if ("19A".equals(field.getName())) {
-                negative = Strings.CS.equals("N", field.getComponent(2));
-            } else if ("33B".equals(field.getName())) {
-                currency = field.getComponent(1);
-            }
-
-            /*
-             * currency from interface
-             */
-            if (currency == null && field instanceof CurrencyContainer) {
-                currency = ((CurrencyContainer) field).currencyString();
-            }
-
+            final String currency = currency(field);
             if (currency == null) {
                 log.warning("cannot extract currency component from field " + field.getName() + ":" + field.getValue());
                 return null;
             }
 
-            if (negative) {
+            if (isNegative(field)) {
                 amount = amount.negate();
             }
             return new Money(currency, amount);
@@ -157,18 +137,34 @@ public final class Money implements Serializable {
     }
 
     /**
-     * Creates a currency amount from the first found field in the block
+     * Gets the currency of a field with an amount, checking first the fields having the currency in a different
+     * component or in a component not flagged as currency.
      *
-     * @param fieldNames a list of field names to extract the money from
+     * @return the currency code or null if not found
      */
-    static Money ofAny(SwiftTagListBlock block, String... fieldNames) {
-        for (String fieldName : fieldNames) {
-            Field field = block.getFieldByName(fieldName);
-            if (field != null) {
-                return of(field);
-            }
+    static String currency(final Field field) {
+        String currency = null;
+        if ("62F".equals(field.getName()) || "62M".equals(field.getName())) {
+            currency = field.getComponent(3);
+        } else if ("33B".equals(field.getName())) {
+            currency = field.getComponent(1);
         }
-        return null;
+        if (currency == null && field instanceof CurrencyContainer) {
+            currency = ((CurrencyContainer) field).currencyString();
+        }
+        return currency;
+    }
+
+    /**
+     * @return true if the field amount is negative because of its debit/credit or sign component
+     */
+    static boolean isNegative(final Field field) {
+        if ("62F".equals(field.getName()) || "62M".equals(field.getName())) {
+            return Strings.CS.equals("D", field.getComponent(1));
+        } else if ("19A".equals(field.getName())) {
+            return Strings.CS.equals("N", field.getComponent(2));
+        }
+        return false;
     }
 
     /**
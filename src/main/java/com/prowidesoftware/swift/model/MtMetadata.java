@@ -0,0 +1,234 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model;
+
+import com.prowidesoftware.swift.io.writer.ChecksumAlgorithm;
+import com.prowidesoftware.swift.io.writer.FINWriterVisitor;
+import com.prowidesoftware.swift.io.writer.SwiftWriter;
+import com.prowidesoftware.swift.model.mt.DefaultMtMetadataStrategy;
+import java.io.StringWriter;
+import java.util.Calendar;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * The metadata of an MT message as extracted by the {@link DefaultMtMetadataStrategy}, computed all at once.
+ *
+ * <p>The strategy methods are independent of each other, so extracting all the metadata with them parses the message
+ * attached to an ACK/NAK once per method, scans the block 4 once per looked up field and serializes the message twice
+ * for the checksums. This class parses the attached message once, runs all the lookups on an indexed copy of the block
+ * 4 tags so they share a single pass over the tags, and computes both checksums from a single serialization of the
+ * message. The given message is not modified.
+ *
+ * <p>The extracted values are the same returned by the corresponding {@link DefaultMtMetadataStrategy} methods.
+ *
+ * @see MtSwiftMessage
+ * @since 10.3.20
+ */
+public final class MtMetadata {
+    private static final transient Logger log = Logger.getLogger(MtMetadata.class.getName());
+
+    private String reference;
+    private Money money;
+    private Calendar valueDate;
+    private Calendar tradeDate;
+    private String sender;
+    private String receiver;
+    private String identifier;
+    private String checksum;
+    private String checksumBody;
+
+    /**
+     * The message serialized with {@link SwiftWriter#writeMessage(SwiftMessage, java.io.Writer, boolean)} ignoring
+     * empty blocks, that is the text used for the checksum
+     */
+    private String fin;
+
+    private MtMetadata() {}
+
+    /**
+     * Extracts the metadata of the given message.
+     *
+     * @param m the message
+     * @return the extracted metadata, with null values for the metadata not present in the message
+     * @throws NullPointerException if the message is null
+     */
+    public static MtMetadata of(final SwiftMessage m) {
+        Objects.requireNonNull(m, "the message cannot be null");
+        final MtMetadata result = new MtMetadata();
+        final SwiftMessage original = SwiftMessageUtils.attachedMessage(m);
+        if (original != null && original.getBlock4() != null) {
+            // freshly parsed, so there is nothing to restore
+            original.getBlock4().setIndexed(true);
+        }
+        // a private copy, so the lookups do not change the block of the caller, that may be read by other threads
+        final SwiftTagListBlock b4 = m.getBlock4() != null ? m.getBlock4().indexedCopy() : null;
+        result.reference = SwiftMessageUtils.reference(m, original, b4);
+        result.money = SwiftMessageUtils.money(m, original, b4);
+        result.valueDate = SwiftMessageUtils.valueDate(m, original, b4);
+        result.tradeDate = SwiftMessageUtils.tradeDate(m, original, b4);
+        result.sender = bic11(SwiftMessageUtils.sender(m, original));
+        result.receiver = bic11(SwiftMessageUtils.receiver(m));
+        result.identifier = SwiftMessageUtils.identifier(m, original);
+        result.checksums(m);
+        return result;
+    }
+
+    /**
+     * Serializes the message once, and computes the message checksum and the block 4 checksum on the serialized text.
+     */
+    private void checksums(final SwiftMessage m) {
+        final StringWriter writer = new StringWriter();
+        final Block4Boundaries visitor = new Block4Boundaries(writer);
+        SwiftWriter.writeMessage(m, visitor, true);
+        this.fin = writer.toString();
+        this.checksum = SwiftMessageUtils.md5(this.fin);
+        if (visitor.end > visitor.start) {
+            this.checksumBody =
+                    SwiftMessageUtils.checksum(this.fin, visitor.start, visitor.end, ChecksumAlgorithm.MD5);
+        } else {
+            // block 4 missing, empty or written with the tag block syntax
+            this.checksumBody = SwiftMessageUtils.calculateChecksum(m.getBlock4());
+        }
+    }
+
+    private static String bic11(final String address) {
+        if (address != null) {
+            final BIC bic = new BIC(address);
+            if (bic.getBic11() != null) {
+                return bic.getBic11();
+            }
+            log.fine("Invalid BIC: " + address);
+        }
+        return null;
+    }
+
+    /**
+     * @see SwiftMessageUtils#reference(SwiftMessage)
+     */
+    public String getReference() {
+        return reference;
+    }
+
+    /**
+     * @see SwiftMessageUtils#money(SwiftMessage)
+     */
+    public Money getMoney() {
+        return money;
+    }
+
+    /**
+     * @see SwiftMessageUtils#valueDate(SwiftMessage)
+     */
+    public Calendar getValueDate() {
+        return valueDate;
+    }
+
+    /**
+     * @see SwiftMessageUtils#tradeDate(SwiftMessage)
+     */
+    public Calendar getTradeDate() {
+        return tradeDate;
+    }
+
+    /**
+     * @return the BIC11 of the sender LT address
+     * @see SwiftMessageUtils#sender(SwiftMessage)
+     */
+    public String getSender() {
+        return sender;
+    }
+
+    /**
+     * @return the BIC11 of the receiver LT address
+     * @see SwiftMessageUtils#receiver(SwiftMessage)
+     */
+    public String getReceiver() {
+        return receiver;
+    }
+
+    /**
+     * @see SwiftMessageUtils#identifier(SwiftMessage)
+     */
+    public String getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * @see SwiftMessageUtils#calculateChecksum(SwiftMessage)
+     */
+    public String getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * @see SwiftMessageUtils#calculateChecksum(SwiftBlock4)
+     */
+    public String getChecksumBody() {
+        return checksumBody;
+    }
+
+    /**
+     * Gets the message in FIN format, as serialized for the checksum. Notice the EOL characters are written as found
+     * in the message content.
+     */
+    String getFin() {
+        return fin;
+    }
+
+    /**
+     * FIN writer keeping track of where the block 4 starts and ends in the output, when it is written exactly as
+     * {@link SwiftWriter#writeBlock4(SwiftBlock4, java.io.Writer)} would do
+     */
+    private static final class Block4Boundaries extends FINWriterVisitor {
+        private final StringWriter writer;
+        private int start = -1;
+        private int end = -1;
+
+        Block4Boundaries(final StringWriter writer) {
+            super(writer);
+            this.writer = writer;
+        }
+
+        @Override
+        public void startBlock4(final SwiftBlock4 b) {
+            // the block alone is always written with the text block syntax
+            if (isBlock4asText()) {
+                this.start = this.writer.getBuffer().length();
+            }
+            super.startBlock4(b);
+        }
+
+        @Override
+        public void endBlock4(final SwiftBlock4 b) {
+            super.endBlock4(b);
+            if (this.start >= 0) {
+                this.end = this.writer.getBuffer().length();
+            }
+        }
+
+        @Override
+        public boolean block4Text(final String text) {
+            final int offset = this.writer.getBuffer().length();
+            if (super.block4Text(text)) {
+                this.start = offset;
+                this.end = this.writer.getBuffer().length();
+                return true;
+            }
+            return false;
+        }
+    }
+}
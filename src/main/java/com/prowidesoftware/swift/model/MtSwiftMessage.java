@@ -15,11 +15,13 @@
  */
 package com.prowidesoftware.swift.model;
 
+import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.prowidesoftware.swift.io.ConversionService;
+import com.prowidesoftware.swift.io.writer.SwiftWriter;
 import com.prowidesoftware.swift.model.mt.AbstractMT;
 import com.prowidesoftware.swift.model.mt.DefaultMtMetadataStrategy;
 import com.prowidesoftware.swift.model.mt.MTVariant;
@@ -50,6 +52,15 @@ public class MtSwiftMessage extends AbstractSwiftMessage {
             java.util.logging.Logger.getLogger(MtSwiftMessage.class.getName());
     private static final long serialVersionUID = -5972656648349958815L;
 
+    /**
+     * Gson for the legacy JSON format, with 0-based months in the Calendar fields
+     */
+    private static final Gson GSON_LEGACY = new GsonBuilder().create();
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeHierarchyAdapter(Calendar.class, CalendarTypeAdapter.INSTANCE)
+            .create();
+
     @Column(length = 35)
     private String pde;
 
@@ -65,6 +76,29 @@ public class MtSwiftMessage extends AbstractSwiftMessage {
     @Column(length = 31, name = "uuid")
     private String uuid;
 
+    /**
+     * Default for {@link #isModelCacheEnabled()} in instances where the cache is not explicitly set
+     */
+    private static volatile boolean modelCacheDefault = false;
+
+    /**
+     * The parsed raw message, kept until the raw content is changed.
+     * Notice this field must not have an initializer because it is set from the super constructors.
+     */
+    private transient SwiftMessage model;
+
+    /**
+     * The raw content the cached model was parsed from, compared by identity to detect content set without
+     * {@link #setMessage(String)}, for example by a JPA provider with field access.
+     * Notice this field must not have an initializer because it is set from the super constructors.
+     */
+    private transient String modelSource;
+
+    /**
+     * Enables or disables the parsed model cache for this instance, null to use the default
+     */
+    private transient Boolean modelCache;
+
     public MtSwiftMessage() {}
 
     /**
@@ -232,11 +266,9 @@ public class MtSwiftMessage extends AbstractSwiftMessage {
      */
     public static MtSwiftMessage fromJson(String json) {
         JsonElement element = JsonParser.parseString(json);
-        GsonBuilder builder = new GsonBuilder();
-        if (element.isJsonObject() && hasNewCalendarFormat(element.getAsJsonObject())) {
-            builder.registerTypeHierarchyAdapter(Calendar.class, CalendarTypeAdapter.INSTANCE);
-        }
-        return builder.create().fromJson(element, MtSwiftMessage.class);
+        final Gson gson =
+                element.isJsonObject() && hasNewCalendarFormat(element.getAsJsonObject()) ? GSON : GSON_LEGACY;
+        return gson.fromJson(element, MtSwiftMessage.class);
     }
 
     /**
@@ -291,9 +323,25 @@ public class MtSwiftMessage extends AbstractSwiftMessage {
             throw new IllegalArgumentException("the raw message parameter could not be parsed into a SwiftMessage");
         } else {
             updateAttributes(model, metadataStrategy);
+            if (isModelCacheEnabled()) {
+                this.model = model;
+                this.modelSource = getMessage();
+            }
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The parsed model returned by {@link #modelMessage()} is discarded when the raw content is set.
+     */
+    @Override
+    public void setMessage(final String message) {
+        super.setMessage(message);
+        this.model = null;
+        this.modelSource = null;
+    }
+
     /**
      * Updates the attributes of this message with the data from the given SwiftMessage model.
      * <p>
@@ -304,14 +352,24 @@ public class MtSwiftMessage extends AbstractSwiftMessage {
      * For ACK/NAK (service 21) messages with an appended MT that has block 2 Output, the metadata is extracted
      * from the appended MT rather than from the ACK/NAK prefix.
      *
+     * <p>With the {@link DefaultMtMetadataStrategy} the metadata is extracted all at once with {@link MtMetadata}.
+     *
      * @param model            the SwiftMessage model to extract metadata from
      * @param metadataStrategy a strategy implementation to extract the metadata from the model
+     * @return the metadata extracted from the model parameter with {@link MtMetadata}, or null if the metadata was
+     * extracted with the strategy methods or from an appended MT
      */
-    private void updateAttributes(final SwiftMessage model, final MessageMetadataStrategy metadataStrategy) {
+    private MtMetadata updateAttributes(final SwiftMessage model, final MessageMetadataStrategy metadataStrategy) {
         // for ACK/NAK with an appended MT Output, use the appended MT as the effective model for metadata extraction
         final SwiftMessage effectiveModel = resolveEffectiveModel(model);
 
-        applyStrategy(effectiveModel, metadataStrategy);
+        MtMetadata metadata = null;
+        if (metadataStrategy.getClass() == DefaultMtMetadataStrategy.class) {
+            // subclasses may override any of the strategy methods, so this applies only to the default strategy
+            metadata = applyMetadata(effectiveModel);
+        } else {
+            applyStrategy(effectiveModel, metadataStrategy);
+        }
 
         setFileFormat(FileFormat.FIN);
         setLastModified(Calendar.getInstance());
@@ -324,6 +382,7 @@ public class MtSwiftMessage extends AbstractSwiftMessage {
         }
         setDirection(effectiveModel.getDirection());
         setUetr(effectiveModel.getUETR());
+        return effectiveModel == model ? metadata : null;
     }
 
     /**
@@ -397,6 +456,50 @@ public class MtSwiftMessage extends AbstractSwiftMessage {
         }
     }
 
+    /**
+     * Same as {@link #applyStrategy(SwiftMessage, MessageMetadataStrategy)} with the {@link DefaultMtMetadataStrategy},
+     * but extracting all the metadata at once.
+     *
+     * @param model the SwiftMessage model to extract metadata from
+     * @return the extracted metadata or null if the model has no MT implementation
+     */
+    private MtMetadata applyMetadata(final SwiftMessage model) {
+        if (model.toMT() == null) {
+            // prevent NPE
+            return null;
+        }
+        final MtMetadata metadata = MtMetadata.of(model);
+        if (metadata.getReference() != null) {
+            setReference(metadata.getReference());
+        }
+        if (metadata.getMoney() != null) {
+            setCurrency(metadata.getMoney().getCurrency());
+            setAmount(metadata.getMoney().getAmount());
+        }
+        if (metadata.getValueDate() != null) {
+            setValueDate(metadata.getValueDate());
+        }
+        if (metadata.getTradeDate() != null) {
+            setTradeDate(metadata.getTradeDate());
+        }
+        if (metadata.getSender() != null) {
+            setSender(metadata.getSender());
+        }
+        if (metadata.getReceiver() != null) {
+            setReceiver(metadata.getReceiver());
+        }
+        if (metadata.getIdentifier() != null) {
+            setIdentifier(metadata.getIdentifier());
+        }
+        if (metadata.getChecksum() != null) {
+            setChecksum(metadata.getChecksum());
+        }
+        if (metadata.getChecksumBody() != null) {
+            setChecksumBody(metadata.getChecksumBody());
+        }
+        return metadata;
+    }
+
     /**
      * Calls {@link #updateFromFIN(String, MessageMetadataStrategy)} with the {@link DefaultMtMetadataStrategy}
      *
@@ -442,10 +545,13 @@ public class MtSwiftMessage extends AbstractSwiftMessage {
     public void updateFromModel(final SwiftMessage model, final MessageMetadataStrategy metadataStrategy) {
         Objects.requireNonNull(model, "the model message cannot be null");
         Objects.requireNonNull(metadataStrategy, "the metadata strategy cannot be null");
-        final String fin = new ConversionService().getFIN(model);
+        final MtMetadata metadata = updateAttributes(model, metadataStrategy);
+        // reuse the serialization done for the checksum, which is what the conversion service does before the EOLs fix
+        final String fin = metadata != null
+                ? SwiftWriter.ensureEols(metadata.getFin())
+                : new ConversionService().getFIN(model);
         Objects.requireNonNull(fin, "the raw message could not be created from the SwiftMessage parameter");
         setMessage(fin);
-        updateAttributes(model, metadataStrategy);
     }
 
     /**
@@ -476,13 +582,32 @@ public class MtSwiftMessage extends AbstractSwiftMessage {
     /**
      * Parses the raw message content into a {@link SwiftMessage} object.
      *
+     * <p>By default the raw content is parsed on each call. When the model cache is enabled the message is parsed
+     * once and the same instance is returned in subsequent calls, until the raw content changes. Since every caller
+     * gets the same instance, changes made to it by one caller are seen by the next ones; the cache is meant for
+     * callers that only read the model. Changes made to the returned model are not reflected in the raw content; to
+     * modify the message update it with {@link #updateFromModel(SwiftMessage)}.
+     *
      * @return the parsed message or null if the raw content is not set or cannot be parsed
+     * @see #setModelCacheEnabled(boolean)
      * @since 7.8.9
      */
     public SwiftMessage modelMessage() {
-        if (getMessage() != null) {
+        final String source = getMessage();
+        // identity check, the model is discarded if the raw content was replaced in any way
+        if (this.model != null && this.modelSource == source) {
+            return this.model;
+        }
+        this.model = null;
+        this.modelSource = null;
+        if (source != null) {
             try {
-                return SwiftMessage.parse(message());
+                final SwiftMessage parsed = SwiftMessage.parse(source);
+                if (isModelCacheEnabled()) {
+                    this.model = parsed;
+                    this.modelSource = source;
+                }
+                return parsed;
             } catch (IOException e) {
                 log.log(Level.WARNING, "error converting FIN text to model: " + e.getMessage(), e);
             }
@@ -490,6 +615,44 @@ public class MtSwiftMessage extends AbstractSwiftMessage {
         return null;
     }
 
+    /**
+     * Returns true if the parsed message model is kept in this instance to avoid parsing the raw content on every
+     * call to {@link #modelMessage()}.
+     *
+     * @return the value set with {@link #setModelCacheEnabled(boolean)}, or the default if not set
+     * @since 10.3.20
+     */
+    public boolean isModelCacheEnabled() {
+        return this.modelCache != null ? this.modelCache : modelCacheDefault;
+    }
+
+    /**
+     * Enables or disables the parsed model cache for this instance. Disabling the cache releases the model kept
+     * so far, and it is recommended when a large amount of messages are held in memory and the model is seldom used.
+     *
+     * @param enabled true to keep the parsed model, false to parse the raw content on each call
+     * @see #setModelCacheDefault(boolean)
+     * @since 10.3.20
+     */
+    public void setModelCacheEnabled(final boolean enabled) {
+        this.modelCache = enabled;
+        if (!enabled) {
+            this.model = null;
+            this.modelSource = null;
+        }
+    }
+
+    /**
+     * Sets whether the parsed model is cached in the instances with no explicit {@link #setModelCacheEnabled(boolean)}
+     * call. The cache is disabled by default, see {@link #modelMessage()} before enabling it.
+     *
+     * @param enabled the default cache setting for all message instances
+     * @since 10.3.20
+     */
+    public static void setModelCacheDefault(final boolean enabled) {
+        modelCacheDefault = enabled;
+    }
+
     /**
      * Get the integer value of the {@link #getMessageType()}
      * or null if the identifier attribute is not set or not a number.
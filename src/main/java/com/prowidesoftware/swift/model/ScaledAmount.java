@@ -0,0 +1,191 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model;
+
+import com.prowidesoftware.swift.utils.SwiftFormatUtils;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * An amount held as an unscaled long value and a scale, since the amounts found in SWIFT fields, with up to 15
+ * digits, always fit in a long. Values with an unscaled value not fitting in a long are kept as BigDecimal.
+ *
+ * <p>The amount value is {@code unscaledValue × 10^-scale}, same as in {@link BigDecimal}, and two instances are
+ * equal if both the value and the scale are equal.
+ *
+ * @see CurrencyTotals
+ * @since 10.3.20
+ */
+public final class ScaledAmount implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Maximum number of digits parsed into the long value
+     */
+    static final int MAX_DIGITS = 18;
+
+    private final long unscaledValue;
+    private final int scale;
+
+    /**
+     * The value when it does not fit in the unscaled long, null otherwise
+     */
+    private final BigDecimal value;
+
+    private ScaledAmount(final long unscaledValue, final int scale, final BigDecimal value) {
+        this.unscaledValue = unscaledValue;
+        this.scale = scale;
+        this.value = value;
+    }
+
+    /**
+     * @param unscaledValue the amount digits
+     * @param scale         the number of digits after the decimal separator
+     * @return an amount with the given value
+     */
+    public static ScaledAmount of(final long unscaledValue, final int scale) {
+        return new ScaledAmount(unscaledValue, scale, null);
+    }
+
+    /**
+     * @param amount a not null amount
+     * @return an amount with the given value, held as a long if its unscaled value fits in a long
+     */
+    public static ScaledAmount of(final BigDecimal amount) {
+        Objects.requireNonNull(amount, "amount can not be null");
+        if (amount.precision() <= MAX_DIGITS || amount.unscaledValue().bitLength() < Long.SIZE) {
+            return new ScaledAmount(amount.unscaledValue().longValue(), amount.scale(), null);
+        }
+        return new ScaledAmount(0, amount.scale(), amount);
+    }
+
+    /**
+     * Parses a SWIFT amount with comma as decimal separator. Plain amounts with up to 18 digits are parsed directly
+     * into the long value, any other content is parsed with {@link SwiftFormatUtils#getBigDecimal(String)}.
+     *
+     * @param amount the amount to parse, for example "1234,56"
+     * @return the parsed amount or null if the amount is null or cannot be parsed
+     */
+    public static ScaledAmount parse(final CharSequence amount) {
+        if (amount == null) {
+            return null;
+        }
+        final int length = amount.length();
+        long unscaled = 0;
+        int digits = 0;
+        int comma = -1;
+        for (int i = 0; i < length; i++) {
+            final char c = amount.charAt(i);
+            if (c >= '0' && c <= '9') {
+                // leading zeros are not counted
+                if ((unscaled != 0 || c != '0') && ++digits > MAX_DIGITS) {
+                    return parseBigDecimal(amount);
+                }
+                unscaled = unscaled * 10 + (c - '0');
+            } else if (c == ',' && comma < 0) {
+                comma = i;
+            } else {
+                return parseBigDecimal(amount);
+            }
+        }
+        if (length == 0 || (length == 1 && comma == 0)) {
+            return parseBigDecimal(amount);
+        }
+        return new ScaledAmount(unscaled, comma < 0 ? 0 : length - comma - 1, null);
+    }
+
+    private static ScaledAmount parseBigDecimal(final CharSequence amount) {
+        final BigDecimal value = SwiftFormatUtils.getBigDecimal(amount.toString());
+        return value != null ? of(value) : null;
+    }
+
+    /**
+     * @return true if the amount is held as a long, meaning {@link #getUnscaledValue()} can be used
+     */
+    public boolean isCompact() {
+        return this.value == null;
+    }
+
+    /**
+     * @return the amount digits, to be scaled by {@link #getScale()}
+     * @throws ArithmeticException if the amount does not fit in a long
+     */
+    public long getUnscaledValue() {
+        if (this.value != null) {
+            throw new ArithmeticException("amount " + this.value + " does not fit in a long");
+        }
+        return this.unscaledValue;
+    }
+
+    /**
+     * @return the number of digits after the decimal separator
+     */
+    public int getScale() {
+        return this.scale;
+    }
+
+    /**
+     * @return -1, 0, or 1 as the amount is negative, zero, or positive
+     */
+    public int signum() {
+        return this.value != null ? this.value.signum() : Long.signum(this.unscaledValue);
+    }
+
+    /**
+     * @return an amount with the opposite sign
+     */
+    public ScaledAmount negate() {
+        if (this.value != null || this.unscaledValue == Long.MIN_VALUE) {
+            return of(toBigDecimal().negate());
+        }
+        return new ScaledAmount(-this.unscaledValue, this.scale, null);
+    }
+
+    /**
+     * @return the amount as BigDecimal
+     */
+    public BigDecimal toBigDecimal() {
+        return this.value != null ? this.value : BigDecimal.valueOf(this.unscaledValue, this.scale);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ScaledAmount other = (ScaledAmount) o;
+        return this.unscaledValue == other.unscaledValue
+                && this.scale == other.scale
+                && Objects.equals(this.value, other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.unscaledValue, this.scale, this.value);
+    }
+
+    /**
+     * @return the amount in plain notation with dot as decimal separator
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -15,6 +15,8 @@
  */
 package com.prowidesoftware.swift.model;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import java.io.Serializable;
 import java.util.Objects;
 import org.apache.commons.lang3.Strings;
@@ -36,6 +38,11 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 public abstract class SwiftBlock implements Serializable {
     private static final long serialVersionUID = -6993261477630953757L;
 
+    /**
+     * Shared Gson for the blocks toJson and fromJson, created once since Gson instances are thread safe
+     */
+    static final Gson GSON = new GsonBuilder().create();
+
     /**
      * List of unparsed texts. For performance reasons, this will be null until really needed.
      */
@@ -15,8 +15,6 @@
  */
 package com.prowidesoftware.swift.model;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.prowidesoftware.swift.model.mt.ServiceIdType;
 import java.io.Serializable;
 import java.util.Arrays;
@@ -202,8 +200,7 @@ public class SwiftBlock1 extends SwiftValueBlock implements Serializable {
      * @since 7.9.8
      */
     public static SwiftBlock1 fromJson(String json) {
-        final Gson gson = new GsonBuilder().create();
-        return gson.fromJson(json, SwiftBlock1.class);
+        return GSON.fromJson(json, SwiftBlock1.class);
     }
 
     /**
@@ -605,8 +602,7 @@ public class SwiftBlock1 extends SwiftValueBlock implements Serializable {
      * @since 7.5
      */
     public String toJson() {
-        final Gson gson = new GsonBuilder().create();
-        return gson.toJson(this);
+        return GSON.toJson(this);
     }
 
     /**
@@ -44,6 +44,11 @@ public abstract class SwiftBlock2 extends SwiftValueBlock implements Serializabl
             java.util.logging.Logger.getLogger(SwiftBlock2.class.getName());
     private static final long serialVersionUID = 7994472954593732477L;
 
+    private static final Gson GSON_PRETTY = new GsonBuilder()
+            .registerTypeAdapter(SwiftBlock2.class, new SwiftBlock2Adapter())
+            .setPrettyPrinting()
+            .create();
+
     /**
      * String of 1 character containing the message priority as follows:<br>
      * S = System<br>
@@ -225,11 +230,7 @@ public abstract class SwiftBlock2 extends SwiftValueBlock implements Serializabl
      * @since 7.9.8 current block 2 implementation, based on Gson (method signature with null implementation is available since 7.5)
      */
     public String toJson() {
-        final Gson gson = new GsonBuilder()
-                .registerTypeAdapter(SwiftBlock2.class, new SwiftBlock2Adapter())
-                .setPrettyPrinting()
-                .create();
-        return gson.toJson(this, SwiftBlock2.class);
+        return GSON_PRETTY.toJson(this, SwiftBlock2.class);
     }
 
     /**
@@ -15,8 +15,6 @@
  */
 package com.prowidesoftware.swift.model;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import java.io.Serializable;
 import java.util.Calendar;
 import java.util.Objects;
@@ -182,8 +180,7 @@ public class SwiftBlock2Output extends SwiftBlock2 implements Serializable {
      * @since 7.9.8
      */
     public static SwiftBlock2Output fromJson(String json) {
-        final Gson gson = new GsonBuilder().create();
-        return gson.fromJson(json, SwiftBlock2Output.class);
+        return GSON.fromJson(json, SwiftBlock2Output.class);
     }
 
     /**
@@ -15,8 +15,6 @@
  */
 package com.prowidesoftware.swift.model;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -144,8 +142,7 @@ public class SwiftBlock4 extends SwiftTagListBlock implements Serializable {
      * @since 7.9.8
      */
     public static SwiftBlock4 fromJson(String json) {
-        final Gson gson = new GsonBuilder().create();
-        return gson.fromJson(json, SwiftBlock4.class);
+        return GSON.fromJson(json, SwiftBlock4.class);
     }
 
     /**
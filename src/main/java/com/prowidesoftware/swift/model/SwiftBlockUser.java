@@ -15,8 +15,6 @@
  */
 package com.prowidesoftware.swift.model;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.prowidesoftware.deprecation.DeprecationUtils;
 import java.io.Serializable;
 import java.util.List;
@@ -207,8 +205,7 @@ public class SwiftBlockUser extends SwiftTagListBlock implements Serializable {
      * @since 7.9.8
      */
     public static SwiftBlockUser fromJson(String json) {
-        final Gson gson = new GsonBuilder().create();
-        return gson.fromJson(json, SwiftBlockUser.class);
+        return GSON.fromJson(json, SwiftBlockUser.class);
     }
 
     /**
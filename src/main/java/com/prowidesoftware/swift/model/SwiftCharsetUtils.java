@@ -16,6 +16,8 @@
 package com.prowidesoftware.swift.model;
 
 import com.prowidesoftware.ProwideException;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
@@ -50,21 +52,25 @@ public class SwiftCharsetUtils {
         '>', '_', '\n', '\r'
     };
 
-    // Suppress default constructor for noninstantiability
-    private SwiftCharsetUtils() {
-        throw new AssertionError();
-    }
-
-    private static boolean isNumber(char character) {
-        return character >= '0' && character <= '9';
-    }
+    /**
+     * Membership bit masks of each charset indexed by the charset ordinal; since all the SWIFT charsets are within the
+     * ASCII range, two longs cover the characters 0 to 127
+     */
+    private static final long[][] masks = new long[SwiftCharset.values().length][];
 
-    private static boolean isLowercaseLetter(char character) {
-        return character >= 'a' && character <= 'z';
+    static {
+        for (final SwiftCharset charset : SwiftCharset.values()) {
+            final long[] mask = new long[2];
+            for (final char c : chars(charset)) {
+                mask[c >>> 6] |= 1L << c;
+            }
+            masks[charset.ordinal()] = mask;
+        }
     }
 
-    private static boolean isUppercaseLetter(char character) {
-        return character >= 'A' && character <= 'Z';
+    // Suppress default constructor for noninstantiability
+    private SwiftCharsetUtils() {
+        throw new AssertionError();
     }
 
     /**
@@ -72,7 +78,7 @@ public class SwiftCharsetUtils {
      * numeric digits (0 through 9) only
      */
     public static boolean is_n(final char character) {
-        return isNumber(character);
+        return contains(masks[SwiftCharset.n.ordinal()], character);
     }
 
     /**
@@ -90,7 +96,7 @@ public class SwiftCharsetUtils {
      * alphabetic capital letters (A through Z), upper case only
      */
     public static boolean is_a(final char character) {
-        return isUppercaseLetter(character);
+        return contains(masks[SwiftCharset.a.ordinal()], character);
     }
 
     /**
@@ -108,10 +114,7 @@ public class SwiftCharsetUtils {
      * any character of the X permitted set (General FIN application set)  upper case and lower case allowed
      */
     public static boolean is_x(final char character) {
-        return isLowercaseLetter(character)
-                || isUppercaseLetter(character)
-                || isNumber(character)
-                || is(character, specialCharacters_x);
+        return contains(masks[SwiftCharset.x.ordinal()], character);
     }
 
     /**
@@ -129,7 +132,7 @@ public class SwiftCharsetUtils {
      * any character of the Y permitted set (EDI service specific set), upper case only
      */
     public static boolean is_y(final char character) {
-        return isUppercaseLetter(character) || isNumber(character) || is(character, specialCharacters_y);
+        return contains(masks[SwiftCharset.y.ordinal()], character);
     }
 
     /**
@@ -147,10 +150,7 @@ public class SwiftCharsetUtils {
      * all characters included in the X and Y sets, plus a couple of special characters
      */
     public static boolean is_z(final char character) {
-        return isLowercaseLetter(character)
-                || isUppercaseLetter(character)
-                || isNumber(character)
-                || is(character, specialCharacters_z);
+        return contains(masks[SwiftCharset.z.ordinal()], character);
     }
 
     /**
@@ -168,7 +168,7 @@ public class SwiftCharsetUtils {
      * alpha-numeric capital letters (upper case), and digits only
      */
     public static boolean is_c(final char character) {
-        return isUppercaseLetter(character) || isNumber(character);
+        return contains(masks[SwiftCharset.c.ordinal()], character);
     }
 
     /**
@@ -186,7 +186,7 @@ public class SwiftCharsetUtils {
      * alphabetic, upper case or lower case A through Z, a through z
      */
     public static boolean is_A(final char character) {
-        return isLowercaseLetter(character) || isUppercaseLetter(character);
+        return contains(masks[SwiftCharset.A.ordinal()], character);
     }
 
     /**
@@ -204,7 +204,7 @@ public class SwiftCharsetUtils {
      * alphanumeric upper case or lower case A through Z, a through z and digits
      */
     public static boolean is_B(final char character) {
-        return isLowercaseLetter(character) || isUppercaseLetter(character) || isNumber(character);
+        return contains(masks[SwiftCharset.B.ordinal()], character);
     }
 
     /**
@@ -225,8 +225,9 @@ public class SwiftCharsetUtils {
      */
     public static int is(final String s, SwiftCharset charset) {
         if (StringUtils.isNotEmpty(s)) {
+            final long[] mask = masks[charset.ordinal()];
             for (int i = 0; i < s.length(); i++) {
-                if (!is(s.charAt(i), charset)) {
+                if (!contains(mask, s.charAt(i))) {
                     return i;
                 }
             }
@@ -240,35 +241,37 @@ public class SwiftCharsetUtils {
      * @return true if character matches a char defined in the charset
      */
     public static boolean is(final char c, SwiftCharset charset) {
-        switch (charset) {
-            case n: {
-                return is_n(c);
-            }
-            case a: {
-                return is_a(c);
-            }
-            case A: {
-                return is_A(c);
-            }
-            case x: {
-                return is_x(c);
-            }
-            case y: {
-                return is_y(c);
-            }
-            case z: {
-                return is_z(c);
-            }
-            case c: {
-                return is_c(c);
-            }
-            case B: {
-                return is_B(c);
-            }
-            default: {
-                throw new ProwideException("Unexpected charset value " + charset);
+        return contains(masks[charset.ordinal()], c);
+    }
+
+    /**
+     * Checks the values of all the tags in the block against a SWIFT charset.
+     *
+     * <p>Contrary to {@link #is(String, SwiftCharset)} this does not stop at the first invalid character; every
+     * character not matching the charset is reported. Null tag values are ignored.
+     *
+     * @param block   the block to check, typically the block 4 or a sequence
+     * @param charset the charset all tag values must match
+     * @return the invalid characters found in tag order, or an empty list if all values match the charset
+     * @since 10.3.20
+     */
+    public static List<SwiftCharsetViolation> validate(final SwiftTagListBlock block, final SwiftCharset charset) {
+        final long[] mask = masks[charset.ordinal()];
+        final List<SwiftCharsetViolation> result = new ArrayList<>();
+        final List<Tag> tags = block.getTags();
+        for (int i = 0; i < tags.size(); i++) {
+            final Tag tag = tags.get(i);
+            final String value = tag.getValue();
+            if (value != null) {
+                for (int j = 0; j < value.length(); j++) {
+                    final char c = value.charAt(j);
+                    if (!contains(mask, c)) {
+                        result.add(new SwiftCharsetViolation(i, tag.getName(), j, c));
+                    }
+                }
             }
         }
+        return result;
     }
 
     /**
@@ -278,54 +281,49 @@ public class SwiftCharsetUtils {
      * @return a string describing the charset
      */
     public static String getAsString(SwiftCharset charset) {
-        String result = null;
+        String result = getAsString(chars(charset));
+        result = Strings.CS.replace(result, getAsString(get_n()), "[0-9]");
+        result = Strings.CS.replace(result, getAsString(get_a()), "[A-Z]");
+        return Strings.CS.replace(result, getAsString(azLowerCase), "[a-z]");
+    }
+
+    /**
+     * Returns true if the bit for the character is set in the charset mask
+     */
+    private static boolean contains(final long[] mask, final char c) {
+        return c < 128 && (mask[c >>> 6] & (1L << c)) != 0;
+    }
+
+    private static char[] chars(final SwiftCharset charset) {
         switch (charset) {
             case n: {
-                result = getAsString(get_n());
-                break;
+                return get_n();
             }
             case a: {
-                result = getAsString(get_a());
-                break;
+                return get_a();
             }
             case A: {
-                result = getAsString(get_A());
-                break;
+                return get_A();
             }
             case x: {
-                result = getAsString(get_x());
-                break;
+                return get_x();
             }
             case y: {
-                result = getAsString(get_y());
-                break;
+                return get_y();
             }
             case z: {
-                result = getAsString(get_z());
-                break;
+                return get_z();
             }
             case c: {
-                result = getAsString(get_c());
-                break;
+                return get_c();
             }
             case B: {
-                result = getAsString(get_B());
-                break;
+                return get_B();
             }
             default: {
                 throw new ProwideException("Unexpected charset value " + charset);
             }
         }
-        result = Strings.CS.replace(result, getAsString(get_n()), "[0-9]");
-        result = Strings.CS.replace(result, getAsString(get_a()), "[A-Z]");
-        return Strings.CS.replace(result, getAsString(azLowerCase), "[a-z]");
-    }
-
-    /**
-     * Returns true if the parameter char is part of the parameter character set
-     */
-    private static boolean is(final char c, final char[] charset) {
-        return ArrayUtils.contains(charset, c);
     }
 
     /**
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model;
+
+import java.util.Objects;
+
+/**
+ * A character in a tag value not matching the expected SWIFT charset.
+ *
+ * @see SwiftCharsetUtils#validate(SwiftTagListBlock, SwiftCharset)
+ * @since 10.3.20
+ */
+public final class SwiftCharsetViolation {
+    private final int tagIndex;
+    private final String tagName;
+    private final int offset;
+    private final char character;
+
+    SwiftCharsetViolation(final int tagIndex, final String tagName, final int offset, final char character) {
+        this.tagIndex = tagIndex;
+        this.tagName = tagName;
+        this.offset = offset;
+        this.character = character;
+    }
+
+    /**
+     * @return the position (zero based) of the tag in the validated block
+     */
+    public int getTagIndex() {
+        return tagIndex;
+    }
+
+    /**
+     * @return the name of the tag containing the invalid character, for example 70
+     */
+    public String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * @return the position (zero based) of the invalid character in the tag value
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the invalid character
+     */
+    public char getCharacter() {
+        return character;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final SwiftCharsetViolation that = (SwiftCharsetViolation) o;
+        return tagIndex == that.tagIndex
+                && offset == that.offset
+                && character == that.character
+                && Objects.equals(tagName, that.tagName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tagIndex, tagName, offset, character);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "invalid character '%c' (U+%04X) at offset %d of tag %s (index %d)",
+                character, (int) character, offset, tagName, tagIndex);
+    }
+}
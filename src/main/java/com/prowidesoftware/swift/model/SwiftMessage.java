@@ -17,6 +17,9 @@ package com.prowidesoftware.swift.model;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import com.prowidesoftware.JsonSerializable;
 import com.prowidesoftware.swift.io.ConversionService;
 import com.prowidesoftware.swift.io.IConversionService;
@@ -29,9 +32,13 @@ import com.prowidesoftware.swift.model.field.*;
 import com.prowidesoftware.swift.model.mt.*;
 import com.prowidesoftware.swift.utils.IMessageVisitor;
 import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Reader;
 import java.io.Serializable;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.util.*;
 import java.util.logging.Level;
 import org.apache.commons.lang3.StringUtils;
@@ -61,12 +68,27 @@ public class SwiftMessage implements Serializable, JsonSerializable {
     private static final String INVALID_NAME_BLOCK = "Invalid name for User Defined Blocks (";
     private static final String MESSAGE_IS_NOT_A_FRAGMENT = "message is not a fragment";
 
+    /**
+     * Gson instances are thread safe, so they are created once and shared by all the JSON conversions
+     */
+    private static final Gson GSON = jsonBuilder().create();
+
+    private static final Gson GSON_PRETTY = jsonBuilder().setPrettyPrinting().create();
+
     private SwiftBlock1 block1;
     private SwiftBlock2 block2;
     private SwiftBlock3 block3;
     private SwiftBlock4 block4;
     private SwiftBlock5 block5;
 
+    /**
+     * Block 4 content in FIN format, when the block is parsed on demand, null once the block is parsed.
+     * Volatile so that readers seeing it cleared also see the parsed block 4.
+     *
+     * @since 10.3.20
+     */
+    private transient volatile String block4Text;
+
     /**
      * User defined blocks
      * List of {@link SwiftBlockUser}.
@@ -148,13 +170,15 @@ public class SwiftMessage implements Serializable, JsonSerializable {
      * and it will read the text block (block 4) even if it is missing the closing hyphen and bracket. For
      * more options check {@link SwiftParser#setConfiguration(SwiftParserConfiguration)}
      *
+     * <p>The parser is reused within the current thread if {@link SwiftParser#setThreadLocalCache(boolean)} is enabled.
+     *
      * @param fin string a string containing a swift MT message
      * @return parser message or null if string content could not be parsed
      * @throws IOException if an error occurs in the parser during reading
      * @since 7.8.8
      */
     public static SwiftMessage parse(final String fin) throws IOException {
-        return new SwiftParser(fin).message();
+        return SwiftParser.parseMessage(fin);
     }
 
     /**
@@ -257,11 +281,25 @@ public class SwiftMessage implements Serializable, JsonSerializable {
      * @since 7.9.8
      */
     public static SwiftMessage fromJson(String json) {
-        final Gson gson = new GsonBuilder()
+        return GSON.fromJson(json, SwiftMessage.class);
+    }
+
+    /**
+     * This method deserializes the JSON data into a message object, reading the JSON from the given reader.
+     *
+     * @param reader the JSON data, the reader is not closed
+     * @return message object
+     * @see #toJson(Writer, boolean)
+     * @since 10.3.20
+     */
+    public static SwiftMessage fromJson(final Reader reader) {
+        return GSON.fromJson(reader, SwiftMessage.class);
+    }
+
+    private static GsonBuilder jsonBuilder() {
+        return new GsonBuilder()
                 .registerTypeAdapter(SwiftMessage.class, new SwiftMessageAdapter())
-                .registerTypeAdapter(SwiftBlock2.class, new SwiftBlock2Adapter())
-                .create();
-        return gson.fromJson(json, SwiftMessage.class);
+                .registerTypeAdapter(SwiftBlock2.class, new SwiftBlock2Adapter());
     }
 
     @Override
@@ -272,7 +310,7 @@ public class SwiftMessage implements Serializable, JsonSerializable {
         return Objects.equals(block1, that.block1)
                 && Objects.equals(block2, that.block2)
                 && Objects.equals(block3, that.block3)
-                && Objects.equals(block4, that.block4)
+                && Objects.equals(getBlock4(), that.getBlock4())
                 && Objects.equals(block5, that.block5)
                 && Objects.equals(userBlocks, that.userBlocks)
                 && Objects.equals(unparsedTexts, that.unparsedTexts);
@@ -280,7 +318,7 @@ public class SwiftMessage implements Serializable, JsonSerializable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(block1, block2, block3, block4, block5, userBlocks, unparsedTexts);
+        return Objects.hash(block1, block2, block3, getBlock4(), block5, userBlocks, unparsedTexts);
     }
 
     /**
@@ -302,7 +340,7 @@ public class SwiftMessage implements Serializable, JsonSerializable {
             case 3:
                 return this.block3;
             case 4:
-                return this.block4;
+                return getBlock4();
             case 5:
                 return this.block5;
             default:
@@ -317,6 +355,7 @@ public class SwiftMessage implements Serializable, JsonSerializable {
      */
     @Override
     public String toString() {
+        getBlock4();
         return ToStringBuilder.reflectionToString(this);
     }
 
@@ -413,11 +452,14 @@ public class SwiftMessage implements Serializable, JsonSerializable {
             visitor.endBlock3(b3);
         }
 
-        final SwiftBlock4 b4 = this.block4;
-        if (b4 != null) {
-            visitor.startBlock4(b4);
-            visit(b4, visitor);
-            visitor.endBlock4(b4);
+        final String b4Text = this.block4Text;
+        if (b4Text == null || !visitor.block4Text(b4Text)) {
+            final SwiftBlock4 b4 = getBlock4();
+            if (b4 != null) {
+                visitor.startBlock4(b4);
+                visit(b4, visitor);
+                visitor.endBlock4(b4);
+            }
         }
 
         final SwiftBlock5 b5 = this.block5;
@@ -481,7 +523,7 @@ public class SwiftMessage implements Serializable, JsonSerializable {
         if (this.block3 != null && !this.block3.isEmpty()) {
             count++;
         }
-        if (this.block4 != null && !this.block4.isEmpty()) {
+        if (this.block4Text != null || this.block4 != null && !this.block4.isEmpty()) {
             count++;
         }
         if (this.block5 != null && !this.block5.isEmpty()) {
@@ -551,14 +593,29 @@ public class SwiftMessage implements Serializable, JsonSerializable {
     }
 
     /**
-     * Get block number 4 of this message, may be null if not set
+     * Get block number 4 of this message, may be null if not set.
+     *
+     * <p>If the block content was set with {@link #setBlock4Text(String)} it is parsed on the first call. The parse
+     * is done once even if several threads read the message at the same time.
      *
      * @return the block 4 of the message or null
      */
     public SwiftBlock4 getBlock4() {
+        if (this.block4Text != null) {
+            parseBlock4Text();
+        }
         return this.block4;
     }
 
+    private synchronized void parseBlock4Text() {
+        final String text = this.block4Text;
+        if (text != null) {
+            this.block4 = SwiftParser.parseBlock4(text);
+            // published by the volatile write
+            this.block4Text = null;
+        }
+    }
+
     /**
      * Set the block 4 of the message
      *
@@ -566,6 +623,38 @@ public class SwiftMessage implements Serializable, JsonSerializable {
      */
     public void setBlock4(final SwiftBlock4 block4) {
         this.block4 = block4;
+        this.block4Text = null;
+    }
+
+    /**
+     * Sets the block 4 content in FIN format, without parsing it.
+     *
+     * <p>The text is parsed into tags on the first call to {@link #getBlock4()}, which is done by any method reading
+     * the message fields, such as the specific MT accessors. Until then, the {@link SwiftWriter} writes the block as
+     * is, provided the text is in the format the writer produces. This is useful for messages processed mostly by
+     * their headers.
+     *
+     * <p>Concurrent calls to {@link #getBlock4()} on a message with pending text are safe; as for the rest of the
+     * message setters, changing the message while other threads read it requires external synchronization.
+     *
+     * @param text the block content starting with "4:", without the enclosing brackets, for example
+     *             "4:\r\n:20:REFERENCE\r\n-"
+     * @see SwiftParserConfiguration#setLazyTextBlock(boolean)
+     * @since 10.3.20
+     */
+    public void setBlock4Text(final String text) {
+        this.block4 = null;
+        this.block4Text = text;
+    }
+
+    /**
+     * Gets the block 4 content set with {@link #setBlock4Text(String)}, only while it is not parsed.
+     *
+     * @return the block 4 content in FIN format, or null if the block is not set or is already parsed
+     * @since 10.3.20
+     */
+    public String getBlock4Text() {
+        return this.block4Text;
     }
 
     /**
@@ -751,6 +840,7 @@ public class SwiftMessage implements Serializable, JsonSerializable {
         this.block2 = null;
         this.block3 = null;
         this.block4 = null;
+        this.block4Text = null;
         this.block5 = null;
 
         // release user blocks
@@ -765,7 +855,7 @@ public class SwiftMessage implements Serializable, JsonSerializable {
      */
     public Boolean isFragment() {
         // get the block 4 (if exists)
-        final SwiftBlock4 b4 = this.block4;
+        final SwiftBlock4 b4 = getBlock4();
         if (b4 != null) {
             final String t202 = b4.getTagValue("202");
             final String t203 = b4.getTagValue("203");
@@ -808,7 +898,7 @@ public class SwiftMessage implements Serializable, JsonSerializable {
         }
 
         // get the block 4 and tag 203 (they BOTH exists here)
-        final String t203 = this.block4.getTagValue("203");
+        final String t203 = getBlock4().getTagValue("203");
 
         // process the number
         int _t203;
@@ -835,7 +925,7 @@ public class SwiftMessage implements Serializable, JsonSerializable {
         }
 
         // get the block 4 and tag 203 (they BOTH exists here)
-        final String t202 = this.block4.getTagValue("202");
+        final String t202 = getBlock4().getTagValue("202");
 
         // process the number
         int _t202;
@@ -1084,7 +1174,7 @@ public class SwiftMessage implements Serializable, JsonSerializable {
         Objects.requireNonNull(names, "names is null");
         final List<Field> result = new ArrayList<>();
         for (final String n : names) {
-            final Tag[] tl = this.block4.getTagsByName(n);
+            final Tag[] tl = getBlock4().getTagsByName(n);
             if (tl != null && tl.length > 0) {
                 for (final Tag t : tl) {
                     result.add(t.asField());
@@ -1111,7 +1201,8 @@ public class SwiftMessage implements Serializable, JsonSerializable {
         if (this.block3 != null && this.block3.isEmpty()) {
             this.block3 = null;
         }
-        if (this.block4 != null && this.block4.isEmpty()) {
+        // block 4 content not parsed yet always has some tag
+        if (this.block4Text == null && this.block4 != null && this.block4.isEmpty()) {
             this.block4 = null;
         }
         if (this.block5 != null && this.block5.isEmpty()) {
@@ -1316,8 +1407,8 @@ public class SwiftMessage implements Serializable, JsonSerializable {
      */
     public String getMUR() {
         // we check first the block 4, because system message could contain both MURs.
-        if (this.block4 != null && this.block4.containsTag(Field108.NAME)) {
-            return this.block4.getTagValue(Field108.NAME);
+        if (getBlock4() != null && getBlock4().containsTag(Field108.NAME)) {
+            return getBlock4().getTagValue(Field108.NAME);
         }
         if (this.block3 != null && this.block3.containsTag(Field108.NAME)) {
             return this.block3.getTagValue(Field108.NAME);
@@ -1344,7 +1435,7 @@ public class SwiftMessage implements Serializable, JsonSerializable {
         if (StringUtils.isNotBlank(mur)) {
             if (isSystemMessage()) {
                 // for system messages we set or update the MUR in the block 4
-                if (this.block4 == null) {
+                if (getBlock4() == null) {
                     this.block4 = new SwiftBlock4();
                     this.block4.append(new Field108(mur));
                 } else if (this.block4.containsTag(Field108.NAME)) {
@@ -1446,8 +1537,8 @@ public class SwiftMessage implements Serializable, JsonSerializable {
      * @since 7.4
      */
     public Boolean isLinked() {
-        if (this.block4 != null) {
-            return !this.block4.getSubBlock("LINK").isEmpty();
+        if (getBlock4() != null) {
+            return !getBlock4().getSubBlock("LINK").isEmpty();
         }
         return null;
     }
@@ -1459,8 +1550,8 @@ public class SwiftMessage implements Serializable, JsonSerializable {
      * @since 7.4
      */
     public List<SwiftTagListBlock> getLinkages() {
-        if (this.block4 != null) {
-            return this.block4.getSubBlocks("LINK");
+        if (getBlock4() != null) {
+            return getBlock4().getSubBlocks("LINK");
         }
         return null;
     }
@@ -1506,12 +1597,98 @@ public class SwiftMessage implements Serializable, JsonSerializable {
      */
     @Override
     public String toJson() {
-        final Gson gson = new GsonBuilder()
-                .registerTypeAdapter(SwiftMessage.class, new SwiftMessageAdapter())
-                .registerTypeAdapter(SwiftBlock2.class, new SwiftBlock2Adapter())
-                .setPrettyPrinting()
-                .create();
-        return gson.toJson(this);
+        final StringWriter writer = new StringWriter();
+        try {
+            toJson(writer, true);
+        } catch (final IOException e) {
+            // not thrown by a StringWriter
+            throw new JsonIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Gets the JSON representation of this message as a tree, with the same content of {@link #toJson()}.
+     *
+     * @return the JSON object for this message
+     * @since 10.3.20
+     */
+    public JsonObject toJsonTree() {
+        return GSON.toJsonTree(this, getClass()).getAsJsonObject();
+    }
+
+    /**
+     * Writes the JSON representation of this message into the given writer, without creating the JSON String.
+     *
+     * <p>The content is the same of {@link #toJson()}. When pretty printing is disabled the JSON is written in a
+     * single line without indentation, which is smaller and faster to write.
+     *
+     * @param writer         where to write the JSON, the writer is flushed but not closed
+     * @param prettyPrinting true to indent the JSON as in {@link #toJson()}, false for the compact format
+     * @throws IOException if an error occurs writing to the writer
+     * @since 10.3.20
+     */
+    public void toJson(final Writer writer, final boolean prettyPrinting) throws IOException {
+        final JsonWriter jsonWriter = (prettyPrinting ? GSON_PRETTY : GSON).newJsonWriter(writer);
+        writeJson(jsonWriter);
+        jsonWriter.flush();
+    }
+
+    /**
+     * Writes the JSON representation of this message into the given JSON writer.
+     *
+     * <p>This is useful to embed the message in a larger JSON document. The format, such as the indentation, is
+     * determined by the JSON writer configuration.
+     *
+     * <p>The message and its blocks are written to the JSON writer as they are traversed, without building a JSON
+     * tree for the whole message. Only the small fixed set of block 2 fields is collected in a JSON object before
+     * it is written.
+     *
+     * @param writer where to write the JSON, the writer is neither flushed nor closed
+     * @throws JsonIOException if an error occurs writing to the writer
+     * @since 10.3.20
+     */
+    public void toJson(final JsonWriter writer) {
+        try {
+            writeJson(writer);
+        } catch (final IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * Writes the same structure of {@link SwiftMessageAdapter} directly into the JSON writer.
+     */
+    private void writeJson(final JsonWriter writer) throws IOException {
+        writer.beginObject();
+        writer.name("timestamp").value(SwiftMessageAdapter.TIMESTAMP_FORMAT.format(Instant.now()));
+        writer.name("version").value(JSON_VERSION);
+        writer.name("data").beginObject();
+        writeJsonBlock(writer, "block1", this.block1);
+        writeJsonBlock(writer, "block2", this.block2);
+        writeJsonBlock(writer, "block3", this.block3);
+        writeJsonBlock(writer, "block4", getBlock4());
+        writeJsonBlock(writer, "block5", this.block5);
+        writer.endObject();
+        writer.endObject();
+    }
+
+    private static void writeJsonBlock(final JsonWriter writer, final String name, final SwiftBlock block)
+            throws IOException {
+        // null blocks are omitted, as in the JSON tree
+        if (block != null) {
+            // block 2 goes through its registered adapter, to include the direction
+            final Class<?> type = block instanceof SwiftBlock2 ? SwiftBlock2.class : block.getClass();
+            writer.name(name);
+            try {
+                GSON.toJson(block, type, writer);
+            } catch (final JsonIOException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw e;
+            }
+        }
     }
 
     /**
@@ -1549,6 +1726,7 @@ public class SwiftMessage implements Serializable, JsonSerializable {
      * <code>new MT102(SwiftMessage)</code>.
      * <p>For messages with service id 21 = GPA/FIN Message (ACK/NAK/UAK/UNK) it will
      * return an instance of {@link ServiceMessage21}.
+     * <p>The MT classes are resolved once per message type and variant and cached, see {@link MtFactory}.
      *
      * @return created specific MT object or null if the message type is not set or an error occurs during message creation
      */
@@ -1560,37 +1738,27 @@ public class SwiftMessage implements Serializable, JsonSerializable {
             }
             log.warning("Cannot determine the message type from application header (block 2)");
         } else {
-            final StringBuilder className = new StringBuilder();
-            className.append("com.prowidesoftware.swift.model.mt.mt");
-            className.append(type.charAt(0));
-            className.append("xx.MT");
-            className.append(type);
+            MTVariant variant = null;
             if (isSTP()) {
                 if (isType(102, 103)) {
-                    className.append("_STP");
+                    variant = MTVariant.STP;
                 } else {
                     log.warning("Unexpected STP flag in MT " + getType());
                 }
             } else if (isREMIT()) {
                 if (isType(103)) {
-                    className.append("_REMIT");
+                    variant = MTVariant.REMIT;
                 } else {
                     log.warning("Unexpected REMIT flag in MT " + getType());
                 }
             } else if (isCOV()) {
                 if (isType(202, 205)) {
-                    className.append("COV");
+                    variant = MTVariant.COV;
                 } else {
                     log.warning("Unexpected COV flag in MT " + getType());
                 }
             }
-            log.finer("About to create an instance of " + className);
-            try {
-                final Class<?> mtClass = Class.forName(className.toString());
-                return (AbstractMT) mtClass.getConstructor(SwiftMessage.class).newInstance(this);
-            } catch (final Exception e) {
-                log.warning("Could not create instance of " + className + ": " + e);
-            }
+            return MtFactory.newInstance(type, variant, this);
         }
         return null;
     }
@@ -1715,10 +1883,10 @@ public class SwiftMessage implements Serializable, JsonSerializable {
      */
     public boolean isAck() {
         if (isServiceMessage21()) {
-            if (this.block4 == null) {
+            if (getBlock4() == null) {
                 return false;
             }
-            return Strings.CS.equals(this.block4.getTagValue(Field451.NAME), "0");
+            return Strings.CS.equals(getBlock4().getTagValue(Field451.NAME), "0");
         }
         return false;
     }
@@ -1733,10 +1901,10 @@ public class SwiftMessage implements Serializable, JsonSerializable {
      */
     public boolean isNack() {
         if (isServiceMessage21()) {
-            if (this.block4 == null) {
+            if (getBlock4() == null) {
                 return false;
             }
-            return Strings.CS.equals(this.block4.getTagValue(Field451.NAME), "1");
+            return Strings.CS.equals(getBlock4().getTagValue(Field451.NAME), "1");
         }
         return false;
     }
@@ -1781,11 +1949,11 @@ public class SwiftMessage implements Serializable, JsonSerializable {
      * @since 7.8
      */
     public List<String> getTagNames() {
-        if (this.block4 == null || this.block4.isEmpty()) {
+        if (getBlock4() == null || getBlock4().isEmpty()) {
             return Collections.emptyList();
         }
         final List<String> result = new ArrayList<>();
-        for (final Tag t : this.block4.getTags()) {
+        for (final Tag t : getBlock4().getTags()) {
             if (!result.contains(t.getName())) {
                 result.add(t.getName());
             }
@@ -1924,4 +2092,12 @@ public class SwiftMessage implements Serializable, JsonSerializable {
         IConversionService srv = new ConversionService();
         return srv.getFIN(this);
     }
+
+    /**
+     * The block 4 is parsed before serialization, because its pending text is not serialized
+     */
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        getBlock4();
+        out.defaultWriteObject();
+    }
 }
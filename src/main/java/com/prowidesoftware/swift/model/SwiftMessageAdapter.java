@@ -18,19 +18,19 @@ package com.prowidesoftware.swift.model;
 
 import com.google.gson.*;
 import java.lang.reflect.Type;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 public class SwiftMessageAdapter implements JsonDeserializer<SwiftMessage>, JsonSerializer<SwiftMessage> {
+    static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.ENGLISH).withZone(ZoneOffset.UTC);
 
     @Override
     public JsonElement serialize(SwiftMessage src, Type typeOfSrc, JsonSerializationContext context) {
         JsonObject object = new JsonObject();
-        DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.ENGLISH);
-        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-        final String ts = dateFormat.format(Calendar.getInstance().getTime());
-        object.addProperty("timestamp", ts);
+        object.addProperty("timestamp", TIMESTAMP_FORMAT.format(Instant.now()));
         object.addProperty("version", SwiftMessage.JSON_VERSION);
 
         JsonObject objectBlocks = new JsonObject();
@@ -16,15 +16,16 @@
 package com.prowidesoftware.swift.model;
 
 import com.prowidesoftware.ProwideException;
+import com.prowidesoftware.swift.io.writer.ChecksumAlgorithm;
+import com.prowidesoftware.swift.io.writer.ChecksumWriter;
 import com.prowidesoftware.swift.io.writer.SwiftWriter;
 import com.prowidesoftware.swift.model.field.*;
 import com.prowidesoftware.swift.model.mt.AbstractMT;
-import java.io.StringWriter;
-import java.lang.reflect.Method;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.apache.commons.lang3.StringUtils;
@@ -39,6 +40,11 @@ import org.apache.commons.lang3.Validate;
 public class SwiftMessageUtils {
     private static final Logger log = Logger.getLogger(SwiftMessageUtils.class.getName());
 
+    /**
+     * Sequence newInstance(Tag...) factories by sequence class name
+     */
+    private static final Map<String, MethodHandle> sequenceFactories = new ConcurrentHashMap<>();
+
     /**
      * Get all message currencies for fields implementing {@link CurrencyContainer}
      *
@@ -117,6 +123,20 @@ public class SwiftMessageUtils {
         return result;
     }
 
+    /**
+     * Parses the message attached to an ACK/NAK (service 21) message, if any.
+     *
+     * @param m the message
+     * @return the first unparsed text of the ACK/NAK as message or null if the message is not an ACK/NAK or has no
+     * attached message
+     */
+    static SwiftMessage attachedMessage(final SwiftMessage m) {
+        if (m != null && m.isServiceMessage21() && m.getUnparsedTextsSize() > 0) {
+            return m.getUnparsedTexts().getTextAsMessage(0);
+        }
+        return null;
+    }
+
     /**
      * Gets the value date of a message.
      *
@@ -145,17 +165,25 @@ public class SwiftMessageUtils {
         if (m == null) {
             return null;
         }
+        return valueDate(m, attachedMessage(m), m.getBlock4());
+    }
+
+    /**
+     * Gets the value date of a message, with the message attached to the ACK/NAK already parsed.
+     *
+     * @param m        the message where the value date is to be found
+     * @param original the message attached to the ACK/NAK or null if none
+     * @param b4       the block 4 of the message, or a block with the same tags
+     * @see #valueDate(SwiftMessage)
+     */
+    static Calendar valueDate(final SwiftMessage m, final SwiftMessage original, final SwiftTagListBlock b4) {
         // for ACK/NAK, we attempt to extract the value date from the original attached message, if present
-        if (m.isServiceMessage21() && m.getUnparsedTextsSize() > 0) {
-            final SwiftMessage original = m.getUnparsedTexts().getTextAsMessage(0);
-            if (original != null) {
-                final Calendar valueDate = valueDate(original);
-                if (valueDate != null) {
-                    return valueDate;
-                }
+        if (original != null) {
+            final Calendar valueDate = valueDate(original);
+            if (valueDate != null) {
+                return valueDate;
             }
         }
-        final SwiftBlock4 b4 = m.getBlock4();
         if (b4 != null && !b4.isEmpty()) {
             Tag t = null;
             Field f = null;
@@ -269,22 +297,30 @@ public class SwiftMessageUtils {
         if (m == null) {
             return null;
         }
+        return tradeDate(m, attachedMessage(m), m.getBlock4());
+    }
+
+    /**
+     * Gets the trade date of a message, with the message attached to the ACK/NAK already parsed.
+     *
+     * @param m        the message where the trade date is to be found
+     * @param original the message attached to the ACK/NAK or null if none
+     * @param b4       the block 4 of the message, or a block with the same tags
+     * @see #tradeDate(SwiftMessage)
+     */
+    static Calendar tradeDate(final SwiftMessage m, final SwiftMessage original, final SwiftTagListBlock b4) {
         // for ACK/NAK, we attempt to extract the trade date from the original attached message, if present
-        if (m.isServiceMessage21() && m.getUnparsedTextsSize() > 0) {
-            final SwiftMessage original = m.getUnparsedTexts().getTextAsMessage(0);
-            if (original != null) {
-                final Calendar tradeDate = tradeDate(original);
-                if (tradeDate != null) {
-                    return tradeDate;
-                }
+        if (original != null) {
+            final Calendar tradeDate = tradeDate(original);
+            if (tradeDate != null) {
+                return tradeDate;
             }
         }
-        final SwiftBlock4 b4 = m.getBlock4();
         if (b4 != null && !b4.isEmpty()) {
 
-            Field f = m.getBlock4().getFieldByName(Field30T.NAME);
+            Field f = b4.getFieldByName(Field30T.NAME);
             if (f == null) {
-                f = m.getBlock4().getFieldByNumber(98, "TRAD");
+                f = b4.getFieldByNumber(98, "TRAD");
             }
             if (f != null && f instanceof DateContainer) {
                 return ((DateContainer) f).dates().get(0);
@@ -307,12 +343,20 @@ public class SwiftMessageUtils {
      * @since 9.3.19
      */
     public static String sender(final SwiftMessage m) {
+        return sender(m, attachedMessage(m));
+    }
+
+    /**
+     * Gets the message sender BIC, with the message attached to the ACK/NAK already parsed.
+     *
+     * @param m        the message
+     * @param original the message attached to the ACK/NAK or null if none
+     * @see #sender(SwiftMessage)
+     */
+    static String sender(final SwiftMessage m, final SwiftMessage original) {
         try {
-            if (m.isServiceMessage21() && m.getUnparsedTextsSize() > 0) {
-                final SwiftMessage original = m.getUnparsedTexts().getTextAsMessage(0);
-                if (original != null) {
-                    return original.getReceiver();
-                }
+            if (original != null) {
+                return original.getReceiver();
             }
             if (m.getDirection() == MessageIOType.outgoing && m.getBlock1() != null) {
                 return m.getBlock1().getLogicalTerminal();
@@ -368,15 +412,23 @@ public class SwiftMessageUtils {
         if (m == null) {
             return null;
         }
+        return identifier(m, attachedMessage(m));
+    }
+
+    /**
+     * Gets the message type identification, with the message attached to the ACK/NAK already parsed.
+     *
+     * @param m        the message
+     * @param original the message attached to the ACK/NAK or null if none
+     * @see #identifier(SwiftMessage)
+     */
+    static String identifier(final SwiftMessage m, final SwiftMessage original) {
         // for ACK/NAK messages with an appended MT with block 2 Output, we extract the identifier from the MT
         if (m.isServiceMessage21()) {
-            if (m.getUnparsedTextsSize() > 0) {
-                final SwiftMessage original = m.getUnparsedTexts().getTextAsMessage(0);
-                if (original != null
-                        && original.getBlock2() != null
-                        && original.getBlock2().isOutput()) {
-                    return identifier(original);
-                }
+            if (original != null
+                    && original.getBlock2() != null
+                    && original.getBlock2().isOutput()) {
+                return identifier(original);
             }
             if (m.isAck()) {
                 return MtSwiftMessage.IDENTIFIER_ACK;
@@ -401,16 +453,35 @@ public class SwiftMessageUtils {
      *
      * @param model the message
      * @return computed hash or null if errors occurred during computation or the message is null
+     * @see #calculateChecksum(SwiftMessage, ChecksumAlgorithm)
      */
     public static String calculateChecksum(final SwiftMessage model) {
+        return calculateChecksum(model, ChecksumAlgorithm.MD5);
+    }
+
+    /**
+     * Proprietary checksum for message integrity verification or duplicates detection, computed with the given
+     * algorithm on the complete message in FIN format.
+     * <p>Please notice <strong>this is not the SWIFT trailer CHK field</strong>.
+     * <p>The message is written directly into the hash function, without creating the FIN content in memory. With
+     * {@link ChecksumAlgorithm#MD5} the result is the same as {@link #calculateChecksum(SwiftMessage)}.
+     *
+     * @param model     the message
+     * @param algorithm the hash function
+     * @return computed hash as hexadecimal string or null if errors occurred during computation or the message is null
+     * @since 10.3.20
+     */
+    public static String calculateChecksum(final SwiftMessage model, final ChecksumAlgorithm algorithm) {
         if (model != null) {
-            final StringWriter writer = new StringWriter();
-            SwiftWriter.writeMessage(model, writer, true);
-            final String fin = writer.getBuffer().toString();
-            return md5(fin);
-        } else {
-            return null;
+            try {
+                final ChecksumWriter writer = new ChecksumWriter(algorithm);
+                SwiftWriter.writeMessage(model, writer, true);
+                return writer.checksum();
+            } catch (final IllegalStateException e) {
+                log.log(Level.FINEST, e.getMessage(), e);
+            }
         }
+        return null;
     }
 
     /**
@@ -422,17 +493,35 @@ public class SwiftMessageUtils {
      *
      * @param b4 the message text block
      * @return computed hash or null if errors occurred during computation or the block is null
+     * @see #calculateChecksum(SwiftBlock4, ChecksumAlgorithm)
      * @since 7.9.5
      */
     public static String calculateChecksum(final SwiftBlock4 b4) {
+        return calculateChecksum(b4, ChecksumAlgorithm.MD5);
+    }
+
+    /**
+     * Proprietary checksum for message text block (block 4) integrity verification or duplicates detection, computed
+     * with the given algorithm on the block in FIN format.
+     * <p>Please notice <strong>this is not the SWIFT trailer CHK field</strong>.
+     * <p>With {@link ChecksumAlgorithm#MD5} the result is the same as {@link #calculateChecksum(SwiftBlock4)}.
+     *
+     * @param b4        the message text block
+     * @param algorithm the hash function
+     * @return computed hash as hexadecimal string or null if errors occurred during computation or the block is null
+     * @since 10.3.20
+     */
+    public static String calculateChecksum(final SwiftBlock4 b4, final ChecksumAlgorithm algorithm) {
         if (b4 != null) {
-            final StringWriter writer = new StringWriter();
-            SwiftWriter.writeBlock4(b4, writer);
-            final String fin = writer.getBuffer().toString();
-            return md5(fin);
-        } else {
-            return null;
+            try {
+                final ChecksumWriter writer = new ChecksumWriter(algorithm);
+                SwiftWriter.writeBlock4(b4, writer);
+                return writer.checksum();
+            } catch (final IllegalStateException e) {
+                log.log(Level.FINEST, e.getMessage(), e);
+            }
         }
+        return null;
     }
 
     /**
@@ -446,23 +535,24 @@ public class SwiftMessageUtils {
      * @since 10.3.10
      */
     public static String md5(final String text) {
-        try {
-            byte[] bytesOfMessage = text.getBytes(StandardCharsets.UTF_8);
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] thedigest = md.digest(bytesOfMessage);
-
-            // Converting the bytes to a Hex string
-            StringBuilder buff = new StringBuilder();
-            for (byte b : thedigest) {
-                String conversion = Integer.toString(b & 0xFF, 16);
-                while (conversion.length() < 2) {
-                    conversion = "0" + conversion;
-                }
-                buff.append(conversion);
-            }
+        return checksum(text, 0, text.length(), ChecksumAlgorithm.MD5);
+    }
 
-            return buff.toString();
-        } catch (NoSuchAlgorithmException e) {
+    /**
+     * Computes a hash on a region of the parameter text.
+     *
+     * @param text      the text to hash
+     * @param start     the index of the first character to hash
+     * @param end       the index after the last character to hash
+     * @param algorithm the hash function
+     * @return computed hash or null if the algorithm is not available
+     */
+    static String checksum(final String text, final int start, final int end, final ChecksumAlgorithm algorithm) {
+        try {
+            final ChecksumWriter writer = new ChecksumWriter(algorithm);
+            writer.write(text, start, end - start);
+            return writer.checksum();
+        } catch (final IllegalStateException e) {
             log.log(Level.FINEST, e.getMessage(), e);
         }
         return null;
@@ -575,17 +665,25 @@ public class SwiftMessageUtils {
         if (m == null) {
             return null;
         }
+        return reference(m, attachedMessage(m), m.getBlock4());
+    }
+
+    /**
+     * Gets the reference of a message, with the message attached to the ACK/NAK already parsed.
+     *
+     * @param m        the message where the reference is to be found
+     * @param original the message attached to the ACK/NAK or null if none
+     * @param b4       the block 4 of the message, or a block with the same tags
+     * @see #reference(SwiftMessage)
+     */
+    static String reference(final SwiftMessage m, final SwiftMessage original, final SwiftTagListBlock b4) {
         // for ACK/NAK, we attempt to extract the reference from the original attached message, if present
-        if (m.isServiceMessage21() && m.getUnparsedTextsSize() > 0) {
-            final SwiftMessage original = m.getUnparsedTexts().getTextAsMessage(0);
-            if (original != null) {
-                final String reference = reference(original);
-                if (reference != null) {
-                    return reference;
-                }
+        if (original != null) {
+            final String reference = reference(original);
+            if (reference != null) {
+                return reference;
             }
         }
-        final SwiftBlock4 b4 = m.getBlock4();
         if (b4 != null && !b4.isEmpty()) {
             final Tag t = b4.getTagByName("20");
             if (t != null) {
@@ -691,10 +789,18 @@ public class SwiftMessageUtils {
             final Class<? extends AbstractMT> mt, final String sequenceName, final Tag... tags) {
         final String cn = mt.getName() + "$Sequence" + sequenceName;
         try {
-            final Class<?> subSequenceClass = Class.forName(cn);
-            final Method method = subSequenceClass.getMethod("newInstance", Tag[].class);
-            return (SwiftTagListBlock) method.invoke(null, new Object[] {tags});
-        } catch (Exception e) {
+            MethodHandle factory = sequenceFactories.get(cn);
+            if (factory == null) {
+                final Class<?> subSequenceClass = Class.forName(cn);
+                factory = MethodHandles.publicLookup()
+                        .unreflect(subSequenceClass.getMethod("newInstance", Tag[].class))
+                        .asType(MethodType.methodType(SwiftTagListBlock.class, Tag[].class));
+                sequenceFactories.putIfAbsent(cn, factory);
+            }
+            return (SwiftTagListBlock) factory.invokeExact(tags);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             String message = "Reflection error: mt=" + mt.getName() + ", sequenceName=" + sequenceName + ", tags="
                     + Arrays.toString(tags) + " - " + e.getMessage();
             log.log(Level.WARNING, message, e);
@@ -727,71 +833,100 @@ public class SwiftMessageUtils {
         if (m == null) {
             return null;
         }
+        return money(m, attachedMessage(m), m.getBlock4());
+    }
+
+    /**
+     * Gets the amount of a message, with the message attached to the ACK/NAK already parsed.
+     *
+     * @param m        the message where the amount is to be found
+     * @param original the message attached to the ACK/NAK or null if none
+     * @param b4       the block 4 of the message, or a block with the same tags
+     * @see #money(SwiftMessage)
+     */
+    static Money money(final SwiftMessage m, final SwiftMessage original, final SwiftTagListBlock b4) {
         // for ACK/NAK, we attempt to extract the amount from the original attached message, if present
-        if (m.isServiceMessage21() && m.getUnparsedTextsSize() > 0) {
-            final SwiftMessage original = m.getUnparsedTexts().getTextAsMessage(0);
-            if (original != null) {
-                final Money money = money(original);
-                if (money != null) {
-                    return money;
-                }
+        if (original != null) {
+            final Money money = money(original);
+            if (money != null) {
+                return money;
             }
         }
-        final SwiftBlock4 b4 = m.getBlock4();
-        if (b4 == null || b4.isEmpty()) {
+        final List<Field> fields = moneyFields(m, b4);
+        if (fields.isEmpty()) {
             return null;
         }
+        return fields.size() == 1 ? Money.of(fields.get(0)) : Money.ofSum(fields.toArray(new Field[0]));
+    }
+
+    /**
+     * Gets the fields the money of a message is computed from, as done in {@link #money(SwiftMessage)} but without
+     * the lookup in the message attached to ACK/NAK messages. When more than one field is returned, the message
+     * money is the sum of all of them.
+     *
+     * @param m the message where the amount fields are to be found
+     * @return the fields with the message amount, or an empty list if none is found
+     * @since 10.3.20
+     */
+    static List<Field> moneyFields(final SwiftMessage m) {
+        return moneyFields(m, m.getBlock4());
+    }
+
+    private static List<Field> moneyFields(final SwiftMessage m, final SwiftTagListBlock b4) {
+        if (b4 == null || b4.isEmpty()) {
+            return Collections.emptyList();
+        }
         if (m.isType(102, 103, 200, 202, 205, 256, 450, 455, 643, 644, 646, 734, 802, 900, 910)) {
-            return Money.of(b4.getFieldByName("32A"));
+            return fieldList(b4.getFieldByName("32A"));
         } else if (m.isType(
                 191, 291, 300, 304, 305, 320, 391, 491, 591, 691, 791, 891, 991, 340, 341, 350, 360, 361, 364, 365, 620,
                 700, 705, 710, 720, 732, 740, 742, 750, 752, 756, 760, 765, 786)) {
-            return Money.of(b4.getFieldByName("32B"));
+            return fieldList(b4.getFieldByName("32B"));
         } else if (m.isType(
                 321, 370, 508, 509, 535, 536, 537, 540, 541, 542, 543, 544, 545, 546, 547, 548, 558, 559, 569, 574, 575,
                 576, 578, 586)) {
-            return Money.of(b4.getFieldByName("19A"));
+            return fieldList(b4.getFieldByName("19A"));
         } else if (m.isType(330, 362)) {
-            return Money.of(b4.getFieldByName("32H"));
+            return fieldList(b4.getFieldByName("32H"));
         } else if (m.isType(306, 581, 747, 769)) {
-            return Money.of(b4.getFieldByName("34B"));
+            return fieldList(b4.getFieldByName("34B"));
         } else if (m.isType(380, 381, 505, 564, 566, 567)) {
-            return Money.of(b4.getFieldByName("19B"));
+            return fieldList(b4.getFieldByName("19B"));
         } else if (m.isType(800)) {
-            return Money.of(b4.getFieldByName("33B"));
+            return fieldList(b4.getFieldByName("33B"));
         } else if (m.isType(941)) {
-            return Money.of(b4.getFieldByName("62F"));
+            return fieldList(b4.getFieldByName("62F"));
 
         } else if (m.isType(600, 601)) {
-            return Money.ofAny(b4, "34P", "34R");
+            return fieldList(firstField(b4, "34P", "34R"));
         } else if (m.isType(609)) {
-            return Money.ofAny(b4, "68B", "68C");
+            return fieldList(firstField(b4, "68B", "68C"));
         } else if (m.isType(111, 112, 516, 649) || m.isType(754)) {
-            return Money.ofAny(b4, "32A", "32B");
+            return fieldList(firstField(b4, "32A", "32B"));
         } else if (m.isType(190, 290, 390, 490, 590, 690, 790, 890, 990)) {
-            return Money.ofAny(b4, "32C", "32D");
+            return fieldList(firstField(b4, "32C", "32D"));
         } else if (m.isType(730) || m.isType(768)) {
-            return Money.ofAny(b4, "32B", "32D");
+            return fieldList(firstField(b4, "32B", "32D"));
         } else if (m.isType(400, 410)) {
-            return Money.ofAny(b4, "32A", "32B", "32K");
+            return fieldList(firstField(b4, "32A", "32B", "32K"));
         } else if (m.isType(430)) {
-            return Money.ofAny(b4, "33A", "33K", "32A", "32K");
+            return fieldList(firstField(b4, "33A", "33K", "32A", "32K"));
         } else if (m.isType(744)) {
-            return Money.ofAny(b4, "34A", "34B");
+            return fieldList(firstField(b4, "34A", "34B"));
         } else if (m.isType(940, 950, 970)) {
-            return Money.ofAny(b4, "62F", "62M");
+            return fieldList(firstField(b4, "62F", "62M"));
         } else if (m.isType(101, 201, 203, 204, 207, 210)) {
-            return Money.ofSum(b4.getFieldsByName("32B"));
+            return Arrays.asList(b4.getFieldsByName("32B"));
         } else if (m.isType(110, 416, 420, 422, 456)) {
-            return Money.ofSum(b4.getFieldsByName("32a"));
+            return Arrays.asList(b4.getFieldsByName("32a"));
         } else if (m.isType(509)) {
-            return Money.ofSum(b4.getFieldsByName("19A"));
+            return Arrays.asList(b4.getFieldsByName("19A"));
         } else if (m.isType(112)) {
-            return Money.ofSum(b4.getFieldsByName("32A"));
+            return Arrays.asList(b4.getFieldsByName("32A"));
         } else if (m.isType(801)) {
-            return Money.ofSum(b4.getFieldsByName("33B"));
+            return Arrays.asList(b4.getFieldsByName("33B"));
         } else if (m.isType(824)) {
-            return Money.ofSum(b4.getFieldsByName("68A"));
+            return Arrays.asList(b4.getFieldsByName("68A"));
 
         } else if (m.isType(104, 107)) {
             // we pick field 32B from sequence C
@@ -802,7 +937,7 @@ public class SwiftMessageUtils {
                 if (startIndexOfC >= 0) {
                     Tag t = b4.getTags().get(startIndexOfC);
                     if (t != null) {
-                        return Money.of(t.asField());
+                        return fieldList(t.asField());
                     }
                 }
             }
@@ -814,7 +949,7 @@ public class SwiftMessageUtils {
              */
             SwiftTagListBlock seq = b4.getSubBlock("ORDRDET");
             if (seq != null) {
-                return Money.of(seq.getFieldByName("19A"));
+                return fieldList(seq.getFieldByName("19A"));
             }
 
         } else if (m.isType(514, 515, 518)) {
@@ -824,7 +959,7 @@ public class SwiftMessageUtils {
              */
             SwiftTagListBlock seq = b4.getSubBlock("CONFDET");
             if (seq != null) {
-                return Money.of(seq.getFieldByName("19A"));
+                return fieldList(seq.getFieldByName("19A"));
             }
 
         } else if (m.isType(503, 504, 506)) {
@@ -833,7 +968,7 @@ public class SwiftMessageUtils {
              */
             SwiftTagListBlock seq = b4.getSubBlock("SUMM");
             if (seq != null) {
-                return Money.of(seq.getFieldByName("19B"));
+                return fieldList(seq.getFieldByName("19B"));
             }
 
         } else if (m.isType(527)) {
@@ -842,10 +977,24 @@ public class SwiftMessageUtils {
              */
             SwiftTagListBlock seq = b4.getSubBlock("DEALTRAN");
             if (seq != null) {
-                return Money.of(seq.getFieldByName("19A"));
+                return fieldList(seq.getFieldByName("19A"));
             }
         }
 
+        return Collections.emptyList();
+    }
+
+    private static List<Field> fieldList(final Field field) {
+        return field != null ? Collections.singletonList(field) : Collections.emptyList();
+    }
+
+    private static Field firstField(final SwiftTagListBlock block, final String... fieldNames) {
+        for (final String fieldName : fieldNames) {
+            final Field field = block.getFieldByName(fieldName);
+            if (field != null) {
+                return field;
+            }
+        }
         return null;
     }
 }
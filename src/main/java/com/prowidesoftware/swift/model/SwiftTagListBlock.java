@@ -15,14 +15,13 @@
  */
 package com.prowidesoftware.swift.model;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.prowidesoftware.swift.model.field.Field;
 import com.prowidesoftware.swift.model.field.Field16R;
 import com.prowidesoftware.swift.model.field.Field16S;
 import com.prowidesoftware.swift.model.field.GenericField;
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.ArrayUtils;
@@ -52,7 +51,19 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      *
      * @see Tag
      */
-    private List<Tag> tags = new ArrayList<>();
+    private List<Tag> tags = new TagList();
+
+    /**
+     * Whether the name and number lookups use the {@link TagIndex}
+     */
+    private transient boolean indexed = false;
+
+    private transient TagIndex index;
+
+    /**
+     * Boundaries of the 16R/16S sub blocks, computed on the first sub block lookup by name
+     */
+    private transient SequenceIndex sequences;
 
     /**
      * Default constructor, shouldn't be used normally.
@@ -104,10 +115,91 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      * @see #setTags(List)
      */
     public void setTags(final Tag[] tags) {
-        List<Tag> list = new ArrayList<>(Arrays.asList(tags));
+        List<Tag> list = new TagList(Arrays.asList(tags));
         setTags(list);
     }
 
+    /**
+     * Indicates whether the lookups by tag name and number use an index. Defaults to false.
+     *
+     * <p>When enabled, the tags are grouped by name and by number the first time a lookup is done, and the following
+     * calls to {@link #getTagByName(String)}, {@link #getTagsByName(String)}, {@link #getTagByNumber(int)},
+     * {@link #getTagsByNumber(int)}, {@link #countByName(String)} and the non wildcard {@link #getFieldByName(String)}
+     * and {@link #getFieldsByName(String)} variants just read the index instead of scanning the tags. This is
+     * convenient for blocks with many tags that are queried repeatedly, for example large MT535 or MT940 statements.
+     *
+     * <p>The index is rebuilt on the next lookup after the tag list is modified, either through this class API or
+     * through the list returned by {@link #getTags()}, and after any tag is renamed with {@link Tag#setName(String)}.
+     * Replacing tags through a sub list view of {@link #getTags()} is not detected. The index is only used when the
+     * tag list is owned by this block; when the list is set with {@link #setTags(List)} or in the constructor, the
+     * lookups keep scanning the tags.
+     *
+     * @since 10.3.20
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * @see #isIndexed()
+     * @since 10.3.20
+     */
+    public void setIndexed(final boolean indexed) {
+        this.indexed = indexed;
+        if (!indexed) {
+            this.index = null;
+        }
+    }
+
+    /**
+     * Creates an indexed block with the same tags, for a burst of lookups done by a single reader, leaving this block
+     * untouched. The tags are not linked to the new block, so its index does not see later changes in the tags; it
+     * must be discarded once the lookups are done.
+     *
+     * @return a new block with the tags of this block and the index enabled
+     */
+    SwiftTagListBlock indexedCopy() {
+        final SwiftTagListBlock copy = new SwiftTagListBlock(new TagList(this.tags, false));
+        copy.indexed = true;
+        return copy;
+    }
+
+    /**
+     * Gets the up to date index of the tags, building it if necessary.
+     *
+     * @return the index or null if the index is disabled or cannot be used with the current tag list
+     */
+    private TagIndex index() {
+        if (!this.indexed || !(this.tags instanceof TagList)) {
+            return null;
+        }
+        final TagList list = (TagList) this.tags;
+        TagIndex current = this.index;
+        if (current == null || !current.isValid(list)) {
+            current = new TagIndex(list);
+            this.index = current;
+        }
+        return current;
+    }
+
+    /**
+     * Gets the up to date 16R/16S boundaries of the tags, building them if necessary.
+     *
+     * @return the boundaries or null if they cannot be tracked with the current tag list
+     */
+    private SequenceIndex sequenceIndex() {
+        if (!(this.tags instanceof TagList)) {
+            return null;
+        }
+        final TagList list = (TagList) this.tags;
+        SequenceIndex current = this.sequences;
+        if (current == null || !current.isValid(list)) {
+            current = new SequenceIndex(list);
+            this.sequences = current;
+        }
+        return current;
+    }
+
     /**
      * Iterate through tags in this block and return the first tag whose name matches the parameter.
      *
@@ -117,6 +209,11 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      */
     public Tag getTagByName(final String name) {
         Objects.requireNonNull(name, NAME_VALIDATION_MESSAGE);
+        final TagIndex tagIndex = index();
+        if (tagIndex != null) {
+            final List<Tag> found = tagIndex.byName(name);
+            return found.isEmpty() ? null : found.get(0);
+        }
         for (Tag tag : this.tags) {
             if (Strings.CS.equals(tag.getName(), name)) {
                 return tag;
@@ -186,6 +283,10 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      */
     public Tag[] getTagsByName(final String name) {
         Objects.requireNonNull(name, NAME_VALIDATION_MESSAGE);
+        final TagIndex tagIndex = index();
+        if (tagIndex != null) {
+            return tagIndex.byName(name).toArray(new Tag[0]);
+        }
         return this.tags.stream()
                 .filter(tag -> Strings.CS.equals(tag.getName(), name))
                 .toArray(Tag[]::new);
@@ -219,6 +320,11 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      * @return the first tag with the given number or null if no tag is found.
      */
     public Tag getTagByNumber(final int tagNumber) {
+        final TagIndex tagIndex = index();
+        if (tagIndex != null) {
+            final List<Tag> found = tagIndex.byNumber(tagNumber);
+            return found.isEmpty() ? null : found.get(0);
+        }
         for (Tag tag : this.tags) {
             if (tag.isNumber(tagNumber)) {
                 return tag;
@@ -234,6 +340,10 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      * @return the tags matching the given number or an empty list if none is found.
      */
     public List<Tag> getTagsByNumber(final int tagNumber) {
+        final TagIndex tagIndex = index();
+        if (tagIndex != null) {
+            return new ArrayList<>(tagIndex.byNumber(tagNumber));
+        }
         return tags.stream().filter(tag -> tag.isNumber(tagNumber)).collect(Collectors.toList());
     }
 
@@ -327,7 +437,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
         Objects.requireNonNull(name, NAME_VALIDATION_MESSAGE);
 
         final boolean wildcard = name.endsWith("a");
-        for (Tag tag : this.tags) {
+        for (Tag tag : candidates(wildcard, name)) {
             if (matchesName(wildcard, tag.getName(), name)) {
                 final Field field = tag.asField();
                 if (field == null) {
@@ -354,7 +464,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 
         final boolean wildcard = name.endsWith("a");
         final List<Field> l = new ArrayList<>();
-        for (Tag tag : this.tags) {
+        for (Tag tag : candidates(wildcard, name)) {
             if (matchesName(wildcard, tag.getName(), name)) {
                 final Field field = tag.asField();
                 if (field == null) {
@@ -381,7 +491,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
 
         final boolean wildcard = name.endsWith("a");
         final List<Tag> l = new ArrayList<>();
-        for (Tag tag : this.tags) {
+        for (Tag tag : candidates(wildcard, name)) {
             if (matchesName(wildcard, tag.getName(), name)) {
                 if (componentValue == null) {
                     l.add(tag);
@@ -396,6 +506,20 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
         return l;
     }
 
+    /**
+     * Gets the tags to check for a name match, all the tags or only the indexed tags with the exact name if the index
+     * is enabled and the name has no wildcard
+     */
+    private List<Tag> candidates(final boolean wildcard, final String name) {
+        if (!wildcard) {
+            final TagIndex tagIndex = index();
+            if (tagIndex != null) {
+                return tagIndex.byName(name);
+            }
+        }
+        return this.tags;
+    }
+
     /**
      * Returns true if the found fieldname matches the expected name
      *
@@ -513,10 +637,16 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      * @return the first matching field or null if none is found
      */
     public Field getFieldByNumber(final int fieldNumber, final String componentValue) {
-        return getFieldsByNumber(fieldNumber).stream()
-                .filter(field -> field.is(componentValue))
-                .findFirst()
-                .orElse(null);
+        // the tags are converted one at a time, up to the first match
+        for (Tag tag : getTagsByNumber(fieldNumber)) {
+            final Field f = tag.asField();
+            if (f == null) {
+                log.warning("Could not create field instance of " + tag);
+            } else if (f.is(componentValue)) {
+                return f;
+            }
+        }
+        return null;
     }
 
     /**
@@ -539,6 +669,10 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      */
     public int countByName(final String name) {
         Objects.requireNonNull(name, NAME_VALIDATION_MESSAGE);
+        final TagIndex tagIndex = index();
+        if (tagIndex != null) {
+            return tagIndex.byName(name).size();
+        }
         return tags.stream()
                 .filter(tag -> Strings.CS.equals(tag.getName(), name))
                 .mapToInt(i -> 1)
@@ -646,7 +780,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      */
     private List<Tag> thisTagsNotNull() {
         if (this.tags == null) {
-            this.tags = new ArrayList<>();
+            this.tags = new TagList();
         }
         return this.tags;
     }
@@ -753,12 +887,24 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      * It searches for a starting 16R field (with blockName as value) and its correspondent 16S
      * field (with blockName as value) as block boundaries.
      *
+     * <p>The 16R/16S boundaries of all the sub blocks are computed in a single pass on the first call, and reused by
+     * this method and {@link #getSubBlock(String)} until the tag list, or any tag name or value, is modified.
+     *
      * @param blockName block name, used for block
      * @return a list containing the found tags (the list can be empty if no tags are found)
      * @see #getSubBlocks(Tag, Tag)
      * @since 6.0
      */
     public List<SwiftTagListBlock> getSubBlocks(final String blockName) {
+        final SequenceIndex sequenceIndex = blockName != null ? sequenceIndex() : null;
+        if (sequenceIndex != null) {
+            final List<int[]> ranges = sequenceIndex.ranges(blockName);
+            final List<SwiftTagListBlock> result = new ArrayList<>(ranges.size());
+            for (final int[] range : ranges) {
+                result.add(getSubBlock(range[0], range[1] + 1));
+            }
+            return result;
+        }
         return getSubBlocks(new Tag("16R", blockName), new Tag("16S", blockName));
     }
 
@@ -890,6 +1036,11 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      * @since 6.0
      */
     public SwiftTagListBlock getSubBlock(final String blockName) {
+        final SequenceIndex sequenceIndex = blockName != null ? sequenceIndex() : null;
+        if (sequenceIndex != null) {
+            final List<int[]> ranges = sequenceIndex.ranges(blockName);
+            return ranges.isEmpty() ? new SwiftTagListBlock() : getSubBlock(ranges.get(0)[0], ranges.get(0)[1] + 1);
+        }
         return getSubBlock(new Tag("16R", blockName), new Tag("16S", blockName));
     }
 
@@ -1021,11 +1172,11 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
     private int getIndexByCriteria(SearchBoundary criteria, final Tag tag) {
         switch (criteria) {
             case FIRST_TAG_NAME:
-                return indexOfFirst(tag.name);
+                return indexOfFirst(tag.getName());
             case FIRST_TAG_IGNORE_CR:
                 return indexOfFirstIgnoreCR(tag);
             case LAST_TAG_NAME:
-                return indexOfLast(tag.name);
+                return indexOfLast(tag.getName());
             default:
                 return -1;
         }
@@ -1875,8 +2026,7 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
      * @since 7.9.8
      */
     public String toJson() {
-        final Gson gson = new GsonBuilder().create();
-        return gson.toJson(this);
+        return GSON.toJson(this);
     }
 
     /**
@@ -2116,6 +2266,206 @@ public class SwiftTagListBlock extends SwiftBlock implements Serializable, Itera
         LAST_TAG_NAME
     }
 
+    /**
+     * Tag list owned by the block, tracking any change to the list and to its tags so that the indexes can be
+     * invalidated. It is serialized as a plain {@link ArrayList}.
+     */
+    private static final class TagList extends ArrayList<Tag> {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Counters of the renames and updates of the tags in this list
+         */
+        private final transient TagChanges tagChanges = new TagChanges();
+
+        TagList() {
+            super();
+        }
+
+        TagList(final Collection<Tag> tags) {
+            this(tags, true);
+        }
+
+        /**
+         * @param track false to keep the tags unaware of this list, only for lists of private read only blocks
+         */
+        TagList(final Collection<Tag> tags, final boolean track) {
+            super(tags);
+            if (track) {
+                forEach(this::track);
+            }
+        }
+
+        /**
+         * @return a counter increased on every change to the list, including replacements with {@link #set(int, Tag)}
+         */
+        int changes() {
+            return this.modCount;
+        }
+
+        /**
+         * @return the root of the counters of the tags in this list
+         */
+        TagChanges tagChanges() {
+            return this.tagChanges.root();
+        }
+
+        private void track(final Tag tag) {
+            if (tag != null) {
+                tag.trackChanges(this.tagChanges);
+            }
+        }
+
+        @Override
+        public boolean add(final Tag tag) {
+            track(tag);
+            return super.add(tag);
+        }
+
+        @Override
+        public void add(final int index, final Tag tag) {
+            track(tag);
+            super.add(index, tag);
+        }
+
+        @Override
+        public boolean addAll(final Collection<? extends Tag> tags) {
+            tags.forEach(this::track);
+            return super.addAll(tags);
+        }
+
+        @Override
+        public boolean addAll(final int index, final Collection<? extends Tag> tags) {
+            tags.forEach(this::track);
+            return super.addAll(index, tags);
+        }
+
+        @Override
+        public Tag set(final int index, final Tag element) {
+            track(element);
+            this.modCount++;
+            return super.set(index, element);
+        }
+
+        @Override
+        public void replaceAll(final UnaryOperator<Tag> operator) {
+            super.replaceAll(operator);
+            forEach(this::track);
+        }
+
+        private Object writeReplace() {
+            return new ArrayList<>(this);
+        }
+    }
+
+    /**
+     * Tags grouped by name and by number, in the same order of the block
+     */
+    private static final class TagIndex {
+        private final TagList list;
+        private final int changes;
+        private final TagChanges tagChanges;
+        private final int renames;
+        private final Map<String, List<Tag>> names = new HashMap<>();
+        private final Map<Integer, List<Tag>> numbers = new HashMap<>();
+
+        TagIndex(final TagList list) {
+            this.list = list;
+            this.changes = list.changes();
+            this.tagChanges = list.tagChanges();
+            this.renames = this.tagChanges.renames();
+            for (final Tag tag : list) {
+                final String name = tag.getName();
+                if (name != null) {
+                    this.names.computeIfAbsent(name, k -> new ArrayList<>(1)).add(tag);
+                    final Integer number = tag.getNumber();
+                    if (number != null) {
+                        this.numbers.computeIfAbsent(number, k -> new ArrayList<>(1)).add(tag);
+                    }
+                }
+            }
+        }
+
+        boolean isValid(final TagList list) {
+            return this.list == list
+                    && this.changes == list.changes()
+                    && this.tagChanges == list.tagChanges()
+                    && this.renames == this.tagChanges.renames();
+        }
+
+        List<Tag> byName(final String name) {
+            return this.names.getOrDefault(name, Collections.emptyList());
+        }
+
+        List<Tag> byNumber(final int number) {
+            return this.numbers.getOrDefault(number, Collections.emptyList());
+        }
+    }
+
+    /**
+     * Boundaries of the sub blocks delimited by 16R and 16S fields, computed in a single pass over the tags.
+     *
+     * <p>For each block name it holds the start and end indexes (both inclusive) of the same sub blocks found by
+     * {@link #getSubBlocks(Tag, Tag)}: a sub block starts at the first 16R with the name, ends at the next 16S with the
+     * same name, and if the 16S is missing it extends until the last tag. Values are compared ignoring CR as in
+     * {@link Tag#equalsIgnoreCR(Tag)}, and tags with unparsed texts are never boundaries.
+     */
+    private static final class SequenceIndex {
+        private final TagList list;
+        private final int changes;
+        private final TagChanges tagChanges;
+        private final int renames;
+        private final int updates;
+        private final Map<String, List<int[]>> ranges = new HashMap<>();
+
+        SequenceIndex(final TagList list) {
+            this.list = list;
+            this.changes = list.changes();
+            this.tagChanges = list.tagChanges();
+            this.renames = this.tagChanges.renames();
+            this.updates = this.tagChanges.updates();
+            final Map<String, Integer> open = new HashMap<>();
+            for (int i = 0; i < list.size(); i++) {
+                final Tag tag = list.get(i);
+                if (tag.unparsedTexts != null || tag.getValue() == null) {
+                    continue;
+                }
+                final String name = tag.getName();
+                if ("16R".equals(name)) {
+                    open.putIfAbsent(key(tag.getValue()), i);
+                } else if ("16S".equals(name)) {
+                    final String key = key(tag.getValue());
+                    final Integer start = open.remove(key);
+                    if (start != null) {
+                        this.ranges.computeIfAbsent(key, k -> new ArrayList<>(1)).add(new int[] {start, i});
+                    }
+                }
+            }
+            // sub blocks without closing 16S extend until the end of the block
+            for (final Map.Entry<String, Integer> e : open.entrySet()) {
+                this.ranges
+                        .computeIfAbsent(e.getKey(), k -> new ArrayList<>(1))
+                        .add(new int[] {e.getValue(), list.size() - 1});
+            }
+        }
+
+        private static String key(final String value) {
+            return value.indexOf('\r') >= 0 ? Strings.CS.replace(value, "\r", "") : value;
+        }
+
+        boolean isValid(final TagList list) {
+            return this.list == list
+                    && this.changes == list.changes()
+                    && this.tagChanges == list.tagChanges()
+                    && this.renames == this.tagChanges.renames()
+                    && this.updates == this.tagChanges.updates();
+        }
+
+        List<int[]> ranges(final String blockName) {
+            return this.ranges.getOrDefault(key(blockName), Collections.emptyList());
+        }
+    }
+
     /**
      * Empty iterator to be used when an API that returns an Iterator does not return null.
      */
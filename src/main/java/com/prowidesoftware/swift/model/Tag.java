@@ -15,7 +15,10 @@
  */
 package com.prowidesoftware.swift.model;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.prowidesoftware.swift.model.field.Field;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.Objects;
 import org.apache.commons.lang3.Strings;
@@ -26,7 +29,12 @@ import org.apache.commons.lang3.Strings;
  * <p>The "Tag" naming is used in the SWIFT standard to refer the fields identifiers composed by a number and an
  * optional letter option, for example 32A. This class is used to model the complete field structure including both
  * the field name ("Tag") and the field value.
+ *
+ * <p>Tags created by the parser with {@link #Tag(String, int, int, int, int)} keep the boundaries of the name and
+ * value in the source text, and the name and value strings are created when first read. The reference to the source
+ * text is dropped once both strings are created.
  */
+@JsonAdapter(TagAdapter.class)
 public class Tag implements Serializable {
 
     /**
@@ -44,6 +52,27 @@ public class Tag implements Serializable {
      */
     protected UnparsedTextList unparsedTexts = null;
 
+    /**
+     * Text containing the not yet materialized name and value, null for tags created with the regular constructors and
+     * once both name and value are materialized.
+     */
+    private transient String source;
+
+    private transient int nameStart = -1;
+    private transient int nameEnd;
+    private transient int valueStart = -1;
+    private transient int valueEnd;
+
+    /**
+     * Number parsed from the name, kept together with the name it was computed for
+     */
+    private transient TagNumber number;
+
+    /**
+     * Change counters shared with the block tag lists containing this tag, used to invalidate their indexes
+     */
+    private transient TagChanges changes;
+
     /**
      * Default constructor.
      */
@@ -113,6 +142,33 @@ public class Tag implements Serializable {
         this.value = value;
     }
 
+    /**
+     * Create a tag whose name and value are the given regions of the source text.
+     *
+     * <p>No substring is created at this point; the name and value strings are created when first read through
+     * {@link #getName()} and {@link #getValue()}. This is used by the parser to avoid allocating strings for fields
+     * that are never read.
+     *
+     * @param source     the text containing the tag, for example the message block 4 content
+     * @param nameStart  the position of the first char of the tag name in the source text
+     * @param nameEnd    the position after the last char of the tag name
+     * @param valueStart the position of the first char of the tag value
+     * @param valueEnd   the position after the last char of the tag value
+     * @throws IllegalArgumentException if source is null
+     * @throws IndexOutOfBoundsException if any of the regions is not within the source text
+     * @since 10.3.20
+     */
+    public Tag(String source, int nameStart, int nameEnd, int valueStart, int valueEnd) {
+        Objects.requireNonNull(source, "parameter 'source' cannot be null");
+        Objects.checkFromToIndex(nameStart, nameEnd, source.length());
+        Objects.checkFromToIndex(valueStart, valueEnd, source.length());
+        this.source = source;
+        this.nameStart = nameStart;
+        this.nameEnd = nameEnd;
+        this.valueStart = valueStart;
+        this.valueEnd = valueEnd;
+    }
+
     /**
      * Constructor for an unparsed text list
      *
@@ -169,7 +225,11 @@ public class Tag implements Serializable {
      * @return a string with the current tag name
      */
     public String getName() {
-        return name;
+        if (this.name == null && this.source != null && this.nameStart >= 0) {
+            this.name = this.source.substring(this.nameStart, this.nameEnd);
+            releaseSource();
+        }
+        return this.name;
     }
 
     /**
@@ -184,6 +244,22 @@ public class Tag implements Serializable {
         Objects.requireNonNull(name, "parameter 'name' cannot be null");
 
         this.name = name;
+        this.nameStart = -1;
+        releaseSource();
+        if (this.changes != null) {
+            this.changes.renamed();
+        }
+    }
+
+    /**
+     * Links this tag to the change counters of a block tag list it was added to.
+     */
+    void trackChanges(final TagChanges listChanges) {
+        if (this.changes == null) {
+            this.changes = listChanges;
+        } else {
+            listChanges.joinTo(this.changes);
+        }
     }
 
     /**
@@ -195,7 +271,11 @@ public class Tag implements Serializable {
      * @return a string with the value of the tag or null if the value was not set
      */
     public String getValue() {
-        return value;
+        if (this.value == null && this.source != null && this.valueStart >= 0) {
+            this.value = this.source.substring(this.valueStart, this.valueEnd);
+            releaseSource();
+        }
+        return this.value;
     }
 
     /**
@@ -205,18 +285,47 @@ public class Tag implements Serializable {
      */
     public void setValue(String value) {
         this.value = value;
+        this.valueStart = -1;
+        releaseSource();
+        updated();
+    }
+
+    private void updated() {
+        if (this.changes != null) {
+            this.changes.updated();
+        }
+    }
+
+    /**
+     * Drops the reference to the source text once both name and value were either read from it or explicitly set
+     */
+    private void releaseSource() {
+        if ((this.name != null || this.nameStart < 0) && (this.value != null || this.valueStart < 0)) {
+            this.source = null;
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        // materialize the lazy name and value since the source text is not serialized
+        getName();
+        getValue();
+        out.defaultWriteObject();
     }
 
     @Override
     public String toString() {
-        return "Tag[" + name + ":" + value + "]";
+        return "Tag[" + getName() + ":" + getValue() + "]";
     }
 
     /**
      * verifies that the unparsed text list exists
      */
     protected void unparsedTextVerify() {
-        if (this.unparsedTexts == null) this.unparsedTexts = new UnparsedTextList();
+        if (this.unparsedTexts == null) {
+            this.unparsedTexts = new UnparsedTextList();
+            // a tag with unparsed texts, even empty, is never a sub block boundary
+            updated();
+        }
     }
 
     /**
@@ -239,6 +348,7 @@ public class Tag implements Serializable {
     public void setUnparsedTexts(UnparsedTextList texts) {
 
         this.unparsedTexts = texts;
+        updated();
     }
 
     /**
@@ -329,14 +439,14 @@ public class Tag implements Serializable {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Tag tag = (Tag) o;
-        return Objects.equals(name, tag.name)
-                && Objects.equals(value, tag.value)
+        return Objects.equals(getName(), tag.getName())
+                && Objects.equals(getValue(), tag.getValue())
                 && Objects.equals(unparsedTexts, tag.unparsedTexts);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, value, unparsedTexts);
+        return Objects.hash(getName(), getValue(), unparsedTexts);
     }
 
     /**
@@ -350,15 +460,17 @@ public class Tag implements Serializable {
     public boolean equalsIgnoreCR(Tag other) {
         if (other == null) return false;
         if (this == other) return true;
+        final String name = getName();
         if (name == null) {
-            if (other.name != null) return false;
-        } else if (!name.equals(other.name)) return false;
+            if (other.getName() != null) return false;
+        } else if (!name.equals(other.getName())) return false;
         if (unparsedTexts == null) {
             if (other.unparsedTexts != null) return false;
         } else if (!unparsedTexts.equals(other.unparsedTexts)) return false;
+        final String value = getValue();
         if (value == null) {
-            return other.value == null;
-        } else return Strings.CS.replace(value, "\r", "").equals(Strings.CS.replace(other.value, "\r", ""));
+            return other.getValue() == null;
+        } else return Strings.CS.replace(value, "\r", "").equals(Strings.CS.replace(other.getValue(), "\r", ""));
     }
 
     /**
@@ -369,7 +481,7 @@ public class Tag implements Serializable {
      */
     public int getNameAsInt() {
         try {
-            return Integer.parseInt(this.name);
+            return Integer.parseInt(getName());
         } catch (Exception unused) {
             return -1;
         }
@@ -382,7 +494,8 @@ public class Tag implements Serializable {
      * @return <code>true</code> if this tagname starts with the given number or <code>false</code> in any other case
      */
     public boolean isNumber(int n) {
-        return this.name != null && getNumber() != null && getNumber().equals(n);
+        final Integer number = getNumber();
+        return number != null && number == n;
     }
 
     /**
@@ -392,20 +505,32 @@ public class Tag implements Serializable {
      * @since 6.2
      */
     public Integer getNumber() {
-        if (this.name != null) {
-            final StringBuilder sb = new StringBuilder();
-            for (int i = 0; i < this.name.length(); i++) {
-                char c = this.name.charAt(i);
-                if (Character.isDigit(c)) {
-                    sb.append(c);
-                }
+        final String name = getName();
+        if (name == null) {
+            return null;
+        }
+        // the name is compared by reference, any rename or assignment of the protected field recomputes the number
+        TagNumber cached = this.number;
+        if (cached == null || cached.name != name) {
+            cached = new TagNumber(name, parseNumber(name));
+            this.number = cached;
+        }
+        return cached.number;
+    }
+
+    private static Integer parseNumber(final String name) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isDigit(c)) {
+                sb.append(c);
             }
-            if (sb.length() > 0) {
-                try {
-                    return Integer.parseInt(sb.toString());
-                } catch (NumberFormatException e) {
-                    return null;
-                }
+        }
+        if (sb.length() > 0) {
+            try {
+                return Integer.parseInt(sb.toString());
+            } catch (NumberFormatException e) {
+                return null;
             }
         }
         return null;
@@ -417,10 +542,11 @@ public class Tag implements Serializable {
      * @return a string containing only letter characters of the tagname or null if no letters are found
      */
     public String getLetterOption() {
-        if (this.name != null) {
+        final String name = getName();
+        if (name != null) {
             final StringBuilder sb = new StringBuilder();
-            for (int i = 0; i < this.name.length(); i++) {
-                char c = this.name.charAt(i);
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
                 if (Character.isLetter(c)) {
                     sb.append(c);
                 }
@@ -486,4 +612,17 @@ public class Tag implements Serializable {
     public Field asField() {
         return Field.getField(this);
     }
+
+    /**
+     * Immutable pair of a tag name and its parsed number
+     */
+    private static final class TagNumber {
+        private final String name;
+        private final Integer number;
+
+        private TagNumber(final String name, final Integer number) {
+            this.name = name;
+            this.number = number;
+        }
+    }
 }
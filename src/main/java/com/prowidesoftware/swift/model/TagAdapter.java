@@ -0,0 +1,99 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * Gson adapter for {@link Tag}, producing the same structure as the default reflective serialization but reading the
+ * name and value through the getters, so that tags with not yet materialized content are properly serialized.
+ *
+ * <p>The tag is written to and read from the JSON stream directly, without creating an intermediate JSON tree.
+ *
+ * @since 10.3.20
+ */
+public class TagAdapter extends TypeAdapter<Tag> {
+
+    private static final String NAME = "name";
+    private static final String VALUE = "value";
+    private static final String UNPARSED_TEXTS = "unparsedTexts";
+
+    /**
+     * Default reflective adapter for the unparsed texts, which have no custom JSON format
+     */
+    private static final TypeAdapter<UnparsedTextList> UNPARSED_TEXTS_ADAPTER =
+            new Gson().getAdapter(UnparsedTextList.class);
+
+    @Override
+    public void write(final JsonWriter out, final Tag tag) throws IOException {
+        if (tag == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        if (tag.getName() != null) {
+            out.name(NAME).value(tag.getName());
+        }
+        if (tag.getValue() != null) {
+            out.name(VALUE).value(tag.getValue());
+        }
+        if (tag.unparsedTexts != null) {
+            out.name(UNPARSED_TEXTS);
+            UNPARSED_TEXTS_ADAPTER.write(out, tag.unparsedTexts);
+        }
+        out.endObject();
+    }
+
+    @Override
+    public Tag read(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Tag tag = new Tag();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case NAME:
+                    tag.name = nextString(in);
+                    break;
+                case VALUE:
+                    tag.value = nextString(in);
+                    break;
+                case UNPARSED_TEXTS:
+                    tag.unparsedTexts = UNPARSED_TEXTS_ADAPTER.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return tag;
+    }
+
+    private static String nextString(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+}
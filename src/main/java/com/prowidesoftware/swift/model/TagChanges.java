@@ -0,0 +1,93 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model;
+
+/**
+ * Counters of the tag renames and value updates in the tag lists owned by {@link SwiftTagListBlock}, used to
+ * invalidate the block indexes.
+ *
+ * <p>Each owned tag list starts with its own counters and links every tag added to it. A tag can be contained in
+ * several lists, for example in a block and in the sub blocks read from it, so adding a tag that is already linked to
+ * other counters joins both: a change in the tag is then counted once for all the lists containing it. Joined counters
+ * form a tree and only its root holds the counts. Blocks without tags in common never share counters.
+ *
+ * <p>Like the rest of the block model, the counters are not synchronized.
+ *
+ * @since 10.3.20
+ */
+final class TagChanges {
+
+    /**
+     * The counters these were joined to, or null if these are a root
+     */
+    private TagChanges parent;
+
+    private int renames;
+    private int updates;
+
+    /**
+     * @return the counters holding the counts, compressing the path to them
+     */
+    TagChanges root() {
+        TagChanges root = this;
+        while (root.parent != null) {
+            root = root.parent;
+        }
+        TagChanges node = this;
+        while (node != root) {
+            final TagChanges next = node.parent;
+            node.parent = root;
+            node = next;
+        }
+        return root;
+    }
+
+    /**
+     * Joins these counters to the given ones, so that both count the same changes. The root of the given counters is
+     * kept, so indexes built on it are still valid.
+     *
+     * @param other the counters to join
+     */
+    void joinTo(final TagChanges other) {
+        final TagChanges root = root();
+        final TagChanges otherRoot = other.root();
+        if (root != otherRoot) {
+            root.parent = otherRoot;
+        }
+    }
+
+    void renamed() {
+        root().renames++;
+    }
+
+    void updated() {
+        root().updates++;
+    }
+
+    /**
+     * @return the renames counted by the root
+     */
+    int renames() {
+        return this.renames;
+    }
+
+    /**
+     * @return the value and unparsed texts updates counted by the root
+     */
+    int updates() {
+        return this.updates;
+    }
+}
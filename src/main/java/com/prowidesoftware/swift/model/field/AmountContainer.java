@@ -15,6 +15,7 @@
  */
 package com.prowidesoftware.swift.model.field;
 
+import com.prowidesoftware.swift.model.ScaledAmount;
 import java.math.BigDecimal;
 
 /**
@@ -29,4 +30,15 @@ public interface AmountContainer extends PatternContainer {
      * @return first amount
      */
     BigDecimal amount();
+
+    /**
+     * Get the first amount in this field as an unscaled long and a scale, without creating a BigDecimal for plain
+     * amounts.
+     *
+     * @return first amount or null if the field has no valid amount
+     * @since 10.3.20
+     */
+    default ScaledAmount scaledAmount() {
+        return AmountResolver.scaledAmount((Field) this);
+    }
 }
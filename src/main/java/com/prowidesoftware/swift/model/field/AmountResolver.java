@@ -15,6 +15,7 @@
  */
 package com.prowidesoftware.swift.model.field;
 
+import com.prowidesoftware.swift.model.ScaledAmount;
 import com.prowidesoftware.swift.utils.ResolverUtils;
 import com.prowidesoftware.swift.utils.SwiftFormatUtils;
 import java.math.BigDecimal;
@@ -84,4 +85,37 @@ public class AmountResolver {
         }
         return null;
     }
+
+    /**
+     * Gets the amounts of the given field as {@link ScaledAmount}, from the same components as
+     * {@link #amounts(Field)}. Plain amounts are parsed directly into a long value and a scale.
+     *
+     * @param f the field where to extract the amounts, must not be null
+     * @return the amounts found in the numeric components or an empty list if none is found. Missing or invalid
+     * numeric components are not included in the result list.
+     * @since 10.3.20
+     */
+    public static List<ScaledAmount> scaledAmounts(final Field f) {
+        Objects.requireNonNull(f);
+        List<String> values = ResolverUtils.findNonNullWantedType(f.typesPattern(), 'I', f.getComponents());
+        return values.stream()
+                .map(ScaledAmount::parse)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the first amount of the given field as {@link ScaledAmount}, from the same component as
+     * {@link #amount(Field)}.
+     *
+     * @param f the field where to extract the amount, must not be null
+     * @return the amount found in the first numeric component or null if there is no numeric component in the field
+     * or it cannot be parsed
+     * @since 10.3.20
+     */
+    public static ScaledAmount scaledAmount(final Field f) {
+        Objects.requireNonNull(f);
+        String value = ResolverUtils.findFirstWantedType(f.typesPattern(), 'I', f.getComponents());
+        return value != null ? ScaledAmount.parse(value) : null;
+    }
 }
@@ -15,6 +15,7 @@
  */
 package com.prowidesoftware.swift.model.field;
 
+import java.time.LocalDate;
 import java.util.Calendar;
 import java.util.List;
 
@@ -34,4 +35,14 @@ public interface DateContainer extends PatternContainer {
      * @return found dates or empty list
      */
     List<Calendar> dates();
+
+    /**
+     * Get a LocalDate for every date found, parsed without creating Calendar instances
+     *
+     * @return found dates or empty list
+     * @since 10.3.20
+     */
+    default List<LocalDate> localDates() {
+        return DateResolver.localDates((Field) this);
+    }
 }
@@ -2,6 +2,9 @@ package com.prowidesoftware.swift.model.field;
 
 import com.prowidesoftware.swift.utils.ResolverUtils;
 import com.prowidesoftware.swift.utils.SwiftFormatUtils;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Objects;
@@ -9,6 +12,8 @@ import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
 
 public class DateResolver {
+    private static final String DATE_TYPES = "DEFYAUPJ";
+    private static final String TIME_TYPES = "AUPTHWOQ";
 
     /**
      * Gets the dates of the given field by reading it's components pattern.
@@ -84,4 +89,146 @@ public class DateResolver {
 
         return null;
     }
+
+    /**
+     * Gets the dates of the given field as LocalDate, with the same components and order than {@link #dates(Field)}.
+     * Components with date and time only contribute their date part.
+     *
+     * @param f the field where to extract the dates, must not be null
+     * @return a list with the dates found in the dates components or an empty list if none is found. Missing or
+     * invalid dates components are returned as null.
+     * @since 10.3.20
+     */
+    public static List<LocalDate> localDates(final Field f) {
+        Objects.requireNonNull(f);
+        final String types = f.typesPattern();
+        final List<LocalDate> result = new ArrayList<>();
+        for (int i = 0; i < types.length(); i++) {
+            if (DATE_TYPES.indexOf(types.charAt(i)) >= 0) {
+                result.add(localDate(types.charAt(i), f.getComponent(i + 1)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the first date of the given field as LocalDate, same as {@link #date(Field)}.
+     *
+     * @param f the field where to extract the date, must not be null
+     * @return the date found in the first date component or null if there is no date component in the field or the
+     * date is not valid
+     * @since 10.3.20
+     */
+    public static LocalDate localDate(final Field f) {
+        Objects.requireNonNull(f);
+        final String types = f.typesPattern();
+        for (int i = 0; i < types.length(); i++) {
+            if (DATE_TYPES.indexOf(types.charAt(i)) >= 0) {
+                return localDate(types.charAt(i), f.getComponent(i + 1));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Converts a component value into a LocalDateTime, based on the component type letter.
+     * Date components are returned at the start of the day and time components at 1970-01-01. The DAYTIME (DDHHMM)
+     * is set in January 1970 and the MONTHDAY (MMDD) in the current year, as done for the Calendar conversions.
+     *
+     * @param type  component type letter, see {@link Field#typesPattern()}
+     * @param value component value
+     * @return the converted value or null if the type is not a date or time, or the value cannot be converted
+     * @since 10.3.20
+     */
+    public static LocalDateTime localDateTime(final char type, final String value) {
+        if (value == null) {
+            return null;
+        }
+        switch (type) {
+            case 'D':
+                return SwiftFormatUtils.getLocalDateTime(value, "yyyyMMdd");
+            case 'E':
+                return SwiftFormatUtils.getLocalDateTime(value, "yyMMdd");
+            case 'F':
+            case 'J':
+                return SwiftFormatUtils.getLocalDateTime(LocalDate.now().getYear() + value, "yyyyMMdd");
+            case 'Y':
+                return SwiftFormatUtils.getLocalDateTime(value, "yyyy");
+            case 'A':
+                return SwiftFormatUtils.getLocalDateTime(value, "yyyyMMddHHmm");
+            case 'U':
+                return SwiftFormatUtils.getLocalDateTime(value, "yyMMddHHmm");
+            case 'P':
+                return SwiftFormatUtils.getLocalDateTime(value, "ddHHmm");
+            case 'T':
+                return SwiftFormatUtils.getLocalDateTime(value, "HHmmss");
+            case 'H':
+            case 'W':
+            case 'O':
+            case 'Q':
+                return SwiftFormatUtils.getLocalDateTime(value, value.length() == 2 ? "HH" : "HHmm");
+        }
+        return null;
+    }
+
+    /**
+     * Formats a date and time into a component value, based on the component type letter.
+     *
+     * @param type     component type letter, see {@link Field#typesPattern()}
+     * @param dateTime the date and time to format
+     * @return the formatted value or null if the type is not a date or time or the argument is null
+     * @since 10.3.20
+     */
+    public static String format(final char type, final LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return null;
+        }
+        switch (type) {
+            case 'D':
+                return SwiftFormatUtils.formatDigits(dateTime, "yyyyMMdd");
+            case 'E':
+                return SwiftFormatUtils.formatDigits(dateTime, "yyMMdd");
+            case 'F':
+            case 'J':
+                return SwiftFormatUtils.formatDigits(dateTime, "MMdd");
+            case 'Y':
+                return SwiftFormatUtils.formatDigits(dateTime, "yyyy");
+            case 'A':
+                return SwiftFormatUtils.formatDigits(dateTime, "yyyyMMddHHmm");
+            case 'U':
+                return SwiftFormatUtils.formatDigits(dateTime, "yyMMddHHmm");
+            case 'P':
+                return SwiftFormatUtils.formatDigits(dateTime, "ddHHmm");
+            case 'T':
+                return SwiftFormatUtils.formatDigits(dateTime, "HHmmss");
+            case 'H':
+            case 'W':
+            case 'O':
+                return SwiftFormatUtils.formatDigits(dateTime, "HHmm");
+            case 'Q':
+                return SwiftFormatUtils.formatDigits(dateTime, "HH");
+        }
+        return null;
+    }
+
+    /**
+     * @return true if the component type letter is a date, with or without time
+     * @since 10.3.20
+     */
+    public static boolean isDate(final char type) {
+        return DATE_TYPES.indexOf(type) >= 0;
+    }
+
+    /**
+     * @return true if the component type letter is a time, with or without date
+     * @since 10.3.20
+     */
+    public static boolean isTime(final char type) {
+        return TIME_TYPES.indexOf(type) >= 0;
+    }
+
+    private static LocalDate localDate(final char type, final String value) {
+        final LocalDateTime dateTime = localDateTime(type, value);
+        return dateTime != null ? dateTime.toLocalDate() : null;
+    }
 }
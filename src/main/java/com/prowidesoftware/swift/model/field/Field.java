@@ -15,20 +15,22 @@
  */
 package com.prowidesoftware.swift.model.field;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.prowidesoftware.JsonSerializable;
 import com.prowidesoftware.swift.io.writer.FINWriterVisitor;
 import com.prowidesoftware.swift.model.BIC;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.SwiftTagListBlock;
 import com.prowidesoftware.swift.model.Tag;
 import com.prowidesoftware.swift.utils.SwiftFormatUtils;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.*;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
@@ -179,7 +181,7 @@ public abstract class Field implements PatternContainer, JsonSerializable {
     }
 
     /**
-     * Creates a Field instance for the given Tag object, using reflection.
+     * Creates a Field instance for the given Tag object.
      * The created object is populated with parsed components data from the Tag.
      *
      * @param t a tag with proper name and value content
@@ -190,7 +192,9 @@ public abstract class Field implements PatternContainer, JsonSerializable {
     }
 
     /**
-     * Creates a Field instance for the given it's name and and optional value, using reflection.
+     * Creates a Field instance for the given it's name and and optional value.
+     *
+     * <p>The field classes are resolved once per field name and cached, see {@link FieldFactory}.
      *
      * @param name  a proper field name, ex: 32A, 22F, 20
      * @param value an optional field value or null to create the field with no initial content
@@ -198,23 +202,7 @@ public abstract class Field implements PatternContainer, JsonSerializable {
      * @since 7.8
      */
     public static Field getField(final String name, final String value) {
-        Object r = null;
-        try {
-            final Class<?> c = Class.forName("com.prowidesoftware.swift.model.field.Field" + name);
-            @SuppressWarnings("rawtypes")
-            final Class[] argsClass = {String.class};
-            @SuppressWarnings("rawtypes")
-            final Constructor ct = c.getConstructor(argsClass);
-            final Object[] arglist = {value};
-            r = ct.newInstance(arglist);
-        } catch (final ClassNotFoundException e) {
-            log.warning(
-                    "Field class for Field" + name
-                            + " not found. This is normally caused by an unrecognized field in the message or a malformed message block structure.");
-        } catch (final Exception e) {
-            log.log(Level.WARNING, "An error occurred while creating an instance of " + name, e);
-        }
-        return (Field) r;
+        return FieldFactory.create(name, value);
     }
 
     /**
@@ -266,85 +254,53 @@ public abstract class Field implements PatternContainer, JsonSerializable {
 
     private static String _getLabel(
             final String fieldName, final String mt, final String sequence, final Locale locale, final String prop) {
-        final String bundle = "pw_swift_labels";
-        String key = null;
-        String result = null;
-        // try {
-        final ResourceBundle labels = ResourceBundle.getBundle(bundle, locale);
-        if (labels != null) {
-            if (sequence != null && mt != null) {
-                /*
-                 * sequence + mt
-                 */
-                key = "field" + fieldName + "[" + mt + "][" + sequence + "]." + prop;
-                result = getString(labels, key);
-                if (result == null) {
-                    /*
-                     * sequence + mt + generic letter option
-                     */
-                    key = "field" + getNumber(fieldName) + "a[" + mt + "][" + sequence + "]." + prop;
-                    result = getString(labels, key);
-                }
-            }
-            if (result == null && mt != null) {
-                /*
-                 * mt only
-                 */
-                key = "field" + fieldName + "[" + mt + "]." + prop;
-                result = getString(labels, key);
-                if (result == null) {
-                    /*
-                     * mt + generic letter option
-                     */
-                    key = "field" + getNumber(fieldName) + "a[" + mt + "]." + prop;
-                    result = getString(labels, key);
-                }
-            }
-            if (result == null) {
-                /*
-                 * tag only
-                 */
-                key = "field" + fieldName + "." + prop;
-                result = getString(labels, key);
-                if (result == null) {
-                    /*
-                     * tag + generic letter option
-                     */
-                    key = "field" + getNumber(fieldName) + "a." + prop;
-                    result = getString(labels, key);
-                }
-            }
-            if (result == null) {
-                /*
-                 * number only
-                 */
-                key = "field" + getNumber(fieldName) + "." + prop;
-                result = getString(labels, key);
-            }
-        }
-        // } catch (MissingResourceException e) {
-        //    e.printStackTrace();
-        // }
-        if (result != null) {
-            return result;
+        return FieldLabels.of(locale).label(fieldName, mt, sequence, prop);
+    }
+
+    /**
+     * Returns the label of each field in the message block 4, in the same order as the fields appear in the block.
+     *
+     * <p>The message type is taken from the message and no sequence is set. This is more efficient than calling
+     * {@link #getLabel(String, String, String, Locale)} for each field since the labels index for the locale is resolved
+     * once.
+     *
+     * @param msg    the message to describe
+     * @param locale the locale for which a resource bundle is desired
+     * @return a list with the label of each field, or an empty list if the message has no block 4
+     * @since 10.3.20
+     */
+    public static List<String> getLabels(final SwiftMessage msg, final Locale locale) {
+        if (msg == null || msg.getBlock4() == null) {
+            return new ArrayList<>();
         }
-        return key;
+        return getLabels(msg.getBlock4(), msg.getType(), null, locale);
     }
 
     /**
-     * Helper implementation of getString from bundle without throwing exception
+     * Returns the label of each field in the block, in the same order as the fields appear in the block.
      *
-     * @return the found resource or null if not found for the given key
-     */
-    private static String getString(final ResourceBundle labels, final String key) {
-        try {
-            return labels.getString(key);
-        } catch (final MissingResourceException ignored) {
-            return null;
+     * <p>The block can be a whole block 4 or a sequence, for example one obtained from the MT specific sequence
+     * getters, in which case the sequence name can be provided for the sequence specific labels.
+     *
+     * @param block    the fields to describe
+     * @param mt       optional indication of message type or null
+     * @param sequence optional indication of sequence or null
+     * @param locale   the locale for which a resource bundle is desired
+     * @return a list with the label of each field
+     * @see #getLabel(String, String, String, Locale)
+     * @since 10.3.20
+     */
+    public static List<String> getLabels(
+            final SwiftTagListBlock block, final String mt, final String sequence, final Locale locale) {
+        final FieldLabels labels = FieldLabels.of(locale);
+        final List<String> result = new ArrayList<>(block.size());
+        for (final Tag tag : block.getTags()) {
+            result.add(labels.label(tag.getName(), mt, sequence, "name"));
         }
+        return result;
     }
 
-    private static String getNumber(final String fieldName) {
+    static String getNumber(final String fieldName) {
         if (fieldName != null) {
             final StringBuilder sb = new StringBuilder();
             for (int i = 0; i < fieldName.length(); i++) {
@@ -412,18 +368,7 @@ public abstract class Field implements PatternContainer, JsonSerializable {
                                 + "]. The field name must start with 2 or 3 numeric digits and can optionally end with a single capital letter.");
                 return null;
             }
-            try {
-                final Class<?> c = Class.forName("com.prowidesoftware.swift.model.field.Field" + name);
-                Method method = c.getMethod("fromJson", String.class);
-                return (Field) method.invoke(null, json);
-            } catch (final ClassNotFoundException e) {
-                log.warning(
-                        "Field class for Field" + name
-                                + " not found. This is normally caused by an unrecognized field in the message or a malformed message block structure.");
-            } catch (final Exception e) {
-                log.log(Level.WARNING, "An error occured while creating an instance of " + name, e);
-            }
-            return null;
+            return FieldFactory.fromJson(name, json);
         }
         return null;
     }
@@ -724,6 +669,15 @@ public abstract class Field implements PatternContainer, JsonSerializable {
             } else if (c.equals(Long.class)) {
                 return Long.valueOf(s);
 
+            } else if (c.equals(LocalDate.class)) {
+                return getComponentAsLocalDate(component);
+
+            } else if (c.equals(LocalTime.class)) {
+                return getComponentAsLocalTime(component);
+
+            } else if (c.equals(LocalDateTime.class)) {
+                return getComponentAsLocalDateTime(component);
+
             } else {
                 throw new IllegalArgumentException("Can't handle " + c.getName());
             }
@@ -754,6 +708,112 @@ public abstract class Field implements PatternContainer, JsonSerializable {
         return (Number) getComponentAs(component, Number.class);
     }
 
+    /**
+     * Get the given date component as LocalDate, without creating a Calendar.
+     * Components with date and time return their date part.
+     *
+     * @param component one-based index of the component to retrieve
+     * @return the converted date or null if the component is not a date, it is not present or cannot be converted
+     * @see DateResolver#localDateTime(char, String)
+     * @since 10.3.20
+     */
+    public LocalDate getComponentAsLocalDate(final int component) {
+        final char type = componentType(component);
+        if (DateResolver.isDate(type)) {
+            final LocalDateTime dateTime = DateResolver.localDateTime(type, getComponent(component));
+            return dateTime != null ? dateTime.toLocalDate() : null;
+        }
+        return null;
+    }
+
+    /**
+     * Get the given time component as LocalTime, without creating a Calendar.
+     * Components with date and time return their time part.
+     *
+     * @param component one-based index of the component to retrieve
+     * @return the converted time or null if the component is not a time, it is not present or cannot be converted
+     * @see DateResolver#localDateTime(char, String)
+     * @since 10.3.20
+     */
+    public LocalTime getComponentAsLocalTime(final int component) {
+        final char type = componentType(component);
+        if (DateResolver.isTime(type)) {
+            final LocalDateTime dateTime = DateResolver.localDateTime(type, getComponent(component));
+            return dateTime != null ? dateTime.toLocalTime() : null;
+        }
+        return null;
+    }
+
+    /**
+     * Get the given date or time component as LocalDateTime, without creating a Calendar.
+     *
+     * @param component one-based index of the component to retrieve
+     * @return the converted value or null if the component is not a date or time, it is not present or cannot be
+     * converted
+     * @see DateResolver#localDateTime(char, String)
+     * @since 10.3.20
+     */
+    public LocalDateTime getComponentAsLocalDateTime(final int component) {
+        return DateResolver.localDateTime(componentType(component), getComponent(component));
+    }
+
+    /**
+     * Sets a date component from a LocalDate, formatted with the component date format.
+     * Components with date and time are set at the start of the day.
+     *
+     * @param component one-based index of the component to set
+     * @param date      the date to set, null to remove the component value
+     * @throws IllegalArgumentException if the component is not a date
+     * @since 10.3.20
+     */
+    public void setComponentAs(final int component, final LocalDate date) {
+        final char type = componentType(component);
+        Validate.isTrue(
+                DateResolver.isDate(type), "component " + component + " of field " + getName() + " is not a date");
+        setComponent(component, date != null ? DateResolver.format(type, date.atStartOfDay()) : null);
+    }
+
+    /**
+     * Sets a time component from a LocalTime, formatted with the component time format.
+     *
+     * @param component one-based index of the component to set
+     * @param time      the time to set, null to remove the component value
+     * @throws IllegalArgumentException if the component is not a time without date
+     * @since 10.3.20
+     */
+    public void setComponentAs(final int component, final LocalTime time) {
+        final char type = componentType(component);
+        Validate.isTrue(
+                DateResolver.isTime(type) && !DateResolver.isDate(type),
+                "component " + component + " of field " + getName() + " is not a time");
+        setComponent(component, time != null ? DateResolver.format(type, time.atDate(LocalDate.EPOCH)) : null);
+    }
+
+    /**
+     * Sets a date or time component from a LocalDateTime, formatted with the component format. Only the date or
+     * time part is used for components having just a date or a time.
+     *
+     * @param component one-based index of the component to set
+     * @param dateTime  the date and time to set, null to remove the component value
+     * @throws IllegalArgumentException if the component is not a date or time
+     * @since 10.3.20
+     */
+    public void setComponentAs(final int component, final LocalDateTime dateTime) {
+        final char type = componentType(component);
+        Validate.isTrue(
+                DateResolver.isDate(type) || DateResolver.isTime(type),
+                "component " + component + " of field " + getName() + " is not a date or time");
+        setComponent(component, DateResolver.format(type, dateTime));
+    }
+
+    /**
+     * @return the component type letter from the types pattern or a blank if the component number is out of range
+     */
+    private char componentType(final int component) {
+        final String types = typesPattern();
+        return component > 0 && types != null && component <= types.length() ? types.charAt(component - 1) : ' ';
+    }
+
     /**
      * Returns a string with joined components values.
      *
@@ -1301,7 +1361,6 @@ public abstract class Field implements PatternContainer, JsonSerializable {
 
     String toNarrativeFormat() {
         Narrative narrative = ((StructuredNarrativeField) this).narrative();
-        Gson gson = new Gson();
-        return gson.toJson(narrative);
+        return NarrativeContainerJsonUtils.GSON.toJson(narrative);
     }
 }
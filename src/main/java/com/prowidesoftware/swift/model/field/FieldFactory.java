@@ -0,0 +1,183 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model.field;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of the specific field classes by field name, used by {@link Field#getField(String, String)} and
+ * {@link Field#fromJson(String)}.
+ *
+ * <p>The first lookup of each field name loads its class and binds its String constructor and its static fromJson
+ * method to {@link Function} instances; subsequent lookups just call the functions, without reflection. Names without
+ * a field class are cached as well, so the class loading is not attempted again.
+ *
+ * @since 10.3.20
+ */
+final class FieldFactory {
+    private static final Logger log = Logger.getLogger(FieldFactory.class.getName());
+
+    private static final Pattern FIELD_NAME_PATTERN = Pattern.compile("^\\d{2,3}[A-Z]?$");
+
+    private static final Entry UNKNOWN = new Entry(null, null);
+
+    private static final Map<String, Entry> registry = new ConcurrentHashMap<>();
+
+    // Suppress default constructor for noninstantiability
+    private FieldFactory() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Creates a field calling its String constructor.
+     *
+     * @param name  a proper field name, ex: 32A, 22F, 20
+     * @param value the field value, may be null
+     * @return the created field or null if the name has no field class or the constructor fails
+     */
+    static Field create(final String name, final String value) {
+        final Entry entry = lookup(name);
+        if (entry.constructor == null) {
+            return null;
+        }
+        try {
+            return entry.constructor.apply(value);
+        } catch (final Exception e) {
+            log.log(Level.WARNING, "An error occurred while creating an instance of " + name, e);
+            return null;
+        }
+    }
+
+    /**
+     * Creates a field calling its static fromJson method.
+     *
+     * @param name  a proper field name, ex: 32A, 22F, 20
+     * @param json  the field JSON representation
+     * @return the created field or null if the name has no field class or the JSON cannot be read
+     */
+    static Field fromJson(final String name, final String json) {
+        final Entry entry = lookup(name);
+        if (entry.fromJson == null) {
+            return null;
+        }
+        try {
+            return entry.fromJson.apply(json);
+        } catch (final Exception e) {
+            log.log(Level.WARNING, "An error occurred while creating an instance of " + name, e);
+            return null;
+        }
+    }
+
+    private static Entry lookup(final String name) {
+        Entry entry = name != null ? registry.get(name) : null;
+        if (entry == null) {
+            if (name == null || !FIELD_NAME_PATTERN.matcher(name).matches()) {
+                // not a field name, not cached to keep the registry bounded
+                warnNotFound(name);
+                return UNKNOWN;
+            }
+            entry = load(name);
+            final Entry previous = registry.putIfAbsent(name, entry);
+            if (previous != null) {
+                entry = previous;
+            } else if (entry == UNKNOWN) {
+                warnNotFound(name);
+            }
+        } else if (entry == UNKNOWN && log.isLoggable(Level.FINE)) {
+            log.fine("Field class for Field" + name + " not found");
+        }
+        return entry;
+    }
+
+    private static void warnNotFound(final String name) {
+        log.warning("Field class for Field" + name
+                + " not found. This is normally caused by an unrecognized field in the message or a malformed message block structure.");
+    }
+
+    private static Entry load(final String name) {
+        final Class<?> c;
+        try {
+            c = Class.forName(Field.class.getPackage().getName() + ".Field" + name);
+        } catch (final ClassNotFoundException e) {
+            return UNKNOWN;
+        }
+        if (!Field.class.isAssignableFrom(c)) {
+            return UNKNOWN;
+        }
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Function<String, Field> constructor = null;
+        Function<String, Field> fromJson = null;
+        try {
+            constructor = function(lookup, lookup.findConstructor(c, MethodType.methodType(void.class, String.class)));
+        } catch (final ReflectiveOperationException e) {
+            log.log(Level.WARNING, "Field" + name + " has no accessible String constructor", e);
+        }
+        try {
+            fromJson = function(lookup, lookup.findStatic(c, "fromJson", MethodType.methodType(c, String.class)));
+        } catch (final ReflectiveOperationException e) {
+            log.log(Level.WARNING, "Field" + name + " has no accessible fromJson method", e);
+        }
+        return new Entry(constructor, fromJson);
+    }
+
+    /**
+     * Binds a method handle taking a String and returning a field to a {@link Function}
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<String, Field> function(final MethodHandles.Lookup lookup, final MethodHandle handle) {
+        try {
+            final CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    handle.type());
+            return (Function<String, Field>) site.getTarget().invoke();
+        } catch (final Throwable e) {
+            // fallback to the method handle invocation
+            return value -> {
+                try {
+                    return (Field) handle.invoke(value);
+                } catch (final RuntimeException | Error ex) {
+                    throw ex;
+                } catch (final Throwable ex) {
+                    throw new IllegalStateException(ex);
+                }
+            };
+        }
+    }
+
+    private static final class Entry {
+        private final Function<String, Field> constructor;
+        private final Function<String, Field> fromJson;
+
+        private Entry(final Function<String, Field> constructor, final Function<String, Field> fromJson) {
+            this.constructor = constructor;
+            this.fromJson = fromJson;
+        }
+    }
+}
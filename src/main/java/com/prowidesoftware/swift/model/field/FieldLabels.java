@@ -0,0 +1,230 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model.field;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the field labels in the pw_swift_labels resource bundle, used by {@link Field#getLabel(String, String,
+ * String, Locale)} and {@link Field#getLabelComponents(String, String, String, Locale)}.
+ *
+ * <p>The bundle keys with the form <code>field&lt;name&gt;[&lt;mt&gt;][&lt;sequence&gt;].&lt;property&gt;</code> are
+ * read once per locale into nested maps by property, field name, message type and sequence. Then, for each field name,
+ * the entries for the name itself, for its generic letter option and for its number are resolved once and cached, so
+ * a label lookup is a few map reads with the original fallback order and no key building.
+ *
+ * <p>The index for a locale is rebuilt if the default locale changes, because the bundle resolved for a locale without
+ * its own properties file depends on the default locale.
+ *
+ * @since 10.3.20
+ */
+final class FieldLabels {
+    private static final String BUNDLE = "pw_swift_labels";
+
+    private static final Labels NONE = new Labels();
+
+    private static final Map<Locale, FieldLabels> cache = new ConcurrentHashMap<>();
+
+    private final Locale defaultLocale;
+    private final Map<String, Property> properties = new ConcurrentHashMap<>();
+
+    private FieldLabels(final ResourceBundle bundle, final Locale defaultLocale) {
+        this.defaultLocale = defaultLocale;
+        final Map<String, Map<String, Labels>> index = new HashMap<>();
+        for (final String key : bundle.keySet()) {
+            if (key.startsWith("field")) {
+                add(index, key, bundle.getString(key));
+            }
+        }
+        for (final Map.Entry<String, Map<String, Labels>> e : index.entrySet()) {
+            this.properties.put(e.getKey(), new Property(e.getKey(), e.getValue()));
+        }
+    }
+
+    /**
+     * Gets the labels index for the locale, reading the resource bundle on the first call.
+     *
+     * @param locale the locale for which a resource bundle is desired
+     * @return the labels index
+     * @throws java.util.MissingResourceException if no resource bundle is found for the locale
+     */
+    static FieldLabels of(final Locale locale) {
+        final Locale defaultLocale = Locale.getDefault();
+        FieldLabels labels = cache.get(locale);
+        if (labels == null || !labels.defaultLocale.equals(defaultLocale)) {
+            labels = new FieldLabels(ResourceBundle.getBundle(BUNDLE, locale), defaultLocale);
+            cache.put(locale, labels);
+        }
+        return labels;
+    }
+
+    /**
+     * Resolves a label checking the bundle entries in the order documented in {@link Field#getLabel(String, String,
+     * String, Locale)}.
+     *
+     * @param fieldName field name, with or without letter option
+     * @param mt        optional message type or null
+     * @param sequence  optional sequence or null, only used if the message type is present
+     * @param prop      the property, such as "name" or "components"
+     * @return the label found or the last bundle key checked if none is found
+     */
+    String label(final String fieldName, final String mt, final String sequence, final String prop) {
+        final Chain chain = this.properties
+                .computeIfAbsent(prop, p -> new Property(p, Collections.emptyMap()))
+                .chain(String.valueOf(fieldName));
+        String result = null;
+        if (sequence != null && mt != null) {
+            result = chain.exact.get(mt, sequence);
+            if (result == null) {
+                result = chain.generic.get(mt, sequence);
+            }
+        }
+        if (result == null && mt != null) {
+            result = chain.exact.get(mt);
+            if (result == null) {
+                result = chain.generic.get(mt);
+            }
+        }
+        if (result == null) {
+            result = chain.exact.label != null ? chain.exact.label : chain.generic.label;
+        }
+        if (result == null) {
+            result = chain.number.label;
+        }
+        return result != null ? result : chain.missing;
+    }
+
+    /**
+     * Splits a bundle key into its field name, message type, sequence and property and adds the value to the index.
+     * Keys with a different structure are ignored since they cannot match any label lookup.
+     */
+    private static void add(final Map<String, Map<String, Labels>> index, final String key, final String value) {
+        int pos = "field".length();
+        int end = pos;
+        while (end < key.length() && key.charAt(end) != '[' && key.charAt(end) != '.') {
+            end++;
+        }
+        final String name = key.substring(pos, end);
+        String mt = null;
+        String sequence = null;
+        if (end < key.length() && key.charAt(end) == '[') {
+            pos = end + 1;
+            end = key.indexOf(']', pos);
+            if (end < 0) {
+                return;
+            }
+            mt = key.substring(pos, end++);
+            if (end < key.length() && key.charAt(end) == '[') {
+                pos = end + 1;
+                end = key.indexOf(']', pos);
+                if (end < 0) {
+                    return;
+                }
+                sequence = key.substring(pos, end++);
+            }
+        }
+        if (end >= key.length() || key.charAt(end) != '.') {
+            return;
+        }
+        final String prop = key.substring(end + 1);
+        final Labels labels =
+                index.computeIfAbsent(prop, k -> new HashMap<>()).computeIfAbsent(name, k -> new Labels());
+        if (mt == null) {
+            labels.label = value;
+        } else if (sequence == null) {
+            labels.byMt.put(mt, value);
+        } else {
+            labels.byMtAndSequence
+                    .computeIfAbsent(mt, k -> new HashMap<>())
+                    .put(sequence, value);
+        }
+    }
+
+    /**
+     * Labels of one property
+     */
+    private static final class Property {
+        private final String name;
+        private final Map<String, Labels> fields;
+        private final Map<String, Chain> chains = new ConcurrentHashMap<>();
+
+        private Property(final String name, final Map<String, Labels> fields) {
+            this.name = name;
+            this.fields = fields;
+        }
+
+        private Chain chain(final String fieldName) {
+            Chain chain = this.chains.get(fieldName);
+            if (chain == null) {
+                final String number = Field.getNumber(fieldName);
+                chain = new Chain(
+                        this.fields.getOrDefault(fieldName, NONE),
+                        this.fields.getOrDefault(number + "a", NONE),
+                        this.fields.getOrDefault(number, NONE),
+                        "field" + number + "." + this.name);
+                if (this.fields.containsKey(fieldName) || Field.validName(fieldName)) {
+                    // arbitrary names are resolved on each call to keep the cache bounded
+                    this.chains.putIfAbsent(fieldName, chain);
+                }
+            }
+            return chain;
+        }
+    }
+
+    /**
+     * Labels of one field name, number or generic letter option, by message type and sequence
+     */
+    private static final class Labels {
+        private final Map<String, String> byMt = new HashMap<>();
+        private final Map<String, Map<String, String>> byMtAndSequence = new HashMap<>();
+        private String label;
+
+        private String get(final String mt) {
+            return this.byMt.get(mt);
+        }
+
+        private String get(final String mt, final String sequence) {
+            final Map<String, String> bySequence = this.byMtAndSequence.get(mt);
+            return bySequence != null ? bySequence.get(sequence) : null;
+        }
+    }
+
+    /**
+     * The labels checked for a field name, in order
+     */
+    private static final class Chain {
+        private final Labels exact;
+        private final Labels generic;
+        private final Labels number;
+
+        /**
+         * The last key checked, returned when no label is found
+         */
+        private final String missing;
+
+        private Chain(final Labels exact, final Labels generic, final Labels number, final String missing) {
+            this.exact = exact;
+            this.generic = generic;
+            this.number = number;
+            this.missing = missing;
+        }
+    }
+}
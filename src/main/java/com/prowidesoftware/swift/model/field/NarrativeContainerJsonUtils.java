@@ -16,8 +16,8 @@
 package com.prowidesoftware.swift.model.field;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.prowidesoftware.swift.io.writer.FINWriterVisitor;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -31,6 +31,11 @@ class NarrativeContainerJsonUtils {
 
     static Pattern NARRATIVE_PATTERN = Pattern.compile("[\"|']narrative([0-9]*)[\"|']");
 
+    /**
+     * Shared Gson for the narrative conversions, created once since Gson instances are thread safe
+     */
+    static final Gson GSON = new Gson();
+
     static void fromJson(JsonObject jsonObject, String json, StructuredNarrativeField field) {
         if (jsonObject.get("narrative") != null) {
             int numberOfNarrativesInJson = countNarrativesInJson(json);
@@ -41,14 +46,14 @@ class NarrativeContainerJsonUtils {
             }
         } else {
             if (jsonObject.get("structured") != null) {
-                Narrative narrative = new Gson().fromJson(jsonObject, Narrative.class);
+                Narrative narrative = GSON.fromJson(jsonObject, Narrative.class);
                 field.setNarrative(narrative);
             }
         }
     }
 
     private static String groupNarratives(String json, int numberOfNarrativesInJson) {
-        JsonObject jsonObj = new Gson().fromJson(json, JsonElement.class).getAsJsonObject();
+        JsonObject jsonObj = JsonParser.parseString(json).getAsJsonObject();
         StringBuilder sb = new StringBuilder(jsonObj.get("narrative").getAsString());
         for (int i = 2; i <= numberOfNarrativesInJson; i++) {
             String currentNarrativeValue = jsonObj.get("narrative" + i).getAsString();
@@ -26,7 +26,7 @@ import com.prowidesoftware.swift.model.*;
 import com.prowidesoftware.swift.model.field.Field;
 import com.prowidesoftware.swift.utils.Lib;
 import java.io.*;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -44,6 +44,8 @@ import org.apache.commons.lang3.StringUtils;
 public abstract class AbstractMT extends AbstractMessage implements JsonSerializable {
     private static final transient Logger log = Logger.getLogger(AbstractMT.class.getName());
     private static final String GETSEQUENCE = "getSequence";
+    private static final Gson GSON = jsonBuilder().create();
+    private static final Gson GSON_PRETTY = jsonBuilder().setPrettyPrinting().create();
     /**
      * The internal swift message.
      */
@@ -124,7 +126,7 @@ public abstract class AbstractMT extends AbstractMessage implements JsonSerializ
      * @since 7.7
      */
     public static AbstractMT parse(final String fin) throws IOException {
-        return new SwiftParser(fin).message().toMT();
+        return SwiftParser.parseMessage(fin).toMT();
     }
 
     /**
@@ -150,7 +152,7 @@ public abstract class AbstractMT extends AbstractMessage implements JsonSerializ
      * @since 7.7
      */
     public static AbstractMT parse(final File file) throws IOException {
-        return new SwiftParser(Lib.readFile(file)).message().toMT();
+        return SwiftParser.parseMessage(Lib.readFile(file)).toMT();
     }
 
     /**
@@ -245,11 +247,13 @@ public abstract class AbstractMT extends AbstractMessage implements JsonSerializ
      * @since 7.10.3
      */
     public static AbstractMT fromJson(String json) {
-        final Gson gson = new GsonBuilder()
+        return GSON.fromJson(json, AbstractMT.class);
+    }
+
+    private static GsonBuilder jsonBuilder() {
+        return new GsonBuilder()
                 .registerTypeAdapter(AbstractMT.class, new AbstractMTAdapter())
-                .registerTypeAdapter(SwiftBlock2.class, new SwiftBlock2Adapter())
-                .create();
-        return gson.fromJson(json, AbstractMT.class);
+                .registerTypeAdapter(SwiftBlock2.class, new SwiftBlock2Adapter());
     }
 
     /**
@@ -565,7 +569,7 @@ public abstract class AbstractMT extends AbstractMessage implements JsonSerializ
     @SuppressWarnings("unchecked")
     public List<SwiftTagListBlock> getSequenceList(final String name) {
         final String methodName = GETSEQUENCE + name + "List";
-        Object o = invokeHere(methodName, this, null);
+        Object o = invokeHere(methodName, null);
         return (List<SwiftTagListBlock>) o;
     }
 
@@ -584,7 +588,7 @@ public abstract class AbstractMT extends AbstractMessage implements JsonSerializ
     public /* cant make static, but should be */ List<SwiftTagListBlock> getSequenceList(
             final String name, final SwiftTagListBlock block) {
         final String methodName = GETSEQUENCE + name + "List";
-        return (List<SwiftTagListBlock>) invokeHere(methodName, this, block);
+        return (List<SwiftTagListBlock>) invokeHere(methodName, block);
     }
 
     /**
@@ -596,12 +600,7 @@ public abstract class AbstractMT extends AbstractMessage implements JsonSerializ
      * @since 7.8
      */
     public boolean containsSequenceList(final String name) {
-        try {
-            getClass().getMethod(GETSEQUENCE + name + "List");
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return MtFactory.sequenceGetter(getClass(), GETSEQUENCE + name + "List") != null;
     }
 
     /**
@@ -613,31 +612,33 @@ public abstract class AbstractMT extends AbstractMessage implements JsonSerializ
      * @since 7.8
      */
     public boolean containsSequence(final String name) {
-        try {
-            return getClass().getMethod(GETSEQUENCE + name) != null;
-        } catch (Exception e) {
-            return false;
-        }
+        return MtFactory.sequenceGetter(getClass(), GETSEQUENCE + name) != null;
     }
 
     /**
+     * Invokes a sequence getter of this MT class, resolved through the {@link MtFactory} sequence getters table.
+     *
      * @param methodName a method to invoke
-     * @return result from reflection call
+     * @param argument the block argument or null to invoke the no-arguments method
+     * @return result from the method call or null if the method does not exist or fails
      * @since 7.6
      */
-    private Object invokeHere(final String methodName, final Object where, final SwiftTagListBlock argument) {
+    private Object invokeHere(final String methodName, final SwiftTagListBlock argument) {
+        final MethodHandle method =
+                MtFactory.sequenceGetter(getClass(), argument == null ? methodName : methodName + "(block)");
+        if (method == null) {
+            if (log.isLoggable(Level.FINE)) {
+                log.fine("Method " + methodName + " does not exist in " + getClass());
+            }
+            return null;
+        }
         try {
-            final Method method = argument == null
-                    ? getClass().getMethod(methodName)
-                    : getClass().getMethod(methodName, SwiftTagListBlock.class);
             if (argument == null) {
-                return method.invoke(where);
+                return method.invokeExact(this);
             }
-            return method.invoke(where, argument);
-        } catch (final NoSuchMethodException e) {
-            log.log(Level.FINE, "Method " + methodName + " does not exist in " + getClass(), e);
-        } catch (Exception e) {
-            log.log(Level.WARNING, "An error occured while invoking " + methodName + " in " + where, e);
+            return method.invokeExact(this, argument);
+        } catch (Throwable e) {
+            log.log(Level.WARNING, "An error occured while invoking " + methodName + " in " + this, e);
         }
         return null;
     }
@@ -658,7 +659,7 @@ public abstract class AbstractMT extends AbstractMessage implements JsonSerializ
      */
     public SwiftTagListBlock getSequence(final String name) {
         final String methodName = GETSEQUENCE + name;
-        Object o = invokeHere(methodName, this, null);
+        Object o = invokeHere(methodName, null);
         return (SwiftTagListBlock) o;
     }
 
@@ -673,7 +674,7 @@ public abstract class AbstractMT extends AbstractMessage implements JsonSerializ
     public /* cant make static, but should be */ SwiftTagListBlock getSequence(
             final String name, final SwiftTagListBlock block) {
         final String methodName = GETSEQUENCE + name;
-        Object o = invokeHere(methodName, this, block);
+        Object o = invokeHere(methodName, block);
         return (SwiftTagListBlock) o;
     }
 
@@ -901,12 +902,7 @@ public abstract class AbstractMT extends AbstractMessage implements JsonSerializ
      */
     @Override
     public String toJson() {
-        final Gson gson = new GsonBuilder()
-                .registerTypeAdapter(AbstractMT.class, new AbstractMTAdapter())
-                .registerTypeAdapter(SwiftBlock2.class, new SwiftBlock2Adapter())
-                .setPrettyPrinting()
-                .create();
-        return gson.toJson(this, AbstractMT.class);
+        return GSON_PRETTY.toJson(this, AbstractMT.class);
     }
 
     /**
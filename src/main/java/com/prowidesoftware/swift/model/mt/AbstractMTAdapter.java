@@ -51,8 +51,7 @@ public class AbstractMTAdapter implements JsonSerializer<AbstractMT>, JsonDeseri
 
     @Override
     public JsonElement serialize(AbstractMT src, Type typeOfSrc, JsonSerializationContext context) {
-        String json = src.m.toJson();
-        JsonObject o = JsonParser.parseString(json).getAsJsonObject();
+        JsonObject o = src.m.toJsonTree();
         JsonObject response = new JsonObject();
 
         response.addProperty("type", "MT");
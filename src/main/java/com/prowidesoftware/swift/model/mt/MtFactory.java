@@ -0,0 +1,203 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model.mt;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.SwiftTagListBlock;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Dispatch tables for the specific MT classes.
+ *
+ * <p>The MT constructors are resolved once per message type and variant and bound to {@link Function} instances, so
+ * {@link SwiftMessage#toMT()} does not use reflection on every call. Message types without an MT class are cached as
+ * well.
+ *
+ * <p>The sequence getters of each MT class are indexed by method name the first time a sequence is requested for the
+ * class, so {@link AbstractMT#getSequence(String)} and related methods are a map lookup.
+ *
+ * @since 10.3.20
+ */
+public final class MtFactory {
+    private static final Logger log = Logger.getLogger(MtFactory.class.getName());
+
+    private static final Function<SwiftMessage, AbstractMT> UNKNOWN = m -> null;
+
+    private static final Map<String, Function<SwiftMessage, AbstractMT>> constructors = new ConcurrentHashMap<>();
+
+    private static final ClassValue<Map<String, MethodHandle>> sequenceGetters =
+            new ClassValue<Map<String, MethodHandle>>() {
+                @Override
+                protected Map<String, MethodHandle> computeValue(final Class<?> type) {
+                    return indexSequenceGetters(type);
+                }
+            };
+
+    // Suppress default constructor for noninstantiability
+    private MtFactory() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Creates the specific MT instance for the given message type and variant, wrapping the given message.
+     *
+     * @param type    the message type number as string, for example 103
+     * @param variant the message variant or null for the plain message type; only STP, REMIT and COV have specific
+     *                MT classes
+     * @param message the message to wrap in the MT
+     * @return the created MT or null if the message type and variant have no MT class or the creation fails
+     */
+    public static AbstractMT newInstance(final String type, final MTVariant variant, final SwiftMessage message) {
+        final String className = className(type, variant);
+        Function<SwiftMessage, AbstractMT> constructor = constructors.get(className);
+        if (constructor == null) {
+            constructor = load(className);
+            final Function<SwiftMessage, AbstractMT> previous = constructors.putIfAbsent(className, constructor);
+            if (previous != null) {
+                constructor = previous;
+            } else if (constructor == UNKNOWN) {
+                log.warning("Could not create instance of " + className + ": class not found");
+            }
+        } else if (constructor == UNKNOWN && log.isLoggable(Level.FINE)) {
+            log.fine("Could not create instance of " + className + ": class not found");
+        }
+        try {
+            return constructor.apply(message);
+        } catch (final Exception e) {
+            log.warning("Could not create instance of " + className + ": " + e);
+            return null;
+        }
+    }
+
+    private static String className(final String type, final MTVariant variant) {
+        final StringBuilder className = new StringBuilder(48);
+        className.append("com.prowidesoftware.swift.model.mt.mt");
+        className.append(type.charAt(0));
+        className.append("xx.MT");
+        className.append(type);
+        if (variant == MTVariant.STP) {
+            className.append("_STP");
+        } else if (variant == MTVariant.REMIT) {
+            className.append("_REMIT");
+        } else if (variant == MTVariant.COV) {
+            className.append("COV");
+        }
+        return className.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<SwiftMessage, AbstractMT> load(final String className) {
+        final Class<?> c;
+        try {
+            c = Class.forName(className);
+        } catch (final ClassNotFoundException e) {
+            return UNKNOWN;
+        }
+        if (!AbstractMT.class.isAssignableFrom(c)) {
+            return UNKNOWN;
+        }
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final MethodHandle handle;
+        try {
+            handle = lookup.findConstructor(c, MethodType.methodType(void.class, SwiftMessage.class));
+        } catch (final ReflectiveOperationException e) {
+            log.log(Level.WARNING, className + " has no accessible SwiftMessage constructor", e);
+            return UNKNOWN;
+        }
+        try {
+            final CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    handle.type());
+            return (Function<SwiftMessage, AbstractMT>) site.getTarget().invoke();
+        } catch (final Throwable e) {
+            // fallback to the method handle invocation
+            return m -> {
+                try {
+                    return (AbstractMT) handle.invoke(m);
+                } catch (final RuntimeException | Error ex) {
+                    throw ex;
+                } catch (final Throwable ex) {
+                    throw new IllegalStateException(ex);
+                }
+            };
+        }
+    }
+
+    /**
+     * Gets a sequence getter of an MT class by method name.
+     *
+     * <p>The no-arguments getters are indexed by their name, for example "getSequenceA" or "getSequenceBList", and
+     * take the MT instance as single argument. The getters with a {@link SwiftTagListBlock} parameter are indexed by
+     * their name followed by "(block)" and take the MT instance and the block as arguments, regardless of being static.
+     *
+     * @param type       the MT class
+     * @param methodName the method name as described above
+     * @return a method handle typed (AbstractMT)Object or (AbstractMT, SwiftTagListBlock)Object, or null if the class
+     * does not contain the method
+     */
+    static MethodHandle sequenceGetter(final Class<? extends AbstractMT> type, final String methodName) {
+        return sequenceGetters.get(type).get(methodName);
+    }
+
+    private static Map<String, MethodHandle> indexSequenceGetters(final Class<?> type) {
+        final Map<String, MethodHandle> result = new HashMap<>();
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        for (final Method method : type.getMethods()) {
+            final Class<?>[] params = method.getParameterTypes();
+            final boolean withBlock = params.length == 1 && params[0] == SwiftTagListBlock.class;
+            if (!method.getName().startsWith("getSequence")
+                    || !(params.length == 0 || withBlock)
+                    || !(SwiftTagListBlock.class.isAssignableFrom(method.getReturnType())
+                            || List.class.isAssignableFrom(method.getReturnType()))) {
+                continue;
+            }
+            try {
+                MethodHandle handle = lookup.unreflect(method);
+                if (Modifier.isStatic(method.getModifiers())) {
+                    handle = MethodHandles.dropArguments(handle, 0, AbstractMT.class);
+                }
+                if (withBlock) {
+                    handle = handle.asType(
+                            MethodType.methodType(Object.class, AbstractMT.class, SwiftTagListBlock.class));
+                    result.put(method.getName() + "(block)", handle);
+                } else {
+                    handle = handle.asType(MethodType.methodType(Object.class, AbstractMT.class));
+                    result.put(method.getName(), handle);
+                }
+            } catch (final IllegalAccessException e) {
+                log.log(Level.FINE, "Method " + method.getName() + " in " + type + " is not accessible", e);
+            }
+        }
+        return result;
+    }
+}
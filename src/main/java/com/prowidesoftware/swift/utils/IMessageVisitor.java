@@ -27,7 +27,8 @@ import com.prowidesoftware.swift.model.*;
  * <li><code>startBlock1 -&gt; value -&gt; endBlock1</code> (if block 1 exists)</li>
  * <li><code>startBlock2 -&gt; value -&gt; endBlock2</code> (if block 2 exists)</li>
  * <li><code>startBlock3 -&gt; tag (for every tag) -&gt; endBlock3</code> (if block 3 exists)</li>
- * <li><code>startBlock4 -&gt; tag (for every tag) -&gt; endBlock4</code> (if block 4 exists)</li>
+ * <li><code>startBlock4 -&gt; tag (for every tag) -&gt; endBlock4</code> (if block 4 exists), preceded by
+ * <code>block4Text</code> if the block is not parsed yet</li>
  * <li><code>startBlock5 -&gt; tag (for every tag) -&gt; endBlock5</code> (if block 5 exists)</li>
  * <li><code>startBlockUser -&gt; tag (for every tag) -&gt; endBlockUser</code> (for every user defined block and every tag of that block)</li>
  * <li><code>endMessage</code></li>
@@ -36,6 +37,9 @@ import com.prowidesoftware.swift.model.*;
  * <p>Notice that the <code>tag</code> and <code>value</code> methods are overloaded for every type of SwiftBlock
  * derived class.
  *
+ * <p>Besides {@link SwiftMessage#visit(IMessageVisitor)}, the calls can be produced while reading FIN content with the
+ * {@link com.prowidesoftware.swift.io.parser.SwiftEventParser}.
+ *
  * <p><b>NOTE</b>: this API has changed since 4.0 with SwiftBlocks 1-5 in each start/end
  * method pairs.
  */
@@ -116,4 +120,19 @@ public interface IMessageVisitor {
     void startMessage(SwiftMessage m);
 
     void endMessage(SwiftMessage m);
+
+    /**
+     * Called instead of the block 4 start, tags and end methods when the message block 4 is not parsed yet, giving the
+     * visitor the chance to use its FIN content as is.
+     *
+     * <p>This default implementation returns false, so the block is parsed and visited as usual.
+     *
+     * @param text the block 4 content starting with "4:", without the enclosing brackets
+     * @return true if the visitor handled the block, false to parse and visit the block
+     * @see SwiftMessage#setBlock4Text(String)
+     * @since 10.3.20
+     */
+    default boolean block4Text(String text) {
+        return false;
+    }
 }
@@ -20,15 +20,27 @@ import com.prowidesoftware.swift.model.LogicalTerminalAddress;
 import com.prowidesoftware.swift.model.MIR;
 import com.prowidesoftware.swift.model.MOR;
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
 import java.util.Calendar;
 import java.util.Currency;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.time.DateFormatUtils;
 
 /**
@@ -58,6 +70,23 @@ public class SwiftFormatUtils {
     private static final transient java.util.logging.Logger log =
             java.util.logging.Logger.getLogger(SwiftFormatUtils.class.getName());
 
+    /**
+     * Default locales checked for the hand-written number and date conversions, see {@link #isPlainLocale(Locale)}
+     */
+    private static final Map<Locale, Boolean> plainLocales = new ConcurrentHashMap<>();
+
+    /**
+     * Fields for the pattern letters "yMdHms" in the java.time based conversions
+     */
+    private static final ChronoField[] CHRONO_FIELDS = {
+        ChronoField.YEAR,
+        ChronoField.MONTH_OF_YEAR,
+        ChronoField.DAY_OF_MONTH,
+        ChronoField.HOUR_OF_DAY,
+        ChronoField.MINUTE_OF_HOUR,
+        ChronoField.SECOND_OF_MINUTE
+    };
+
     // Suppress default constructor for noninstantiability
     private SwiftFormatUtils() {
         throw new AssertionError();
@@ -233,6 +262,10 @@ public class SwiftFormatUtils {
     public static Number getNumber(final String amount) {
         Number number = null;
         if (amount != null) {
+            number = parseAmount(amount);
+            if (number != null) {
+                return number;
+            }
             try {
                 final DecimalFormatSymbols symbols = new DecimalFormatSymbols();
                 symbols.setDecimalSeparator(',');
@@ -259,6 +292,10 @@ public class SwiftFormatUtils {
      */
     public static String getNumber(final Number number) {
         if (number != null) {
+            final BigDecimal exact = exactValue(number);
+            if (exact != null && isPlainLocale(Locale.getDefault(Locale.Category.FORMAT))) {
+                return formatAmount(exact);
+            }
             final DecimalFormatSymbols symbols = new DecimalFormatSymbols();
             symbols.setDecimalSeparator(',');
             final DecimalFormat df = new DecimalFormat("0.##########", symbols);
@@ -279,6 +316,10 @@ public class SwiftFormatUtils {
     public static BigDecimal getBigDecimal(final String amount) {
         BigDecimal bigDecimal = null;
         if (amount != null) {
+            bigDecimal = parseAmount(amount);
+            if (bigDecimal != null) {
+                return bigDecimal;
+            }
             try {
                 final DecimalFormatSymbols symbols = new DecimalFormatSymbols();
                 symbols.setDecimalSeparator(',');
@@ -305,6 +346,9 @@ public class SwiftFormatUtils {
      */
     public static String getBigDecimal(final BigDecimal bigDecimal) {
         if (bigDecimal != null) {
+            if (isPlainLocale(Locale.getDefault(Locale.Category.FORMAT))) {
+                return formatAmount(bigDecimal);
+            }
             final DecimalFormatSymbols symbols = new DecimalFormatSymbols();
             symbols.setDecimalSeparator(',');
             final DecimalFormat df = new DecimalFormat("0.##########", symbols);
@@ -333,6 +377,10 @@ public class SwiftFormatUtils {
 
     private static Calendar getCalendar(final String value, final String format) {
         if (value != null) {
+            final Calendar parsed = parseDigits(value, format);
+            if (parsed != null) {
+                return parsed;
+            }
             try {
                 final SimpleDateFormat sdf = new SimpleDateFormat(format);
                 sdf.setLenient(false);
@@ -354,11 +402,244 @@ public class SwiftFormatUtils {
      */
     private static String getCalendar(final Calendar date, final String format) {
         if (date != null) {
+            if (isPlainLocale(Locale.getDefault())) {
+                return formatDigits(date, format);
+            }
             return DateFormatUtils.format(date.getTime(), format);
         }
         return null;
     }
 
+    /**
+     * Tells if the locale formats numbers with ASCII digits and a plain minus sign, and dates in the Gregorian
+     * calendar, so the hand-written conversions in this class produce the same result as the JDK formatters.
+     */
+    private static boolean isPlainLocale(final Locale locale) {
+        return plainLocales.computeIfAbsent(locale, l -> {
+            final DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(l);
+            return symbols.getZeroDigit() == '0'
+                    && symbols.getMinusSign() == '-'
+                    && "gregory".equals(Calendar.getInstance(l).getCalendarType());
+        });
+    }
+
+    /**
+     * Parses an unsigned amount made of ASCII digits and an optional comma, which is the only content found in well
+     * formed SWIFT amounts. Any other input, including signs, is left to the DecimalFormat parsing.
+     *
+     * @return the parsed amount or null if the value is not a plain amount
+     */
+    private static BigDecimal parseAmount(final String amount) {
+        final int length = amount.length();
+        if (length > 18) {
+            // may not fit in a long
+            return parseLongAmount(amount);
+        }
+        long unscaled = 0;
+        int comma = -1;
+        for (int i = 0; i < length; i++) {
+            final char c = amount.charAt(i);
+            if (c >= '0' && c <= '9') {
+                unscaled = unscaled * 10 + (c - '0');
+            } else if (c == ',' && comma < 0) {
+                comma = i;
+            } else {
+                return null;
+            }
+        }
+        if (comma < 0) {
+            return length > 0 ? BigDecimal.valueOf(unscaled) : null;
+        }
+        // a single comma is not a number
+        return length > 1 ? BigDecimal.valueOf(unscaled, length - comma - 1) : null;
+    }
+
+    private static BigDecimal parseLongAmount(final String amount) {
+        final int comma = amount.indexOf(',');
+        if (comma != amount.lastIndexOf(',')) {
+            return null;
+        }
+        for (int i = 0; i < amount.length(); i++) {
+            final char c = amount.charAt(i);
+            if ((c < '0' || c > '9') && i != comma) {
+                return null;
+            }
+        }
+        if (comma < 0) {
+            return new BigDecimal(amount);
+        }
+        final String digits = amount.substring(0, comma) + amount.substring(comma + 1);
+        return new BigDecimal(new BigInteger(digits), amount.length() - comma - 1);
+    }
+
+    /**
+     * @return the number as BigDecimal if it can be converted without loss, null for floating point numbers
+     */
+    private static BigDecimal exactValue(final Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        } else if (number instanceof Long
+                || number instanceof Integer
+                || number instanceof Short
+                || number instanceof Byte) {
+            return BigDecimal.valueOf(number.longValue());
+        } else if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number);
+        }
+        return null;
+    }
+
+    /**
+     * Same output as the "0.##########" DecimalFormat with the decimal separator always shown: up to ten decimals
+     * rounded half even, trailing zeros removed and a comma as decimal separator.
+     */
+    private static String formatAmount(final BigDecimal number) {
+        BigDecimal value = number.scale() > 10 ? number.setScale(10, RoundingMode.HALF_EVEN) : number;
+        if (value.scale() > 0) {
+            value = value.stripTrailingZeros();
+        }
+        if (value.scale() < 0) {
+            value = value.setScale(0);
+        }
+        final String plain = value.toPlainString();
+        final int dot = plain.indexOf('.');
+        if (dot >= 0) {
+            return plain.replace('.', ',');
+        }
+        if (value.signum() == 0 && number.signum() < 0) {
+            // DecimalFormat keeps the sign of negative values rounded to zero
+            return "-0,";
+        }
+        return plain + ',';
+    }
+
+    /**
+     * Parses a fixed width value of digits with the date and time letters used in this class. The calendar fields
+     * are validated by a non-lenient calendar and the two digits years are resolved with the same century window
+     * as SimpleDateFormat, so the result is the same as the parsing with the pattern.
+     *
+     * @return the parsed calendar or null if the value is not made of digits or it is not valid for the pattern
+     */
+    private static Calendar parseDigits(final String value, final String format) {
+        if (value.length() != format.length() || !isPlainLocale(Locale.getDefault(Locale.Category.FORMAT))) {
+            return null;
+        }
+        final Calendar cal = new GregorianCalendar();
+        final long now = cal.getTimeInMillis();
+        final int currentYear = cal.get(Calendar.YEAR);
+        cal.clear();
+        cal.setLenient(false);
+        int shortYear = -1;
+        int i = 0;
+        while (i < format.length()) {
+            final char letter = format.charAt(i);
+            int end = i + 1;
+            while (end < format.length() && format.charAt(end) == letter) {
+                end++;
+            }
+            int number = 0;
+            for (int j = i; j < end; j++) {
+                final char c = value.charAt(j);
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+                number = number * 10 + (c - '0');
+            }
+            final int field = calendarField(letter);
+            if (field < 0) {
+                return null;
+            } else if (field == Calendar.YEAR && end - i == 2) {
+                shortYear = number;
+            } else {
+                cal.set(field, field == Calendar.MONTH ? number - 1 : number);
+            }
+            i = end;
+        }
+        try {
+            if (shortYear >= 0) {
+                // SimpleDateFormat parses two digits years within 80 years before and 20 years after now
+                final int startYear = currentYear - 80;
+                final int ambiguous = startYear % 100;
+                cal.set(Calendar.YEAR, shortYear + (startYear / 100) * 100 + (shortYear < ambiguous ? 100 : 0));
+                if (shortYear == ambiguous) {
+                    final Calendar start = new GregorianCalendar();
+                    start.setTimeInMillis(now);
+                    start.add(Calendar.YEAR, -80);
+                    if (cal.getTimeInMillis() < start.getTimeInMillis()) {
+                        cal.set(Calendar.YEAR, cal.get(Calendar.YEAR) + 100);
+                    }
+                }
+            }
+            final long millis = cal.getTimeInMillis();
+            cal.setLenient(true);
+            cal.setTimeInMillis(millis);
+            return cal;
+        } catch (final IllegalArgumentException e) {
+            // invalid field value, left to the pattern parsing for the error reporting
+            return null;
+        }
+    }
+
+    /**
+     * Formats the calendar time in the default time zone, same as the pattern would do, with the letters used in
+     * this class.
+     */
+    private static String formatDigits(final Calendar date, final String format) {
+        final Calendar cal = new GregorianCalendar();
+        cal.setTimeInMillis(date.getTimeInMillis());
+        final char[] result = new char[format.length() + 4];
+        int length = 0;
+        int i = 0;
+        while (i < format.length()) {
+            final char letter = format.charAt(i);
+            int end = i + 1;
+            while (end < format.length() && format.charAt(end) == letter) {
+                end++;
+            }
+            final int field = calendarField(letter);
+            if (field < 0 || end - i > 4 || (field != Calendar.YEAR && end - i != 2)) {
+                return DateFormatUtils.format(date.getTime(), format);
+            }
+            int number = cal.get(field);
+            int width = end - i;
+            if (field == Calendar.MONTH) {
+                number++;
+            } else if (field == Calendar.YEAR) {
+                if (width == 2) {
+                    number = number % 100;
+                } else {
+                    width = Math.max(4, Integer.toString(number).length());
+                }
+            }
+            for (int j = length + width - 1; j >= length; j--) {
+                result[j] = (char) ('0' + number % 10);
+                number /= 10;
+            }
+            length += width;
+            i = end;
+        }
+        return new String(result, 0, length);
+    }
+
+    private static int calendarField(final char letter) {
+        switch (letter) {
+            case 'y':
+                return Calendar.YEAR;
+            case 'M':
+                return Calendar.MONTH;
+            case 'd':
+                return Calendar.DAY_OF_MONTH;
+            case 'H':
+                return Calendar.HOUR_OF_DAY;
+            case 'm':
+                return Calendar.MINUTE;
+            case 's':
+                return Calendar.SECOND;
+            default:
+                return -1;
+        }
+    }
+
     /**
      * Converts the given time into a Calendar.
      * Only the time information is set, the date will be the default 1/1/70
@@ -663,6 +944,247 @@ public class SwiftFormatUtils {
         return getCalendar(date, "HH");
     }
 
+    /**
+     * Parses a DATE2 string (accept dates in format YYMMDD) into a LocalDate.
+     * <p>The two digits year is resolved within 80 years before and 20 years after now, as done by
+     * {@link #getDate2(String)}.
+     *
+     * @param strDate string to parse
+     * @return parsed date or null if the argument did not matched the expected date format
+     * @since 10.3.20
+     */
+    public static LocalDate getLocalDate2(final String strDate) {
+        final LocalDateTime dateTime = getLocalDateTime(strDate, "yyMMdd");
+        return dateTime != null ? dateTime.toLocalDate() : null;
+    }
+
+    /**
+     * Parses a DATE4 string (accept dates in format YYYYMMDD) into a LocalDate.
+     *
+     * @param strDate string to parse
+     * @return parsed date or null if the argument did not matched the expected date format
+     * @since 10.3.20
+     */
+    public static LocalDate getLocalDate4(final String strDate) {
+        final LocalDateTime dateTime = getLocalDateTime(strDate, "yyyyMMdd");
+        return dateTime != null ? dateTime.toLocalDate() : null;
+    }
+
+    /**
+     * Parses a TIME2 string (accept times in format HHmmss) into a LocalTime.
+     *
+     * @param hhmmss hour, minutes and seconds
+     * @return parsed time or null if the argument did not matched the expected time format
+     * @since 10.3.20
+     */
+    public static LocalTime getLocalTime2(final String hhmmss) {
+        final LocalDateTime dateTime = getLocalDateTime(hhmmss, "HHmmss");
+        return dateTime != null ? dateTime.toLocalTime() : null;
+    }
+
+    /**
+     * Parses a TIME3 string (accept times in format HH[mm]) into a LocalTime.
+     *
+     * @param hhmm hour, or hour and minutes
+     * @return parsed time or null if the argument did not matched the expected time format
+     * @since 10.3.20
+     */
+    public static LocalTime getLocalTime3(final String hhmm) {
+        final String pattern = hhmm != null && hhmm.length() == 2 ? "HH" : "HHmm";
+        final LocalDateTime dateTime = getLocalDateTime(hhmm, pattern);
+        return dateTime != null ? dateTime.toLocalTime() : null;
+    }
+
+    /**
+     * Parses a DATETIME string (accepts dates with time in YYYYMMDDHHMM format) into a LocalDateTime.
+     *
+     * @param strDate string to parse
+     * @return parsed date and time or null if the argument did not matched the expected format
+     * @since 10.3.20
+     */
+    public static LocalDateTime getLocalDateTime(final String strDate) {
+        return getLocalDateTime(strDate, "yyyyMMddHHmm");
+    }
+
+    /**
+     * Parses a DATETIME with short year string (accepts dates with time in YYMMDDHHMM format) into a LocalDateTime.
+     *
+     * @param strDate string to parse
+     * @return parsed date and time or null if the argument did not matched the expected format
+     * @since 10.3.20
+     */
+    public static LocalDateTime getLocalDateTimeShortYear(final String strDate) {
+        return getLocalDateTime(strDate, "yyMMddHHmm");
+    }
+
+    /**
+     * Parses a LocalDate into a DATE2 string.
+     *
+     * @param date date to format
+     * @return formatted date or null if the date is null
+     * @since 10.3.20
+     */
+    public static String getDate2(final LocalDate date) {
+        return date != null ? formatDigits(date, "yyMMdd") : null;
+    }
+
+    /**
+     * Parses a LocalDate into a DATE4 string.
+     *
+     * @param date date to format
+     * @return formatted date or null if the date is null
+     * @since 10.3.20
+     */
+    public static String getDate4(final LocalDate date) {
+        return date != null ? formatDigits(date, "yyyyMMdd") : null;
+    }
+
+    /**
+     * Parses a LocalTime into a TIME2 string.
+     *
+     * @param time time to format
+     * @return formatted time or null if the time is null
+     * @since 10.3.20
+     */
+    public static String getTime2(final LocalTime time) {
+        return time != null ? formatDigits(time, "HHmmss") : null;
+    }
+
+    /**
+     * Parses a LocalTime into a TIME3 string, with hour and minutes.
+     *
+     * @param time time to format
+     * @return formatted time or null if the time is null
+     * @since 10.3.20
+     */
+    public static String getTime3(final LocalTime time) {
+        return time != null ? formatDigits(time, "HHmm") : null;
+    }
+
+    /**
+     * Parses a LocalDateTime into a DATETIME string in YYYYMMDDHHMM format.
+     *
+     * @param dateTime date and time to format
+     * @return formatted date and time or null if the argument is null
+     * @since 10.3.20
+     */
+    public static String getDateTime(final LocalDateTime dateTime) {
+        return dateTime != null ? formatDigits(dateTime, "yyyyMMddHHmm") : null;
+    }
+
+    /**
+     * Parses a LocalDateTime into a DATETIME with short year string in YYMMDDHHMM format.
+     *
+     * @param dateTime date and time to format
+     * @return formatted date and time or null if the argument is null
+     * @since 10.3.20
+     */
+    public static String getDateTimeShortYear(final LocalDateTime dateTime) {
+        return dateTime != null ? formatDigits(dateTime, "yyMMddHHmm") : null;
+    }
+
+    /**
+     * Parses a fixed width value of digits into a LocalDateTime, without the Calendar and DateFormat creation of
+     * {@link #getCalendar(String, String)}. Fields missing in the pattern default to 1970-01-01 00:00:00.
+     * <p>Unlike the Calendar parsing, dates before the Gregorian calendar cutover are not converted to the Julian
+     * calendar.
+     *
+     * @param value   string to parse
+     * @param pattern date and time pattern with fixed width numeric fields: yyyy, yy, MM, dd, HH, mm and ss
+     * @return parsed date and time or null if the value does not match the pattern or it is not a valid date
+     * @since 10.3.20
+     */
+    public static LocalDateTime getLocalDateTime(final String value, final String pattern) {
+        if (value == null || value.length() != pattern.length()) {
+            return null;
+        }
+        final int[] fields = {1970, 1, 1, 0, 0, 0};
+        boolean shortYear = false;
+        int i = 0;
+        while (i < pattern.length()) {
+            final char letter = pattern.charAt(i);
+            int end = i + 1;
+            while (end < pattern.length() && pattern.charAt(end) == letter) {
+                end++;
+            }
+            final int index = "yMdHms".indexOf(letter);
+            Validate.isTrue(index >= 0, "unsupported pattern letter " + letter);
+            int number = 0;
+            for (int j = i; j < end; j++) {
+                final char c = value.charAt(j);
+                if (c < '0' || c > '9') {
+                    log.log(
+                            java.util.logging.Level.WARNING,
+                            "Could not parse '" + value + "' with pattern '" + pattern + "'");
+                    return null;
+                }
+                number = number * 10 + (c - '0');
+            }
+            fields[index] = number;
+            shortYear |= index == 0 && end - i == 2;
+            i = end;
+        }
+        try {
+            if (shortYear) {
+                final LocalDateTime start = LocalDateTime.now().minusYears(80);
+                final int ambiguous = start.getYear() % 100;
+                final int yy = fields[0];
+                fields[0] = yy + (start.getYear() / 100) * 100 + (yy < ambiguous ? 100 : 0);
+                if (yy == ambiguous && localDateTime(fields).isBefore(start)) {
+                    fields[0] += 100;
+                }
+            }
+            return localDateTime(fields);
+        } catch (final DateTimeException e) {
+            log.log(java.util.logging.Level.WARNING, "Could not parse '" + value + "' with pattern '" + pattern + "'");
+        }
+        return null;
+    }
+
+    private static LocalDateTime localDateTime(final int[] fields) {
+        return LocalDateTime.of(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5]);
+    }
+
+    /**
+     * Formats a date, time or date and time with a pattern of fixed width numeric fields.
+     *
+     * @param temporal date and time to format, must contain the fields used in the pattern
+     * @param pattern  date and time pattern with fixed width numeric fields: yyyy, yy, MM, dd, HH, mm and ss
+     * @return the formatted value
+     * @since 10.3.20
+     */
+    public static String formatDigits(final TemporalAccessor temporal, final String pattern) {
+        final char[] result = new char[pattern.length() + 5];
+        int length = 0;
+        int i = 0;
+        while (i < pattern.length()) {
+            final char letter = pattern.charAt(i);
+            int end = i + 1;
+            while (end < pattern.length() && pattern.charAt(end) == letter) {
+                end++;
+            }
+            final int index = "yMdHms".indexOf(letter);
+            Validate.isTrue(index >= 0, "unsupported pattern letter " + letter);
+            int number = temporal.get(CHRONO_FIELDS[index]);
+            int width = end - i;
+            if (index == 0) {
+                number = Math.abs(number);
+                if (width == 2) {
+                    number = number % 100;
+                } else {
+                    width = Math.max(width, Integer.toString(number).length());
+                }
+            }
+            for (int j = length + width - 1; j >= length; j--) {
+                result[j] = (char) ('0' + number % 10);
+                number /= 10;
+            }
+            length += width;
+            i = end;
+        }
+        return new String(result, 0, length);
+    }
+
     /**
      * Parses a string value into a MIR object.
      *
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.prowidesoftware.swift.io.parser.SwiftParserConfiguration;
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.mt.AbstractMT;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for the {@link BatchMessageParser} class
+ */
+public class BatchMessageParserTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testOrderedSameAsSequential() throws IOException {
+        final List<SwiftMessage> expected = new ArrayList<>();
+        final List<AbstractMT> expectedMT = new ArrayList<>();
+        try (InputStream in = BatchMessageParserTest.class.getResourceAsStream("/MT103-out-ack.rje")) {
+            RJEReader r = new RJEReader(in, StandardCharsets.US_ASCII);
+            while (r.hasNext()) {
+                SwiftMessage m = r.nextSwiftMessage();
+                if (m != null) {
+                    expected.add(m);
+                    expectedMT.add(AbstractReader.toMT(m, getClass()));
+                }
+            }
+        }
+
+        try (InputStream in = BatchMessageParserTest.class.getResourceAsStream("/MT103-out-ack.rje")) {
+            List<BatchMessageParser.Result> results = new BatchMessageParser(executor)
+                    .setMaxPending(3)
+                    .parse(new RJEReader(in, StandardCharsets.US_ASCII));
+            assertEquals(expected.size(), results.size());
+            for (int i = 0; i < results.size(); i++) {
+                BatchMessageParser.Result result = results.get(i);
+                assertEquals(i, result.getIndex());
+                assertFalse(result.isError());
+                assertEquals(-1, result.getOffset());
+                assertEquals(expected.get(i).message(), result.getMessage().message());
+                if (expectedMT.get(i) == null) {
+                    assertNull(result.getMT());
+                } else {
+                    assertEquals(expectedMT.get(i).message(), result.getMT().message());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnordered() throws IOException {
+        try (InputStream in = BatchMessageParserTest.class.getResourceAsStream("/MT103-out-ack.rje")) {
+            List<BatchMessageParser.Result> results = new BatchMessageParser(executor)
+                    .setOrdered(false)
+                    .setParseMT(false)
+                    .parse(new RJEReader(in, StandardCharsets.US_ASCII));
+            assertEquals(13, results.size());
+            results.sort(Comparator.comparingInt(BatchMessageParser.Result::getIndex));
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i, results.get(i).getIndex());
+                assertNotNull(results.get(i).getMessage());
+                assertNull(results.get(i).getMT());
+            }
+        }
+    }
+
+    @Test
+    public void testErrorsDoNotAbortBatch() {
+        final String rje = "{1:F01AAAAUSAAXXXX0000000000}{4:\r\n:20:REF1\r\n-}$"
+                + "{1:F01XX}{4:\r\n:20:REF2\r\n-}$"
+                + "  $"
+                + "{1:F01AAAAUSAAXXXX0000000000}{4:\r\n:20:REF3\r\n-}";
+        final SwiftParserConfiguration strict = new SwiftParserConfiguration();
+        strict.setLenient(false);
+
+        final List<BatchMessageParser.Result> results = new ArrayList<>();
+        new BatchMessageParser(executor)
+                .setParseMT(false)
+                .setConfiguration(strict)
+                .parse(new RJEReader(rje), results::add);
+
+        assertEquals(3, results.size());
+        assertFalse(results.get(0).isError());
+        assertEquals("REF1", results.get(0).getMessage().getBlock4().getTagValue("20"));
+        assertTrue(results.get(1).isError());
+        assertNull(results.get(1).getMessage());
+        assertEquals("{1:F01XX}{4:\r\n:20:REF2\r\n-}", results.get(1).getRaw());
+        assertFalse(results.get(2).isError());
+        assertEquals(2, results.get(2).getIndex());
+        assertEquals("REF3", results.get(2).getMessage().getBlock4().getTagValue("20"));
+    }
+
+    @Test
+    public void testRejectedTasksParsedInCallingThread() {
+        final String rje = "{1:F01AAAAUSAAXXXX0000000000}{4:\r\n:20:REF1\r\n-}$"
+                + "{1:F01AAAAUSAAXXXX0000000000}{4:\r\n:20:REF2\r\n-}$"
+                + "{1:F01AAAAUSAAXXXX0000000000}{4:\r\n:20:REF3\r\n-}";
+        // accepts the first message only, and then behaves as shut down
+        final ExecutorService single = Executors.newSingleThreadExecutor();
+        final Executor rejecting = new Executor() {
+            private boolean accepted;
+
+            @Override
+            public void execute(final Runnable command) {
+                if (accepted) {
+                    throw new RejectedExecutionException("shut down");
+                }
+                accepted = true;
+                single.execute(command);
+            }
+        };
+        try {
+            final List<BatchMessageParser.Result> results =
+                    new BatchMessageParser(rejecting).setParseMT(false).parse(new RJEReader(rje));
+            assertEquals(3, results.size());
+            for (int i = 0; i < 3; i++) {
+                assertFalse(results.get(i).isError());
+                assertEquals(i, results.get(i).getIndex());
+                assertEquals("REF" + (i + 1), results.get(i).getMessage().getBlock4().getTagValue("20"));
+            }
+        } finally {
+            single.shutdown();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test cases for the {@link MappedRJEReader} and {@link MappedPPCReader} classes
+ */
+public class MappedFileReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testRJESameAsRJEReader() throws IOException {
+        final Path file = dir.resolve("test.rje");
+        try (InputStream in = MappedFileReaderTest.class.getResourceAsStream("/MT103-out-ack.rje")) {
+            Files.copy(in, file);
+        }
+        final List<String> expected = new ArrayList<>();
+        for (String m : new RJEReader(file.toFile(), StandardCharsets.US_ASCII)) {
+            expected.add(m);
+        }
+
+        // small window to force messages spanning several mapped regions
+        try (MappedRJEReader r = new MappedRJEReader(file, StandardCharsets.US_ASCII, 100)) {
+            final List<String> actual = new ArrayList<>();
+            for (String m : r) {
+                actual.add(m);
+                assertEquals(m, r.read(r.getOffset()));
+            }
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testRJEOffsets() throws IOException {
+        final Path file = dir.resolve("offsets.rje");
+        Files.write(file, "{1:A}\n$ {1:BB}$\n{1:CCC}".getBytes(StandardCharsets.UTF_8));
+        try (MappedRJEReader r = new MappedRJEReader(file)) {
+            assertEquals(-1, r.getOffset());
+            assertEquals("{1:A}", r.next());
+            assertEquals(0, r.getOffset());
+            assertEquals("{1:BB}", r.next());
+            assertEquals(7, r.getOffset());
+            assertEquals("{1:CCC}", r.next());
+            assertEquals(15, r.getOffset());
+            assertFalse(r.hasNext());
+            assertThrows(NoSuchElementException.class, r::next);
+
+            // re-read does not change the iteration state
+            assertEquals("{1:BB}", r.read(7));
+            assertFalse(r.hasNext());
+            assertThrows(IllegalArgumentException.class, () -> r.read(100));
+        }
+    }
+
+    @Test
+    public void testRJESplitChar() throws IOException {
+        final Path file = dir.resolve("split.rje");
+        Files.write(file, "foo#bar".getBytes(StandardCharsets.UTF_8));
+        try (MappedRJEReader r = new MappedRJEReader(file)) {
+            r.setSplitChar('#');
+            assertEquals("foo", r.next());
+            assertEquals("bar", r.next());
+            assertFalse(r.hasNext());
+        }
+    }
+
+    @Test
+    public void testPPC() throws IOException {
+        final Path file = dir.resolve("test.ppc");
+        final String content = "\u0001{1:A}\u0003     \u0001{1:BB}\u0003   \u0001{1:CCC}\u0003  ";
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+
+        final List<String> expected = new ArrayList<>();
+        for (String m : new PPCReader(content)) {
+            expected.add(m);
+        }
+
+        try (MappedPPCReader r = new MappedPPCReader(file, StandardCharsets.UTF_8, 8)) {
+            final List<String> actual = new ArrayList<>();
+            final List<Long> offsets = new ArrayList<>();
+            for (String m : r) {
+                actual.add(m);
+                offsets.add(r.getOffset());
+            }
+            assertEquals(expected, actual);
+            assertEquals(3, actual.size());
+            assertEquals(1L, offsets.get(0));
+            assertEquals("{1:CCC}", r.read(offsets.get(2)));
+        }
+    }
+
+    @Test
+    public void testUnsupportedCharset() throws IOException {
+        final Path file = dir.resolve("utf16.rje");
+        Files.write(file, new byte[0]);
+        assertThrows(IllegalArgumentException.class, () -> new MappedRJEReader(file, StandardCharsets.UTF_16));
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.prowidesoftware.swift.io.writer.FINWriterVisitor;
+import com.prowidesoftware.swift.io.writer.SwiftWriter;
+import com.prowidesoftware.swift.model.*;
+import com.prowidesoftware.swift.utils.BaseMessageVisitor;
+import com.prowidesoftware.swift.utils.Lib;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class SwiftEventParserTest {
+
+    private static final String ACK = "{1:F21FOOLBEBBAXXX0000000000}{4:{177:2001011200}{451:0}}";
+
+    private static final String MT103 = "{1:F01FOOBARYYAXXX1234123456}{2:O1030803051028AAPBESMMAXXX54237368560510280803N}"
+            + "{3:{113:NOMF}{108:0510280086100057}{119:STP}}{4:\r\n"
+            + ":20:D051026EUR100057\r\n"
+            + ":13C:/RNCTIME/0802+0000\r\n"
+            + ":23B:CRED\r\n"
+            + ":32A:051028EUR6740,91\r\n"
+            + ":59:/ES0123456789012345671234\r\n"
+            + "FOOOOO 1000 FOOBAR S.A.\r\n"
+            + ":77E:\r\n"
+            + ":abc\r\n"
+            + ":71A:SHA\r\n"
+            + "-}{5:{MAC:D9D8FA56}{CHK:46E46A6460F2}}{S:{SAC:}}";
+
+    /**
+     * Records the visitor calls as text
+     */
+    private static class Recorder extends BaseMessageVisitor {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void startMessage(SwiftMessage m) {
+            events.add("start " + (m.getBlock2() != null ? m.getBlock2().getMessageType() : null));
+        }
+
+        @Override
+        public void endMessage(SwiftMessage m) {
+            events.add("end " + m.getUnparsedTextsSize());
+        }
+
+        @Override
+        public void value(SwiftBlock1 b, String v) {
+            events.add("1 " + v);
+        }
+
+        @Override
+        public void value(SwiftBlock2 b, String v) {
+            events.add("2 " + v);
+        }
+
+        @Override
+        public void tag(SwiftBlock3 b, Tag t) {
+            events.add("3 " + t.getName() + "=" + t.getValue());
+        }
+
+        @Override
+        public void startBlock4(SwiftBlock4 b) {
+            events.add("4 start");
+        }
+
+        @Override
+        public void tag(SwiftBlock4 b, Tag t) {
+            events.add("4 " + t.getName() + "=" + t.getValue());
+        }
+
+        @Override
+        public void endBlock4(SwiftBlock4 b) {
+            events.add("4 end " + b.getUnparsedTextsSize());
+        }
+
+        @Override
+        public void tag(SwiftBlock5 b, Tag t) {
+            events.add("5 " + t.getName() + "=" + t.getValue());
+        }
+
+        @Override
+        public void tag(SwiftBlockUser b, Tag t) {
+            events.add(b.getName() + " " + t.getName() + "=" + t.getValue());
+        }
+    }
+
+    private static List<String> expected(final String fin) throws IOException {
+        final Recorder recorder = new Recorder();
+        new SwiftParser(fin).message().visit(recorder);
+        return recorder.events;
+    }
+
+    private static List<String> events(final String fin) throws IOException {
+        final Recorder recorder = new Recorder();
+        final SwiftEventParser parser = new SwiftEventParser(fin);
+        assertTrue(parser.parse(recorder));
+        assertFalse(parser.parse(recorder));
+        assertTrue(parser.getErrors().isEmpty(), parser.getErrors().toString());
+        return recorder.events;
+    }
+
+    @Test
+    public void testSameEventsAsMessageVisit() throws IOException {
+        assertEquals(expected(MT103), events(MT103));
+        assertEquals(expected(ACK), events(ACK));
+        assertEquals(expected(MT103.replace("\r\n", "\n")), events(MT103.replace("\r\n", "\n")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"MT101.fin", "MT305.fin", "MT320.txt", "MT340.fin", "MT362.fin", "sample_JPchar.txt"})
+    public void testResources(final String resource) throws IOException {
+        final String fin = Lib.readResource(resource);
+        assertEquals(expected(fin), events(fin));
+    }
+
+    @Test
+    public void testFINTranscoding() throws IOException {
+        final StringWriter expected = new StringWriter();
+        SwiftWriter.writeMessage(new SwiftParser(MT103).message(), expected);
+
+        final StringWriter writer = new StringWriter();
+        new SwiftEventParser(new StringReader(MT103)).parse(new FINWriterVisitor(writer));
+        assertEquals(expected.toString(), writer.toString());
+    }
+
+    @Test
+    public void testConcatenatedMessages() throws IOException {
+        final Recorder recorder = new Recorder();
+        final SwiftEventParser parser = new SwiftEventParser(MT103 + ACK + MT103);
+        int count = 0;
+        while (parser.parse(recorder)) {
+            count++;
+        }
+        assertEquals(3, count);
+
+        final List<String> expected = new ArrayList<>(expected(MT103));
+        expected.addAll(expected(ACK));
+        expected.addAll(expected(MT103));
+        assertEquals(expected, recorder.events);
+    }
+
+    @Test
+    public void testLargeStatement() throws IOException {
+        final int lines = 100000;
+        final StringBuilder fin = new StringBuilder(
+                "{1:F01FOOBARYYAXXX1234123456}{2:O9400803051028AAPBESMMAXXX54237368560510280803N}{4:\r\n:20:REF\r\n");
+        for (int i = 0; i < lines; i++) {
+            fin.append(":61:2310271027C").append(i).append(",NTRFNONREF\r\n:86:line ").append(i).append("\r\n");
+        }
+        fin.append(":62F:C231027EUR1,\r\n-}");
+
+        final int[] tags = new int[1];
+        final String[] last = new String[1];
+        final SwiftEventParser parser = new SwiftEventParser(fin.toString());
+        assertTrue(parser.parse(new BaseMessageVisitor() {
+            @Override
+            public void tag(SwiftBlock4 b, Tag t) {
+                tags[0]++;
+                last[0] = t.getValue();
+                assertTrue(b.isEmpty());
+            }
+        }));
+        assertEquals(2 * lines + 2, tags[0]);
+        assertEquals("C231027EUR1,", last[0]);
+    }
+
+    @Test
+    public void testMissingBlockEnd() throws IOException {
+        final String fin = MT103.substring(0, MT103.indexOf("-}"));
+        final Recorder recorder = new Recorder();
+        final SwiftEventParser parser = new SwiftEventParser(fin);
+        assertTrue(parser.parse(recorder));
+        assertEquals("4 71A=SHA", recorder.events.get(recorder.events.size() - 3));
+        assertEquals(1, parser.getErrors().size());
+
+        assertEquals(expected(fin), recorder.events);
+
+        final SwiftEventParser strict = new SwiftEventParser(fin);
+        strict.getConfiguration().setLenient(false);
+        assertThrows(IllegalArgumentException.class, () -> strict.parse(new Recorder()));
+    }
+}
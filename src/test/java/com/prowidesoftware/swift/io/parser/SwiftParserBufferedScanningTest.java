@@ -0,0 +1,118 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.utils.Lib;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks the buffered scanning mode produces the same output as the default char by char parser.
+ */
+public class SwiftParserBufferedScanningTest {
+
+    private static final String MT103 = "{1:F01FOOBARYYAXXX1234123456}{2:O1030803051028AAPBESMMAXXX54237368560510280803N}"
+            + "{3:{113:NOMF}{108:0510280086100057}{119:STP}}{4:\n"
+            + ":20:D051026EUR100057\n"
+            + ":13C:/RNCTIME/0802+0000\n"
+            + ":23B:CRED\n"
+            + ":32A:051028EUR6740,91\n"
+            + ":59:/ES0123456789012345671234\n"
+            + "FOOOOO 1000 FOOBAR S.A.\n"
+            + ":70:REDEMPTS. TRADEDATE 2222-10-26\n"
+            + "/123123123: FOOVIMAR 2000 FOOBAR\n"
+            + ":71A:SHA\n"
+            + "-}{5:{MAC:D9D8FA56}{CHK:46E46A6460F2}}";
+
+    @Test
+    public void testTextBlock() throws IOException {
+        assertSameResult(MT103);
+    }
+
+    @Test
+    public void testTagBlock() throws IOException {
+        assertSameResult("{1:F01AAAABBBBAXXX0000000000}{4:{101:x}{102:y}}");
+    }
+
+    @Test
+    public void testUnparsedTexts() throws IOException {
+        assertSameResult("junk{1:F01AAAABBBBAXXX0000000000}more" + MT103 + "trailing text");
+        assertSameResult("{X:{a:b}}{1:F01AAAABBBBAXXX0000000000}{3:{108:abc}}{4:\n:20:abc\n:79:x}y\n-}");
+    }
+
+    @Test
+    public void testMissingBlockEnd() throws IOException {
+        assertSameResult("{1:F01AAAABBBBAXXX0000000000}{4:\n:20:REF\n:32A:051028EUR6740,91\n");
+    }
+
+    @Test
+    public void testMissingBlockEndStrict() {
+        final SwiftParser parser = new SwiftParser("{1:F01AAAABBBBAXXX0000000000}{4:\n:20:REF\n");
+        parser.getConfiguration().setLenient(false);
+        parser.getConfiguration().setBufferedScanning(true);
+        assertThrows(IllegalArgumentException.class, parser::message);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"MT101.fin", "MT305.fin", "MT340.fin", "MT320.txt", "MT103-bulk-with-ack.rje"})
+    public void testResources(final String resource) throws IOException {
+        assertSameResult(Lib.readResource(resource));
+    }
+
+    private static void assertSameResult(final String fin) throws IOException {
+        final SwiftParser parser = new SwiftParser(fin);
+        final SwiftMessage expected = parser.message();
+
+        // read in chunks of different sizes to check the block boundaries at the window edges
+        for (final int chunk : new int[] {1, 2, 3, 7, SwiftParserConfiguration.BUFFERED_SCANNING_WINDOW_SIZE}) {
+            final SwiftParser buffered = new SwiftParser(new ChunkedReader(fin, chunk));
+            buffered.getConfiguration().setBufferedScanning(true);
+            final SwiftMessage actual = buffered.message();
+            assertEquals(expected, actual);
+            assertEquals(parser.getErrors(), buffered.getErrors());
+        }
+    }
+
+    /**
+     * Reader that returns at most the given amount of characters on each read
+     */
+    private static class ChunkedReader extends Reader {
+        private final Reader reader;
+        private final int chunk;
+
+        ChunkedReader(final String s, final int chunk) {
+            this.reader = new StringReader(s);
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            return reader.read(cbuf, off, Math.min(len, chunk));
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
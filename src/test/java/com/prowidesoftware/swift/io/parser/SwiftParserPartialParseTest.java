@@ -0,0 +1,138 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.utils.Lib;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class SwiftParserPartialParseTest {
+
+    private static final String MT103 = "{1:F01FOOBARYYAXXX1234123456}{2:O1030803051028AAPBESMMAXXX54237368560510280803N}"
+            + "{3:{113:NOMF}{108:0510280086100057}{119:STP}}{4:\n"
+            + ":20:D051026EUR100057\n"
+            + ":13C:/RNCTIME/0802+0000\n"
+            + ":23B:CRED\n"
+            + ":32A:051028EUR6740,91\n"
+            + ":59:/ES0123456789012345671234\n"
+            + "FOOOOO 1000 FOOBAR S.A.\n"
+            + ":71A:SHA\n"
+            + "-}{5:{MAC:D9D8FA56}{CHK:46E46A6460F2}}";
+
+    private static SwiftParser parser(final String fin, final boolean buffered) {
+        final SwiftParser parser = new SwiftParser(fin);
+        parser.getConfiguration().setBufferedScanning(buffered);
+        return parser;
+    }
+
+    private static Set<Character> blocks(final Character... ids) {
+        return new HashSet<>(Arrays.asList(ids));
+    }
+
+    private static Set<String> tags(final String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testStopAtBlock(final boolean buffered) throws IOException {
+        final SwiftParser parser = parser(MT103, buffered);
+        parser.getConfiguration().setPartialParseBlocks(blocks('1', '2', '3'));
+        final SwiftMessage msg = parser.message();
+        assertEquals("0510280086100057", msg.getBlock3().getTagValue("108"));
+        assertEquals("STP", msg.getBlock3().getTagValue("119"));
+        assertNull(msg.getBlock4());
+        assertNull(msg.getBlock5());
+
+        final MessageRemainder remainder = parser.getRemainder();
+        assertSame(msg, remainder.getMessage());
+        assertEquals(MT103.substring(MT103.indexOf("{4:")), remainder.getText());
+        assertFalse(remainder.isParsed());
+        assertSame(msg, remainder.parse());
+        assertTrue(remainder.isParsed());
+        assertEquals(SwiftMessage.parse(MT103), msg);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testStopAtTags(final boolean buffered) throws IOException {
+        final SwiftParser parser = parser(MT103, buffered);
+        parser.getConfiguration().setPartialParseTags(tags("20", "32A"));
+        final SwiftMessage msg = parser.message();
+        assertEquals(4, msg.getBlock4().size());
+        assertEquals("D051026EUR100057", msg.getBlock4().getTagValue("20"));
+        assertEquals("051028EUR6740,91", msg.getBlock4().getTagValue("32A"));
+        assertNull(msg.getBlock5());
+
+        final MessageRemainder remainder = parser.getRemainder();
+        assertEquals(MT103.substring(MT103.indexOf("\n:59:")), remainder.getText());
+        remainder.parse();
+        assertEquals(SwiftMessage.parse(MT103), msg);
+        assertTrue(parser.getErrors().isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testTagsAtBlockEnd(final boolean buffered) throws IOException {
+        final SwiftParser parser = parser(MT103, buffered);
+        parser.getConfiguration().setPartialParseBlocks(blocks('1', '2', '3', '4'));
+        parser.getConfiguration().setPartialParseTags(tags("71A"));
+        final SwiftMessage msg = parser.message();
+        assertEquals(SwiftMessage.parse(MT103).getBlock4(), msg.getBlock4());
+        assertNull(msg.getBlock5());
+
+        // parse without reading the text first
+        parser.getRemainder().parse();
+        assertEquals(SwiftMessage.parse(MT103), msg);
+        assertEquals("{5:{MAC:D9D8FA56}{CHK:46E46A6460F2}}", parser.getRemainder().getText());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testMissingTagsParsesAll(final boolean buffered) throws IOException {
+        final SwiftParser parser = parser(MT103, buffered);
+        parser.getConfiguration().setPartialParseTags(tags("20", "72"));
+        assertEquals(SwiftMessage.parse(MT103), parser.message());
+        assertNull(parser.getRemainder());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"MT101.fin", "MT320.txt", "MT103-bulk-with-ack.rje"})
+    public void testResources(final String resource) throws IOException {
+        final String fin = Lib.readResource(resource);
+        final SwiftParser full = new SwiftParser(fin);
+        final SwiftMessage expected = full.message();
+        for (final boolean buffered : new boolean[] {false, true}) {
+            final SwiftParser parser = parser(fin, buffered);
+            parser.getConfiguration().setPartialParseBlocks(blocks('1', '2', '3', '4'));
+            parser.getConfiguration().setPartialParseTags(tags("20"));
+            final SwiftMessage msg = parser.message();
+            assertNotNull(msg.getBlock1());
+            if (parser.getRemainder() != null) {
+                parser.getRemainder().parse();
+            }
+            assertEquals(expected, msg);
+            assertEquals(full.getErrors(), parser.getErrors());
+        }
+    }
+}
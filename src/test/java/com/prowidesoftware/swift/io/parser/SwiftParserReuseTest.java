@@ -0,0 +1,136 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.mt.AbstractMT;
+import com.prowidesoftware.swift.utils.Lib;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class SwiftParserReuseTest {
+
+    private static final String MT103 = "{1:F01FOOBARYYAXXX1234123456}{2:O1030803051028AAPBESMMAXXX54237368560510280803N}"
+            + "{3:{113:NOMF}{108:0510280086100057}{119:STP}}{4:\n"
+            + ":20:D051026EUR100057\n"
+            + ":23B:CRED\n"
+            + ":32A:051028EUR6740,91\n"
+            + ":71A:SHA\n"
+            + "-}{5:{MAC:D9D8FA56}{CHK:46E46A6460F2}}";
+
+    @AfterEach
+    public void disableCache() {
+        SwiftParser.setThreadLocalCache(false);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testReset(final boolean buffered) throws IOException {
+        final SwiftParser parser = new SwiftParser();
+        parser.getConfiguration().setBufferedScanning(buffered);
+        for (final String resource : new String[] {"MT101.fin", "MT320.txt", "MT103-bulk-with-ack.rje", "MT101.fin"}) {
+            final String fin = Lib.readResource(resource);
+            final SwiftParser expected = new SwiftParser(fin);
+            expected.getConfiguration().setBufferedScanning(buffered);
+
+            parser.setData(fin);
+            assertEquals(expected.message(), parser.message());
+            assertEquals(expected.getErrors(), parser.getErrors());
+            parser.reset();
+            assertTrue(parser.getErrors().isEmpty());
+            assertEquals(buffered, parser.getConfiguration().isBufferedScanning());
+        }
+    }
+
+    @Test
+    public void testResetClearsRemainder() throws IOException {
+        final SwiftParser parser = new SwiftParser(MT103);
+        parser.getConfiguration().setPartialParseBlocks(Collections.singleton('1'));
+        assertNull(parser.message().getBlock2());
+        assertNotNull(parser.getRemainder());
+
+        parser.reset();
+        assertNull(parser.getRemainder());
+        parser.getConfiguration().setPartialParseBlocks(null);
+        parser.setData(MT103);
+        assertEquals(SwiftMessage.parse(MT103), parser.message());
+    }
+
+    @Test
+    public void testNullData() throws IOException {
+        assertThrows(NullPointerException.class, () -> new SwiftParser((String) null));
+        final SwiftParser parser = new SwiftParser();
+        assertThrows(NullPointerException.class, () -> parser.setData(null));
+
+        SwiftParser.setThreadLocalCache(true);
+        assertThrows(NullPointerException.class, () -> SwiftParser.parseMessage(null));
+        // the cached parser is still usable
+        assertEquals(new SwiftParser(MT103).message(), SwiftParser.parseMessage(MT103));
+    }
+
+    @Test
+    public void testThreadLocalCache() throws IOException {
+        final SwiftMessage expected = new SwiftParser(MT103).message();
+        assertFalse(SwiftParser.isThreadLocalCache());
+        SwiftParser.setThreadLocalCache(true);
+        assertTrue(SwiftParser.isThreadLocalCache());
+
+        assertEquals(expected, SwiftMessage.parse(MT103));
+        assertEquals(expected, SwiftMessage.parse(MT103));
+        assertEquals("103", AbstractMT.parse(MT103).getMessageType());
+        assertNull(SwiftMessage.parse("").getBlock1());
+
+        final SwiftParserConfiguration configuration = new SwiftParserConfiguration();
+        configuration.setLazyTextBlock(true);
+        assertEquals(expected, SwiftParser.parseMessage(MT103, configuration));
+        // the given configuration is only used for that call
+        assertEquals(expected.getBlock4(), SwiftParser.parseMessage(MT103).getBlock4());
+    }
+
+    @Test
+    public void testDisabledCacheReleasesOtherThreadsParsers() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            SwiftParser.setThreadLocalCache(true);
+            assertNotNull(executor.submit(() -> SwiftParser.parseMessage(MT103)).get());
+            assertTrue(executor.submit(SwiftParserReuseTest::hasCachedParser).get());
+
+            // disabled from another thread, the worker drops its parser on its next parse
+            SwiftParser.setThreadLocalCache(false);
+            assertTrue(executor.submit(SwiftParserReuseTest::hasCachedParser).get());
+            assertEquals(
+                    SwiftMessage.parse(MT103),
+                    executor.submit(() -> SwiftParser.parseMessage(MT103)).get());
+            assertFalse(executor.submit(SwiftParserReuseTest::hasCachedParser).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static boolean hasCachedParser() throws ReflectiveOperationException {
+        final java.lang.reflect.Field field = SwiftParser.class.getDeclaredField("threadLocalParser");
+        field.setAccessible(true);
+        return ((ThreadLocal<?>) field.get(null)).get() != null;
+    }
+}
@@ -17,15 +17,21 @@ package com.prowidesoftware.swift.io.parser;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.prowidesoftware.ProwideException;
 import com.prowidesoftware.swift.io.writer.FINWriterVisitor;
 import com.prowidesoftware.swift.model.SwiftMessage;
 import com.prowidesoftware.swift.model.mt.mt1xx.MT103;
 import com.prowidesoftware.swift.model.mt.mt7xx.MT767;
+import com.prowidesoftware.swift.utils.Lib;
 import com.prowidesoftware.swift.utils.SafeXmlUtils;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import javax.xml.parsers.DocumentBuilder;
 import org.apache.commons.lang3.Strings;
 import org.junit.jupiter.api.Test;
@@ -539,6 +545,59 @@ public class XMLParserTest {
         assertNotNull("<Sender> to <Reciever> message", mt.getField72Z().getComponent1());
     }
 
+    @Test
+    public void testParseReaderAndStream() throws IOException {
+        final String xml = Lib.readResource("MT320.xml");
+        final SwiftMessage expected = new XMLParser().parse(xml);
+        assertNotNull(expected);
+        assertEquals("320", expected.getType());
+        assertEquals(expected, new XMLParser().parse(new StringReader(xml)));
+        assertEquals(
+                expected, new XMLParser().parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void testParseSingleMessageExpected() {
+        final XMLParser p = new XMLParser();
+        assertNull(p.parse("<messages/>"));
+        assertNull(p.parse("<messages><message/><message/></messages>"));
+        assertNotNull(p.parse("<messages><message/></messages>"));
+    }
+
+    @Test
+    public void testParseMessages() {
+        final String xml = "<messages>\n"
+                + "<message><block1><applicationId>F</applicationId><logicalTerminal>AAAAUSXXAXXX</logicalTerminal>"
+                + "</block1><block4><tag><name>20</name><value>REF1</value></tag></block4></message>\n"
+                + "<message><block4><tag><name>20</name></tag></block4><foo><bar/></foo></message>\n"
+                + "<other><message><block4><tag><name>20</name><value>REF3</value></tag></block4></message></other>\n"
+                + "</messages>";
+        final List<SwiftMessage> messages = new ArrayList<>();
+        final int count = new XMLParser().parseMessages(new StringReader(xml), messages::add);
+        assertEquals(3, count);
+        assertEquals(3, messages.size());
+        assertEquals("AAAAUSXXAXXX", messages.get(0).getBlock1().getLogicalTerminal());
+        assertEquals("REF1", messages.get(0).getBlock4().getTagValue("20"));
+        // unknown block element
+        assertNull(messages.get(1));
+        assertEquals("REF3", messages.get(2).getBlock4().getTagValue("20"));
+
+        messages.clear();
+        new XMLParser()
+                .parseMessages(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), messages::add);
+        assertEquals(3, messages.size());
+        assertEquals("REF3", messages.get(2).getBlock4().getTagValue("20"));
+    }
+
+    @Test
+    public void testParseMessagesMalformed() {
+        final List<SwiftMessage> messages = new ArrayList<>();
+        final Reader reader = new StringReader(
+                "<messages><message><block4><tag><name>20</name><value>REF1</value></tag></block4></message><message>");
+        assertThrows(ProwideException.class, () -> new XMLParser().parseMessages(reader, messages::add));
+        assertEquals(1, messages.size());
+    }
+
     /**
      * Test that external entities feature is disabled in the XML parsing to avoid XXE (external entity injection)
      */
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.writer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.utils.Lib;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class BufferedByteWriterTest {
+
+    /**
+     * Output stream counting the write calls
+     */
+    private static final class CountingStream extends ByteArrayOutputStream {
+        private int writes = 0;
+
+        @Override
+        public synchronized void write(final byte[] b, final int off, final int len) {
+            this.writes++;
+            super.write(b, off, len);
+        }
+    }
+
+    @Test
+    public void testSameAsOutputStreamWriter() throws IOException {
+        final Random random = new Random(42);
+        final char[] alphabet = {'a', 'Z', '1', ':', '\r', '\n', 'é', 'ñ', '€', '\uD83D', '\uDE00'};
+        for (final Charset charset :
+                new Charset[] {StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, StandardCharsets.US_ASCII}) {
+            for (int n = 0; n < 100; n++) {
+                final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+                final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+                try (Writer w1 = new OutputStreamWriter(expected, charset);
+                        Writer w2 = n % 2 == 0
+                                ? new BufferedByteWriter(actual, charset, 16 + n)
+                                : new BufferedByteWriter(Channels.newChannel(actual), charset, 16 + n)) {
+                    for (int i = random.nextInt(20); i > 0; i--) {
+                        final StringBuilder sb = new StringBuilder();
+                        for (int j = random.nextInt(300); j > 0; j--) {
+                            sb.append(alphabet[random.nextInt(alphabet.length)]);
+                        }
+                        if (random.nextBoolean()) {
+                            w1.write(sb.toString());
+                            w2.write(sb.toString());
+                        } else {
+                            w1.write(sb.toString().toCharArray());
+                            w2.write(sb.toString().toCharArray());
+                        }
+                        w1.write('-');
+                        w2.write('-');
+                    }
+                }
+                assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+            }
+        }
+    }
+
+    @Test
+    public void testSurrogatePairAcrossFlush() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Writer writer = new BufferedByteWriter(out);
+        writer.write('\uD83D');
+        writer.flush();
+        assertEquals(0, out.size());
+        writer.write('\uDE00');
+        writer.close();
+        assertEquals("😀", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testMessagesWrittenInLargeChunks() throws IOException {
+        final SwiftMessage msg = SwiftMessage.parse(Lib.readResource("MT101.fin"));
+        final StringWriter fin = new StringWriter();
+        final StringWriter xml = new StringWriter();
+        for (int i = 0; i < 100; i++) {
+            SwiftWriter.writeMessage(msg, fin);
+            msg.visit(new XMLWriterVisitor(xml, true));
+        }
+
+        final CountingStream out = new CountingStream();
+        try (Writer writer = new BufferedByteWriter(out, StandardCharsets.UTF_8, 8192)) {
+            for (int i = 0; i < 100; i++) {
+                SwiftWriter.writeMessage(msg, writer);
+            }
+            for (int i = 0; i < 100; i++) {
+                msg.visit(new XMLWriterVisitor(writer, true));
+            }
+        }
+        final String expected = fin.toString() + xml;
+        assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+        assertTrue(out.writes <= expected.length() / 8192 + 1, "writes: " + out.writes);
+    }
+
+    @Test
+    public void testClosed() throws IOException {
+        final Writer writer = new BufferedByteWriter(new ByteArrayOutputStream());
+        writer.close();
+        writer.close();
+        assertThrows(IOException.class, () -> writer.write("a"));
+        assertThrows(IOException.class, writer::flush);
+    }
+}
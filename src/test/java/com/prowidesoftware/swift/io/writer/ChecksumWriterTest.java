@@ -0,0 +1,94 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.io.writer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class ChecksumWriterTest {
+
+    private static String checksum(final ChecksumAlgorithm algorithm, final String text) {
+        final ChecksumWriter writer = new ChecksumWriter(algorithm);
+        writer.write(text, 0, text.length());
+        return writer.checksum();
+    }
+
+    private static String digest(final String algorithm, final String text) throws Exception {
+        return ChecksumWriter.hex(MessageDigest.getInstance(algorithm).digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testKnownValues() {
+        assertEquals("d41d8cd98f00b204e9800998ecf8427e", checksum(ChecksumAlgorithm.MD5, ""));
+        assertEquals("900150983cd24fb0d6963f7d28e17f72", checksum(ChecksumAlgorithm.MD5, "abc"));
+        assertEquals(
+                "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                checksum(ChecksumAlgorithm.SHA_256, "abc"));
+        assertEquals("ef46db3751d8e999", checksum(ChecksumAlgorithm.XXH64, ""));
+        assertEquals("44bc2cf5ad770999", checksum(ChecksumAlgorithm.XXH64, "abc"));
+        assertEquals("00000000000000000000000000000000", checksum(ChecksumAlgorithm.MURMUR3_128, ""));
+        assertEquals(
+                "6c1b07bc7bbc4be347939ac4a93c437a",
+                checksum(ChecksumAlgorithm.MURMUR3_128, "The quick brown fox jumps over the lazy dog"));
+    }
+
+    @Test
+    public void testSameAsStringBytes() throws Exception {
+        final Random random = new Random(42);
+        final char[] alphabet = {'a', 'Z', '1', ':', '\r', '\n', 'é', 'ñ', '€', '\uD83D', '\uDE00'};
+        for (int n = 0; n < 200; n++) {
+            final StringBuilder sb = new StringBuilder();
+            final int length = random.nextInt(3000);
+            for (int i = 0; i < length; i++) {
+                sb.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            final String text = sb.toString();
+            assertEquals(digest("MD5", text), checksum(ChecksumAlgorithm.MD5, text), text);
+            assertEquals(digest("SHA-256", text), checksum(ChecksumAlgorithm.SHA_256, text), text);
+        }
+    }
+
+    @Test
+    public void testChunkedUpdates() {
+        final byte[] bytes = new byte[5000];
+        new Random(7).nextBytes(bytes);
+        for (ChecksumAlgorithm algorithm : ChecksumAlgorithm.values()) {
+            final Hasher whole = algorithm.newHasher();
+            whole.update(bytes, 0, bytes.length);
+            final String expected = ChecksumWriter.hex(whole.digest());
+            for (int chunk : new int[] {1, 3, 7, 15, 16, 17, 31, 32, 33, 1000}) {
+                final Hasher hasher = algorithm.newHasher();
+                for (int i = 0; i < bytes.length; i += chunk) {
+                    hasher.update(bytes, i, Math.min(chunk, bytes.length - i));
+                }
+                assertEquals(expected, ChecksumWriter.hex(hasher.digest()), algorithm + " " + chunk);
+            }
+        }
+    }
+
+    @Test
+    public void testChecksumOnce() throws Exception {
+        final ChecksumWriter writer = new ChecksumWriter(ChecksumAlgorithm.XXH64);
+        writer.write("abc");
+        writer.checksum();
+        assertThrows(IllegalStateException.class, writer::checksum);
+        assertThrows(IllegalStateException.class, () -> writer.write("d"));
+    }
+}
@@ -15,18 +15,23 @@
  */
 package com.prowidesoftware.swift.io.writer;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 import com.prowidesoftware.swift.Constants;
 import com.prowidesoftware.swift.io.parser.SwiftParser;
+import com.prowidesoftware.swift.model.SwiftBlock1;
 import com.prowidesoftware.swift.model.SwiftBlock3;
 import com.prowidesoftware.swift.model.SwiftBlock4;
 import com.prowidesoftware.swift.model.SwiftMessage;
 import com.prowidesoftware.swift.model.Tag;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -136,4 +141,62 @@ public class SwiftWriterTest {
 
         assertEquals("{3:{108:MUR}}{4:\r\n" + ":20:REF\r\n" + "-}", buf.toString());
     }
+
+    @Test
+    public void testWriteFinNormalizesEols() {
+        SwiftMessage m = new SwiftMessage(true);
+        m.getBlock1().setValue(Constants.B1_DATA);
+        m.getBlock2().clean();
+        m.getBlock3().append(new Tag("108", "MUR"));
+        m.getBlock4().append(new Tag("20", "REF"));
+        m.getBlock4().append(new Tag("79", "LINE1\nLINE2\rLINE3\r\n\nLINE5"));
+        m.getUnparsedTexts().addText("\n");
+
+        final String expected = "{1:" + Constants.B1_DATA + "}{3:{108:MUR}}{4:\r\n"
+                + ":20:REF\r\n"
+                + ":79:LINE1\r\nLINE2\r\nLINE3\r\n\r\nLINE5\r\n"
+                + "-}";
+        StringWriter buf = new StringWriter();
+        SwiftWriter.writeMessage(m, buf, true);
+        assertEquals(expected, SwiftWriter.ensureEols(buf.toString()));
+
+        StringBuilder sb = new StringBuilder();
+        SwiftWriter.writeFin(m, sb);
+        assertEquals(expected, sb.toString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SwiftWriter.writeFin(m, out, StandardCharsets.UTF_8);
+        assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+
+        ByteBuffer bytes = ByteBuffer.allocate(200);
+        SwiftWriter.writeFin(m, bytes, StandardCharsets.US_ASCII);
+        assertEquals(expected, new String(bytes.array(), 0, bytes.position(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testWriteFinBufferOverflow() {
+        SwiftMessage m = new SwiftMessage(true);
+        m.getBlock1().setValue(Constants.B1_DATA);
+        m.getBlock4().append(new Tag("20", "REF"));
+        ByteBuffer bytes = ByteBuffer.allocate(20);
+        bytes.put((byte) '#');
+        assertThrows(
+                BufferOverflowException.class, () -> SwiftWriter.writeFin(m, bytes, StandardCharsets.US_ASCII));
+        assertEquals(1, bytes.position());
+    }
+
+    @Test
+    public void testNormalizeEolsAcrossWrites() {
+        StringWriter buf = new StringWriter();
+        FINWriterVisitor visitor = new FINWriterVisitor(buf);
+        visitor.setNormalizeEols(true);
+        SwiftBlock1 b1 = new SwiftBlock1();
+        visitor.startBlock1(b1);
+        // a CRLF split in two writes is a single line break
+        visitor.value(b1, "A\r");
+        visitor.value(b1, "\nB\r");
+        visitor.value(b1, "\r\n");
+        visitor.endBlock1(b1);
+        assertEquals("{1:A\r\nB\r\n\r\n}", buf.toString());
+    }
 }
@@ -16,6 +16,7 @@
 package com.prowidesoftware.swift.io.writer;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.prowidesoftware.swift.Constants;
 import com.prowidesoftware.swift.model.*;
@@ -254,4 +255,16 @@ public class XMLWriterVisitorTest {
         this.visitor = new XMLWriterVisitor(this.io, true);
         assertXmlEqual(xml, getResult());
     }
+
+    @Test
+    public void testEscapedValues() {
+        msg.clear();
+        SwiftBlock4 b4 = new SwiftBlock4();
+        b4.append(new Tag("72", "/A&B <C> 'D'"));
+        b4.append(new Tag("79", "\"E\"\u0001F"));
+        msg.setBlock4(b4);
+        String xml = getResult();
+        assertTrue(xml.contains("<value>/A&amp;B &lt;C&gt; &apos;D&apos;</value>"), xml);
+        assertTrue(xml.contains("<value>&quot;E&quot;&#1;F</value>"), xml);
+    }
 }
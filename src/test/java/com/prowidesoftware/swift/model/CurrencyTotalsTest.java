@@ -0,0 +1,87 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.prowidesoftware.swift.model.field.Field19A;
+import com.prowidesoftware.swift.model.field.Field32A;
+import com.prowidesoftware.swift.model.field.Field33B;
+import com.prowidesoftware.swift.model.field.Field62F;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+public class CurrencyTotalsTest {
+
+    @Test
+    public void testFields() {
+        final CurrencyTotals totals = new CurrencyTotals();
+        assertTrue(totals.add(new Field32A("121212USD1234,5")));
+        assertTrue(totals.add(new Field33B("USD0,25")));
+        assertTrue(totals.add(new Field62F("D121212USD1000,")));
+        assertTrue(totals.add(new Field19A(":SETT//NEUR567,8")));
+        assertFalse(totals.add(new Field32A("121212EUR")));
+        assertEquals(new BigDecimal("234.75"), totals.total("USD"));
+        assertEquals(ScaledAmount.of(23475, 2), totals.scaledTotal("USD"));
+        assertEquals(3, totals.count("USD"));
+        assertEquals(new BigDecimal("-567.8"), totals.total("EUR"));
+        assertEquals(Arrays.asList("USD", "EUR"), Arrays.asList(totals.currencies().toArray()));
+        assertNull(totals.total("GBP"));
+        assertEquals(0, totals.count("GBP"));
+    }
+
+    @Test
+    public void testOverflow() {
+        final CurrencyTotals totals = new CurrencyTotals();
+        totals.add("USD", Long.MAX_VALUE, 2);
+        totals.add("USD", 1, 2);
+        totals.add("USD", 1, 20);
+        final BigDecimal expected = BigDecimal.valueOf(Long.MAX_VALUE, 2)
+                .add(BigDecimal.valueOf(1, 2))
+                .add(BigDecimal.valueOf(1, 20));
+        assertEquals(expected, totals.total("USD"));
+        assertFalse(totals.scaledTotal("USD").isCompact());
+    }
+
+    @Test
+    public void testMessages() throws IOException {
+        final SwiftMessage mt103 = SwiftMessage.parse("{1:F01AAAAUSC0AXXX0000000000}{2:I103BBBBUSC0XXXXN}{4:\n"
+                + ":20:REF1\n:23B:CRED\n:32A:231010USD1000,50\n:50K:/123\nFOO\n:59:/456\nBAR\n:71A:SHA\n-}");
+        final SwiftMessage mt202 = SwiftMessage.parse("{1:F01AAAAUSC0AXXX0000000000}{2:I202BBBBUSC0XXXXN}{4:\n"
+                + ":20:REF2\n:21:REL\n:32A:231010EUR20,\n:58A:CCCCUSC0\n-}");
+        final SwiftMessage mt101 = SwiftMessage.parse("{1:F01AAAAUSC0AXXX0000000000}{2:I101BBBBUSC0XXXXN}{4:\n"
+                + ":20:REF3\n:28D:1/1\n:30:231010\n:21:A\n:32B:USD1,25\n:59:/1\nX\n:71A:SHA\n"
+                + ":21:B\n:32B:USD2,\n:59:/2\nY\n:71A:SHA\n-}");
+
+        final CurrencyTotals totals = Stream.of(mt103, mt202, mt101, null).collect(CurrencyTotals.summingMessages());
+        assertEquals(new BigDecimal("1003.75"), totals.total("USD"));
+        assertEquals(3, totals.count("USD"));
+        assertEquals(new BigDecimal("20"), totals.total("EUR"));
+
+        final CurrencyTotals parallel =
+                Stream.of(mt103, mt202, mt101).parallel().collect(CurrencyTotals.summingMessages());
+        assertEquals(totals.toMap(), parallel.toMap());
+
+        BigDecimal sum = BigDecimal.ZERO;
+        for (SwiftMessage m : Arrays.asList(mt103, mt101)) {
+            sum = sum.add(SwiftMessageUtils.money(m).getAmount());
+        }
+        assertEquals(sum, totals.total("USD"));
+    }
+}
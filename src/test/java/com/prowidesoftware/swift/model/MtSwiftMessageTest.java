@@ -16,13 +16,20 @@
 package com.prowidesoftware.swift.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.prowidesoftware.swift.io.ConversionService;
 import com.prowidesoftware.swift.model.mt.DefaultMtMetadataStrategy;
 import com.prowidesoftware.swift.model.mt.mt1xx.MT103;
 import com.prowidesoftware.swift.model.mt.mt7xx.MT798;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.Calendar;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 
@@ -315,6 +322,89 @@ public class MtSwiftMessageTest {
         assertNull(mt.getUetr());
     }
 
+    @Test
+    public void testMetadataExtractedAtOnce() {
+        String[] messages = {
+            "{1:F01AGBLLT2XAXXX1012000002}{2:I103TESTARZZXXXXN}{3:{108:MYMUR123458}}{4:\n:20:TEST\n:32A:090903USD23453,\n-}{5:{CHK:123456789ABC}}",
+            "{1:F01AAAAFRPPAGSS0000000000}{2:I540BBBBFRPPXHCMN}{4:\n:16R:GENL\n:20C::SEME//REF540\n:23G:NEWM\n:16S:GENL\n"
+                    + ":16R:TRADDET\n:98A::SETT//20211216\n:98A::TRAD//20211215\n:35B:ISIN FR0099001N99\n:16S:TRADDET\n"
+                    + ":16R:SETDET\n:22F::SETR//TRAD\n:16R:AMT\n:19A::SETT//EUR31005000,\n:16S:AMT\n:16S:SETDET\n-}",
+            "{1:F21AAAALT2XAXXX0000000000}{4:{177:1903250612}{451:0}}{1:F01AAAALT2XAXXX1012000002}{2:I103BBBBARZZXXXXN}{4:\n:20:TEST\n:32A:090903USD23453,\n-}",
+            "{1:F01AGBLLT2XAXXX1012000002}{2:I103TESTARZZXXXXN}{4:\n-}",
+            "{1:F01AGBLLT2XAXXX1012000002}{2:I103TESTARZZXXXXN}"
+        };
+        for (String fin : messages) {
+            // a subclass of the default strategy is applied method by method
+            MtSwiftMessage expected = new MtSwiftMessage(fin, new DefaultMtMetadataStrategy() {});
+            MtSwiftMessage actual = new MtSwiftMessage(fin);
+            assertEquals(expected.getReference(), actual.getReference(), fin);
+            assertEquals(expected.getCurrency(), actual.getCurrency(), fin);
+            assertEquals(expected.getAmount(), actual.getAmount(), fin);
+            assertEquals(expected.getValueDate(), actual.getValueDate(), fin);
+            assertEquals(expected.getTradeDate(), actual.getTradeDate(), fin);
+            assertEquals(expected.getSender(), actual.getSender(), fin);
+            assertEquals(expected.getReceiver(), actual.getReceiver(), fin);
+            assertEquals(expected.getIdentifier(), actual.getIdentifier(), fin);
+            assertEquals(expected.getChecksum(), actual.getChecksum(), fin);
+            assertEquals(expected.getChecksumBody(), actual.getChecksumBody(), fin);
+
+            // the FIN content created from the model is the same
+            SwiftMessage model = actual.modelMessage();
+            MtSwiftMessage fromModel = new MtSwiftMessage(model);
+            assertEquals(new ConversionService().getFIN(model), fromModel.getMessage());
+            assertEquals(expected.getChecksum(), fromModel.getChecksum());
+            assertEquals(expected.getChecksumBody(), fromModel.getChecksumBody());
+            assertFalse(model.getBlock4() != null && model.getBlock4().isIndexed());
+        }
+    }
+
+    @Test
+    public void testMetadataLeavesMessageUntouched() throws IOException {
+        SwiftMessage model = SwiftMessage.parse(
+                "{1:F01AGBLLT2XAXXX1012000002}{2:I103TESTARZZXXXXN}{4:\n:20:TEST\n:32A:090903USD23453,\n-}");
+        List<Tag> tags = model.getBlock4().getTags();
+        MtMetadata metadata = MtMetadata.of(model);
+        assertEquals("TEST", metadata.getReference());
+        assertEquals("USD", metadata.getMoney().getCurrency());
+        assertSame(tags, model.getBlock4().getTags());
+        assertFalse(model.getBlock4().isIndexed());
+
+        model.getBlock4().setIndexed(true);
+        assertEquals("TEST", MtMetadata.of(model).getReference());
+        assertTrue(model.getBlock4().isIndexed());
+    }
+
+    @Test
+    public void testModelMessageCache() throws ReflectiveOperationException {
+        String fin = "{1:F01AGBLLT2XAXXX1012000002}{2:I103TESTARZZXXXXN}{4:\n:20:TEST\n:32A:090903USD23453,\n-}";
+        MtSwiftMessage msg = MtSwiftMessage.parse(fin);
+        assertFalse(msg.isModelCacheEnabled());
+        assertNotSame(msg.modelMessage(), msg.modelMessage());
+
+        msg.setModelCacheEnabled(true);
+        SwiftMessage model = msg.modelMessage();
+        assertSame(model, msg.modelMessage());
+        assertEquals("TEST", model.getBlock4().getTagValue("20"));
+
+        // the cached model is discarded when the content changes
+        msg.updateFromFIN(fin.replace(":20:TEST", ":20:OTHER"));
+        assertNotSame(model, msg.modelMessage());
+        assertEquals("OTHER", msg.modelMessage().getBlock4().getTagValue("20"));
+        msg.setMessage(fin);
+        assertEquals("TEST", msg.modelMessage().getBlock4().getTagValue("20"));
+
+        // content written to the field directly, as done by JPA field access
+        java.lang.reflect.Field field = AbstractSwiftMessage.class.getDeclaredField("message");
+        field.setAccessible(true);
+        field.set(msg, fin.replace(":20:TEST", ":20:DIRECT"));
+        assertEquals("DIRECT", msg.modelMessage().getBlock4().getTagValue("20"));
+        msg.setMessage(fin);
+
+        msg.setModelCacheEnabled(false);
+        assertNotSame(msg.modelMessage(), msg.modelMessage());
+        assertEquals("TEST", msg.modelMessage().getBlock4().getTagValue("20"));
+    }
+
     public static class TestMtMetadataStrategy implements MessageMetadataStrategy {
 
         @Override
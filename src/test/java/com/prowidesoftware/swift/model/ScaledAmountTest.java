@@ -0,0 +1,82 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.prowidesoftware.swift.model.field.Field32A;
+import com.prowidesoftware.swift.utils.SwiftFormatUtils;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+public class ScaledAmountTest {
+
+    @Test
+    public void testParse() {
+        ScaledAmount amount = ScaledAmount.parse("1234,56");
+        assertTrue(amount.isCompact());
+        assertEquals(123456, amount.getUnscaledValue());
+        assertEquals(2, amount.getScale());
+        assertEquals(new BigDecimal("1234.56"), amount.toBigDecimal());
+
+        assertEquals(ScaledAmount.of(1234, 0), ScaledAmount.parse("1234,"));
+        assertEquals(ScaledAmount.of(5, 1), ScaledAmount.parse(",5"));
+        assertEquals(ScaledAmount.of(0, 2), ScaledAmount.parse("0,00"));
+        assertNull(ScaledAmount.parse(null));
+        assertNull(ScaledAmount.parse(""));
+        assertNull(ScaledAmount.parse(","));
+        assertNull(ScaledAmount.parse("abc"));
+    }
+
+    @Test
+    public void testSameAsBigDecimal() {
+        for (String value : Arrays.asList(
+                "0",
+                "0001,10",
+                "999999999999999999",
+                "999999999999999999,9",
+                "9223372036854775807",
+                "9223372036854775808",
+                "12345678901234567890123,45",
+                "-12,3",
+                "12,34abc")) {
+            final ScaledAmount amount = ScaledAmount.parse(value);
+            final BigDecimal expected = SwiftFormatUtils.getBigDecimal(value);
+            assertEquals(expected, amount.toBigDecimal(), value);
+            assertEquals(ScaledAmount.of(expected), amount, value);
+        }
+        assertTrue(ScaledAmount.parse("9223372036854775807").isCompact());
+        assertFalse(ScaledAmount.parse("9223372036854775808").isCompact());
+        assertThrows(ArithmeticException.class, () -> ScaledAmount.parse("9223372036854775808")
+                .getUnscaledValue());
+    }
+
+    @Test
+    public void testNegate() {
+        assertEquals(ScaledAmount.of(-15, 1), ScaledAmount.parse("1,5").negate());
+        assertEquals(-1, ScaledAmount.parse("1,5").negate().signum());
+        assertEquals(
+                new BigDecimal(Long.MIN_VALUE).negate(),
+                ScaledAmount.of(Long.MIN_VALUE, 0).negate().toBigDecimal());
+    }
+
+    @Test
+    public void testFieldAmount() {
+        assertEquals(ScaledAmount.of(123456, 2), new Field32A("121212USD1234,56").scaledAmount());
+        assertNull(new Field32A("121212USD").scaledAmount());
+    }
+}
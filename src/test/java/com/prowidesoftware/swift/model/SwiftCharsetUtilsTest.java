@@ -17,6 +17,7 @@ package com.prowidesoftware.swift.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 public class SwiftCharsetUtilsTest {
@@ -338,4 +339,58 @@ public class SwiftCharsetUtilsTest {
         log.info("y" + SwiftCharsetUtils.getAsString(SwiftCharset.y));
         log.info("z" + SwiftCharsetUtils.getAsString(SwiftCharset.z));
     }
+
+    @Test
+    public void testSameAsCharsetArrays() {
+        for (final SwiftCharset charset : SwiftCharset.values()) {
+            final String chars = new String(charsOf(charset));
+            for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+                assertEquals(chars.indexOf(c) >= 0, SwiftCharsetUtils.is((char) c, charset), charset + " " + c);
+            }
+        }
+    }
+
+    private static char[] charsOf(final SwiftCharset charset) {
+        switch (charset) {
+            case n:
+                return SwiftCharsetUtils.get_n();
+            case a:
+                return SwiftCharsetUtils.get_a();
+            case A:
+                return SwiftCharsetUtils.get_A();
+            case x:
+                return SwiftCharsetUtils.get_x();
+            case y:
+                return SwiftCharsetUtils.get_y();
+            case z:
+                return SwiftCharsetUtils.get_z();
+            case c:
+                return SwiftCharsetUtils.get_c();
+            default:
+                return SwiftCharsetUtils.get_B();
+        }
+    }
+
+    @Test
+    public void testValidateBlock() {
+        final SwiftBlock4 b4 = new SwiftBlock4();
+        b4.append(new Tag("20", "REF-1"));
+        b4.append(new Tag("70", "CAFÉ @HOME"));
+        b4.append(new Tag("72", (String) null));
+        b4.append(new Tag("79", "a\r\nb_"));
+
+        final List<SwiftCharsetViolation> x = SwiftCharsetUtils.validate(b4, SwiftCharset.x);
+        assertEquals(3, x.size());
+        assertEquals(new SwiftCharsetViolation(1, "70", 3, 'É'), x.get(0));
+        assertEquals(new SwiftCharsetViolation(1, "70", 5, '@'), x.get(1));
+        assertEquals(new SwiftCharsetViolation(3, "79", 4, '_'), x.get(2));
+        assertEquals("invalid character '@' (U+0040) at offset 5 of tag 70 (index 1)", x.get(1).toString());
+
+        final List<SwiftCharsetViolation> z = SwiftCharsetUtils.validate(b4, SwiftCharset.z);
+        assertEquals(1, z.size());
+        assertEquals('É', z.get(0).getCharacter());
+        assertEquals("70", z.get(0).getTagName());
+
+        assertTrue(SwiftCharsetUtils.validate(new SwiftBlock4(), SwiftCharset.x).isEmpty());
+    }
 }
@@ -21,8 +21,12 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
 import com.prowidesoftware.swift.model.mt.mt1xx.MT103;
 import com.prowidesoftware.swift.utils.SwiftMessageComparator;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -576,4 +580,85 @@ public class SwiftMessageJsonTest {
 
         assertTrue(comp.compare(m, fromJsonSwiftMessage) == 0);
     }
+
+    @Test
+    public void testSwiftMessageToJsonWriter() throws IOException {
+        SwiftMessage m = SwiftMessage.parse("{1:F01FOOSEDR0AXXX0000000000}{2:I103FOORECV0XXXXN}{4:\n"
+                + ":20:REFERENCE\n"
+                + ":23B:CRED\n"
+                + ":32A:130204USD1234567,89\n"
+                + "-}{5:{CHK:C77F8E009597}}");
+
+        StringWriter compact = new StringWriter();
+        m.toJson(compact, false);
+        assertFalse(compact.toString().contains("\n"));
+
+        SwiftMessage fromJson = SwiftMessage.fromJson(new StringReader(compact.toString()));
+        assertEquals(0, new SwiftMessageComparator().compare(m, fromJson));
+
+        // same content as the String based serialization, apart from the timestamp
+        StringWriter pretty = new StringWriter();
+        m.toJson(pretty, true);
+        JsonObject expected = JsonParser.parseString(m.toJson()).getAsJsonObject();
+        JsonObject actual = JsonParser.parseString(pretty.toString()).getAsJsonObject();
+        expected.remove("timestamp");
+        actual.remove("timestamp");
+        assertEquals(expected, actual);
+
+        JsonObject tree = m.toJsonTree();
+        tree.remove("timestamp");
+        assertEquals(expected, tree);
+    }
+
+    @Test
+    public void testSwiftMessageToJsonStreamed() throws IOException {
+        SwiftMessage m = SwiftMessage.parse("{1:F01FOOSEDR0AXXX0000000000}"
+                + "{2:O1030803051028AAPBESMMAXXX54237368560510280803N}{4:\n"
+                + ":20:REFERENCE\n"
+                + ":32A:130204USD1234567,89\n"
+                + "-}{5:{CHK:C77F8E009597}}");
+        m.getBlock4().getTagByName("20").unparsedTextAddText("{1:F01FOOSEDR0AXXX0000000000}");
+
+        // the streamed JSON has the same content of the JSON tree, and the null block 3 is omitted
+        StringWriter compact = new StringWriter();
+        m.toJson(compact, false);
+        JsonObject expected = m.toJsonTree();
+        JsonObject actual = JsonParser.parseString(compact.toString()).getAsJsonObject();
+        expected.remove("timestamp");
+        actual.remove("timestamp");
+        assertEquals(expected, actual);
+        assertFalse(actual.getAsJsonObject("data").has("block3"));
+        assertEquals(
+                "{1:F01FOOSEDR0AXXX0000000000}",
+                actual.getAsJsonObject("data")
+                        .getAsJsonObject("block4")
+                        .getAsJsonArray("tags")
+                        .get(0)
+                        .getAsJsonObject()
+                        .getAsJsonObject("unparsedTexts")
+                        .getAsJsonArray("texts")
+                        .get(0)
+                        .getAsString());
+
+        SwiftMessage fromJson = SwiftMessage.fromJson(compact.toString());
+        assertEquals(m.getBlock4(), fromJson.getBlock4());
+        assertEquals(
+                m.getBlock4().getTagByName("20").getUnparsedTexts().getTexts(),
+                fromJson.getBlock4().getTagByName("20").getUnparsedTexts().getTexts());
+
+        // embedded in a larger document written with nulls enabled
+        StringWriter embedded = new StringWriter();
+        JsonWriter writer = new JsonWriter(embedded);
+        writer.setSerializeNulls(true);
+        writer.beginArray();
+        m.toJson(writer);
+        writer.endArray();
+        writer.flush();
+        JsonObject element = JsonParser.parseString(embedded.toString())
+                .getAsJsonArray()
+                .get(0)
+                .getAsJsonObject();
+        element.remove("timestamp");
+        assertEquals(expected, element);
+    }
 }
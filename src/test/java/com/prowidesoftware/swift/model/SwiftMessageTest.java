@@ -35,8 +35,13 @@ import com.prowidesoftware.swift.model.mt.mt5xx.MT540;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -545,4 +550,92 @@ public class SwiftMessageTest {
         assertFalse(new MT300().getSwiftMessage().isGpi());
         assertFalse(new MT198().getSwiftMessage().isGpi());
     }
+
+    @Test
+    public void testLazyBlock4() throws IOException {
+        final String fin = "{1:F01FOOBARXXAXXX0000000000}{2:I103BANKDEFFXXXXN}{3:{108:MUR}}{4:\r\n"
+                + ":20:REFERENCE\r\n"
+                + ":23B:CRED\r\n"
+                + ":32A:230930EUR1234,56\r\n"
+                + ":70:LINE 1\r\nLINE 2\r\n"
+                + "-}{5:{CHK:123456789ABC}}";
+        final SwiftMessage eager = SwiftMessage.parse(fin);
+
+        final SwiftParser parser = new SwiftParser(fin);
+        parser.getConfiguration().setLazyTextBlock(true);
+        final SwiftMessage lazy = parser.message();
+        assertNotNull(lazy.getBlock4Text());
+        assertEquals(eager.getBlock3(), lazy.getBlock3());
+        assertEquals(eager.getBlock5(), lazy.getBlock5());
+        assertEquals(5, lazy.getBlockCount());
+
+        // written as is
+        assertEquals(fin, new ConversionService().getFIN(lazy));
+        assertEquals(new ConversionService().getFIN(eager), new ConversionService().getFIN(lazy));
+        assertNotNull(lazy.getBlock4Text());
+
+        // parsed on first access
+        assertEquals("230930EUR1234,56", new MT103(lazy).getField32A().getValue());
+        assertNull(lazy.getBlock4Text());
+        assertEquals(eager.getBlock4(), lazy.getBlock4());
+        assertEquals(eager, lazy);
+        assertEquals(fin, new ConversionService().getFIN(lazy));
+    }
+
+    @Test
+    public void testLazyBlock4ConcurrentReaders() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 50; i++) {
+                final SwiftMessage lazy = new SwiftMessage();
+                lazy.setBlock4Text("4:\r\n:20:REFERENCE\r\n:23B:CRED\r\n-");
+                final CountDownLatch start = new CountDownLatch(1);
+                final List<Future<SwiftBlock4>> reads = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    reads.add(executor.submit(() -> {
+                        start.await();
+                        return lazy.getBlock4();
+                    }));
+                }
+                start.countDown();
+                final SwiftBlock4 block4 = reads.get(0).get();
+                assertEquals("REFERENCE", block4.getTagValue("20"));
+                for (final Future<SwiftBlock4> read : reads) {
+                    // parsed once, every reader sees the same block
+                    assertSame(block4, read.get());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testLazyBlock4NotStandard() throws IOException {
+        // LF line breaks are normalized by the writer, thus the block is parsed to be written
+        final String fin = "{1:F01FOOBARXXAXXX0000000000}{2:I103BANKDEFFXXXXN}{4:\n:20:REFERENCE\n:23B:CRED\n-}";
+        final SwiftParser parser = new SwiftParser(fin);
+        parser.getConfiguration().setLazyTextBlock(true);
+        final SwiftMessage lazy = parser.message();
+        assertNotNull(lazy.getBlock4Text());
+        assertEquals(new ConversionService().getFIN(SwiftMessage.parse(fin)), new ConversionService().getFIN(lazy));
+
+        // the pending text is parsed before the java serialization
+        final SwiftParser parser2 = new SwiftParser(fin);
+        parser2.getConfiguration().setLazyTextBlock(true);
+        final SwiftMessage lazy2 = parser2.message();
+        try (ObjectOutputStream out = new ObjectOutputStream(new ByteArrayOutputStream())) {
+            out.writeObject(lazy2);
+        }
+        assertNull(lazy2.getBlock4Text());
+        assertEquals("REFERENCE", lazy2.getBlock4().getTagValue("20"));
+
+        // setting the block discards the pending text
+        lazy.setBlock4Text("4:\r\n:20:OTHER\r\n-");
+        assertEquals("OTHER", lazy.getBlock4().getTagValue("20"));
+        lazy.setBlock4Text("4:\r\n:20:OTHER\r\n-");
+        lazy.setBlock4(new SwiftBlock4());
+        assertNull(lazy.getBlock4Text());
+        assertTrue(lazy.getBlock4().isEmpty());
+    }
 }
@@ -18,6 +18,8 @@ package com.prowidesoftware.swift.model;
 import static com.prowidesoftware.swift.model.SwiftMessageUtils.calculateChecksum;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.prowidesoftware.swift.io.writer.ChecksumAlgorithm;
+import com.prowidesoftware.swift.io.writer.SwiftWriter;
 import com.prowidesoftware.swift.model.field.*;
 import com.prowidesoftware.swift.model.mt.mt1xx.MT103;
 import com.prowidesoftware.swift.model.mt.mt5xx.MT502;
@@ -26,7 +28,11 @@ import com.prowidesoftware.swift.model.mt.mt5xx.MT540;
 import com.prowidesoftware.swift.model.mt.mt6xx.MT670;
 import com.prowidesoftware.swift.utils.Lib;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
@@ -588,6 +594,27 @@ public class SwiftMessageUtilsTest {
         assertEquals(s.length(), 32);
     }
 
+    @Test
+    void testCalculateChecksumAlgorithms() throws Exception {
+        SwiftMessage msg = SwiftMessage.parse(Lib.readResource("MT362.fin"));
+        // MD5 on the FIN content as String
+        StringWriter fin = new StringWriter();
+        SwiftWriter.writeMessage(msg, fin, true);
+        assertEquals(md5Bytes(fin.toString()), calculateChecksum(msg));
+        assertEquals(calculateChecksum(msg), calculateChecksum(msg, ChecksumAlgorithm.MD5));
+        assertEquals(md5Bytes(SwiftWriter.writeBlock4(msg.getBlock4())), calculateChecksum(msg.getBlock4()));
+
+        assertEquals(16, calculateChecksum(msg, ChecksumAlgorithm.XXH64).length());
+        assertEquals(32, calculateChecksum(msg, ChecksumAlgorithm.MURMUR3_128).length());
+        assertEquals(64, calculateChecksum(msg.getBlock4(), ChecksumAlgorithm.SHA_256).length());
+        assertNull(calculateChecksum((SwiftMessage) null, ChecksumAlgorithm.XXH64));
+    }
+
+    private static String md5Bytes(String text) throws Exception {
+        byte[] digest = MessageDigest.getInstance("MD5").digest(text.getBytes(StandardCharsets.UTF_8));
+        return String.format("%032x", new BigInteger(1, digest));
+    }
+
     @Test
     void testSenderAndReceiverExtractionOutgoingMT() throws IOException {
         String fin = "{1:F01AAAAIT2TX36A0000000000}{2:I101BBBBPLPKXXXXN}{4:\n" + ":20:4C2W0S0V8AM6X7OH\n" + "-}";
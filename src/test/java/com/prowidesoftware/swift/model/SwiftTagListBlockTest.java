@@ -1846,4 +1846,170 @@ public class SwiftTagListBlockTest {
         assertEquals("22M", list2.get(1).getTag(1).getName());
         assertEquals("95P", list2.get(1).getTag(2).getName());
     }
+
+    @Test
+    public void testIndexedLookups() {
+        SwiftTagListBlock block = new SwiftTagListBlock();
+        block.setIndexed(true);
+        block.append(new Tag("20", "REF"));
+        block.append(new Tag("32A", "130901USD10,1"));
+        block.append(new Tag("59", "FOO"));
+        block.append(new Tag("59A", "BAR"));
+        block.append(new Tag("20", "REF2"));
+
+        assertEquals("REF", block.getTagValue("20"));
+        assertEquals(2, block.getTagsByName("20").length);
+        assertEquals(2, block.countByName("20"));
+        assertEquals(0, block.countByName("21"));
+        assertNull(block.getTagByName("21"));
+        assertEquals("FOO", block.getTagByNumber(59).getValue());
+        assertEquals(2, block.getTagsByNumber(59).size());
+        assertTrue(block.getTagsByNumber(21).isEmpty());
+        assertEquals("130901USD10,1", block.getFieldByName("32A").getValue());
+        assertEquals(2, block.getFieldsByName("59a").length);
+        assertEquals(2, block.getFieldsByName("20").length);
+
+        // changes through the block API
+        block.removeTag("20");
+        assertEquals("REF2", block.getTagValue("20"));
+        block.setTag(0, new Tag("21", "NEW"));
+        assertEquals("NEW", block.getTagValue("21"));
+        assertNull(block.getTagByName("32A"));
+
+        // changes through the tags list
+        block.getTags().add(new Tag("72", "INFO"));
+        assertEquals("INFO", block.getTagValue("72"));
+        block.getTags().remove(block.getTags().size() - 1);
+        assertFalse(block.containsTag("72"));
+
+        // tag renamed
+        block.getTagByName("21").setName("23B");
+        assertNull(block.getTagByName("21"));
+        assertEquals("NEW", block.getTagValue("23B"));
+        assertEquals(1, block.getTagsByNumber(23).size());
+
+        block.setIndexed(false);
+        assertEquals("NEW", block.getTagValue("23B"));
+        assertEquals(2, block.getTagsByNumber(59).size());
+    }
+
+    @Test
+    public void testSubBlocksByNameSinglePass() {
+        SwiftTagListBlock block = new SwiftTagListBlock();
+        block.append(new Tag("16R", "GENL"));
+        block.append(new Tag("20C", ":SEME//REF"));
+        block.append(new Tag("16R", "LINK"));
+        block.append(new Tag("20C", ":RELA//REL1"));
+        block.append(new Tag("16S", "LINK"));
+        block.append(new Tag("16R", "LINK"));
+        block.append(new Tag("20C", ":RELA//REL2"));
+        block.append(new Tag("16S", "LINK\r"));
+        block.append(new Tag("16S", "GENL"));
+        block.append(new Tag("16R", "TRADDET"));
+        block.append(new Tag("98A", ":TRAD//20230101"));
+
+        assertSameSubBlocks(block, "GENL", 1);
+        assertSameSubBlocks(block, "LINK", 2);
+        // not closed, until the end of the block
+        assertSameSubBlocks(block, "TRADDET", 1);
+        assertSameSubBlocks(block, "FIAC", 0);
+        assertEquals(9, block.getSubBlock("GENL").size());
+        assertEquals(":RELA//REL2", block.getSubBlocks("LINK").get(1).getTagValue("20C"));
+        assertTrue(block.getSubBlock("FIAC").isEmpty());
+
+        // changes through the tags list and the tags are reflected
+        block.getTags().add(new Tag("16S", "TRADDET"));
+        block.append(new Tag("16R", "FIAC"));
+        block.append(new Tag("16S", "FIAC"));
+        assertSameSubBlocks(block, "TRADDET", 1);
+        assertSameSubBlocks(block, "FIAC", 1);
+        block.getTagByName("98A").setNameValue("16S", "TRADDET");
+        assertSameSubBlocks(block, "TRADDET", 1);
+        assertEquals(2, block.getSubBlock("TRADDET").size());
+        block.getTag(4).setValue("FOO");
+        assertSameSubBlocks(block, "LINK", 1);
+        assertEquals(6, block.getSubBlock("LINK").size());
+        block.getTag(2).getUnparsedTexts();
+        assertSameSubBlocks(block, "LINK", 1);
+    }
+
+    @Test
+    public void testIndexedLookupsWithSharedTags() {
+        SwiftTagListBlock block = new SwiftTagListBlock();
+        block.setIndexed(true);
+        block.append(new Tag("20", "REF"));
+        block.append(new Tag("98A", ":TRAD//20230101"));
+        assertEquals("REF", block.getTagValue("20"));
+
+        // the tags are shared with another block, renamed through either of them
+        SwiftTagListBlock other = new SwiftTagListBlock();
+        other.setIndexed(true);
+        other.append(block.getTagByName("98A"));
+        other.append(block.getTagByName("20"));
+        assertEquals(":TRAD//20230101", other.getTagValue("98A"));
+        other.getTagByName("20").setName("21");
+        assertNull(block.getTagByName("20"));
+        assertEquals("REF", block.getTagValue("21"));
+        block.getTagByName("98A").setName("98C");
+        assertNull(other.getTagByName("98A"));
+        assertEquals(":TRAD//20230101", other.getTagValue("98C"));
+
+        // a rename in an unrelated block
+        SwiftTagListBlock unrelated = new SwiftTagListBlock();
+        unrelated.append(new Tag("21", "FOO"));
+        unrelated.getTag(0).setName("20");
+        assertEquals("REF", block.getTagValue("21"));
+        assertNull(block.getTagByName("20"));
+    }
+
+    @Test
+    public void testIndexesWithSharedTags() {
+        SwiftTagListBlock block = new SwiftTagListBlock();
+        block.setIndexed(true);
+        block.append(new Tag("16R", "GENL"));
+        block.append(new Tag("20C", ":SEME//REF"));
+        block.append(new Tag("16S", "GENL"));
+        block.append(new Tag("16R", "TRADDET"));
+        block.append(new Tag("98A", ":TRAD//20230101"));
+        block.append(new Tag("16S", "TRADDET"));
+        assertSameSubBlocks(block, "GENL", 1);
+        assertEquals(":SEME//REF", block.getTagValue("20C"));
+
+        // tags changed through a sub block are seen by the block
+        SwiftTagListBlock genl = block.getSubBlock("GENL");
+        genl.setIndexed(true);
+        assertEquals(":SEME//REF", genl.getTagValue("20C"));
+        genl.getTagByName("20C").setName("20D");
+        genl.getTag(2).setValue("TRADDET");
+        assertNull(block.getTagByName("20C"));
+        assertEquals(":SEME//REF", block.getTagValue("20D"));
+        assertSameSubBlocks(block, "GENL", 1);
+        assertEquals(6, block.getSubBlock("GENL").size());
+
+        // and the other way around, also for tags added to another block
+        SwiftTagListBlock other = new SwiftTagListBlock();
+        other.setIndexed(true);
+        other.append(block.getTagByName("98A"));
+        assertEquals(":TRAD//20230101", other.getTagValue("98A"));
+        block.getTagByName("98A").setName("98C");
+        assertNull(other.getTagByName("98A"));
+        assertNull(genl.getTagByName("98A"));
+        assertEquals(":TRAD//20230101", other.getTagValue("98C"));
+        assertEquals(":SEME//REF", genl.getTagValue("20D"));
+
+        // changes in an unrelated block
+        SwiftTagListBlock unrelated = new SwiftTagListBlock();
+        unrelated.append(new Tag("16R", "GENL"));
+        unrelated.getTag(0).setValue("LINK");
+        assertSameSubBlocks(block, "GENL", 1);
+        assertEquals(":TRAD//20230101", other.getTagValue("98C"));
+    }
+
+    private static void assertSameSubBlocks(SwiftTagListBlock block, String name, int expected) {
+        List<SwiftTagListBlock> scanned = block.getSubBlocks(new Tag("16R", name), new Tag("16S", name));
+        List<SwiftTagListBlock> indexed = block.getSubBlocks(name);
+        assertEquals(expected, indexed.size());
+        assertEquals(scanned, indexed);
+        assertEquals(expected == 0 ? new SwiftTagListBlock() : scanned.get(0), block.getSubBlock(name));
+    }
 }
@@ -17,6 +17,11 @@ package com.prowidesoftware.swift.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -125,6 +130,22 @@ public class TagTest {
         assertNull(t.getNumber());
     }
 
+    @Test
+    public void testGetNumberAfterRename() {
+        Tag t = new Tag("20:value");
+        assertEquals(Integer.valueOf(20), t.getNumber());
+        assertTrue(t.isNumber(20));
+
+        t.setName("32A");
+        assertEquals(Integer.valueOf(32), t.getNumber());
+        assertFalse(t.isNumber(20));
+        assertTrue(t.isNumber(32));
+
+        t.setName("CHK");
+        assertNull(t.getNumber());
+        assertFalse(t.isNumber(32));
+    }
+
     @Test
     public void testEquals() {
         assertEquals(new Tag(), new Tag());
@@ -154,4 +175,75 @@ public class TagTest {
          */
         assertFalse(new Tag("50K:FOO1\nFOO2").equalsIgnoreCR(new Tag("50K:FOO1\nFOO3")));
     }
+
+    @Test
+    public void testRegionTag() {
+        final String text = "4:\r\n:20:REF\r\n:32A:051028EUR6740,91\r\n-";
+        Tag t = new Tag(text, 5, 7, 8, 11);
+        assertEquals("20", t.getName());
+        assertEquals("REF", t.getValue());
+        assertEquals(new Tag("20", "REF"), t);
+        assertEquals(new Tag("20", "REF").hashCode(), t.hashCode());
+        assertTrue(t.isNumber(20));
+        assertEquals("Tag[20:REF]", t.toString());
+
+        t = new Tag(text, 14, 17, 18, 34);
+        assertEquals("32A", t.getName());
+        assertEquals("051028EUR6740,91", t.getValue());
+        assertEquals(32, t.getNumber());
+        assertEquals("A", t.getLetterOption());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> new Tag(text, 5, 7, 8, 100));
+    }
+
+    @Test
+    public void testRegionTagSetters() {
+        Tag t = new Tag("20:REF", 0, 2, 3, 6);
+        t.setValue(null);
+        assertNull(t.getValue());
+        assertEquals("20", t.getName());
+        t.setName("21");
+        assertEquals(new Tag("21", (String) null), t);
+    }
+
+    @Test
+    public void testRegionTagReleasesSource() throws ReflectiveOperationException {
+        final java.lang.reflect.Field source = Tag.class.getDeclaredField("source");
+        source.setAccessible(true);
+
+        Tag t = new Tag("4:\r\n:20:REF\r\n-", 5, 7, 8, 11);
+        assertEquals("20", t.getName());
+        assertNotNull(source.get(t));
+        assertEquals("REF", t.getValue());
+        assertNull(source.get(t));
+        assertEquals(new Tag("20", "REF"), t);
+
+        t = new Tag("4:\r\n:20:REF\r\n-", 5, 7, 8, 11);
+        assertEquals("REF", t.getValue());
+        t.setName("21");
+        assertNull(source.get(t));
+        assertEquals(new Tag("21", "REF"), t);
+    }
+
+    @Test
+    public void testRegionTagSerialization() throws IOException, ClassNotFoundException {
+        Tag t = new Tag("{4:\r\n:20:REF\r\n-}", 6, 8, 9, 12);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(t);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            assertEquals(new Tag("20", "REF"), ois.readObject());
+        }
+    }
+
+    @Test
+    public void testRegionTagJson() {
+        SwiftBlock4 b4 = new SwiftBlock4();
+        b4.append(new Tag("20:REF", 0, 2, 3, 6));
+        SwiftBlock4 expected = new SwiftBlock4();
+        expected.append(new Tag("20", "REF"));
+        assertEquals(expected.toJson(), b4.toJson());
+        assertEquals(expected, SwiftBlock4.fromJson(b4.toJson()));
+    }
 }
@@ -18,6 +18,9 @@ package com.prowidesoftware.swift.model.field;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.prowidesoftware.swift.utils.SwiftFormatUtils;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Calendar;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -72,4 +75,59 @@ public class DateResolverTest {
         // first date
         assertNull(field.date());
     }
+
+    @Test
+    public void testLocalDates() {
+        Field69A field = new Field69A("PWAL//20050701/20050723");
+        assertEquals(
+                java.util.Arrays.asList(LocalDate.of(2005, 7, 1), LocalDate.of(2005, 7, 23)), field.localDates());
+        assertEquals(LocalDate.of(2005, 7, 1), DateResolver.localDate(field));
+
+        // same size as dates(), with null for missing or invalid dates
+        Field69C field69C = new Field69C(":BLOK///ONGO");
+        assertEquals(field69C.dates().size(), field69C.localDates().size());
+        assertNull(field69C.localDates().get(0));
+        assertNull(DateResolver.localDate(field69C));
+        assertNull(new Field32A("051332EUR1,").localDates().get(0));
+
+        for (String value : new String[] {"051028EUR1234,56", "991231USD1,"}) {
+            Field32A f = new Field32A(value);
+            Calendar cal = f.date();
+            assertEquals(
+                    LocalDate.of(cal.get(Calendar.YEAR), cal.get(Calendar.MONTH) + 1, cal.get(Calendar.DAY_OF_MONTH)),
+                    DateResolver.localDate(f));
+        }
+    }
+
+    @Test
+    public void testComponentAsLocalDateTime() {
+        Field98C field = new Field98C(":PREP//20230930154512");
+        assertEquals(LocalDate.of(2023, 9, 30), field.getComponentAsLocalDate(2));
+        assertEquals(LocalTime.of(15, 45, 12), field.getComponentAsLocalTime(3));
+        assertEquals(LocalDateTime.of(2023, 9, 30, 0, 0), field.getComponentAsLocalDateTime(2));
+        assertEquals(LocalTime.of(15, 45, 12), field.getComponentAs(3, LocalTime.class));
+        assertNull(field.getComponentAsLocalDate(1));
+        assertNull(field.getComponentAsLocalTime(2));
+        assertNull(field.getComponentAsLocalDate(4));
+
+        field.setComponentAs(2, LocalDate.of(2024, 2, 29));
+        field.setComponentAs(3, LocalTime.of(1, 2, 3));
+        assertEquals(":PREP//20240229010203", field.getValue());
+        field.setComponentAs(2, LocalDateTime.of(2025, 1, 2, 3, 4));
+        assertEquals("20250102", field.getComponent2());
+        assertThrows(IllegalArgumentException.class, () -> field.setComponentAs(1, LocalDate.of(2024, 2, 29)));
+        assertThrows(IllegalArgumentException.class, () -> field.setComponentAs(2, LocalTime.NOON));
+
+        Field13C field13C = new Field13C("/SNDTIME/1249+0100");
+        assertEquals(LocalTime.of(12, 49), field13C.getComponentAsLocalTime(2));
+        assertEquals(LocalTime.of(1, 0), field13C.getComponentAsLocalTime(4));
+        field13C.setComponentAs(2, LocalTime.of(23, 5));
+        assertEquals("2305", field13C.getComponent2());
+
+        Field32A field32A = new Field32A();
+        field32A.setComponentAs(1, LocalDate.of(2023, 9, 3));
+        assertEquals("230903", field32A.getComponent1());
+        field32A.setComponentAs(1, (LocalDate) null);
+        assertNull(field32A.getComponent1());
+    }
 }
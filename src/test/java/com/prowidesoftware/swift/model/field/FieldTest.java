@@ -17,9 +17,14 @@ package com.prowidesoftware.swift.model.field;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.prowidesoftware.swift.model.SwiftMessage;
 import com.prowidesoftware.swift.model.Tag;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.ResourceBundle;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 
@@ -164,6 +169,86 @@ public class FieldTest {
         assertEquals("Requested Confirmation Party", Field.getLabel("58A", "710", null, new Locale("en")));
     }
 
+    @Test
+    public void testLabelNotFound() {
+        assertEquals("field10.name", Field.getLabel("10Z", "103", "A", new Locale("en")));
+        assertEquals("field10.components", Field.getLabelComponents("10Z", null, null, new Locale("en")));
+        assertEquals("fieldnull.name", Field.getLabel(null, "103", null, new Locale("en")));
+    }
+
+    @Test
+    public void testLabelsSameAsBundleLookup() {
+        final String[] names = {"11A", "14S", "17B", "19A", "19a_DEAL", "20", "21A", "22F", "32A", "50K", "58A", "70E"};
+        final String[] mts = {null, "103", "199", "304", "502", "537", "548", "710"};
+        final String[] sequences = {null, "A", "B", "B1", "C1a1", "C1a1A", "D1a1A", "E", "F"};
+        for (final String language : new String[] {"en", "es", "fr", "de", "it", "ru"}) {
+            final Locale locale = new Locale(language);
+            final ResourceBundle bundle = ResourceBundle.getBundle("pw_swift_labels", locale);
+            for (final String name : names) {
+                for (final String mt : mts) {
+                    for (final String sequence : sequences) {
+                        assertEquals(
+                                bundleLookup(bundle, name, mt, sequence, "name"),
+                                Field.getLabel(name, mt, sequence, locale),
+                                language + " " + name + " " + mt + " " + sequence);
+                        assertEquals(
+                                bundleLookup(bundle, name, mt, sequence, "components"),
+                                Field.getLabelComponents(name, mt, sequence, locale),
+                                language + " " + name + " " + mt + " " + sequence);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The bundle keys checked one by one, as in the original label lookup
+     */
+    private static String bundleLookup(
+            final ResourceBundle bundle, final String name, final String mt, final String sequence, final String prop) {
+        final String number = name.replaceAll("\\D", "");
+        final List<String> keys = new ArrayList<>();
+        if (sequence != null && mt != null) {
+            keys.add("field" + name + "[" + mt + "][" + sequence + "]." + prop);
+            keys.add("field" + number + "a[" + mt + "][" + sequence + "]." + prop);
+        }
+        if (mt != null) {
+            keys.add("field" + name + "[" + mt + "]." + prop);
+            keys.add("field" + number + "a[" + mt + "]." + prop);
+        }
+        keys.add("field" + name + "." + prop);
+        keys.add("field" + number + "a." + prop);
+        keys.add("field" + number + "." + prop);
+        for (final String key : keys) {
+            if (bundle.containsKey(key)) {
+                return bundle.getString(key);
+            }
+        }
+        return keys.get(keys.size() - 1);
+    }
+
+    @Test
+    public void testGetLabels() throws IOException {
+        final SwiftMessage msg = SwiftMessage.parse("{1:F01FOOBARYYAXXX1234123456}{2:I103BANKDEFFXXXXN}{4:\n"
+                + ":20:REF\n"
+                + ":23B:CRED\n"
+                + ":32A:051028EUR6740,91\n"
+                + ":10Z:FOO\n"
+                + "-}");
+        final Locale locale = new Locale("en");
+        final List<String> labels = Field.getLabels(msg, locale);
+        assertEquals(4, labels.size());
+        assertEquals(Field.getLabel("20", "103", null, locale), labels.get(0));
+        assertEquals(Field.getLabel("23B", "103", null, locale), labels.get(1));
+        assertEquals(Field.getLabel("32A", "103", null, locale), labels.get(2));
+        assertEquals("field10.name", labels.get(3));
+
+        assertEquals(
+                Field.getLabel("32A", "103", "B", locale),
+                Field.getLabels(msg.getBlock4(), "103", "B", locale).get(2));
+        assertTrue(Field.getLabels(new SwiftMessage(), locale).isEmpty());
+    }
+
     @Test
     // TODO add API for partyfields structure like field 83J
     public void testGetValueByCodewordWorkaround() {
@@ -218,6 +303,22 @@ public class FieldTest {
         assertNotNull(f);
     }
 
+    @Test
+    public void testReflection_04() {
+        // unknown names are resolved once and cached
+        assertNull(Field.getField("99Z", "foo"));
+        assertNull(Field.getField("99Z", "foo"));
+        assertNull(Field.getField("foo", "foo"));
+        assertNull(Field.getField(null, "foo"));
+
+        // the same registry entry serves both the constructor and the JSON factory
+        Field f = Field.getField("32A", "130901USD10,1");
+        assertTrue(f instanceof Field32A);
+        Field json = Field.fromJson(f.toJson());
+        assertTrue(json instanceof Field32A);
+        assertEquals(f.getValue(), json.getValue());
+    }
+
     @Test
     public void testValidName() {
         /*
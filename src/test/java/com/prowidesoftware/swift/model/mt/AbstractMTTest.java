@@ -71,6 +71,40 @@ public class AbstractMTTest {
         assertEquals("bar2", Bs.get(1).getTag(2).getValue());
     }
 
+    @Test
+    public void testSequenceGettersTable() {
+        SwiftMessage m = new MT102()
+                .append(MT102.SequenceA.newInstance(Field32A.tag("foo")))
+                .getSwiftMessage();
+        AbstractMT o = m.toMT();
+        assertTrue(o.containsSequence("A"));
+        assertTrue(o.containsSequenceList("B"));
+        assertFalse(o.containsSequence("Z"));
+        assertFalse(o.containsSequenceList("Z"));
+        assertNull(o.getSequence("Z"));
+        assertNull(o.getSequenceList("Z"));
+
+        // static getters with a block parameter
+        SwiftTagListBlock A = o.getSequence("A", m.getBlock4());
+        assertNotNull(A);
+        assertEquals("foo", A.getTag(1).getValue());
+    }
+
+    @Test
+    public void testToMTDispatch() {
+        assertTrue(new MT103_STP().getSwiftMessage().toMT() instanceof MT103_STP);
+        assertTrue(new MT202COV().getSwiftMessage().toMT() instanceof MT202COV);
+        assertTrue(new MT103().getSwiftMessage().toMT() instanceof MT103);
+
+        // message types without MT class are resolved once and return null
+        SwiftMessage unknown = new MT103().getSwiftMessage();
+        unknown.getBlock2().setMessageType("199");
+        assertNotNull(unknown.toMT());
+        unknown.getBlock2().setMessageType("150");
+        assertNull(unknown.toMT());
+        assertNull(unknown.toMT());
+    }
+
     @Test
     public void test_conversin_to_xml() {
         String fin =
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2006-2023 Prowide
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.prowidesoftware.swift.model.mt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.prowidesoftware.swift.model.SwiftMessage;
+import com.prowidesoftware.swift.model.SwiftTagListBlock;
+import com.prowidesoftware.swift.utils.Lib;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks the dispatch tables against the generated MT classes
+ */
+public class MtFactoryTest {
+
+    private static final MTVariant[] VARIANTS = {null, MTVariant.STP, MTVariant.REMIT, MTVariant.COV};
+
+    @Test
+    public void testNewInstanceForGeneratedClasses() throws ReflectiveOperationException {
+        final List<Class<?>> classes = generatedClasses();
+        // all the generated MT classes must be found, including the variants
+        assertTrue(classes.size() > 250, "found " + classes.size() + " MT classes");
+        for (final Class<?> c : classes) {
+            final AbstractMT mt = (AbstractMT) c.getConstructor().newInstance();
+            final SwiftMessage message = mt.getSwiftMessage();
+            final AbstractMT created = MtFactory.newInstance(mt.getMessageType(), variant(c), message);
+            assertNotNull(created, c.getName());
+            assertSame(c, created.getClass());
+            assertSame(message, created.getSwiftMessage());
+        }
+        // types with no class
+        assertNull(MtFactory.newInstance("150", null, new SwiftMessage()));
+        assertNull(MtFactory.newInstance("103", MTVariant.COV, new SwiftMessage()));
+    }
+
+    @Test
+    public void testSequenceGettersForGeneratedClasses() throws ReflectiveOperationException {
+        for (final Class<?> c : generatedClasses()) {
+            assertSameSequences((AbstractMT) c.getConstructor().newInstance());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"MT305.fin", "MT320.txt", "MT340.fin", "MT360.fin", "MT361.fin", "MT101.fin"})
+    public void testSequenceGettersWithContent(final String resource) throws IOException, ReflectiveOperationException {
+        final AbstractMT mt = AbstractMT.parse(Lib.readResource(resource));
+        assertNotNull(mt);
+        assertSameSequences(mt);
+    }
+
+    /**
+     * Compares the sequences read through the dispatch table with the ones returned by each getter method
+     */
+    private static void assertSameSequences(final AbstractMT mt) throws ReflectiveOperationException {
+        for (final Method method : mt.getClass().getMethods()) {
+            if (!method.getName().startsWith("getSequence")
+                    || method.getName().equals("getSequenceNumber")
+                    || method.getDeclaringClass() == AbstractMT.class) {
+                continue;
+            }
+            final Class<?>[] params = method.getParameterTypes();
+            final String suffix = method.getName().substring("getSequence".length());
+            final boolean list = suffix.endsWith("List");
+            final String name = list ? suffix.substring(0, suffix.length() - 4) : suffix;
+            final String label = mt.getClass().getSimpleName() + "." + method.getName();
+            if (params.length == 0) {
+                final Object expected = invoke(method, mt);
+                if (list) {
+                    assertTrue(mt.containsSequenceList(name), label);
+                    assertEquals(expected, mt.getSequenceList(name), label);
+                } else {
+                    assertTrue(mt.containsSequence(name), label);
+                    assertEquals(expected, mt.getSequence(name), label);
+                }
+            } else if (params.length == 1 && params[0] == SwiftTagListBlock.class) {
+                final SwiftTagListBlock block = mt.getSwiftMessage().getBlock4();
+                final Object expected = invoke(method, mt, block);
+                if (list) {
+                    assertEquals(expected, mt.getSequenceList(name, block), label);
+                } else {
+                    assertEquals(expected, mt.getSequence(name, block), label);
+                }
+            }
+        }
+    }
+
+    /**
+     * Invokes the method returning null if it fails, as done by the AbstractMT sequence getters
+     */
+    private static Object invoke(final Method method, final AbstractMT mt, final Object... args)
+            throws IllegalAccessException {
+        try {
+            return method.invoke(mt, args);
+        } catch (final InvocationTargetException e) {
+            return null;
+        }
+    }
+
+    private static List<Class<?>> generatedClasses() {
+        final List<Class<?>> result = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final String type = String.format("%03d", i);
+            for (final MTVariant variant : VARIANTS) {
+                final String name = "com.prowidesoftware.swift.model.mt.mt" + type.charAt(0) + "xx.MT" + type
+                        + (variant == null ? "" : variant == MTVariant.COV ? "COV" : "_" + variant.name());
+                try {
+                    result.add(Class.forName(name));
+                } catch (final ClassNotFoundException e) {
+                    // no class for this type and variant
+                }
+            }
+        }
+        return result;
+    }
+
+    private static MTVariant variant(final Class<?> c) {
+        final String name = c.getSimpleName();
+        if (name.endsWith("_STP")) {
+            return MTVariant.STP;
+        } else if (name.endsWith("_REMIT")) {
+            return MTVariant.REMIT;
+        } else if (name.endsWith("COV")) {
+            return MTVariant.COV;
+        }
+        return null;
+    }
+}
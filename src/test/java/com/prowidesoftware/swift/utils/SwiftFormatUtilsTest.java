@@ -18,8 +18,19 @@ package com.prowidesoftware.swift.utils;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.Year;
 import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import org.apache.commons.lang3.time.DateFormatUtils;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -186,4 +197,153 @@ public class SwiftFormatUtilsTest {
         assertEquals(6, SwiftFormatUtils.decimalsInAmount(new BigDecimal("1.000123")));
         assertEquals(8, SwiftFormatUtils.decimalsInAmount(new BigDecimal("1.00012300")));
     }
+
+    private static Number decimalFormatParse(final String amount) {
+        final DecimalFormatSymbols symbols = new DecimalFormatSymbols();
+        symbols.setDecimalSeparator(',');
+        final DecimalFormat df = new DecimalFormat("00.##", symbols);
+        df.setParseBigDecimal(true);
+        try {
+            return df.parse(amount);
+        } catch (final ParseException e) {
+            return null;
+        }
+    }
+
+    private static String decimalFormatFormat(final Number number) {
+        final DecimalFormatSymbols symbols = new DecimalFormatSymbols();
+        symbols.setDecimalSeparator(',');
+        final DecimalFormat df = new DecimalFormat("0.##########", symbols);
+        df.setDecimalSeparatorAlwaysShown(true);
+        return df.format(number).replace('.', ',');
+    }
+
+    private static Calendar simpleDateFormatParse(final String value, final String format) {
+        final SimpleDateFormat sdf = new SimpleDateFormat(format);
+        sdf.setLenient(false);
+        try {
+            final Date d = sdf.parse(value);
+            final Calendar cal = new GregorianCalendar();
+            cal.setTime(d);
+            return cal;
+        } catch (final ParseException e) {
+            return null;
+        }
+    }
+
+    @Test
+    public void testAmountsSameAsDecimalFormat() {
+        final String[] amounts = {
+            "0", "0,", ",5", "0,00", "123", "123,", "1234,50", "00012,3400", "1000,000", "9223372036854775807",
+            "92233720368547758070,01", "12345678901234567,89", "", ",", "-12,3", "+1", " 1", "1.234,5", "12,3,4",
+            "12E3", "12,34abc"
+        };
+        for (final String amount : amounts) {
+            final Number expected = decimalFormatParse(amount);
+            assertEquals(expected, SwiftFormatUtils.getNumber(amount), amount);
+            assertEquals(expected, SwiftFormatUtils.getBigDecimal(amount), amount);
+        }
+        final BigDecimal[] numbers = {
+            BigDecimal.ZERO,
+            new BigDecimal("0E-20"),
+            new BigDecimal("1E+3"),
+            new BigDecimal("1234.5000"),
+            new BigDecimal("-1234.56"),
+            new BigDecimal("0.12345678905"),
+            new BigDecimal("0.12345678915"),
+            new BigDecimal("-0.00000000001"),
+            new BigDecimal("123456789012345678901234567890.123")
+        };
+        for (final BigDecimal number : numbers) {
+            assertEquals(decimalFormatFormat(number), SwiftFormatUtils.getBigDecimal(number), number.toString());
+            assertEquals(decimalFormatFormat(number), SwiftFormatUtils.getNumber(number), number.toString());
+        }
+        assertEquals(decimalFormatFormat(Long.MIN_VALUE), SwiftFormatUtils.getNumber(Long.MIN_VALUE));
+        assertEquals(decimalFormatFormat(-7), SwiftFormatUtils.getNumber(-7));
+    }
+
+    @Test
+    public void testDatesSameAsSimpleDateFormat() {
+        final int century = (Calendar.getInstance().get(Calendar.YEAR) - 80) % 100;
+        final String[] dates2 = {"070131", "070229", "080229", "071301", "070001", "070100", "07013a", "000101"};
+        for (final String date : dates2) {
+            assertEquals(simpleDateFormatParse(date, "yyMMdd"), SwiftFormatUtils.getDate2(date), date);
+        }
+        for (int year = century - 1; year <= century + 1; year++) {
+            for (final String monthDay : new String[] {"0101", "1231", "0229"}) {
+                final String date = String.format("%02d", year) + monthDay;
+                assertEquals(simpleDateFormatParse(date, "yyMMdd"), SwiftFormatUtils.getDate2(date), date);
+            }
+        }
+        for (final String date : new String[] {"20230930", "20240229", "20230229", "00000101", "15821010"}) {
+            assertEquals(simpleDateFormatParse(date, "yyyyMMdd"), SwiftFormatUtils.getDate4(date), date);
+        }
+        for (final String time : new String[] {"000000", "235959", "240000", "126000", "120060"}) {
+            assertEquals(simpleDateFormatParse(time, "HHmmss"), SwiftFormatUtils.getTime2(time), time);
+        }
+        for (final String dateTime : new String[] {"202309301545", "202309302400", "202302290000"}) {
+            assertEquals(
+                    simpleDateFormatParse(dateTime, "yyyyMMddHHmm"), SwiftFormatUtils.getDateTime(dateTime), dateTime);
+        }
+
+        final Calendar cal = new GregorianCalendar(2023, Calendar.SEPTEMBER, 3, 5, 7, 9);
+        for (final Calendar date : new Calendar[] {cal, new GregorianCalendar(999, Calendar.JANUARY, 1)}) {
+            assertEquals(DateFormatUtils.format(date.getTime(), "yyMMdd"), SwiftFormatUtils.getDate2(date));
+            assertEquals(DateFormatUtils.format(date.getTime(), "yyyyMMdd"), SwiftFormatUtils.getDate4(date));
+            assertEquals(DateFormatUtils.format(date.getTime(), "HHmmss"), SwiftFormatUtils.getTime2(date));
+            assertEquals(DateFormatUtils.format(date.getTime(), "yyyyMMddHHmm"), SwiftFormatUtils.getDateTime(date));
+            assertEquals(DateFormatUtils.format(date.getTime(), "MMdd"), SwiftFormatUtils.getMonthDay(date));
+        }
+    }
+
+    @Test
+    public void testNonLatinLocale() {
+        final Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("th-TH-u-nu-thai"));
+            final BigDecimal amount = new BigDecimal("12.5");
+            assertEquals(decimalFormatFormat(amount), SwiftFormatUtils.getBigDecimal(amount));
+            assertEquals(simpleDateFormatParse("20230930", "yyyyMMdd"), SwiftFormatUtils.getDate4("20230930"));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    public void testLocalDateTime() {
+        assertEquals(LocalDate.of(2007, 1, 31), SwiftFormatUtils.getLocalDate2("070131"));
+        assertNull(SwiftFormatUtils.getLocalDate2("070229"));
+        assertNull(SwiftFormatUtils.getLocalDate2("07013a"));
+        assertNull(SwiftFormatUtils.getLocalDate2("0701310"));
+        assertEquals(LocalDate.of(2024, 2, 29), SwiftFormatUtils.getLocalDate4("20240229"));
+        assertNull(SwiftFormatUtils.getLocalDate4("20230229"));
+        assertEquals(LocalTime.of(23, 59, 59), SwiftFormatUtils.getLocalTime2("235959"));
+        assertNull(SwiftFormatUtils.getLocalTime2("240000"));
+        assertEquals(LocalTime.of(12, 0), SwiftFormatUtils.getLocalTime3("12"));
+        assertEquals(LocalTime.of(12, 45), SwiftFormatUtils.getLocalTime3("1245"));
+        assertNull(SwiftFormatUtils.getLocalTime3("1260"));
+        assertEquals(LocalDateTime.of(2023, 9, 30, 15, 45), SwiftFormatUtils.getLocalDateTime("202309301545"));
+        assertEquals(LocalDateTime.of(2023, 9, 30, 15, 45), SwiftFormatUtils.getLocalDateTimeShortYear("2309301545"));
+
+        // two digits years resolved as in the Calendar based parsing
+        final int century = (Calendar.getInstance().get(Calendar.YEAR) - 80) % 100;
+        for (int year = century - 1; year <= century + 1; year++) {
+            for (final String monthDay : new String[] {"0101", "1231"}) {
+                final String date = String.format("%02d", year) + monthDay;
+                assertEquals(
+                        SwiftFormatUtils.getDate2(date).get(Calendar.YEAR),
+                        SwiftFormatUtils.getLocalDate2(date).getYear(),
+                        date);
+            }
+        }
+
+        assertEquals("230903", SwiftFormatUtils.getDate2(LocalDate.of(2023, 9, 3)));
+        assertEquals("20230903", SwiftFormatUtils.getDate4(LocalDate.of(2023, 9, 3)));
+        assertEquals("09990101", SwiftFormatUtils.getDate4(LocalDate.of(999, 1, 1)));
+        assertEquals("050709", SwiftFormatUtils.getTime2(LocalTime.of(5, 7, 9)));
+        assertEquals("0507", SwiftFormatUtils.getTime3(LocalTime.of(5, 7, 9)));
+        assertEquals("202309030507", SwiftFormatUtils.getDateTime(LocalDateTime.of(2023, 9, 3, 5, 7)));
+        assertEquals("2309030507", SwiftFormatUtils.getDateTimeShortYear(LocalDateTime.of(2023, 9, 3, 5, 7)));
+        assertNull(SwiftFormatUtils.getDate2((LocalDate) null));
+    }
 }